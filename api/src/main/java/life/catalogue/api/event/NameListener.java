@@ -0,0 +1,7 @@
+package life.catalogue.api.event;
+
+public interface NameListener extends Listener {
+
+  void namesChanged(NamesChanged event);
+
+}
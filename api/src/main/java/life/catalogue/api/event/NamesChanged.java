@@ -0,0 +1,36 @@
+package life.catalogue.api.event;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Message to inform subscribers about names of a dataset which were created or changed
+ * without their names index match being updated, e.g. by a sector sync.
+ */
+public class NamesChanged implements Event {
+  public int datasetKey;
+  public Set<String> nameIds = new HashSet<>();
+  public int user;
+
+  public NamesChanged() {
+  }
+
+  public NamesChanged(int datasetKey, Set<String> nameIds, int user) {
+    this.datasetKey = datasetKey;
+    this.nameIds = nameIds;
+    this.user = user;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof NamesChanged)) return false;
+    NamesChanged that = (NamesChanged) o;
+    return datasetKey == that.datasetKey && user == that.user && Objects.equals(nameIds, that.nameIds);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(datasetKey, nameIds, user);
+  }
+}
@@ -0,0 +1,63 @@
+package life.catalogue.api.model;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Result of a bulk matching job with statistics about names answered from the job's duplicate name cache.
+ */
+public class MatchingJobResult extends JobResult {
+  private long cacheHits;
+  private long cacheMisses;
+
+  public MatchingJobResult() {
+  }
+
+  public MatchingJobResult(UUID key) {
+    super(key);
+  }
+
+  /**
+   * @return number of names answered from the cache of previously matched, identical names
+   */
+  public long getCacheHits() {
+    return cacheHits;
+  }
+
+  public void setCacheHits(long cacheHits) {
+    this.cacheHits = cacheHits;
+  }
+
+  /**
+   * @return number of names that had to be matched
+   */
+  public long getCacheMisses() {
+    return cacheMisses;
+  }
+
+  public void setCacheMisses(long cacheMisses) {
+    this.cacheMisses = cacheMisses;
+  }
+
+  /**
+   * @return share of names answered from the cache, between 0 and 1
+   */
+  public double getCacheHitRate() {
+    long total = cacheHits + cacheMisses;
+    return total == 0 ? 0 : (double) cacheHits / total;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof MatchingJobResult)) return false;
+    if (!super.equals(o)) return false;
+    MatchingJobResult that = (MatchingJobResult) o;
+    return cacheHits == that.cacheHits && cacheMisses == that.cacheMisses;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(super.hashCode(), cacheHits, cacheMisses);
+  }
+}
@@ -52,7 +52,7 @@ public class NameIndexEntry implements Entity<Integer> {
   }
 
   /**
-   * Builds a fresh canonical carrier ready for {@link life.catalogue.db.mapper.NamesIndexMapper#createOnConflict(NameIndexEntry)}:
+   * Builds a fresh canonical carrier ready for {@link life.catalogue.db.mapper.NamesIndexMapper#createWithKey(NameIndexEntry)}:
    * the scientific name is the canonical name of the given source, the normalized bucket key is the
    * already-computed key handed in by the matcher.
    */
@@ -0,0 +1,52 @@
+package life.catalogue.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Main class of the shaded benchmarks jar. Accepts all regular JMH command line options, but always adds the
+ * GC profiler so every run reports the allocation rate per operation next to throughput and the latency
+ * percentiles, and forks with the same module opens the surefire tests run with.
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar                           # everything
+ * java -jar benchmarks/target/benchmarks.jar UsageMatcher -p usages=100000
+ * java -jar benchmarks/target/benchmarks.jar -rf json -rff before.json # keep results to compare releases
+ * </pre>
+ * Stores and indices are built once into {@code -Dclb.bench.dir}, by default {@code $TMPDIR/clb-benchmarks}.
+ */
+public class BenchmarkRunner {
+  // keep in sync with java.argLine in the motherpom
+  private static final String[] JVM_ARGS = {
+    "-Djdk.net.URLClassPath.disableClassPathURLCheck=true",
+    "--add-opens=java.base/java.lang=ALL-UNNAMED",
+    "--add-opens=java.base/java.lang.reflect=ALL-UNNAMED",
+    "--add-opens=java.base/java.io=ALL-UNNAMED",
+    "--add-opens=java.base/java.util=ALL-UNNAMED",
+    "--add-opens=java.base/sun.nio.ch=ALL-UNNAMED",
+    "--add-opens=jdk.compiler/com.sun.tools.javac=ALL-UNNAMED",
+    "--add-opens=jdk.compiler/com.sun.tools.javac.file=ALL-UNNAMED",
+    "-Dclb.bench.dir=" + Fixtures.DIR.getAbsolutePath()
+  };
+
+  public static void main(String[] args) throws Exception {
+    var cli = new CommandLineOptions(args);
+    if (cli.shouldHelp()) {
+      cli.showHelp();
+      return;
+    }
+    var opts = new OptionsBuilder()
+      .parent(cli)
+      .addProfiler(GCProfiler.class)
+      .jvmArgsAppend(JVM_ARGS)
+      .build();
+    var runner = new Runner(opts);
+    if (cli.shouldList()) {
+      runner.list();
+    } else {
+      runner.run();
+    }
+  }
+}
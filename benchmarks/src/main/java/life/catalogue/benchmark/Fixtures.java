@@ -0,0 +1,270 @@
+package life.catalogue.benchmark;
+
+import life.catalogue.api.model.Name;
+import life.catalogue.api.model.SimpleNameCached;
+import life.catalogue.api.model.SimpleNameClassified;
+import life.catalogue.api.vocab.TaxonomicStatus;
+import life.catalogue.matching.UsageMatcherFileStore;
+import life.catalogue.matching.UsageMatcherFileStoreBuilder;
+import life.catalogue.matching.UsageSink;
+
+import org.gbif.nameparser.api.NameType;
+import org.gbif.nameparser.api.NomCode;
+import org.gbif.nameparser.api.Rank;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deterministic synthetic data for the benchmarks.
+ *
+ * <p>A dataset of n usages is a proper tree: one kingdom, a family per 5000 usages, a genus per 50 usages and
+ * species below, 20% of them synonyms. Genus names are drawn from a pool a quarter the size of the genera,
+ * so the same genus - and with it every binomial below it - shows up in about four families. That gives
+ * the canonical buckets the homonym fan out real checklists have, which is what the matcher spends its time
+ * filtering. Canonical ids are computed from the name pools instead of being looked up, so a 5M usage store
+ * can be generated without holding a name map in memory.
+ *
+ * <p>Everything derives from a fixed seed: two runs see the same data, and a store already built on disk is
+ * reused as long as it holds the requested number of usages.
+ */
+public final class Fixtures {
+  private static final Logger LOG = LoggerFactory.getLogger(Fixtures.class);
+  private static final long SEED = 1758L;
+  /** Directory stores and indices are built into, so repeated runs can skip the expensive setup. */
+  public static final File DIR = new File(System.getProperty("clb.bench.dir",
+    new File(System.getProperty("java.io.tmpdir"), "clb-benchmarks").getAbsolutePath()));
+
+  private static final String[] SYLLABLES = {
+    "a", "ab", "ac", "ad", "ae", "al", "am", "an", "ar", "as", "at", "ba", "be", "bi", "bo", "bu", "ca", "ce",
+    "ci", "co", "cu", "da", "de", "di", "do", "du", "el", "em", "en", "er", "es", "fa", "fe", "fi", "ga", "ge",
+    "gi", "go", "ha", "he", "hi", "ho", "il", "in", "is", "la", "le", "li", "lo", "lu", "ma", "me", "mi", "mo",
+    "mu", "na", "ne", "ni", "no", "nu", "ol", "om", "on", "or", "os", "pa", "pe", "pi", "po", "pu", "ra", "re",
+    "ri", "ro", "ru", "sa", "se", "si", "so", "su", "ta", "te", "ti", "to", "tu", "ul", "um", "un", "ur", "us",
+    "va", "ve", "vi", "vo", "xa", "xe", "za", "ze", "zi"
+  };
+  private static final String[] AUTHORS = {
+    "L.", "Smith", "Miller", "Jacq.", "DC.", "Walker", "Fabricius", "Linnaeus", "Schrank", "Bentham & Hooker",
+    "Meyer", "Boiss.", "Müller", "Nyl.", "Sw.", "Thunb.", "Gray", "Kunth", "Hook.f.", "Pallas"
+  };
+  private static final int EPITHETS = 2000;
+
+  private Fixtures() {}
+
+  /** Shape of a synthetic dataset of n usages, see the class javadoc. */
+  public record Shape(int n, int families, int genera, int genusNames) {
+    public static Shape of(int n) {
+      int families = Math.max(1, n / 5000);
+      int genera = Math.max(1, n / 50);
+      return new Shape(n, families, genera, Math.max(1, genera / 4));
+    }
+
+    int species() {
+      return Math.max(0, n - 1 - families - genera);
+    }
+
+    int familyCanonical(int f) {
+      return 1 + f;
+    }
+
+    int genusCanonical(int g) {
+      return 1 + families + g % genusNames;
+    }
+
+    int speciesCanonical(int g, int epithet) {
+      return 1 + families + genusNames + (g % genusNames) * EPITHETS + epithet;
+    }
+
+    /** @return the number of distinct canonical ids a store of this shape may hold */
+    public int canonicalIds() {
+      return families + genusNames * (EPITHETS + 1);
+    }
+  }
+
+  static String word(int x, int syllables) {
+    var sb = new StringBuilder();
+    int v = x;
+    for (int i = 0; i < syllables; i++) {
+      sb.append(SYLLABLES[v % SYLLABLES.length]);
+      v = v / SYLLABLES.length + 7 * i + 3;
+    }
+    return sb.toString();
+  }
+
+  static String familyName(int f) {
+    String w = word(f, 3);
+    return Character.toUpperCase(w.charAt(0)) + w.substring(1) + "aceae";
+  }
+
+  static String genusName(int g) {
+    String w = word(g, 3);
+    return Character.toUpperCase(w.charAt(0)) + w.substring(1) + (g % 3 == 0 ? "ia" : "us");
+  }
+
+  static String epithet(int e) {
+    return word(e, 2) + (e % 2 == 0 ? "ensis" : "ii");
+  }
+
+  static String authorship(int i) {
+    String a = AUTHORS[i % AUTHORS.length] + ", " + (1753 + i % 260);
+    return i % 7 == 0 ? "(" + a + ")" : a;
+  }
+
+  private static SimpleNameCached usage(String id, String parent, String name, String authorship, Rank rank, int canonicalId) {
+    var sn = new SimpleNameCached(id, name, rank);
+    sn.setParent(parent);
+    sn.setAuthorship(authorship);
+    sn.setCode(NomCode.ZOOLOGICAL);
+    sn.setStatus(TaxonomicStatus.ACCEPTED);
+    sn.setCanonicalId(canonicalId);
+    sn.setNamesIndexId(canonicalId);
+    return sn;
+  }
+
+  /**
+   * Streams a synthetic dataset of n usages into the sink, parents always before their children.
+   */
+  public static void usages(int n, UsageSink sink) {
+    var s = Shape.of(n);
+    var rnd = new SplittableRandom(SEED);
+    sink.add(usage("k", null, "Animalia", null, Rank.KINGDOM, s.canonicalIds() + 1));
+    for (int f = 0; f < s.families(); f++) {
+      sink.add(usage("f" + f, "k", familyName(f), authorship(f), Rank.FAMILY, s.familyCanonical(f)));
+    }
+    for (int g = 0; g < s.genera(); g++) {
+      sink.add(usage("g" + g, "f" + (g % s.families()), genusName(g % s.genusNames()), authorship(g), Rank.GENUS, s.genusCanonical(g)));
+    }
+    for (int i = 0; i < s.species(); i++) {
+      int g = i % s.genera();
+      int e = rnd.nextInt(EPITHETS);
+      var sn = usage("s" + i, "g" + g, genusName(g % s.genusNames()) + " " + epithet(e), authorship(i), Rank.SPECIES,
+        s.speciesCanonical(g, e));
+      if (rnd.nextInt(5) == 0) {
+        sn.setStatus(TaxonomicStatus.SYNONYM);
+      }
+      sink.add(sn);
+    }
+  }
+
+  /**
+   * Match queries against a dataset of the given shape: existing species with a family in their classification,
+   * some of them with a different authorship so the authorship comparison is exercised as well.
+   */
+  public static List<SimpleNameClassified<SimpleNameCached>> queries(int n, int size) {
+    var s = Shape.of(n);
+    var rnd = new SplittableRandom(SEED + 1);
+    var kingdom = usage(null, null, "Animalia", null, Rank.KINGDOM, null);
+    List<SimpleNameClassified<SimpleNameCached>> queries = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      int g = rnd.nextInt(s.genera());
+      int e = rnd.nextInt(EPITHETS);
+      int f = g % s.families();
+      var q = new SimpleNameClassified<SimpleNameCached>(usage(null, null, genusName(g % s.genusNames()) + " " + epithet(e),
+        authorship(rnd.nextInt(3) == 0 ? i : g), Rank.SPECIES, s.speciesCanonical(g, e)));
+      q.setClassification(new ArrayList<>(List.of(
+        usage(null, null, genusName(g % s.genusNames()), null, Rank.GENUS, null),
+        usage(null, null, familyName(f), null, Rank.FAMILY, null),
+        kingdom
+      )));
+      queries.add(q);
+    }
+    return queries;
+  }
+
+  /**
+   * Random canonical ids of a dataset of the given shape, most of them species buckets, a few genera and misses.
+   */
+  public static int[] canonicalIds(int n, int size) {
+    var s = Shape.of(n);
+    var rnd = new SplittableRandom(SEED + 2);
+    int[] ids = new int[size];
+    for (int i = 0; i < size; i++) {
+      int g = rnd.nextInt(s.genera());
+      ids[i] = switch (i % 10) {
+        case 0 -> s.genusCanonical(g);
+        case 1 -> s.canonicalIds() + 100 + i; // miss
+        default -> s.speciesCanonical(g, rnd.nextInt(EPITHETS));
+      };
+    }
+    return ids;
+  }
+
+  /**
+   * Scientific names with authorship as they come in through imports: uninomials, binomials, trinomials,
+   * hybrids, names with basionym authors and some informal ones.
+   */
+  public static List<String> nameCorpus(int size) {
+    var rnd = new SplittableRandom(SEED + 3);
+    List<String> names = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      String genus = genusName(rnd.nextInt(50_000));
+      String sp = epithet(rnd.nextInt(EPITHETS));
+      String auth = authorship(rnd.nextInt(10_000));
+      names.add(switch (i % 10) {
+        case 0 -> genus + " " + auth;
+        case 1 -> familyName(rnd.nextInt(5000));
+        case 2 -> genus + " " + sp + " subsp. " + epithet(rnd.nextInt(EPITHETS)) + " " + auth;
+        case 3 -> genus + " " + sp + " var. " + epithet(rnd.nextInt(EPITHETS));
+        case 4 -> genus + " × " + sp + " " + auth;
+        case 5 -> genus + " sp. " + (i % 300);
+        case 6 -> genus + " (" + genusName(rnd.nextInt(50_000)) + ") " + sp + " " + auth;
+        default -> genus + " " + sp + " " + auth;
+      });
+    }
+    return names;
+  }
+
+  /**
+   * Parsed names for the names index: uninomials and binomials, never more than a dataset of the given size holds.
+   */
+  public static List<Name> names(int size, long seed) {
+    var rnd = new SplittableRandom(SEED + seed);
+    List<Name> names = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      var n = new Name();
+      n.setType(NameType.SCIENTIFIC);
+      n.setCode(NomCode.ZOOLOGICAL);
+      if (i % 20 == 0) {
+        n.setUninomial(genusName(rnd.nextInt(size)));
+        n.setRank(Rank.GENUS);
+      } else {
+        n.setGenus(genusName(rnd.nextInt(size / 20 + 1)));
+        n.setSpecificEpithet(epithet(rnd.nextInt(EPITHETS)));
+        n.setRank(Rank.SPECIES);
+      }
+      n.setAuthorship(authorship(i));
+      n.rebuildScientificName();
+      names.add(n);
+    }
+    return names;
+  }
+
+  /**
+   * Opens the sealed file store of a synthetic dataset with n usages, building it first if the benchmark
+   * directory does not hold one of that size yet. Building 5M usages takes a few minutes, reusing it a second.
+   */
+  public static UsageMatcherFileStore fileStore(int n) throws IOException {
+    File dir = new File(DIR, "usages-" + n);
+    if (UsageMatcherFileStore.isStore(dir)) {
+      var store = UsageMatcherFileStore.open(n, dir);
+      if (store.size() == n) {
+        return store;
+      }
+      store.close();
+    }
+    LOG.info("Build synthetic matcher store with {} usages in {}", n, dir);
+    FileUtils.deleteQuietly(dir);
+    try (var builder = new UsageMatcherFileStoreBuilder(n, dir)) {
+      usages(n, builder);
+      builder.seal().close();
+    }
+    return UsageMatcherFileStore.open(n, dir);
+  }
+}
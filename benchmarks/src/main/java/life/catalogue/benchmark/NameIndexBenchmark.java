@@ -0,0 +1,86 @@
+package life.catalogue.benchmark;
+
+import life.catalogue.api.model.Name;
+import life.catalogue.api.model.NameMatch;
+import life.catalogue.common.tax.AuthorshipNormalizer;
+import life.catalogue.matching.nidx.NameIndexChronicleStore;
+import life.catalogue.matching.nidx.NameIndexImpl;
+import life.catalogue.matching.nidx.NamesIndexConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link NameIndexImpl#match(Name, boolean, boolean)} against a populated, file persisted
+ * {@link NameIndexChronicleStore} without postgres: the key normalisation and store lookup every imported
+ * name pays. Hits query names known to the index, misses names that are not and are not inserted either.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class NameIndexBenchmark {
+  private static final Logger LOG = LoggerFactory.getLogger(NameIndexBenchmark.class);
+  private static final int QUERIES = 1 << 14;
+
+  @Param({"1000000"})
+  public int names;
+
+  private NameIndexImpl ni;
+  private List<Name> hits;
+  private List<Name> misses;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    var cfg = NamesIndexConfig.file(new File(Fixtures.DIR, "nidx-" + names), NamesIndexConfig.DEFAULT_KRYO_POOL_SIZE);
+    cfg.type = NamesIndexConfig.Store.CHRONICLE;
+    cfg.maxEntries = 2 * names;
+    ni = new NameIndexImpl(new NameIndexChronicleStore(cfg), AuthorshipNormalizer.INSTANCE, null).started();
+    var all = Fixtures.names(names, 10);
+    if (ni.size() == 0) {
+      LOG.info("Populate names index with {} names in {}", names, cfg.file);
+      for (var n : all) {
+        ni.match(n, true, false);
+      }
+      LOG.info("Names index populated with {} distinct names", ni.size());
+    }
+    hits = all.subList(0, Math.min(QUERIES, all.size()));
+    // different seed, and genera beyond the range used for the index
+    misses = Fixtures.names(QUERIES, 11).stream()
+      .peek(n -> n.setGenus(n.getGenus() == null ? null : n.getGenus() + "oides"))
+      .peek(n -> n.setUninomial(n.getUninomial() == null ? null : n.getUninomial() + "oides"))
+      .toList();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    ni.stop();
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    private int i;
+
+    int next(int size) {
+      return i++ % size;
+    }
+  }
+
+  @Benchmark
+  public NameMatch matchHit(Cursor c) {
+    return ni.match(hits.get(c.next(hits.size())), false, false);
+  }
+
+  @Benchmark
+  public NameMatch matchMiss(Cursor c) {
+    return ni.match(misses.get(c.next(misses.size())), false, false);
+  }
+}
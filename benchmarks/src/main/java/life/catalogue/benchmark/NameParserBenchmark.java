@@ -0,0 +1,50 @@
+package life.catalogue.benchmark;
+
+import life.catalogue.api.model.IssueContainer;
+import life.catalogue.api.model.ParsedNameUsage;
+import life.catalogue.parser.NameParser;
+
+import org.gbif.nameparser.api.Rank;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * {@link NameParser#parse(String, Rank, org.gbif.nameparser.api.NomCode, IssueContainer)} over a corpus of
+ * 100k distinct scientific names with authorship, the most expensive part of interpreting an imported record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class NameParserBenchmark {
+
+  @Param({"100000"})
+  public int corpus;
+
+  private List<String> names;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    names = Fixtures.nameCorpus(corpus);
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    private int i;
+
+    int next(int size) {
+      return i++ % size;
+    }
+  }
+
+  @Benchmark
+  public Optional<ParsedNameUsage> parse(Cursor c) {
+    return NameParser.PARSER.parse(names.get(c.next(names.size())), Rank.UNRANKED, null, IssueContainer.VOID);
+  }
+}
@@ -0,0 +1,112 @@
+package life.catalogue.benchmark;
+
+import life.catalogue.api.model.SimpleNameCached;
+import life.catalogue.cache.CacheType;
+import life.catalogue.cache.UsageCache;
+import life.catalogue.matching.UsageSink;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Inserts and point reads of the temporary usage caches jobs spill to disk, comparing the MapDB hash map
+ * with the append only memory mapped record store. Reads run against a cache preloaded with all usages,
+ * inserts append to a fresh cache per iteration, replacing usages once all of them have been added.
+ * Run with {@code -t} to see how reads scale with concurrent threads:
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar UsageCacheBenchmark -t 4 -rf json -rff usage-cache.json
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class UsageCacheBenchmark {
+  private static final int QUERIES = 1 << 16;
+
+  @Param({"1000000"})
+  public int usages;
+
+  @Param({"MAPDB", "MMAP"})
+  public CacheType cacheType;
+
+  private List<SimpleNameCached> data;
+  private UsageCache cache;
+  private String[] ids;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    data = new ArrayList<>(usages);
+    Fixtures.usages(usages, new UsageSink() {
+      @Override
+      public int datasetKey() {
+        return 1;
+      }
+
+      @Override
+      public void add(SimpleNameCached sn) {
+        data.add(sn);
+      }
+    });
+    cache = newCache();
+    data.forEach(cache::put);
+    ids = new String[QUERIES];
+    for (int i = 0; i < QUERIES; i++) {
+      ids[i] = data.get((int) ((i * 7919L) % data.size())).getId();
+    }
+  }
+
+  private UsageCache newCache() {
+    return cacheType.usageCache(1, new File(Fixtures.DIR, "usage-cache-" + cacheType + "-" + UUID.randomUUID()));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    cache.close();
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    private int i;
+
+    int next() {
+      return i++ & (QUERIES - 1);
+    }
+  }
+
+  /** A fresh, empty cache per iteration to append to. */
+  @State(Scope.Benchmark)
+  public static class Target {
+    private UsageCache cache;
+    private int i;
+
+    @Setup(Level.Iteration)
+    public void setup(UsageCacheBenchmark bench) {
+      cache = bench.newCache();
+      i = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+      cache.close();
+    }
+  }
+
+  @Benchmark
+  public SimpleNameCached get(Cursor c) {
+    return cache.get(ids[c.next()]);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public SimpleNameCached put(Target t) {
+    return t.cache.put(data.get(t.i++ % data.size()));
+  }
+}
@@ -0,0 +1,73 @@
+package life.catalogue.benchmark;
+
+import life.catalogue.api.model.SimpleNameCached;
+import life.catalogue.api.model.SimpleNameClassified;
+import life.catalogue.matching.UsageMatch;
+import life.catalogue.matching.UsageMatcher;
+import life.catalogue.matching.UsageMatcherMemStore;
+import life.catalogue.matching.UsageMatcherStore;
+import life.catalogue.matching.nidx.NameIndexFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * A full {@link UsageMatcher#match(SimpleNameClassified)} of a classified species against the same synthetic
+ * dataset held by the different store back-ends. The names index ids of the queries are set already, so this
+ * measures candidate retrieval and filtering only - names index lookups are covered by {@link NameIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class UsageMatcherBenchmark {
+  private static final int QUERIES = 1 << 14;
+
+  /** file: a sealed memory mapped store, memory: the heap based mutable store */
+  @Param({"file", "memory"})
+  public String store;
+
+  @Param({"1000000"})
+  public int usages;
+
+  private UsageMatcher matcher;
+  private List<SimpleNameClassified<SimpleNameCached>> queries;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    UsageMatcherStore s;
+    if (store.equals("file")) {
+      s = Fixtures.fileStore(usages);
+    } else {
+      var mem = new UsageMatcherMemStore(usages);
+      Fixtures.usages(usages, mem);
+      s = mem;
+    }
+    matcher = new UsageMatcher(usages, NameIndexFactory.passThru(), s, false);
+    queries = Fixtures.queries(usages, QUERIES);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    matcher.close();
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    private int i;
+
+    int next() {
+      return i++ & (QUERIES - 1);
+    }
+  }
+
+  @Benchmark
+  public UsageMatch match(Cursor c) {
+    return matcher.match(queries.get(c.next()));
+  }
+}
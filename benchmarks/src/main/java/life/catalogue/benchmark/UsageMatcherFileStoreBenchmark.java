@@ -0,0 +1,84 @@
+package life.catalogue.benchmark;
+
+import life.catalogue.api.model.SimpleNameCached;
+import life.catalogue.matching.UsageMatcherFileStore;
+
+import org.gbif.nameparser.api.Rank;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Candidate lookups straight from a sealed, memory mapped {@link UsageMatcherFileStore}: the canonical bucket
+ * scan every match starts with, and the id lookup each parent of a candidate classification costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class UsageMatcherFileStoreBenchmark {
+  private static final int QUERIES = 1 << 16;
+
+  @Param({"5000000"})
+  public int usages;
+
+  private UsageMatcherFileStore store;
+  private int[] canonicalIds;
+  private String[] usageIds;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    store = Fixtures.fileStore(usages);
+    canonicalIds = Fixtures.canonicalIds(usages, QUERIES);
+    usageIds = new String[QUERIES];
+    var s = Fixtures.Shape.of(usages);
+    for (int i = 0; i < QUERIES; i++) {
+      // mostly species, with the odd genus and family a classification walk passes through
+      usageIds[i] = switch (i % 8) {
+        case 0 -> "g" + (i * 31) % s.genera();
+        case 1 -> "f" + (i * 17) % s.families();
+        default -> "s" + (i * 7919L) % Math.max(1, usages - s.genera() - s.families() - 1);
+      };
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    store.close();
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    private int i;
+
+    int next() {
+      return i++ & (QUERIES - 1);
+    }
+  }
+
+  @Benchmark
+  public List<SimpleNameCached> simpleNamesByCanonicalId(Cursor c) {
+    return store.simpleNamesByCanonicalId(canonicalIds[c.next()]);
+  }
+
+  /** The same bucket scan on the attribute column alone, as done for candidates rejected by status or rank. */
+  @Benchmark
+  public int candidateRanks(Cursor c) {
+    var cand = store.candidates(canonicalIds[c.next()]);
+    int species = 0;
+    while (cand.next()) {
+      if (cand.rank() == Rank.SPECIES && !cand.status().isBareName()) species++;
+    }
+    return species;
+  }
+
+  @Benchmark
+  public SimpleNameCached get(Cursor c) {
+    return store.get(usageIds[c.next()]);
+  }
+}
@@ -20,6 +20,7 @@ import life.catalogue.api.vocab.MatchType;
 import life.catalogue.api.vocab.TaxonomicStatus;
 import life.catalogue.cache.CacheLoader;
 import life.catalogue.cache.LatestDatasetKeyCache;
+import life.catalogue.cache.SharedUsageCaches;
 import life.catalogue.cache.UsageCache;
 import life.catalogue.dao.CopyUtil;
 import life.catalogue.dao.DatasetInfoCache;
@@ -171,11 +172,13 @@ public class HierarchySync extends SectorRunnable {
   /** project usage id -> source anchor id (genus-or-higher) to nest a name-matched usage under. Placement-only. */
   private final Map<String, String> namePlacements = new LinkedHashMap<>();
 
-  /** Lazily-filled cache for source dataset usages; constructed/closed around the four phases in {@link #doWork()}. */
+  /** Preloaded caches of entire source datasets shared by all hierarchy syncs, if configured. */
+  private final @Nullable SharedUsageCaches sharedSourceCaches;
+  /** Lazily-filled or shared cache for source dataset usages; constructed/closed around the four phases in {@link #doWork()}. */
   private UsageCache sourceCache;
   /** Loader that feeds {@link #sourceCache} on misses via a long-lived read session. */
   private CacheLoader sourceLoader;
-  /** Next VerbatimSource id to assign (resets at the start of every doWork via getMaxID + 1). */
+  /** Next VerbatimSource id to assign (resets at the start of every doWork via getMaxID + 1) unless keys are shared. */
   private int vsIdGen;
 
   /** Cap on how many hops we walk to reach an accepted from a matched synonym, or to detect a cycle. */
@@ -193,6 +196,7 @@ public class HierarchySync extends SectorRunnable {
                 Consumer<SectorRunnable> successCallback,
                 BiConsumer<SectorRunnable, Exception> errorCallback,
                 @Nullable IdentifierScopeResolver scopeResolver,
+                @Nullable SharedUsageCaches sharedSourceCaches,
                 int user) throws IllegalArgumentException {
     super(sectorKey, true, factory, indexService, sdao, sid, bus, successCallback, errorCallback, true, user);
     if (sector.getMode() != Sector.Mode.HIERARCHY) {
@@ -203,6 +207,7 @@ public class HierarchySync extends SectorRunnable {
     this.sourceMatcherProvider = sourceMatcherProvider;
     this.latestKeyCache = latestKeyCache;
     this.scopeResolver = scopeResolver;
+    this.sharedSourceCaches = sharedSourceCaches;
   }
 
   @Override
@@ -236,13 +241,13 @@ public class HierarchySync extends SectorRunnable {
     throw new IllegalArgumentException("Unsupported source dataset origin " + origin + " for hierarchy sync of sector " + sectorKey);
   }
 
+  private int nextVerbatimSourceKey() {
+    return vsKeys == null ? vsIdGen++ : vsKeys.next();
+  }
+
   @Override
   void doWork() throws Exception {
-    // Lazy-fill cache for the source dataset, shared across all phases — avoids per-match
-    // classification CTEs and per-match source row fetches on larger projects.
-    final File cacheFile = new File(System.getProperty("java.io.tmpdir"),
-      "HierarchySync-UC-" + sectorKey.getId() + "-" + UUID.randomUUID());
-    try (UsageCache cache = UsageCache.mapDB(sourceDatasetKey, cacheFile);
+    try (UsageCache cache = openSourceCache();
          SqlSession loaderSession = factory.openSession(true)) {
       this.sourceCache = cache;
       this.sourceLoader = new CacheLoader.MybatisSession(loaderSession, sourceDatasetKey);
@@ -252,10 +257,13 @@ public class HierarchySync extends SectorRunnable {
       checkIfCancelled();
 
       // verbatim_source ids are dataset-wide; start fresh from the current max after old sec records are wiped
-      try (SqlSession s = factory.openSession(true)) {
-        vsIdGen = s.getMapper(VerbatimSourceMapper.class).getMaxID(sectorKey.getDatasetKey()) + 1;
+      // unless the keys are shared with other jobs running in the project
+      if (vsKeys == null) {
+        try (SqlSession s = factory.openSession(true)) {
+          vsIdGen = s.getMapper(VerbatimSourceMapper.class).getMaxID(sectorKey.getDatasetKey()) + 1;
+        }
+        LOG.info("Hierarchy sector {}: starting new verbatim source ids from {}", sectorKey, vsIdGen);
       }
-      LOG.info("Hierarchy sector {}: starting new verbatim source ids from {}", sectorKey, vsIdGen);
 
       state.setState(ImportState.INSERTING);
       syncHigherClassification();
@@ -278,6 +286,21 @@ public class HierarchySync extends SectorRunnable {
     }
   }
 
+  /**
+   * Cache for the source dataset, shared across all phases — avoids per-match
+   * classification CTEs and per-match source row fetches on larger projects.
+   * Uses a preloaded, read only cache shared with other syncs of the same source if configured,
+   * otherwise a private cache that is lazily filled.
+   */
+  private UsageCache openSourceCache() {
+    if (sharedSourceCaches != null) {
+      return sharedSourceCaches.acquire(sourceDatasetKey);
+    }
+    final File cacheFile = new File(System.getProperty("java.io.tmpdir"),
+      "HierarchySync-UC-" + sectorKey.getId() + "-" + UUID.randomUUID());
+    return UsageCache.mapDB(sourceDatasetKey, cacheFile);
+  }
+
   @Override
   void doMetrics() throws Exception {
     sid.updateMetrics(state, sectorKey.getDatasetKey());
@@ -606,7 +629,7 @@ public class HierarchySync extends SectorRunnable {
           // Create a fresh project-side VerbatimSource that links the new copy back to the source
           // record. The loaded value points at the source dataset's verbatim_source and would
           // violate the project's FK; we replace it with our newly minted key instead of nulling.
-          VerbatimSource v = new VerbatimSource(projectKey, vsIdGen++, sector.getId(), sourceDatasetKey, origSourceId, EntityType.NAME_USAGE);
+          VerbatimSource v = new VerbatimSource(projectKey, nextVerbatimSourceKey(), sector.getId(), sourceDatasetKey, origSourceId, EntityType.NAME_USAGE);
           vsm.create(v);
           t.setVerbatimSourceKey(v.getId());
           if (t.getName() != null) {
@@ -617,6 +640,8 @@ public class HierarchySync extends SectorRunnable {
           // copy. No extension entities; reference linkage is dropped in this phase.
           CopyUtil.copyUsage(batch, t, DSID.of(projectKey, projectParentId), user, Set.of(),
             ref -> null, refId -> null);
+          // copied names are not matched, leave that to the incremental matcher
+          nameChanged(t.getName().getId());
 
           // CopyUtil mutated t to its new project id - record mapping
           sourceToProject.put(origSourceId, t.getId());
@@ -749,7 +774,7 @@ public class HierarchySync extends SectorRunnable {
   private void flagNamePlacement(int projectKey, String usageId, NameUsageMapper num, VerbatimSourceMapper vsm) {
     Integer vsKey = vsm.getVSKeyByUsage(DSID.of(projectKey, usageId));
     if (vsKey == null) {
-      VerbatimSource v = new VerbatimSource(projectKey, vsIdGen++, null, null, null, null);
+      VerbatimSource v = new VerbatimSource(projectKey, nextVerbatimSourceKey(), null, null, null, null);
       vsm.create(v);
       num.updateVerbatimSourceKey(DSID.of(projectKey, usageId), v.getId());
       vsKey = v.getId();
@@ -1039,7 +1064,7 @@ public class HierarchySync extends SectorRunnable {
           syn.setSectorMode(Sector.Mode.HIERARCHY);
           // Create a fresh project-side VerbatimSource that links the new copy back to the source
           // synonym, replacing the loaded value which points at the source dataset's verbatim_source.
-          VerbatimSource v = new VerbatimSource(projectKey, vsIdGen++, sector.getId(), sourceDatasetKey, origSourceId, EntityType.NAME_USAGE);
+          VerbatimSource v = new VerbatimSource(projectKey, nextVerbatimSourceKey(), sector.getId(), sourceDatasetKey, origSourceId, EntityType.NAME_USAGE);
           vsm.create(v);
           syn.setVerbatimSourceKey(v.getId());
           if (syn.getName() != null) {
@@ -1050,6 +1075,7 @@ public class HierarchySync extends SectorRunnable {
           // copy. parent = the project's accepted taxon. No extension entities; reference linkage dropped.
           CopyUtil.copyUsage(batch, syn, DSID.of(projectKey, projectAcceptedId), user, Set.of(),
             ref -> null, refId -> null);
+          nameChanged(syn.getName().getId());
 
           if (sourceScope != null) {
             writeNum.addIdentifier(DSID.of(projectKey, syn.getId()), List.of(new Identifier(sourceScope, origSourceId)));
@@ -1167,7 +1193,7 @@ public class HierarchySync extends SectorRunnable {
       pn.setVerbatimSourceKey(uvsKey);
       return DSID.of(projectKey, uvsKey);
     }
-    VerbatimSource v = new VerbatimSource(projectKey, vsIdGen++, null, null, null, null);
+    VerbatimSource v = new VerbatimSource(projectKey, nextVerbatimSourceKey(), null, null, null, null);
     writeVsm.create(v);
     pn.setVerbatimSourceKey(v.getId());
     return DSID.of(projectKey, v.getId());
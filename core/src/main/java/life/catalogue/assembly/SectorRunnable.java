@@ -1,6 +1,7 @@
 package life.catalogue.assembly;
 
 import life.catalogue.api.event.DatasetDataChanged;
+import life.catalogue.api.event.NamesChanged;
 import life.catalogue.api.exception.NotFoundException;
 import life.catalogue.api.model.*;
 import life.catalogue.api.search.DecisionSearchRequest;
@@ -36,6 +37,8 @@ abstract class SectorRunnable implements Runnable {
     Rank.FAMILY, Rank.GENUS, Rank.SPECIES,
     Rank.SUBSPECIES, Rank.VARIETY, Rank.FORM
   );
+  // max number of name ids published in a single NamesChanged event
+  private static final int NAMES_CHANGED_SIZE = 10_000;
 
   protected final UUID key = UUID.randomUUID();
   protected final DSID<Integer> sectorKey;
@@ -56,6 +59,10 @@ abstract class SectorRunnable implements Runnable {
   final int user;
   final SectorImport state;
   final boolean updateSectorAttemptOnSuccess;
+  // ids of target names that were written without updating their names index match
+  private final Set<String> changedNames = new HashSet<>();
+  // new verbatim source keys shared with other jobs running in the same project, if any
+  VerbatimSourceKeys vsKeys;
 
   /**
    * @throws IllegalArgumentException if the sector key is not of PROJECT origin
@@ -108,6 +115,44 @@ abstract class SectorRunnable implements Runnable {
     }
   }
 
+  /**
+   * Makes the job issue new verbatim source keys from a sequence shared with other jobs running in the same project.
+   * Jobs that do not create verbatim sources ignore it.
+   */
+  void shareVerbatimSourceKeys(VerbatimSourceKeys keys) {
+    this.vsKeys = keys;
+  }
+
+  /**
+   * Remembers target names that were created or changed without their match being updated,
+   * so they get rematched incrementally once the sync has completed.
+   */
+  void namesChanged(Collection<String> nameIds) {
+    changedNames.addAll(nameIds);
+  }
+
+  void nameChanged(String nameId) {
+    changedNames.add(nameId);
+  }
+
+  private void publishNamesChanged() {
+    if (!changedNames.isEmpty()) {
+      LOG.info("Publish {} changed names of sector {} for rematching", changedNames.size(), sectorKey);
+      Set<String> ids = new HashSet<>();
+      for (String id : changedNames) {
+        ids.add(id);
+        if (ids.size() >= NAMES_CHANGED_SIZE) {
+          bus.publish(new NamesChanged(sectorKey.getDatasetKey(), ids, user));
+          ids = new HashSet<>();
+        }
+      }
+      if (!ids.isEmpty()) {
+        bus.publish(new NamesChanged(sectorKey.getDatasetKey(), ids, user));
+      }
+      changedNames.clear();
+    }
+  }
+
   /**
    * Make sure this sector is ok to be executed on the given dataset
    * @throws IllegalArgumentException if this is not the case
@@ -145,6 +190,7 @@ abstract class SectorRunnable implements Runnable {
 
       state.setState( ImportState.FINISHED);
       LOG.info("Completed {} for sector {} with {} names and {} usages", this.getClass().getSimpleName(), sectorKey, state.getNameCount(), state.getUsagesCount());
+      publishNamesChanged();
       bus.publish(new DatasetDataChanged(sectorKey.getDatasetKey(), user));
       successCallback.accept(this);
       if (updateSectorAttemptOnSuccess) {
@@ -53,6 +53,7 @@ public class SectorSync extends SectorRunnable {
   private final Function<SqlSession, UsageMatcher> matcherSupplier;
   private final boolean projectTarget;
   private boolean disableAutoBlocking;
+  private boolean deferEstimateRematch;
   private final int targetDatasetKey; // dataset to sync into
   private @Nullable TreeMergeHandlerConfig mergeCfg;
   private List<SimpleName> foreignChildren;
@@ -154,14 +155,16 @@ public class SectorSync extends SectorRunnable {
         state.setState( ImportState.MATCHING);
         rematchForeignChildren();
         relinkAttachedSectors();
-        rematchEstimates();
+        if (!deferEstimateRematch) {
+          rematchEstimates();
+        }
       }
     }
   }
 
   @Override
   void doMetrics() throws Exception {
-    // build metrics
+    // build metrics, all counts are restricted to this sector so concurrent syncs in the same project do not interfere
     sid.updateMetrics(state, sectorKey.getDatasetKey());
   }
 
@@ -176,6 +179,14 @@ public class SectorSync extends SectorRunnable {
     }
   }
 
+  /**
+   * Skips the project wide rematching of broken estimates,
+   * leaving it to the caller to do it once for several syncs.
+   */
+  void deferEstimateRematch() {
+    this.deferEstimateRematch = true;
+  }
+
   @VisibleForTesting
   void setDisableAutoBlocking(boolean disableAutoBlocking) {
     this.disableAutoBlocking = disableAutoBlocking;
@@ -264,7 +275,14 @@ public class SectorSync extends SectorRunnable {
    * Rematch all broken estimates that fall into this sector
    */
   private void rematchEstimates() {
-    RematchRequest req = new RematchRequest(sectorKey.getDatasetKey(), true);
+    rematchEstimates(estimateDao, sectorKey.getDatasetKey(), user);
+  }
+
+  /**
+   * Rematch all broken estimates of a project
+   */
+  static void rematchEstimates(EstimateDao estimateDao, int projectKey, int user) {
+    RematchRequest req = new RematchRequest(projectKey, true);
     EstimateRematcher.match(estimateDao, req, user);
   }
 
@@ -347,10 +365,16 @@ public class SectorSync extends SectorRunnable {
   }
 
   private TreeHandler sectorHandler(){
+    TreeBaseHandler handler;
     if (sector.getMode() == Sector.Mode.MERGE) {
-      return new TreeMergeHandler(targetDatasetKey, subjectDatasetKey, decisions, factory, matcherSupplier, nameIndex, user, sector, state, mergeCfg, nameIdGen, typeMaterialIdGen, usageIdGen, scopeResolver);
+      handler = new TreeMergeHandler(targetDatasetKey, subjectDatasetKey, decisions, factory, matcherSupplier, nameIndex, user, sector, state, mergeCfg, nameIdGen, typeMaterialIdGen, usageIdGen, scopeResolver);
+    } else {
+      handler = new TreeCopyHandler(targetDatasetKey, decisions, factory, nameIndex, user, sector, state);
+    }
+    if (vsKeys != null) {
+      handler.shareVerbatimSourceKeys(vsKeys);
     }
-    return new TreeCopyHandler(targetDatasetKey, decisions, factory, nameIndex, user, sector, state);
+    return handler;
   }
 
   /**
@@ -414,6 +438,7 @@ public class SectorSync extends SectorRunnable {
       LOG.info("Synced {} taxa and {} synonyms from sector {}", state.getTaxonCount(), state.getSynonymCount(), sectorKey);
       LOG.info("Sync name & taxon relations from sector {}", sectorKey);
       treeHandler.copyRelations();
+      namesChanged(treeHandler.getUpdatedNameIds());
 
       // copy handler stats to metrics
       state.setAppliedDecisionCount(treeHandler.getDecisionCounter());
@@ -451,6 +476,7 @@ public class SectorSync extends SectorRunnable {
           throw new SyncException("Sync of sector "+ sectorKey +" has thrown an exception", exception);
         }
         LOG.info("Updated {} names from sector {}", treeHandler.getUpdated(), sectorKey);
+        namesChanged(treeHandler.getUpdatedNameIds());
 
       } catch (InterruptedRuntimeException e) {
         // tree handlers are throwing consumer which wrap exceptions as runtime exceptions - unpack them!
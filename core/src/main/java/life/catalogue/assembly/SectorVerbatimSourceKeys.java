@@ -0,0 +1,91 @@
+package life.catalogue.assembly;
+
+import life.catalogue.db.mapper.VerbatimSourceMapper;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Verbatim source keys for sectors merged concurrently into the same dataset.
+ * Each sector draws temporary negative keys from its own blocks of a shared block sequence,
+ * so concurrent sectors never clash while the keys a sector issues only depend on its own merge order.
+ * Once all sectors are merged {@link #renumber(SqlSessionFactory, List)} replaces the temporary keys
+ * with final positive keys assigned in sector priority order, which makes the published keys
+ * independent of thread interleaving.
+ */
+public class SectorVerbatimSourceKeys {
+  private static final Logger LOG = LoggerFactory.getLogger(SectorVerbatimSourceKeys.class);
+  static final int BLOCK_SIZE = 1000;
+  private final int datasetKey;
+  private final AtomicInteger blocks = new AtomicInteger();
+  private final Map<Integer, Scope> scopes = new ConcurrentHashMap<>();
+
+  private static class Scope {
+    final IntArrayList blocks = new IntArrayList();
+    int issued;
+  }
+
+  public SectorVerbatimSourceKeys(int datasetKey) {
+    this.datasetKey = datasetKey;
+  }
+
+  public int getDatasetKey() {
+    return datasetKey;
+  }
+
+  /**
+   * @return the next temporary, negative key for the given sector
+   */
+  public int next(int sectorKey) {
+    var scope = scopes.computeIfAbsent(sectorKey, k -> new Scope());
+    synchronized (scope) {
+      int idx = scope.issued % BLOCK_SIZE;
+      if (idx == 0) {
+        scope.blocks.add(blocks.getAndIncrement());
+      }
+      int block = scope.blocks.getInt(scope.issued / BLOCK_SIZE);
+      scope.issued++;
+      return -(block * BLOCK_SIZE + idx + 1);
+    }
+  }
+
+  /**
+   * Replaces all temporary keys with positive keys following the current maximum key of the dataset.
+   * Keys are assigned sector by sector in the given priority order and within a sector in the order they were issued.
+   * Must only be called once no sector issues keys anymore.
+   *
+   * @param sectorKeys all sectors that issued keys in their priority order
+   */
+  public void renumber(SqlSessionFactory factory, List<Integer> sectorKeys) {
+    if (scopes.isEmpty()) return;
+    try (SqlSession session = factory.openSession(true)) {
+      var vsm = session.getMapper(VerbatimSourceMapper.class);
+      int next = Math.max(vsm.getMaxID(datasetKey), 0) + 1;
+      final int first = next;
+      Map<Integer, Integer> starts = new LinkedHashMap<>();
+      for (Integer sk : sectorKeys) {
+        var scope = scopes.get(sk);
+        if (scope == null) continue;
+        for (int j = 0; j < scope.blocks.size(); j++) {
+          starts.put(scope.blocks.getInt(j), next);
+          next += Math.min(BLOCK_SIZE, scope.issued - j * BLOCK_SIZE);
+        }
+      }
+      if (starts.size() != blocks.get()) {
+        throw new IllegalStateException("Verbatim source keys issued for sectors missing in the priority order: " + scopes.keySet());
+      }
+      LOG.info("Renumber {} temporary verbatim source keys of dataset {} starting from {}", next - first, datasetKey, first);
+      vsm.renumberTemporaryKeys(datasetKey, BLOCK_SIZE, starts);
+    }
+  }
+}
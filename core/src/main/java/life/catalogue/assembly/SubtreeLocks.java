@@ -0,0 +1,120 @@
+package life.catalogue.assembly;
+
+import java.util.*;
+
+import javax.annotation.Nullable;
+
+/**
+ * Subtree scoped locks for sector jobs running in a project.
+ * A lock covers the subtree below a sector target and conflicts with any other lock in the same project
+ * whose target is the same, an ancestor or a descendant. A lock without a target covers the entire project.
+ * In addition the number of locks held per project is limited.
+ *
+ * The class is not thread safe, access needs to be synchronized by the caller.
+ */
+class SubtreeLocks {
+  private final int maxPerProject;
+  private final Map<Integer, List<Subtree>> locks = new HashMap<>();
+
+  static class Subtree {
+    final int projectKey;
+    final @Nullable String targetID;
+    // the target and all its ancestors
+    final Set<String> classification;
+
+    private Subtree(int projectKey, @Nullable String targetID, Set<String> classification) {
+      this.projectKey = projectKey;
+      this.targetID = targetID;
+      this.classification = classification;
+    }
+
+    /**
+     * A lock on the entire project.
+     */
+    static Subtree project(int projectKey) {
+      return new Subtree(projectKey, null, Set.of());
+    }
+
+    /**
+     * @param ancestorIDs the ids of all ancestors of the target
+     */
+    static Subtree of(int projectKey, String targetID, Collection<String> ancestorIDs) {
+      var cl = new HashSet<>(ancestorIDs);
+      cl.add(targetID);
+      return new Subtree(projectKey, targetID, cl);
+    }
+
+    boolean isProject() {
+      return targetID == null;
+    }
+
+    boolean overlaps(Subtree other) {
+      return projectKey == other.projectKey && (
+        isProject() || other.isProject()
+          || classification.contains(other.targetID)
+          || other.classification.contains(targetID)
+      );
+    }
+
+    @Override
+    public String toString() {
+      return isProject() ? "project " + projectKey : "subtree " + projectKey + ":" + targetID;
+    }
+  }
+
+  /**
+   * @param maxPerProject maximum number of locks held concurrently in a single project
+   */
+  SubtreeLocks(int maxPerProject) {
+    this.maxPerProject = maxPerProject;
+  }
+
+  /**
+   * @return true if the subtree could be locked right now
+   */
+  boolean isAvailable(Subtree subtree) {
+    var held = locks.get(subtree.projectKey);
+    if (held == null) {
+      return true;
+    }
+    if (held.size() >= maxPerProject) {
+      return false;
+    }
+    for (var st : held) {
+      if (st.overlaps(subtree)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Locks the subtree if it is available.
+   * @return true if the subtree was locked
+   */
+  boolean tryLock(Subtree subtree) {
+    if (isAvailable(subtree)) {
+      locks.computeIfAbsent(subtree.projectKey, k -> new ArrayList<>()).add(subtree);
+      return true;
+    }
+    return false;
+  }
+
+  void unlock(Subtree subtree) {
+    var held = locks.get(subtree.projectKey);
+    if (held != null) {
+      held.remove(subtree);
+      if (held.isEmpty()) {
+        locks.remove(subtree.projectKey);
+      }
+    }
+  }
+
+  /**
+   * @return number of locks held in the given project
+   */
+  int size(int projectKey) {
+    var held = locks.get(projectKey);
+    return held == null ? 0 : held.size();
+  }
+}
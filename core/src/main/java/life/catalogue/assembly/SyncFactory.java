@@ -1,7 +1,9 @@
 package life.catalogue.assembly;
 
 import life.catalogue.api.model.DSID;
+import life.catalogue.api.model.SectorImport;
 import life.catalogue.cache.LatestDatasetKeyCache;
+import life.catalogue.cache.SharedUsageCaches;
 import life.catalogue.common.id.ShortUUID;
 import life.catalogue.dao.EstimateDao;
 import life.catalogue.dao.SectorDao;
@@ -14,6 +16,7 @@ import life.catalogue.matching.UsageMatcherFactory;
 import life.catalogue.matching.nidx.NameIndex;
 import life.catalogue.release.UsageIdGen;
 
+import java.util.Collection;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -41,6 +44,7 @@ public class SyncFactory {
   private final EventBroker bus;
   private final IdentifierScopeResolver scopeResolver;
   private final LatestDatasetKeyCache latestKeyCache;
+  private SharedUsageCaches sourceCaches;
 
   public SyncFactory(SqlSessionFactory factory, UsageMatcherFactory matcherFactory, NameIndex nameIndex,
                      SectorDao sd, SectorImportDao sid, EstimateDao estimateDao,
@@ -59,6 +63,14 @@ public class SyncFactory {
     this.latestKeyCache = latestKeyCache == null ? LatestDatasetKeyCache.passThru() : latestKeyCache;
   }
 
+  /**
+   * Sets the preloaded source dataset caches shared by all hierarchy syncs.
+   * If none are set every hierarchy sync lazily fills its own cache.
+   */
+  public void setSourceCaches(@Nullable SharedUsageCaches sourceCaches) {
+    this.sourceCaches = sourceCaches;
+  }
+
   /**
    * Creates a new sync into a project dataset using a direct postgres matcher with the tree merge handlers write batch session.
    */
@@ -83,6 +95,17 @@ public class SyncFactory {
       nameIdGen, typeMaterialIdGen, usageIdGen, scopeResolver, user);
   }
 
+  /**
+   * Rematches all broken estimates of a project once for several syncs that deferred it
+   * and refreshes the estimate counts of their sector imports.
+   */
+  void rematchEstimates(int projectKey, Collection<SectorImport> imports, int user) {
+    SectorSync.rematchEstimates(estimateDao, projectKey, user);
+    for (var si : imports) {
+      sid.updateEstimateCount(si, projectKey);
+    }
+  }
+
   /**
    * Creates a new hierarchy sync that delegates the higher classification of a project to a target taxonomy.
    * The sector must be in {@link life.catalogue.api.model.Sector.Mode#HIERARCHY} mode.
@@ -91,7 +114,7 @@ public class SyncFactory {
     return new HierarchySync(sectorKey, factory,
       supplyPgMatcher(sectorKey.getDatasetKey()),
       (dk, sess) -> matcherFactory.postgres(dk, sess),
-      latestKeyCache, bus, indexService, sd, sid, successCallback, errorCallback, scopeResolver, user);
+      latestKeyCache, bus, indexService, sd, sid, successCallback, errorCallback, scopeResolver, sourceCaches, user);
   }
 
   public SectorDelete delete(DSID<Integer> sectorKey, Consumer<SectorRunnable> successCallback, BiConsumer<SectorRunnable, Exception> errorCallback, int user) throws IllegalArgumentException {
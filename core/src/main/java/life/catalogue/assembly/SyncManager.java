@@ -15,10 +15,7 @@ import life.catalogue.concurrent.ExecutorUtils;
 import life.catalogue.config.SyncManagerConfig;
 import life.catalogue.dao.DatasetInfoCache;
 import life.catalogue.db.PgUtils;
-import life.catalogue.db.mapper.DatasetMapper;
-import life.catalogue.db.mapper.NameMapper;
-import life.catalogue.db.mapper.SectorImportMapper;
-import life.catalogue.db.mapper.SectorMapper;
+import life.catalogue.db.mapper.*;
 import life.catalogue.matching.nidx.NameIndex;
 
 import life.catalogue.concurrent.NamedThreadFactory;
@@ -26,10 +23,7 @@ import life.catalogue.concurrent.NamedThreadFactory;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -38,9 +32,21 @@ import org.apache.ibatis.session.SqlSessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 
+/**
+ * Queues and runs sector syncs and deletions.
+ * Jobs run concurrently with the configured number of threads, but jobs in the same project
+ * only run at the same time if their target subtrees do not overlap, see {@link SubtreeLocks}.
+ * Conflicting jobs are executed in the order they were queued.
+ *
+ * Project wide work of syncs, i.e. rematching broken estimates, is deferred and done only once per project
+ * when all its queued jobs have finished. It runs with a lock on the entire project.
+ * Jobs running in the same project share a single sequence of new verbatim source keys.
+ */
 public class SyncManager implements Managed, Idle, SectorListener, DatasetListener {
   static  final Comparator<Sector> SECTOR_ORDER = Comparator.comparing(Sector::getTarget, Comparator.nullsLast(SimpleName::compareTo));
   private static final Logger LOG = LoggerFactory.getLogger(SyncManager.class);
@@ -56,8 +62,21 @@ public class SyncManager implements Managed, Idle, SectorListener, DatasetListen
   private final SyncFactory syncFactory;
   private final Map<DSID<Integer>, SectorFuture> syncs = Collections.synchronizedMap(new LinkedHashMap<>());
   private final Timer timer;
-  private final Map<Integer, AtomicInteger> counter = new HashMap<>(); // by dataset (project) key
-  private final Map<Integer, AtomicInteger> failed = new HashMap<>();  // by dataset (project) key
+  private final Timer waitTimer;
+  private final Histogram throughput;
+  private final Map<Integer, AtomicInteger> counter = new ConcurrentHashMap<>(); // by dataset (project) key
+  private final Map<Integer, AtomicInteger> failed = new ConcurrentHashMap<>();  // by dataset (project) key
+  // jobs waiting for a free thread or their subtree lock, in the order they were queued
+  private final List<PendingJob> pending = new LinkedList<>();
+  private final SubtreeLocks locks;
+  // finished syncs by project key which deferred rematching the project estimates
+  private final Map<Integer, List<SectorSync>> deferredRematches = new HashMap<>();
+  // new verbatim source keys shared by all jobs of a project while any of them is running
+  private final Map<Integer, VerbatimSourceKeys> vsKeys = new HashMap<>();
+  private int running;
+
+  private record PendingJob(SectorRunnable job, SubtreeLocks.Subtree subtree, FutureTask<?> task) {
+  }
 
   static class SectorFuture {
     public final DSID<Integer> sectorKey;
@@ -78,13 +97,28 @@ public class SyncManager implements Managed, Idle, SectorListener, DatasetListen
     this.factory = factory;
     this.syncFactory = syncFactory;
     this.nameIndex = nameIndex;
+    locks = new SubtreeLocks(cfg.projectThreads);
     timer = registry.timer("life.catalogue.assembly.timer");
+    waitTimer = registry.timer("life.catalogue.assembly.wait");
+    // usages per second of every finished sync
+    throughput = registry.histogram("life.catalogue.assembly.throughput");
+    registry.register("life.catalogue.assembly.queue", (Gauge<Integer>) this::queueSize);
+    registry.register("life.catalogue.assembly.running", (Gauge<Integer>) this::runningSize);
+  }
+
+  private synchronized int queueSize() {
+    return pending.size();
+  }
+
+  private synchronized int runningSize() {
+    return running;
   }
   
   @Override
   public void start() throws Exception {
     LOG.info("Starting assembly coordinator");
-    exec = Executors.newSingleThreadExecutor(new NamedThreadFactory(THREAD_NAME, Thread.MAX_PRIORITY, true));
+    LOG.info("Run {} concurrent syncs with up to {} per project", cfg.threads, cfg.projectThreads);
+    exec = Executors.newFixedThreadPool(cfg.threads, new NamedThreadFactory(THREAD_NAME, Thread.MAX_PRIORITY, true));
 
     // cancel all existing syncs/deletions
     try (SqlSession session = factory.openSession(true)) {
@@ -130,8 +164,11 @@ public class SyncManager implements Managed, Idle, SectorListener, DatasetListen
     if (exec != null) {
       LOG.info("Stop assembly coordinator");
       // orderly shutdown running syncs
-      for (SectorFuture df : syncs.values()) {
-        df.future.cancel(true);
+      synchronized (this) {
+        pending.clear();
+        for (SectorFuture df : syncs.values()) {
+          df.future.cancel(true);
+        }
       }
       // fully shutdown threadpool within given time
       ExecutorUtils.shutdown(exec, ExecutorUtils.MILLIS_TO_DIE, TimeUnit.MILLISECONDS);
@@ -146,7 +183,8 @@ public class SyncManager implements Managed, Idle, SectorListener, DatasetListen
 
   @Override
   public boolean isIdle() {
-    return !hasStarted() || getState().isIdle();
+    // also wait for deferred estimate rematches which are not tracked as syncs
+    return !hasStarted() || (getState().isIdle() && runningSize() == 0);
   }
 
   public SyncState getState() {
@@ -259,9 +297,15 @@ public class SyncManager implements Managed, Idle, SectorListener, DatasetListen
       LOG.warn("Merge sectors blocked in project, skip sync of sector {}", sectorKey);
       return false;
     }
-    SectorRunnable sr = mode == Sector.Mode.HIERARCHY
-      ? syncFactory.hierarchy(sectorKey, this::successCallBack, this::errorCallBack, user)
-      : syncFactory.project(sectorKey, this::successCallBack, this::errorCallBack, user);
+    SectorRunnable sr;
+    if (mode == Sector.Mode.HIERARCHY) {
+      sr = syncFactory.hierarchy(sectorKey, this::successCallBack, this::errorCallBack, user);
+    } else {
+      var ss = syncFactory.project(sectorKey, this::successCallBack, this::errorCallBack, user);
+      // done once for all queued syncs of the project, see release()
+      ss.deferEstimateRematch();
+      sr = ss;
+    }
     return queueJob(sr);
   }
 
@@ -299,8 +343,12 @@ public class SyncManager implements Managed, Idle, SectorListener, DatasetListen
 
       } else {
         assertDataExists(job);
-        syncs.put(job.sectorKey, new SectorFuture(job, exec.submit(job)));
+        final var subtree = subtree(job);
+        final var task = new FutureTask<>(job, null);
+        syncs.put(job.sectorKey, new SectorFuture(job, task));
+        pending.add(new PendingJob(job, subtree, task));
         LOG.info("Queued {} for {} targeting {}", job.getClass().getSimpleName(), job.sector, job.sector.getTarget());
+        dispatch();
         return true;
       }
 
@@ -310,6 +358,125 @@ public class SyncManager implements Managed, Idle, SectorListener, DatasetListen
     }
   }
 
+  /**
+   * Merge syncs match names against the entire project and lock it just as sectors without an existing target.
+   * All other jobs only lock the subtree of their target.
+   */
+  private SubtreeLocks.Subtree subtree(SectorRunnable job) {
+    final int projectKey = job.sectorKey.getDatasetKey();
+    Sector s = job.sector;
+    if (s.getMode() == Sector.Mode.MERGE || s.getTargetID() == null) {
+      return SubtreeLocks.Subtree.project(projectKey);
+    }
+    final var key = DSID.of(projectKey, s.getTargetID());
+    try (SqlSession session = factory.openSession(true)) {
+      if (!session.getMapper(NameUsageMapper.class).exists(key)) {
+        return SubtreeLocks.Subtree.project(projectKey);
+      }
+      return SubtreeLocks.Subtree.of(projectKey, s.getTargetID(), session.getMapper(TaxonMapper.class).classificationIds(key));
+    }
+  }
+
+  /**
+   * Starts pending jobs in the order they were queued as long as there are free threads.
+   * A job is skipped if its subtree is locked or overlaps with the subtree of a job queued before it,
+   * so conflicting jobs never overtake each other.
+   */
+  private synchronized void dispatch() {
+    if (exec == null) {
+      return;
+    }
+    final Map<Integer, List<SubtreeLocks.Subtree>> skipped = new HashMap<>();
+    final Set<Integer> blockedProjects = new HashSet<>();
+    var iter = pending.iterator();
+    while (running < cfg.threads && iter.hasNext()) {
+      var pj = iter.next();
+      if (pj.task.isCancelled()) {
+        iter.remove();
+        continue;
+      }
+      final int projectKey = pj.subtree.projectKey;
+      if (blockedProjects.contains(projectKey)) {
+        continue;
+      }
+      var before = skipped.getOrDefault(projectKey, List.of());
+      if (before.stream().noneMatch(pj.subtree::overlaps) && locks.tryLock(pj.subtree)) {
+        iter.remove();
+        running++;
+        waitTimer.update(Duration.between(pj.job.getCreated(), LocalDateTime.now()));
+        // concurrent jobs in a project must not all continue from the same maximum verbatim source key
+        pj.job.shareVerbatimSourceKeys(vsKeys.computeIfAbsent(projectKey, k -> VerbatimSourceKeys.afterMax(factory, k)));
+        exec.execute(() -> run(pj));
+
+      } else if (pj.subtree.isProject() || locks.size(projectKey) >= cfg.projectThreads) {
+        // nothing queued later in this project can start now
+        blockedProjects.add(projectKey);
+      } else {
+        skipped.computeIfAbsent(projectKey, k -> new ArrayList<>()).add(pj.subtree);
+      }
+    }
+  }
+
+  private void run(PendingJob pj) {
+    try {
+      // does nothing if the job was cancelled in the meantime
+      pj.task.run();
+    } finally {
+      synchronized (this) {
+        if (pj.job instanceof SectorSync ss && ss.getStarted() != null) {
+          deferredRematches.computeIfAbsent(pj.subtree.projectKey, k -> new ArrayList<>()).add(ss);
+        }
+        release(pj.subtree);
+      }
+    }
+  }
+
+  /**
+   * Releases the lock of a finished job and starts the next jobs.
+   * If the last queued job of a project finished, the deferred estimate rematching of the project is started first.
+   */
+  private synchronized void release(SubtreeLocks.Subtree subtree) {
+    locks.unlock(subtree);
+    running--;
+    final int projectKey = subtree.projectKey;
+    if (!hasJobs(projectKey)) {
+      // the next job continues from the maximum key again, other writers may have added keys in between
+      vsKeys.remove(projectKey);
+      if (exec != null && deferredRematches.containsKey(projectKey)) {
+        rematchEstimates(projectKey, deferredRematches.remove(projectKey));
+      }
+    }
+    dispatch();
+  }
+
+  private boolean hasJobs(int projectKey) {
+    return locks.size(projectKey) > 0 || pending.stream()
+      .anyMatch(pj -> pj.subtree.projectKey == projectKey && !pj.task.isCancelled());
+  }
+
+  private void rematchEstimates(int projectKey, List<SectorSync> syncs) {
+    final var subtree = SubtreeLocks.Subtree.project(projectKey);
+    locks.tryLock(subtree);
+    running++;
+    final int user = syncs.getLast().user;
+    LOG.info("Rematch broken estimates of project {} after {} syncs", projectKey, syncs.size());
+    try {
+      exec.execute(() -> {
+        try {
+          syncFactory.rematchEstimates(projectKey, syncs.stream().map(SectorRunnable::getState).toList(), user);
+        } catch (RuntimeException e) {
+          LOG.error("Failed to rematch estimates of project {}", projectKey, e);
+        } finally {
+          release(subtree);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      LOG.warn("Sync manager is shutting down, skip rematching estimates of project {}", projectKey);
+      locks.unlock(subtree);
+      running--;
+    }
+  }
+
   private boolean rejectJob(SectorRunnable job, String reason) {
     LOG.warn(reason);
     try (SqlSession session = factory.openSession(true)) {
@@ -329,9 +496,9 @@ public class SyncManager implements Managed, Idle, SectorListener, DatasetListen
     Duration durQueued = Duration.between(sync.getCreated(), sync.getStarted());
     Duration durRun = Duration.between(sync.getStarted(), LocalDateTime.now());
     LOG.info("Sector Sync {} finished. {} min queued, {} min to execute", sync.getSectorKey(), durQueued.toMinutes(), durRun.toMinutes());
-    counter.putIfAbsent(sync.sectorKey.getDatasetKey(), new AtomicInteger(0));
-    counter.get(sync.sectorKey.getDatasetKey()).incrementAndGet();
+    counter.computeIfAbsent(sync.sectorKey.getDatasetKey(), k -> new AtomicInteger(0)).incrementAndGet();
     timer.update(durRun.getSeconds(), TimeUnit.SECONDS);
+    throughput.update(sync.getState().getUsagesCount() * 1000L / Math.max(1, durRun.toMillis()));
   }
   
   /**
@@ -340,8 +507,7 @@ public class SyncManager implements Managed, Idle, SectorListener, DatasetListen
   private void errorCallBack(SectorRunnable sync, Exception err) {
     syncs.remove(sync.getSectorKey());
     LOG.error("Sector Sync {} failed: {}", sync.getSectorKey(), err.getCause().getMessage(), err.getCause());
-    failed.putIfAbsent(sync.sectorKey.getDatasetKey(), new AtomicInteger(0));
-    failed.get(sync.sectorKey.getDatasetKey()).incrementAndGet();
+    failed.computeIfAbsent(sync.sectorKey.getDatasetKey(), k -> new AtomicInteger(0)).incrementAndGet();
   }
 
   public synchronized void cancel(DSID<Integer> sectorKey, int user) {
@@ -349,6 +515,8 @@ public class SyncManager implements Managed, Idle, SectorListener, DatasetListen
       LOG.info("Sync of sector {} cancelled by user {}", sectorKey, user);
       var sync = syncs.remove(sectorKey);
       sync.future.cancel(true);
+      // drop it from the pending queue
+      dispatch();
     }
   }
 
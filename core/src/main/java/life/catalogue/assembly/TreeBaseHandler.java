@@ -73,6 +73,8 @@ public abstract class TreeBaseHandler implements TreeHandler {
   protected final UsageIdGen usageIdGen;
   protected final Supplier<String> typeMaterialIdGen;
   protected int vsIdGen;
+  // keys shared with other jobs writing into the same target at the same time, if any
+  private @Nullable VerbatimSourceKeys sharedVsKeys;
   // counter
   protected final Map<IgnoreReason, Integer> ignoredCounter = new EnumMap<>(IgnoreReason.class);
   protected final Map<NomRelType, Map<String, String>> nameRelsToBeCreated = new HashMap<>();
@@ -162,6 +164,25 @@ public abstract class TreeBaseHandler implements TreeHandler {
     LOG.info("Start new verbatim source ids from {}", vsIdGen);
   }
 
+  /**
+   * @return the key for a new verbatim source record
+   */
+  protected int nextVerbatimSourceKey() {
+    if (sharedVsKeys != null) {
+      return sharedVsKeys.next();
+    }
+    return vsIdGen++;
+  }
+
+  /**
+   * Issues new verbatim source keys from a sequence shared with other jobs writing into the target dataset concurrently
+   * instead of continuing from the maximum key found when the handler was created.
+   */
+  void shareVerbatimSourceKeys(VerbatimSourceKeys keys) {
+    Preconditions.checkArgument(keys.getDatasetKey() == targetDatasetKey, "Verbatim source keys of a different dataset");
+    this.sharedVsKeys = keys;
+  }
+
   @Override
   public Throwable lastException() {
     return null;
@@ -320,7 +341,7 @@ public abstract class TreeBaseHandler implements TreeHandler {
       }
     }
     // track source
-    VerbatimSource v = new VerbatimSource(targetDatasetKey, vsIdGen++, sector.getId(), sector.getSubjectDatasetKey(), origID, EntityType.NAME_USAGE);
+    VerbatimSource v = new VerbatimSource(targetDatasetKey, nextVerbatimSourceKey(), sector.getId(), sector.getSubjectDatasetKey(), origID, EntityType.NAME_USAGE);
     v.add(issues);
     vsm.create(v);
     u.setVerbatimSourceKey(v.getId());
@@ -355,6 +376,39 @@ public abstract class TreeBaseHandler implements TreeHandler {
     return u == null ? null : u.id;
   }
 
+  /**
+   * Builds an implicit name of the given rank from the parts of a parsed name.
+   * The name is neither matched nor persisted and its scientific name can be null if the parts are missing.
+   *
+   * @param r one of the implicit ranks genus, subgenus or species
+   * @return the implicit name or null if the original name has no subgenus
+   */
+  public static Name implicitName(Name origName, Rank r) {
+    Name n = new Name();
+    n.setCode(origName.getCode());
+    if (r == Rank.GENUS) {
+      n.setUninomial(origName.getGenus());
+
+    } else if (r == Rank.SUBGENUS) {
+      if (origName.getInfragenericEpithet() == null) {
+        return null;
+      }
+      n.setGenus(origName.getGenus()); // we keep the genus placement
+      n.setInfragenericEpithet(origName.getInfragenericEpithet());
+
+    } else if (r == Rank.SPECIES) {
+      n.setGenus(origName.getGenus());
+      n.setSpecificEpithet(origName.getSpecificEpithet());
+    } else {
+      // just to make sure
+      throw new IllegalStateException("Unknown implicit rank " + r);
+    }
+    n.setRank(r);
+    n.setType(NameType.SCIENTIFIC);
+    n.rebuildScientificName();
+    return n;
+  }
+
   /**
    * If needed creates missing implicit taxa for species or genera.
    * Implicit names are not created for:
@@ -383,29 +437,11 @@ public abstract class TreeBaseHandler implements TreeHandler {
       }
       // now see if we have copied such a name already - avoid creating duplicates: https://github.com/CatalogueOfLife/testing/issues/189
       for (Rank r : neededRanks) {
-        Name n = new Name();
-        n.setCode(origName.getCode());
-        if (r == Rank.GENUS) {
-          n.setUninomial(origName.getGenus());
-
-        } else if (r == Rank.SUBGENUS) {
-          if (origName.getInfragenericEpithet() == null) {
-            continue;
-          }
-          n.setGenus(origName.getGenus()); // we keep the genus placement
-          n.setInfragenericEpithet(origName.getInfragenericEpithet());
-
-        } else if (r == Rank.SPECIES) {
-          n.setGenus(origName.getGenus());
-          n.setSpecificEpithet(origName.getSpecificEpithet());
-        } else {
-          // just to make sure
-          throw new IllegalStateException("Unknown implicit rank " + r);
+        Name n = implicitName(origName, r);
+        if (n == null) {
+          continue;
         }
-        n.setRank(r);
-        n.setType(NameType.SCIENTIFIC);
         n.setSectorKey(sector.getId());
-        n.rebuildScientificName();
         // make sure we have a name: https://github.com/CatalogueOfLife/backend/issues/735
         if (n.getScientificName() == null) {
           LOG.warn("Could not create implicit name for rank {} from {}: {}", r, origName.getScientificName(), n);
@@ -774,7 +810,7 @@ public abstract class TreeBaseHandler implements TreeHandler {
         ref.applyUser(user);
 
         // track source
-        VerbatimSource v = new VerbatimSource(targetDatasetKey, vsIdGen++, sector.getId(), sector.getSubjectDatasetKey(), ref.getId(), EntityType.REFERENCE);
+        VerbatimSource v = new VerbatimSource(targetDatasetKey, nextVerbatimSourceKey(), sector.getId(), sector.getSubjectDatasetKey(), ref.getId(), EntityType.REFERENCE);
         vsm.create(v);
         ref.setVerbatimSourceKey(v.getId());
 
@@ -9,6 +9,7 @@ import life.catalogue.common.func.ThrowingConsumer;
 import org.gbif.nameparser.api.Rank;
 
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Consumers should not expect the accepted property of a Synonym to exist!
@@ -34,6 +35,13 @@ public interface TreeHandler extends ThrowingConsumer<NameUsageBase, Interrupted
 
   int getDecisionCounter();
 
+  /**
+   * @return ids of existing target names that were updated without updating their names index match
+   */
+  default Set<String> getUpdatedNameIds() {
+    return Set.of();
+  }
+
   @Override
   void close() throws InterruptedException;
 
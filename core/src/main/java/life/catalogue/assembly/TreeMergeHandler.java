@@ -51,6 +51,7 @@ public class TreeMergeHandler extends TreeBaseHandler {
   private int thrown = 0;
   private int created = 0;
   private int updated = 0; // updates
+  private final Set<String> updatedNameIds = new HashSet<>();
   private Throwable exception;
   private final @Nullable TreeMergeHandlerConfig cfg;
   private final DSID<Integer> vKey;
@@ -428,6 +429,7 @@ public class TreeMergeHandler extends TreeBaseHandler {
         vsm.insertSources(vskey, n, upd);
         // update name
         nm.update(pn);
+        updatedNameIds.add(pn.getId());
         // commit in batches
         if (updated % 1000 == 0) {
           interruptIfCancelled();
@@ -640,13 +642,21 @@ public class TreeMergeHandler extends TreeBaseHandler {
     return existingParentFound;
   }
 
+  @Override
+  protected int nextVerbatimSourceKey() {
+    if (cfg != null && cfg.hasSharedVerbatimSourceKeys()) {
+      return cfg.nextVerbatimSourceKey(sector.getId());
+    }
+    return super.nextVerbatimSourceKey();
+  }
+
   /**
    * Lazily persist a new verbatim source if the key is not existing yet
    */
   private int verbatimSourceKey(VerbatimSource v) {
     if (v.getId() == null) {
       // first persist to create the key
-      v.setId(vsIdGen++);
+      v.setId(nextVerbatimSourceKey());
       vsm.create(v);
     }
     return v.getId();
@@ -751,6 +761,7 @@ public class TreeMergeHandler extends TreeBaseHandler {
           pn.setVerbatimSourceKey(vsKey.getId());
         }
         nm.update(pn);
+        updatedNameIds.add(pn.getId());
         if (uvsKey == null) {
           num.updateVerbatimSourceKey(existingUsageKey, vsKey.getId());
         }
@@ -780,7 +791,7 @@ public class TreeMergeHandler extends TreeBaseHandler {
    * But do not link to a primary source, i.e. not populate sector, sourceId & source dataset
    */
   private VerbatimSource createSecondaryVS() {
-    var vs = new VerbatimSource(targetDatasetKey, vsIdGen++, null, null, null, null);
+    var vs = new VerbatimSource(targetDatasetKey, nextVerbatimSourceKey(), null, null, null, null);
     vsm.create(vs);
     return vs;
   }
@@ -1004,6 +1015,11 @@ public class TreeMergeHandler extends TreeBaseHandler {
     LOG.info("{}: Total processed={}, thrown={}, ignored={}, created={}, updated={}", sector, counter, thrown, ignored, created, updated);
   }
 
+  @Override
+  public Set<String> getUpdatedNameIds() {
+    return updatedNameIds;
+  }
+
   public int getUpdated() {
     return updated;
   }
@@ -35,6 +35,8 @@ public class TreeMergeHandlerConfig {
   private final List<Pattern> blockedNamePatterns = new ArrayList<>();
   // resolved usage ids of the protected group root taxa in the sync target dataset
   private final Set<String> protectedUsageIds = new HashSet<>();
+  // sector scoped verbatim source keys shared by all handlers when sectors are merged concurrently
+  private SectorVerbatimSourceKeys verbatimSourceKeys;
 
   public TreeMergeHandlerConfig(SqlSessionFactory factory, XReleaseConfig rcfg, int datasetKey, int user) {
     this.factory = factory;
@@ -196,6 +198,35 @@ public class TreeMergeHandlerConfig {
     return incertae != null;
   }
 
+  /**
+   * Makes all merge handlers issue temporary verbatim source keys from ranges scoped by their sector,
+   * so sectors can be merged concurrently without clashing keys.
+   * The temporary keys must be replaced by final ones via {@link #renumberVerbatimSourceKeys(List)} once all sectors are merged.
+   */
+  public synchronized void shareVerbatimSourceKeys() {
+    if (verbatimSourceKeys == null) {
+      verbatimSourceKeys = new SectorVerbatimSourceKeys(datasetKey);
+    }
+  }
+
+  public boolean hasSharedVerbatimSourceKeys() {
+    return verbatimSourceKeys != null;
+  }
+
+  public int nextVerbatimSourceKey(int sectorKey) {
+    return verbatimSourceKeys.next(sectorKey);
+  }
+
+  /**
+   * Replaces the temporary verbatim source keys of all merged sectors with final keys assigned in sector priority order.
+   * @param sectorKeys all merged sectors in their priority order
+   */
+  public void renumberVerbatimSourceKeys(List<Integer> sectorKeys) {
+    if (verbatimSourceKeys != null) {
+      verbatimSourceKeys.renumber(factory, sectorKeys);
+    }
+  }
+
   public static void main(String[] args){
     try {
       var p = Pattern.compile("bnp.trim()", Pattern.CASE_INSENSITIVE);
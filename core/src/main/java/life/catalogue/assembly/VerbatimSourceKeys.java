@@ -0,0 +1,44 @@
+package life.catalogue.assembly;
+
+import life.catalogue.db.mapper.VerbatimSourceMapper;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A single sequence of new verbatim source keys for a dataset,
+ * shared by all sector jobs writing into the dataset at the same time so their keys never clash.
+ */
+public class VerbatimSourceKeys {
+  private static final Logger LOG = LoggerFactory.getLogger(VerbatimSourceKeys.class);
+  private final int datasetKey;
+  private final AtomicInteger next;
+
+  private VerbatimSourceKeys(int datasetKey, int start) {
+    this.datasetKey = datasetKey;
+    this.next = new AtomicInteger(start);
+  }
+
+  /**
+   * @return a sequence starting after the current maximum verbatim source key of the dataset
+   */
+  public static VerbatimSourceKeys afterMax(SqlSessionFactory factory, int datasetKey) {
+    try (SqlSession session = factory.openSession(true)) {
+      int start = session.getMapper(VerbatimSourceMapper.class).getMaxID(datasetKey) + 1;
+      LOG.info("Share new verbatim source ids of dataset {} starting from {}", datasetKey, start);
+      return new VerbatimSourceKeys(datasetKey, start);
+    }
+  }
+
+  public int getDatasetKey() {
+    return datasetKey;
+  }
+
+  public int next() {
+    return next.getAndIncrement();
+  }
+}
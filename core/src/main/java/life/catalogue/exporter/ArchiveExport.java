@@ -39,9 +39,10 @@ public abstract class ArchiveExport extends DatasetExportJob {
   private static final String LOGO_FILENAME = "logo.png";
 
   protected final boolean fullDataset;
-  protected final Set<String> nameIDs = new HashSet<>();
-  protected final Set<String> taxonIDs = new HashSet<>();
-  protected final Set<String> refIDs = new HashSet<>();
+  // ids of exported records to filter related data, only tracked for dataset subsets
+  protected final IdSet nameIDs = new IdSet();
+  protected final IdSet taxonIDs = new IdSet();
+  protected final IdSet refIDs = new IdSet();
   protected final LoadingCache<String, String> refCache;
   protected final SectorInfoCache sectorInfoCache;
   private final UriBuilder logoUriBuilder;
@@ -98,6 +99,10 @@ public abstract class ArchiveExport extends DatasetExportJob {
       // per-record cancellation checks inside the Consumer lambdas below abort with the
       // unchecked variant; surface it as a checked InterruptedException so we end CANCELED
       throw e.asChecked();
+    } finally {
+      nameIDs.close();
+      taxonIDs.close();
+      refIDs.close();
     }
   }
 
@@ -214,9 +219,6 @@ public abstract class ArchiveExport extends DatasetExportJob {
 
     } catch (RuntimeException e) {
       catchTruncation(e);
-    } finally {
-      taxonIDs.remove(null); // can happen
-      nameIDs.remove(null); // can happen
     }
   }
 
@@ -315,7 +317,6 @@ public abstract class ArchiveExport extends DatasetExportJob {
             }
           });
         } else {
-          refIDs.remove(null); // can happen
           for (String id : refIDs) {
             checkIfCancelledRuntime();
             var ref = rm.get(entityKey.id(id));
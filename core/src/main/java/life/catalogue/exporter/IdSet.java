@@ -0,0 +1,142 @@
+package life.catalogue.exporter;
+
+import life.catalogue.common.id.IdConverter;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.mapdb.Serializer;
+
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+
+/**
+ * A memory efficient set of string ids as tracked by exports of a dataset subset.
+ *
+ * Ids that are plain integers or encoded integers as issued for releases are kept as primitive ints,
+ * using a few bytes per id instead of a java string and a hash set entry.
+ * All other ids are kept off heap in a direct memory MapDB set which is only created once the first such id is added.
+ * Nulls are ignored.
+ *
+ * The set is not thread safe and needs to be closed to release the off heap memory.
+ */
+public class IdSet implements Iterable<String>, AutoCloseable {
+  private static final IdConverter CONVERTER = IdConverter.LATIN29;
+  private final IntOpenHashSet numbers = new IntOpenHashSet();
+  private final IntOpenHashSet encoded = new IntOpenHashSet();
+  private DB db;
+  private Set<String> others;
+
+  public void add(@Nullable String id) {
+    if (id == null) return;
+    Integer x = asNumber(id);
+    if (x != null) {
+      numbers.add(x.intValue());
+      return;
+    }
+    x = asEncoded(id);
+    if (x != null) {
+      encoded.add(x.intValue());
+      return;
+    }
+    if (others == null) {
+      db = DBMaker.memoryDirectDB().make();
+      others = db.hashSet("ids", Serializer.STRING).create();
+    }
+    others.add(id);
+  }
+
+  public void addAll(@Nullable Collection<String> ids) {
+    if (ids != null) {
+      ids.forEach(this::add);
+    }
+  }
+
+  public boolean contains(@Nullable String id) {
+    if (id == null) return false;
+    Integer x = asNumber(id);
+    if (x != null) {
+      return numbers.contains(x.intValue());
+    }
+    x = asEncoded(id);
+    if (x != null) {
+      return encoded.contains(x.intValue());
+    }
+    return others != null && others.contains(id);
+  }
+
+  public int size() {
+    return numbers.size() + encoded.size() + (others == null ? 0 : others.size());
+  }
+
+  /**
+   * @return the int value of an id that is a plain, non negative integer without leading zeros or null
+   */
+  private static Integer asNumber(String id) {
+    int len = id.length();
+    if (len == 0 || len > 10 || (len > 1 && id.charAt(0) == '0')) return null;
+    long x = 0;
+    for (int i = 0; i < len; i++) {
+      char c = id.charAt(i);
+      if (c < '0' || c > '9') return null;
+      x = x * 10 + (c - '0');
+    }
+    return x > Integer.MAX_VALUE ? null : (int) x;
+  }
+
+  /**
+   * @return the int value of an id that is encoded exactly as the IdConverter would do or null
+   */
+  private static Integer asEncoded(String id) {
+    if (id.length() > 7) return null;
+    try {
+      int x = CONVERTER.decode(id);
+      return x >= 0 && CONVERTER.encode(x).equals(id) ? x : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public Iterator<String> iterator() {
+    final Iterator<String> othersIter = others == null ? null : others.iterator();
+    return new Iterator<>() {
+      private final IntIterator numIter = numbers.iterator();
+      private final IntIterator encIter = encoded.iterator();
+
+      @Override
+      public boolean hasNext() {
+        return numIter.hasNext() || encIter.hasNext() || (othersIter != null && othersIter.hasNext());
+      }
+
+      @Override
+      public String next() {
+        if (numIter.hasNext()) {
+          return String.valueOf(numIter.nextInt());
+        }
+        if (encIter.hasNext()) {
+          return CONVERTER.encode(encIter.nextInt());
+        }
+        if (othersIter != null) {
+          return othersIter.next();
+        }
+        throw new NoSuchElementException();
+      }
+    };
+  }
+
+  @Override
+  public void close() {
+    if (db != null) {
+      db.close();
+      db = null;
+      others = null;
+    }
+  }
+}
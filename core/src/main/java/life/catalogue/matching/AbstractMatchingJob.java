@@ -5,8 +5,10 @@ import life.catalogue.api.model.*;
 import life.catalogue.api.util.VocabularyUtils;
 import life.catalogue.api.vocab.Issue;
 import life.catalogue.api.vocab.TabularFormat;
+import life.catalogue.api.vocab.TaxonomicStatus;
 import life.catalogue.coldp.ColdpTerm;
 import life.catalogue.common.io.*;
+import life.catalogue.common.lang.InterruptedRuntimeException;
 import life.catalogue.concurrent.*;
 import life.catalogue.config.MatchingConfig;
 import life.catalogue.csv.CsvReader;
@@ -17,14 +19,26 @@ import life.catalogue.parser.*;
 
 import org.gbif.dwc.terms.DwcTerm;
 import org.gbif.dwc.terms.Term;
+import org.gbif.nameparser.api.NomCode;
 import org.gbif.nameparser.api.Rank;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -38,7 +52,10 @@ import org.apache.ibatis.session.SqlSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterators;
 import com.univocity.parsers.common.AbstractParser;
 import com.univocity.parsers.common.AbstractWriter;
 import com.univocity.parsers.common.ParsingContext;
@@ -58,6 +75,7 @@ import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 public abstract class AbstractMatchingJob extends DatasetJob {
   private static final Logger LOG = LoggerFactory.getLogger(AbstractMatchingJob.class);
   private static final String CUSTOM_COL_PREFIX = "original_";
+  private static final int MATCH_BATCH_SIZE = 1000;
   private static final CsvWriterSettings CSV = new CsvWriterSettings();
   static {
     CSV.setQuotationTriggers('"', ',');
@@ -85,9 +103,13 @@ public abstract class AbstractMatchingJob extends DatasetJob {
   private final NameInterpreter interpreter = new NameInterpreter(new DatasetSettings(), true);
   // job specifics
   protected final MatchingRequest req;
-  protected final JobResult result;
+  protected final MatchingJobResult result;
   protected final UsageCounter counter = new UsageCounter();
   private List<? extends SimpleName> rootClassification;
+  // duplicate name cache, null if disabled
+  private final Cache<MatchKey, CachedMatch> cache;
+  private final AtomicLong cacheHits = new AtomicLong();
+  private final AtomicLong cacheMisses = new AtomicLong();
 
   public AbstractMatchingJob(MatchingRequest req, int userKey, Dataset dataset, List<? extends SimpleName> rootClassification,
                              MatcherSupplier matcherSupplier, boolean ownsMatcher, MatchingConfig cfg, NameIndex nidx) {
@@ -96,7 +118,8 @@ public abstract class AbstractMatchingJob extends DatasetJob {
     this.cfg = cfg;
     this.utils = new MatchingUtils(nidx);
     this.req = Preconditions.checkNotNull(req);
-    this.result = new JobResult(getKey());
+    this.result = new MatchingJobResult(getKey());
+    this.cache = cfg.jobCacheSize > 0 ? Caffeine.newBuilder().maximumSize(cfg.jobCacheSize).build() : null;
     this.dataset = dataset;
     this.matcherSupplier = Preconditions.checkNotNull(matcherSupplier);
     this.ownsMatcher = ownsMatcher;
@@ -121,7 +144,7 @@ public abstract class AbstractMatchingJob extends DatasetJob {
    */
   public abstract SqlSession openSession();
 
-  public JobResult getResult() {
+  public MatchingJobResult getResult() {
     return result;
   }
 
@@ -242,57 +265,34 @@ public abstract class AbstractMatchingJob extends DatasetJob {
       writer.writeHeaders(cols);
       final int size = cols.size();
 
-      // match & write to file
-      names.forEach(n -> {
-        var m = match(n, matcher);
-        var row = new String[size];
-        // first add all original input columns if provided (only works with file uploads)
-        if (srcHeader != null && n.row != null) {
-          int idx = 0;
-          for (String val : n.row) {
-            // make sure we dont have more columns than headers
-            if (idx < firstColIdx) {
-              row[idx] = val;
+      // match & write to file, matching names in batches to share lookups of the same canonical names
+      final var batches = Iterators.partition(names.iterator(), MATCH_BATCH_SIZE);
+      final int threads = threads();
+      if (threads > 1) {
+        LOG.info("Match names with {} threads", threads);
+        // batches are matched in parallel, but written in input order: the pending futures act as a bounded reorder buffer
+        final ExecutorService exec = Executors.newFixedThreadPool(threads, new NamedThreadFactory("matching-job"));
+        final Deque<PendingBatch> pending = new ArrayDeque<>();
+        try {
+          while (batches.hasNext()) {
+            final var batch = batches.next();
+            pending.add(new PendingBatch(batch, exec.submit(() -> match(batch, matcher))));
+            if (pending.size() >= threads * 2) {
+              var pb = pending.poll();
+              writeBatch(writer, srcHeader, firstColIdx, size, pb.batch(), pb.matches(), none, matcher);
             }
-            idx++;
           }
-        }
-
-        row[firstColIdx] = str(m.type);
-        row[firstColIdx+1] = concat(m.issues);
-        if (m.usage != null) {
-          row[firstColIdx+2] = m.usage.getId();
-          row[firstColIdx+3] = str(m.usage.getRank());
-          row[firstColIdx+4] = m.usage.getName();
-          row[firstColIdx+5] = m.usage.getAuthorship();
-          row[firstColIdx+6] = str(m.usage.getStatus());
-          if (m.usage.getStatus().isSynonym() && !m.usage.getClassification().isEmpty()) {
-            var acc = m.usage.getClassification().get(0);
-            row[firstColIdx+7] = acc.getId();
-            row[firstColIdx+8] = acc.getName();
-            row[firstColIdx+9] = acc.getAuthorship();
-          } else {
-            row[firstColIdx+7] = null;
-            row[firstColIdx+8] = null;
-            row[firstColIdx+9] = null;
+          while (!pending.isEmpty()) {
+            var pb = pending.poll();
+            writeBatch(writer, srcHeader, firstColIdx, size, pb.batch(), pb.matches(), none, matcher);
           }
-          Classification cl = new Classification(m.usage.getClassification());
-          row[firstColIdx+10] = cl.getKingdom();
-          row[firstColIdx+11] = cl.getPhylum();
-          row[firstColIdx+12] = cl.getClass_();
-          row[firstColIdx+13] = cl.getOrder();
-          row[firstColIdx+14] = cl.getFamily();
-          row[firstColIdx+15] = cl.getGenus();
-          row[firstColIdx+16] = str(m.usage.getClassification());
-        } else {
-          none.incrementAndGet();
+        } finally {
+          exec.shutdownNow();
         }
-        writer.writeRow(row);
-        counter.inc(n.name);
-        if (counter.get() % 10_000 == 0) {
-          LOG.debug("Matched {} out of {} names against dataset {} so far", counter.get() - none.get(), counter, matcher.datasetKey);
-        }
-      });
+
+      } else {
+        batches.forEachRemaining(batch -> writeBatch(writer, srcHeader, firstColIdx, size, batch, match(batch, matcher), none, matcher));
+      }
 
     } catch (Exception e) {
       writer.writeRow(String.format("Matching failed on line #%s: %s", counter.get()+1, e.getMessage()));
@@ -302,10 +302,96 @@ public abstract class AbstractMatchingJob extends DatasetJob {
 
     } finally {
       writer.flush();
+      result.setCacheHits(cacheHits.get());
+      result.setCacheMisses(cacheMisses.get());
       LOG.info("Matched {} out of {} names against dataset {}", counter.get()-none.get(), counter, matcher.datasetKey);
+      if (cache != null) {
+        LOG.info("Answered {} names from the duplicate name cache with a hit rate of {}%", cacheHits, Math.round(result.getCacheHitRate() * 100));
+      }
+    }
+  }
+
+  private void writeBatch(AbstractWriter<?> writer, String[] srcHeader, int firstColIdx, int size,
+                          List<IssueName> batch, List<UsageMatchWithOriginal> matches, AtomicLong none, UsageMatcher matcher) {
+    for (int i = 0; i < batch.size(); i++) {
+      final var n = batch.get(i);
+      final var m = matches.get(i);
+      var row = new String[size];
+      // first add all original input columns if provided (only works with file uploads)
+      if (srcHeader != null && n.row != null) {
+        int idx = 0;
+        for (String val : n.row) {
+          // make sure we dont have more columns than headers
+          if (idx < firstColIdx) {
+            row[idx] = val;
+          }
+          idx++;
+        }
+      }
+
+      row[firstColIdx] = str(m.type);
+      row[firstColIdx+1] = concat(m.issues);
+      if (m.usage != null) {
+        row[firstColIdx+2] = m.usage.getId();
+        row[firstColIdx+3] = str(m.usage.getRank());
+        row[firstColIdx+4] = m.usage.getName();
+        row[firstColIdx+5] = m.usage.getAuthorship();
+        row[firstColIdx+6] = str(m.usage.getStatus());
+        if (m.usage.getStatus().isSynonym() && !m.usage.getClassification().isEmpty()) {
+          var acc = m.usage.getClassification().get(0);
+          row[firstColIdx+7] = acc.getId();
+          row[firstColIdx+8] = acc.getName();
+          row[firstColIdx+9] = acc.getAuthorship();
+        } else {
+          row[firstColIdx+7] = null;
+          row[firstColIdx+8] = null;
+          row[firstColIdx+9] = null;
+        }
+        Classification cl = new Classification(m.usage.getClassification());
+        row[firstColIdx+10] = cl.getKingdom();
+        row[firstColIdx+11] = cl.getPhylum();
+        row[firstColIdx+12] = cl.getClass_();
+        row[firstColIdx+13] = cl.getOrder();
+        row[firstColIdx+14] = cl.getFamily();
+        row[firstColIdx+15] = cl.getGenus();
+        row[firstColIdx+16] = str(m.usage.getClassification());
+      } else {
+        none.incrementAndGet();
+      }
+      writer.writeRow(row);
+      counter.inc(n.name);
+      if (counter.get() % 10_000 == 0) {
+        LOG.debug("Matched {} out of {} names against dataset {} so far", counter.get() - none.get(), counter, matcher.datasetKey);
+      }
     }
   }
 
+  /**
+   * A batch of names handed to a matching thread, waiting to be written.
+   */
+  private record PendingBatch(List<IssueName> batch, Future<List<UsageMatchWithOriginal>> future) {
+    List<UsageMatchWithOriginal> matches() {
+      try {
+        return future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedRuntimeException("Interrupted matching names", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new RuntimeException("Failed to match names", e.getCause());
+      }
+    }
+  }
+
+  /**
+   * @return number of threads matching names, limited by the configured maximum
+   */
+  private int threads() {
+    return Math.max(1, Math.min(req.getThreads(), cfg.maxJobThreads));
+  }
+
   /**
    * Releases the matcher lease we acquired for this job (no-op for a caller-owned matcher). Idempotent and
    * safe to call from the job's lifecycle finally and from the creator on a failed submit, so the shared
@@ -322,15 +408,143 @@ public abstract class AbstractMatchingJob extends DatasetJob {
     }
   }
 
-  private UsageMatchWithOriginal match(IssueName n, UsageMatcher matcher) {
-    UsageMatch match = interpretAndMatch(n.name, MatchingUtils.toSimpleNameCached(n.name.getClassification()), n.issues, false, interpreter, utils, matcher);
-    return new UsageMatchWithOriginal(match, n.issues, n.name, n.line);
+  /**
+   * Matches a batch of names, answering names seen before in this job from the duplicate name cache.
+   * Duplicates within the same batch are only matched once, too.
+   * Issues raised while interpreting a name are cached with its match and added to every duplicate.
+   */
+  private List<UsageMatchWithOriginal> match(List<IssueName> batch, UsageMatcher matcher) {
+    final UsageMatch[] matches = new UsageMatch[batch.size()];
+    final int[] duplicateOf = new int[batch.size()];
+    Arrays.fill(duplicateOf, -1);
+    // the names that really need to be matched
+    List<SimpleName> names = new ArrayList<>(batch.size());
+    List<List<SimpleNameCached>> classifications = new ArrayList<>(batch.size());
+    List<IssueContainer> issues = new ArrayList<>(batch.size());
+    List<Integer> positions = new ArrayList<>(batch.size());
+    List<MatchKey> keys = new ArrayList<>(batch.size());
+    Map<MatchKey, Integer> batchKeys = new HashMap<>();
+    for (int i = 0; i < batch.size(); i++) {
+      var n = batch.get(i);
+      final MatchKey key = cache == null || n.name == null ? null : MatchKey.of(n.name);
+      if (key != null) {
+        var cached = cache.getIfPresent(key);
+        if (cached != null) {
+          cacheHits.incrementAndGet();
+          matches[i] = cached.match;
+          n.issues.add(cached.issues);
+          continue;
+        }
+        Integer idx = batchKeys.get(key);
+        if (idx != null) {
+          cacheHits.incrementAndGet();
+          duplicateOf[i] = idx;
+          continue;
+        }
+        batchKeys.put(key, names.size());
+        cacheMisses.incrementAndGet();
+      }
+      names.add(n.name);
+      classifications.add(n.name == null ? null : MatchingUtils.toSimpleNameCached(n.name.getClassification()));
+      // cached names collect their interpretation issues separately, so they can be shared with duplicates
+      issues.add(key == null ? n.issues : new IssueContainer.Simple());
+      positions.add(i);
+      keys.add(key);
+    }
+
+    var matched = interpretAndMatchAll(names, classifications, issues, false, interpreter, utils, matcher);
+    for (int j = 0; j < matched.size(); j++) {
+      int i = positions.get(j);
+      matches[i] = matched.get(j);
+      if (keys.get(j) != null) {
+        var iss = issues.get(j).getIssues();
+        batch.get(i).issues.add(iss);
+        cache.put(keys.get(j), new CachedMatch(matched.get(j), Set.copyOf(iss)));
+      }
+    }
+
+    List<UsageMatchWithOriginal> result = new ArrayList<>(batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      var n = batch.get(i);
+      if (duplicateOf[i] >= 0) {
+        matches[i] = matched.get(duplicateOf[i]);
+        n.issues.add(issues.get(duplicateOf[i]));
+      }
+      result.add(new UsageMatchWithOriginal(matches[i], n.issues, n.name, n.line));
+    }
+    return result;
+  }
+
+  /**
+   * Everything the match of an uploaded or source name depends on:
+   * the whitespace normalised name and authorship, rank, code, status and the names of the classification.
+   */
+  record MatchKey(String name, String authorship, Rank rank, NomCode code, TaxonomicStatus status, String classification) {
+    static MatchKey of(SimpleNameClassified<SimpleName> sn) {
+      StringBuilder cl = new StringBuilder();
+      if (sn.getClassification() != null) {
+        for (var p : sn.getClassification()) {
+          cl.append(p.getRank())
+            .append(':')
+            .append(StringUtils.normalizeSpace(p.getName()))
+            .append('|');
+        }
+      }
+      return new MatchKey(StringUtils.normalizeSpace(sn.getName()), StringUtils.normalizeSpace(sn.getAuthorship()),
+        sn.getRank(), sn.getCode(), sn.getStatus(), cl.toString());
+    }
+  }
+
+  private record CachedMatch(UsageMatch match, Set<Issue> issues) {
   }
 
   public static UsageMatch interpretAndMatch(SimpleName sn, List<SimpleNameCached> classification, IssueContainer issues, boolean verbose,
                                        NameInterpreter interpreter, MatchingUtils utils, UsageMatcher matcher
   ) {
-    UsageMatch match;
+    var nu = interpret(sn, issues, interpreter);
+    if (nu == null) {
+      return UsageMatch.empty(0);
+    }
+    var snc = utils.toSimpleNameClassified(nu, classification);
+    // external match requests fall back to a higher rank match when the name itself cannot be matched
+    return matcher.match(snc, false, verbose, true);
+  }
+
+  /**
+   * Batch version of {@link #interpretAndMatch} which matches all names to the names index and the usage matcher at once,
+   * see {@link UsageMatcher#matchAll(List, boolean, boolean, boolean)}.
+   *
+   * @param classifications the classification of each name, in the same order as the names
+   * @param issues the issue container of each name, in the same order as the names
+   * @return matches in the same order as the names
+   */
+  public static List<UsageMatch> interpretAndMatchAll(List<? extends SimpleName> names, List<List<SimpleNameCached>> classifications, List<IssueContainer> issues,
+                                                      boolean verbose, NameInterpreter interpreter, MatchingUtils utils, UsageMatcher matcher
+  ) {
+    List<NameUsageBase> usages = new ArrayList<>(names.size());
+    for (int i = 0; i < names.size(); i++) {
+      usages.add(interpret(names.get(i), issues.get(i), interpreter));
+    }
+    utils.matchAll(usages.stream().filter(Objects::nonNull).toList(), true);
+    List<SimpleNameClassified<SimpleNameCached>> sncs = new ArrayList<>(usages.size());
+    for (int i = 0; i < usages.size(); i++) {
+      if (usages.get(i) != null) {
+        sncs.add(utils.toSimpleNameClassified(usages.get(i), classifications.get(i)));
+      }
+    }
+    // external match requests fall back to a higher rank match when the name itself cannot be matched
+    var matched = matcher.matchAll(sncs, false, verbose, true).iterator();
+    List<UsageMatch> matches = new ArrayList<>(usages.size());
+    for (var nu : usages) {
+      matches.add(nu == null ? UsageMatch.empty(0) : matched.next());
+    }
+    return matches;
+  }
+
+  /**
+   * @return the interpreted usage to be matched or null if the name could not be interpreted
+   */
+  private static NameUsageBase interpret(SimpleName sn, IssueContainer issues, NameInterpreter interpreter) {
     var opt = interpreter.interpret(sn, issues);
     if (opt.isPresent()) {
       NameUsageBase nu = (NameUsageBase) NameUsage.create(sn.getStatus(), opt.get().getName());
@@ -338,14 +552,10 @@ public abstract class AbstractMatchingJob extends DatasetJob {
       if (nu.getRank() == Rank.UNRANKED) {
         nu.getName().setRank(null);
       }
-      var snc = utils.toSimpleNameClassified(nu, classification);
-      // external match requests fall back to a higher rank match when the name itself cannot be matched
-      match = matcher.match(snc, false, verbose, true);
-    } else {
-      match = UsageMatch.empty(0);
-      issues.add(Issue.UNPARSABLE_NAME);
+      return nu;
     }
-    return match;
+    issues.add(Issue.UNPARSABLE_NAME);
+    return null;
   }
 
   private static class MappedStream {
@@ -10,6 +10,7 @@ import org.apache.commons.io.FilenameUtils;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.QueryParam;
@@ -22,6 +23,10 @@ public class MatchingRequest extends TreeTraversalParameter {
   private TabularFormat format;
   @QueryParam("sourceDatasetKey")
   private Integer sourceDatasetKey;
+  @Min(1)
+  @DefaultValue("1")
+  @QueryParam("threads")
+  private int threads = 1;
   private File upload;
 
   public Integer getSourceDatasetKey() {
@@ -32,6 +37,18 @@ public class MatchingRequest extends TreeTraversalParameter {
     this.sourceDatasetKey = sourceDatasetKey;
   }
 
+  /**
+   * @return number of threads matching names in parallel, limited by the server configuration.
+   *   Results are always written in input order.
+   */
+  public int getThreads() {
+    return threads;
+  }
+
+  public void setThreads(int threads) {
+    this.threads = threads;
+  }
+
   public File getUpload() {
     return upload;
   }
@@ -60,6 +60,24 @@ public class MatchingUtils {
     }
   }
 
+  /**
+   * Matches all usages without a names index id in a single batch, see {@link NameIndex#matchAll(List, boolean, boolean)}.
+   * Usages that cannot be matched keep a null names index id.
+   */
+  public void matchAll(List<? extends NameUsageBase> usages, boolean allowInserts) {
+    List<Name> names = usages.stream()
+      .map(NameUsageBase::getName)
+      .filter(n -> n.getNamesIndexId() == null)
+      .collect(Collectors.toList());
+    var matches = nameIndex.matchAll(names, allowInserts, false);
+    for (int i = 0; i < names.size(); i++) {
+      var m = matches.get(i);
+      if (m.isMatched()) {
+        names.get(i).setNamesIndexId(m.getNidx());
+      }
+    }
+  }
+
   /**
    * @return the simple name, matched to the names index!
    */
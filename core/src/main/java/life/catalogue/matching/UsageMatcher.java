@@ -20,6 +20,7 @@ import org.gbif.nameparser.api.NomCode;
 import org.gbif.nameparser.api.Rank;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -129,16 +130,89 @@ public class UsageMatcher implements AutoCloseable {
    * and must not be redirected to a higher rank taxon.
    */
   public UsageMatch match(SimpleNameClassified<SimpleNameCached> snc, boolean allowInserts, boolean verbose, boolean higherRank) throws NotFoundException {
-    var m = match(snc, allowInserts, verbose);
+    return match(snc, allowInserts, verbose, higherRank, candidates(verbose));
+  }
+
+  private UsageMatch match(SimpleNameClassified<SimpleNameCached> snc, boolean allowInserts, boolean verbose, boolean higherRank,
+                           Function<SimpleNameClassified<SimpleNameCached>, List<SimpleNameClassified<SimpleNameCached>>> candidates) throws NotFoundException {
+    final long start = System.nanoTime();
+    var m = match(snc, allowInserts, verbose, candidates);
     if (higherRank && !m.isMatch()) {
-      var hr = matchHigherRank(snc, verbose);
+      var hr = matchHigherRank(snc, verbose, candidates);
       if (hr.isMatch()) {
-        return hr;
+        m = hr;
       }
     }
+    MatchingMetrics.matched(m.type, System.nanoTime() - start);
     return m;
   }
 
+  /**
+   * Matches a batch of usages, returning the matches in the same order as the given usages.
+   * The results are the same as matching each usage on its own with {@link #match(SimpleNameClassified, boolean, boolean, boolean)},
+   * but the work is shared across the batch:
+   * candidates are loaded only once per canonical names index id, so their lazily resolved classifications
+   * are also walked only once, and repeated identical queries are matched only once and share the same UsageMatch.
+   *
+   * Requires names index ids to be set on the usages, see {@link #parseAndMatchAll(List, boolean)}.
+   */
+  public List<UsageMatch> matchAll(List<SimpleNameClassified<SimpleNameCached>> sncs, boolean allowInserts, boolean verbose, boolean higherRank) throws NotFoundException {
+    final Map<Integer, List<SimpleNameClassified<SimpleNameCached>>> candidates = new HashMap<>();
+    final Function<SimpleNameClassified<SimpleNameCached>, List<SimpleNameClassified<SimpleNameCached>>> loader = q -> candidates.computeIfAbsent(q.getCanonicalId(), store()::usagesByCanonicalId);
+    final Map<QueryKey, UsageMatch> done = new HashMap<>();
+    final List<UsageMatch> matches = new ArrayList<>(sncs.size());
+    for (var snc : sncs) {
+      var key = QueryKey.of(snc);
+      var m = done.get(key);
+      if (m == null) {
+        m = match(snc, allowInserts, verbose, higherRank, loader);
+        done.put(key, m);
+      }
+      matches.add(m);
+    }
+    return matches;
+  }
+
+  /**
+   * Parses and matches a batch of usages to the names index before matching them all with {@link #matchAll(List, boolean, boolean, boolean)}.
+   * Names sharing the same canonical name are only looked up once in the names index.
+   */
+  public List<UsageMatch> parseAndMatchAll(List<SimpleNameClassified<SimpleNameCached>> sncs, boolean higherRank) throws NotFoundException {
+    List<Name> names = new ArrayList<>(sncs.size());
+    List<SimpleNameClassified<SimpleNameCached>> parsed = new ArrayList<>(sncs.size());
+    for (var snc : sncs) {
+      var opt = NameParser.PARSER.parse(snc);
+      if (opt.isPresent()) {
+        names.add(opt.get().getName());
+        parsed.add(snc);
+      } else {
+        snc.applyMatch(NameMatch.noMatch());
+      }
+    }
+    var nidx = nameIndex.matchAll(names, true, false);
+    for (int i = 0; i < parsed.size(); i++) {
+      parsed.get(i).applyMatch(nidx.get(i));
+    }
+    return matchAll(sncs, true, false, higherRank);
+  }
+
+  /**
+   * All properties of a query usage the matching depends on, so identical queries can share the same match.
+   */
+  private record QueryKey(Integer canonicalId, MatchType nidxType, String label, String name, String authorship,
+                          Rank rank, NomCode code, TaxonomicStatus status, List<String> classification) {
+    static QueryKey of(SimpleNameClassified<SimpleNameCached> snc) {
+      List<String> cl = new ArrayList<>();
+      if (snc.getClassification() != null) {
+        for (var p : snc.getClassification()) {
+          cl.add(p.getRank() + ":" + p.getCode() + ":" + p.marked + ":" + p.getLabel());
+        }
+      }
+      return new QueryKey(snc.getCanonicalId(), snc.getNamesIndexMatchType(), snc.getLabel(), snc.getName(), snc.getAuthorship(),
+        snc.getRank(), snc.getCode(), snc.getStatus(), cl);
+    }
+  }
+
   /**
    * Matches the given usage by looking up candidates by their canonical names index id
    * and then filtering them by various properties and the parent classification.
@@ -146,13 +220,47 @@ public class UsageMatcher implements AutoCloseable {
    * @return the usage match, an empty match if not existing (yet) or an unsupported match in case of names not included in the names index
    */
   public UsageMatch match(SimpleNameClassified<SimpleNameCached> snc, boolean allowInserts, boolean verbose) throws NotFoundException {
+    return match(snc, allowInserts, verbose, false, candidates(verbose));
+  }
+
+  /**
+   * Loads the candidates for a single query straight from the store.
+   * Unless all candidates are needed as alternatives in verbose mode, the store already drops candidates that
+   * the first, per candidate filters of {@link #filterCandidates(SimpleNameClassified, List, boolean)} would remove,
+   * so a large homonym bucket is not materialized just to be thrown away.
+   */
+  private Function<SimpleNameClassified<SimpleNameCached>, List<SimpleNameClassified<SimpleNameCached>>> candidates(boolean verbose) {
+    if (verbose) {
+      return q -> store().usagesByCanonicalId(q.getCanonicalId());
+    }
+    return q -> store().usagesByCanonicalId(q.getCanonicalId(), candidateFilter(q));
+  }
+
+  /**
+   * The bare name and rank filters of {@link #filterCandidates(SimpleNameClassified, List, boolean)} as a store side filter.
+   * Both judge each candidate on its own, so applying them early does not change the outcome.
+   */
+  private static UsageMatcherStore.CandidateFilter candidateFilter(SimpleNameClassified<SimpleNameCached> nu) {
+    if (nu.getRank() != null && nu.getRank() != Rank.UNRANKED) {
+      return (status, rank, parentRank) -> !status.isBareName()
+        && !ranksDiffer(rank, parentRank::get, nu.getRank(), nu.getClassification());
+    }
+    return (status, rank, parentRank) -> !status.isBareName();
+  }
+
+  /**
+   * @param candidates supplies the candidate usages for the canonical names index id of a query. Returned lists are never modified.
+   */
+  private UsageMatch match(SimpleNameClassified<SimpleNameCached> snc, boolean allowInserts, boolean verbose,
+                           Function<SimpleNameClassified<SimpleNameCached>, List<SimpleNameClassified<SimpleNameCached>>> candidates) throws NotFoundException {
     if (snc.getCanonicalId() == null) {
       return allowInserts ? UsageMatch.unsupported(datasetKey) : UsageMatch.empty(datasetKey, snc.getNamesIndexMatchType());
     }
     if (snc.getClassification()==null) {
       snc.setClassification(Collections.emptyList());
     }
-    var existing = store().usagesByCanonicalId(snc.getCanonicalId());
+    var existing = candidates.apply(snc);
+    MatchingMetrics.FILTERED_CANDIDATES.update(existing == null ? 0 : existing.size());
     if (existing != null && !existing.isEmpty()) {
       // we modify the existing list, so use a copy
       var match = filterCandidates(snc, new ArrayList<>(existing), verbose);
@@ -181,7 +289,8 @@ public class UsageMatcher implements AutoCloseable {
    *
    * @return a HIGHERRANK match or an empty NONE match if no higher rank usage could be matched
    */
-  private UsageMatch matchHigherRank(SimpleNameClassified<SimpleNameCached> snc, boolean verbose) throws NotFoundException {
+  private UsageMatch matchHigherRank(SimpleNameClassified<SimpleNameCached> snc, boolean verbose,
+                                     Function<SimpleNameClassified<SimpleNameCached>, List<SimpleNameClassified<SimpleNameCached>>> candidates) throws NotFoundException {
     for (var q : higherRankCandidates(snc)) {
       // make sure the higher name is matched to the names index, but never insert
       if (q.getCanonicalId() == null) {
@@ -190,7 +299,7 @@ public class UsageMatcher implements AutoCloseable {
       if (q.getCanonicalId() == null) {
         continue; // not in the names index, try the next higher rank
       }
-      var match = match(q, false, verbose);
+      var match = match(q, false, verbose, candidates);
       // keep walking upwards if the higher rank itself is unmatched or ambiguous
       if (match.isMatch() && match.type != MatchType.AMBIGUOUS) {
         LOG.debug("Matched {} {} to higher rank {} {}", snc.getRank(), snc.getLabel(), match.usage.getRank(), match.usage.getLabel());
@@ -656,10 +765,7 @@ public class UsageMatcher implements AutoCloseable {
   }
 
   private Optional<Rank> concreteParentRank(SimpleNameClassified<SimpleNameCached> cl) {
-    return cl.getClassification() == null ? Optional.empty() : cl.getClassification().stream()
-      .map(SimpleName::getRank)
-      .filter(r -> !r.isUncomparable())
-      .findFirst();
+    return UsageMatcherStore.concreteRank(cl.getClassification());
   }
 
   private boolean sameFamily(SimpleNameClassified<SimpleNameCached> u, List<SimpleNameCached> parents) {
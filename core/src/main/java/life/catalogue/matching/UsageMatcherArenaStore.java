@@ -0,0 +1,406 @@
+package life.catalogue.matching;
+
+import life.catalogue.api.exception.NotFoundException;
+import life.catalogue.api.model.DSID;
+import life.catalogue.api.model.NameUsage;
+import life.catalogue.api.model.SimpleNameCached;
+import life.catalogue.api.vocab.TaxGroup;
+import life.catalogue.matching.mmap.MmapIO;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * A mutable in memory store with the density of the {@link UsageMatcherFileStore}: usages are kept as
+ * serialized records in off heap memory of a shared {@link Arena}, everything else lives in a handful of
+ * primitive arrays. A store with millions of usages therefore holds a few dozen objects instead of tens of
+ * millions, and closing it frees all memory at once instead of leaving it to the garbage collector.
+ *
+ * <p>Records are appended to 16MB chunks, little endian like the file store (see {@link MmapIO}):
+ * <pre>
+ * record = [int idLen][id utf8 bytes][int bodyLen][fory serialized body]
+ * </pre>
+ * A usage is addressed by its slot. Per slot the store keeps the record address, the tax group and the
+ * canonical id, plus a link to the next slot of the same canonical bucket. Buckets keep the insertion order,
+ * just like the canonical index of the file store. The usage id is resolved to its slot with an open
+ * addressed hash table comparing the raw id bytes of the records.
+ *
+ * <p>Unlike the file store this one can be changed at any time. Adding an existing id or changing the parent
+ * of a usage appends a new record and points the slot to it, the old record stays behind unused.
+ * This is fine for transient matchers that are only modified by a merge, but makes the store unsuitable
+ * for long living data that is rewritten over and over.
+ *
+ * <p>The store is thread safe. Reads run concurrently, writes are exclusive,
+ * so sectors can be merged concurrently into the same store.
+ */
+public class UsageMatcherArenaStore implements UsageMatcherStore {
+  static final int CHUNK_SIZE = 16 * 1024 * 1024;
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final TaxGroup[] GROUPS = TaxGroup.values();
+
+  private final int datasetKey;
+  private final Arena arena = Arena.ofShared();
+  private final List<MemorySegment> chunks = new ArrayList<>();
+  private MemorySegment chunk;
+  private long chunkPos;
+  private volatile long allocated = 0;
+  private boolean closed = false;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // columns per slot
+  private int n = 0;
+  private long[] addr = new long[INITIAL_CAPACITY];
+  private byte[] groups = new byte[INITIAL_CAPACITY];
+  private int[] canon = new int[INITIAL_CAPACITY];
+  private int[] next = new int[INITIAL_CAPACITY];
+  private final BitSet hasCanon = new BitSet();
+
+  // usage id -> slot + 1, 0 = empty
+  private int[] table = new int[MmapIO.tableSize(INITIAL_CAPACITY / 2)];
+  // canonical id -> first and last slot of its bucket
+  private final Int2IntOpenHashMap head = new Int2IntOpenHashMap();
+  private final Int2IntOpenHashMap tail = new Int2IntOpenHashMap();
+
+  public UsageMatcherArenaStore(int datasetKey) {
+    this.datasetKey = datasetKey;
+    head.defaultReturnValue(-1);
+    tail.defaultReturnValue(-1);
+  }
+
+  @Override
+  public int datasetKey() {
+    return datasetKey;
+  }
+
+  @Override
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return n;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public int canonicalSize() {
+    lock.readLock().lock();
+    try {
+      return head.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @return bytes of off heap memory allocated so far
+   */
+  public long allocated() {
+    return allocated;
+  }
+
+  @Override
+  public long mappedBytes() {
+    return allocated;
+  }
+
+  private MemorySegment segment(long address) {
+    return chunks.get((int) (address >>> 32));
+  }
+
+  private static long pos(long address) {
+    return address & 0xffffffffL;
+  }
+
+  /**
+   * Appends a new record and returns its address: the chunk index in the upper, the position within the chunk
+   * in the lower 32 bits.
+   */
+  private long append(byte[] id, byte[] body) {
+    long len = 8L + id.length + body.length;
+    if (chunk == null || chunkPos + len > chunk.byteSize()) {
+      chunk = arena.allocate(Math.max(CHUNK_SIZE, len));
+      chunks.add(chunk);
+      chunkPos = 0;
+      allocated += chunk.byteSize();
+    }
+    long start = chunkPos;
+    chunk.set(MmapIO.INT, start, id.length);
+    MemorySegment.copy(id, 0, chunk, MmapIO.BYTE, start + 4, id.length);
+    chunk.set(MmapIO.INT, start + 4 + id.length, body.length);
+    MemorySegment.copy(body, 0, chunk, MmapIO.BYTE, start + 8 + id.length, body.length);
+    chunkPos += len;
+    return ((long) (chunks.size() - 1) << 32) | start;
+  }
+
+  private boolean keyEquals(int slot, byte[] key) {
+    var seg = segment(addr[slot]);
+    long start = pos(addr[slot]);
+    int idLen = seg.get(MmapIO.INT, start);
+    if (idLen != key.length) return false;
+    return MemorySegment.mismatch(seg, start + 4, start + 4 + idLen,
+      MemorySegment.ofArray(key), 0, key.length) == -1;
+  }
+
+  /** @return the slot for a usage id or -1 if unknown */
+  private int slot(byte[] key) {
+    int mask = table.length - 1;
+    int idx = MmapIO.hash(key, key.length) & mask;
+    while (true) {
+      int v = table[idx];
+      if (v == 0) return -1;
+      if (keyEquals(v - 1, key)) return v - 1;
+      idx = (idx + 1) & mask;
+    }
+  }
+
+  private int slot(String usageID) {
+    return usageID == null ? -1 : slot(usageID.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private int slotOrThrow(String usageID) {
+    int slot = slot(usageID);
+    if (slot < 0) {
+      throw NotFoundException.notFound(NameUsage.class, DSID.of(datasetKey, usageID));
+    }
+    return slot;
+  }
+
+  private void insert(int[] tbl, byte[] key, int slot) {
+    int mask = tbl.length - 1;
+    int idx = MmapIO.hash(key, key.length) & mask;
+    while (tbl[idx] != 0) {
+      idx = (idx + 1) & mask;
+    }
+    tbl[idx] = slot + 1;
+  }
+
+  private byte[] id(int slot) {
+    var seg = segment(addr[slot]);
+    long start = pos(addr[slot]);
+    int idLen = seg.get(MmapIO.INT, start);
+    byte[] id = new byte[idLen];
+    MemorySegment.copy(seg, MmapIO.BYTE, start + 4, id, 0, idLen);
+    return id;
+  }
+
+  private void grow() {
+    if (n == addr.length) {
+      int cap = addr.length * 2;
+      addr = Arrays.copyOf(addr, cap);
+      groups = Arrays.copyOf(groups, cap);
+      canon = Arrays.copyOf(canon, cap);
+      next = Arrays.copyOf(next, cap);
+    }
+    // keep the load factor at or below 0.5 like the file store
+    if (2L * (n + 1) > table.length) {
+      int[] tbl = new int[table.length * 2];
+      for (int s = 0; s < n; s++) {
+        insert(tbl, id(s), s);
+      }
+      table = tbl;
+    }
+  }
+
+  private SimpleNameCached read(int slot) {
+    var seg = segment(addr[slot]);
+    long start = pos(addr[slot]);
+    int idLen = seg.get(MmapIO.INT, start);
+    int bodyLen = seg.get(MmapIO.INT, start + 4 + idLen);
+    byte[] body = new byte[bodyLen];
+    MemorySegment.copy(seg, MmapIO.BYTE, start + 8 + idLen, body, 0, bodyLen);
+    var sn = UsageMatcherFactory.FURY.deserializeJavaObject(body, SimpleNameCached.class);
+    int g = groups[slot] & 0xff;
+    sn.setGroup(g == 0 ? null : GROUPS[g - 1]);
+    return sn;
+  }
+
+  private void link(int slot, int canonId) {
+    canon[slot] = canonId;
+    hasCanon.set(slot);
+    next[slot] = -1;
+    int last = tail.get(canonId);
+    if (last < 0) {
+      head.put(canonId, slot);
+    } else {
+      next[last] = slot;
+    }
+    tail.put(canonId, slot);
+  }
+
+  private void unlink(int slot) {
+    if (!hasCanon.get(slot)) return;
+    int canonId = canon[slot];
+    int prev = -1;
+    int s = head.get(canonId);
+    while (s != slot) {
+      prev = s;
+      s = next[s];
+    }
+    if (prev < 0) {
+      if (next[slot] < 0) {
+        head.remove(canonId);
+        tail.remove(canonId);
+      } else {
+        head.put(canonId, next[slot]);
+      }
+    } else {
+      next[prev] = next[slot];
+      if (tail.get(canonId) == slot) {
+        tail.put(canonId, prev);
+      }
+    }
+    hasCanon.clear(slot);
+  }
+
+  @Override
+  public void add(SimpleNameCached sn) {
+    byte[] id = sn.getId().getBytes(StandardCharsets.UTF_8);
+    byte[] body = UsageMatcherFactory.FURY.serializeJavaObject(sn);
+    lock.writeLock().lock();
+    try {
+      add(sn, id, body);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void add(SimpleNameCached sn, byte[] id, byte[] body) {
+    if (closed) throw new IllegalStateException("Store closed");
+    int slot = slot(id);
+    if (slot < 0) {
+      grow();
+      slot = n++;
+      addr[slot] = append(id, body);
+      insert(table, id, slot);
+    } else {
+      addr[slot] = append(id, body);
+      if (hasCanon.get(slot) && sn.getCanonicalId() != null && canon[slot] == sn.getCanonicalId()) {
+        // same canonical bucket, keep its position
+        groups[slot] = group(sn.getGroup());
+        return;
+      }
+      // the usage moved to a different canonical name, drop it from the old bucket
+      unlink(slot);
+    }
+    groups[slot] = group(sn.getGroup());
+    if (sn.getCanonicalId() != null) {
+      link(slot, sn.getCanonicalId());
+    }
+  }
+
+  private static byte group(TaxGroup g) {
+    return (byte) (g == null ? 0 : g.ordinal() + 1);
+  }
+
+  @Override
+  public SimpleNameCached get(String usageID) throws NotFoundException {
+    lock.readLock().lock();
+    try {
+      return read(slotOrThrow(usageID));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void update(String usageID, TaxGroup group) {
+    lock.writeLock().lock();
+    try {
+      groups[slotOrThrow(usageID)] = group(group);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void updateParentId(String usageID, String parentId) {
+    lock.writeLock().lock();
+    try {
+      int slot = slotOrThrow(usageID);
+      var sn = read(slot);
+      sn.setParent(parentId);
+      addr[slot] = append(usageID.getBytes(StandardCharsets.UTF_8), UsageMatcherFactory.FURY.serializeJavaObject(sn));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public List<SimpleNameCached> simpleNamesByCanonicalId(int canonId) {
+    lock.readLock().lock();
+    try {
+      int s = head.get(canonId);
+      if (s < 0) return List.of();
+      var list = new ArrayList<SimpleNameCached>();
+      while (s >= 0) {
+        list.add(read(s));
+        s = next[s];
+      }
+      return list;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @return a copy of all canonical ids at the time of the call
+   */
+  @Override
+  public Iterable<Integer> allCanonicalIds() {
+    lock.readLock().lock();
+    try {
+      return new IntArrayList(head.keySet());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public Iterable<SimpleNameCached> all() {
+    return () -> new Iterator<>() {
+      int slot = 0;
+
+      @Override
+      public boolean hasNext() {
+        return slot < size();
+      }
+
+      @Override
+      public SimpleNameCached next() {
+        lock.readLock().lock();
+        try {
+          if (slot >= n) throw new NoSuchElementException();
+          return read(slot++);
+        } finally {
+          lock.readLock().unlock();
+        }
+      }
+    };
+  }
+
+  @Override
+  public void close() {
+    lock.writeLock().lock();
+    try {
+      if (!closed) {
+        closed = true;
+        arena.close();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+}
@@ -22,7 +22,12 @@ import life.catalogue.matching.nidx.NameIndex;
 import life.catalogue.api.jackson.ApiModule;
 import life.catalogue.metadata.coldp.ColdpMetadataParser;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.DirectoryFileFilter;
 import org.apache.fory.Fory;
@@ -43,9 +48,13 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
 
 /**
  * Factory to create and reuse persistent usage matchers,
@@ -82,8 +91,11 @@ public class UsageMatcherFactory implements DatasetListener, life.catalogue.comm
   private final AtomicLong buildCounter = new AtomicLong();
   // datasetKey -> unique token of the build currently owning it (package-private so tests can simulate a build)
   final ConcurrentHashMap<Integer, Long> runningBuilds = new ConcurrentHashMap<>();
-  // package-private so tests can inspect/evict cached instances
-  final ConcurrentHashMap<Integer, UsageMatcher> matchers = new ConcurrentHashMap<>();
+  // package-private so tests can inspect/evict cached instances.
+  // Bounded by the mapped bytes of the stores, see MatchingConfig.maxMappedMB
+  final ConcurrentMap<Integer, UsageMatcher> matchers;
+  private final Cache<Integer, UsageMatcher> cache;
+  private volatile IntPredicate pinned = k -> false;
   private final ConcurrentHashMap<Integer, ReentrantLock> buildLocks = new ConcurrentHashMap<>();
   private final JobExecutor executor;
 
@@ -113,10 +125,89 @@ public class UsageMatcherFactory implements DatasetListener, life.catalogue.comm
     this.factory = Preconditions.checkNotNull(factory);
     this.dir = cfg.storageDir;
     this.cfg = cfg;
+    // evicted matchers are only retired: their store stays open until the last running match releases it.
+    // Run the listener on the calling thread so an evicted store never lingers in some pool queue
+    Caffeine<Integer, UsageMatcher> builder = Caffeine.newBuilder()
+      .executor(Runnable::run)
+      .removalListener((Integer key, UsageMatcher m, RemovalCause cause) -> {
+        if (cause.wasEvicted() && m != null) {
+          LOG.info("Evict matcher for dataset {} with {} mapped bytes from the cache", key, m.store().mappedBytes());
+          m.retire();
+        }
+      });
+    if (cfg.maxMappedMB > 0) {
+      builder = builder.maximumWeight(cfg.maxMappedMB).weigher(this::weigh);
+    }
+    this.cache = builder.build();
+    this.matchers = cache.asMap();
+  }
+
+  // package-private for testing: runs pending evictions right away
+  void cleanUp() {
+    cache.cleanUp();
+  }
+
+  /**
+   * The weight of a cached matcher in MB of mapped store files, rounded up.
+   * Pinned datasets weigh nothing and are therefore never evicted.
+   */
+  private int weigh(Integer datasetKey, UsageMatcher m) {
+    if (isPinned(datasetKey)) {
+      return 0;
+    }
+    long mb = (m.store().mappedBytes() + (1 << 20) - 1) >> 20;
+    return (int) Math.min(Integer.MAX_VALUE, Math.max(1, mb));
+  }
+
+  private boolean isPinned(int datasetKey) {
+    return cfg.pinnedDatasets.contains(datasetKey) || pinned.test(datasetKey);
+  }
+
+  /**
+   * Pins matchers in addition to the configured {@link MatchingConfig#pinnedDatasets}, e.g. the latest releases.
+   * The predicate is evaluated whenever a matcher enters the cache and on every {@link #reconcile(boolean, int)},
+   * so it may change its mind over time.
+   */
+  public void setPinned(IntPredicate pinned) {
+    this.pinned = Preconditions.checkNotNull(pinned);
+    reweigh();
+  }
+
+  /**
+   * Recalculates the weight of all cached matchers, evicting no longer pinned ones if the cache is full.
+   */
+  private void reweigh() {
+    for (var key : matchers.keySet()) {
+      matchers.computeIfPresent(key, (k, m) -> m);
+    }
   }
 
   private UsageMatcherFileStore reopenStore(int datasetKey) throws IOException {
-    return UsageMatcherFileStore.open(datasetKey, cfg.dir(datasetKey));
+    try (var ctx = MatchingMetrics.STORE_OPEN.time()) {
+      return UsageMatcherFileStore.open(datasetKey, cfg.dir(datasetKey));
+    }
+  }
+
+  /**
+   * Exposes gauges about the cached persistent matchers in the given metrics registry:
+   * their number, their total mapped bytes and the mapped bytes of each dataset.
+   */
+  public void register(MetricRegistry registry) {
+    registry.register("life.catalogue.matching.stores.open", (Gauge<Integer>) matchers::size);
+    registry.register("life.catalogue.matching.stores.mappedBytes", (Gauge<Long>) () -> {
+      long bytes = 0;
+      for (var m : matchers.values()) {
+        bytes += m.store().mappedBytes();
+      }
+      return bytes;
+    });
+    registry.register("life.catalogue.matching.stores.mappedBytesByDataset", (Gauge<Map<Integer, Long>>) () -> {
+      Map<Integer, Long> bytes = new TreeMap<>();
+      for (var m : matchers.values()) {
+        bytes.put(m.getDatasetKey(), m.store().mappedBytes());
+      }
+      return bytes;
+    });
   }
 
   public NameIndex getNameIndex() {
@@ -189,8 +280,10 @@ public class UsageMatcherFactory implements DatasetListener, life.catalogue.comm
         FileUtils.deleteQuietly(cfg.dir(datasetKey));
         return null;
       }
+      // lease for the returning caller before it is cached: a store larger than the whole cache
+      // is evicted right away, but must not be closed under the caller
+      m.tryAcquire(); // brand-new, never retired → always succeeds
       matchers.put(datasetKey, m);
-      m.tryAcquire(); // lease for the returning caller (brand-new, never retired → always succeeds)
       LOG.info("Reopened matcher with {} usages for dataset {}", store.size(), datasetKey);
       return m;
     } finally {
@@ -299,8 +392,9 @@ public class UsageMatcherFactory implements DatasetListener, life.catalogue.comm
     File tmpDir = cfg.buildDir(datasetKey, token); // unique per build, so two builds never share a temp dir
     FileUtils.deleteQuietly(tmpDir);
     UsageMatcherFileStore store;
-    try (var builder = new UsageMatcherFileStoreBuilder(datasetKey, tmpDir)) {
-      builder.load(factory); // the long full-scan load; no lock held
+    try (var builder = new UsageMatcherFileStoreBuilder(datasetKey, tmpDir);
+         var ctx = MatchingMetrics.STORE_BUILD.time()) {
+      builder.load(factory, cfg.buildThreads); // the long full-scan load; no lock held
       store = builder.seal();
     } catch (RuntimeException | Error | IOException e) {
       // the half written build dir would otherwise stay on disk for every failed build
@@ -462,8 +556,9 @@ public class UsageMatcherFactory implements DatasetListener, life.catalogue.comm
     var f = cfg.dir(datasetKey);
     LOG.info("Build new persistent matcher for dataset {} at {}", datasetKey, f);
     UsageMatcherFileStore store;
-    try (var builder = new UsageMatcherFileStoreBuilder(datasetKey, f)) {
-      builder.load(factory, nameIndex);
+    try (var builder = new UsageMatcherFileStoreBuilder(datasetKey, f);
+         var ctx = MatchingMetrics.STORE_BUILD.time()) {
+      builder.load(factory, nameIndex, cfg.buildThreads);
       store = builder.seal();
     }
     writeSidecar(factory, nameIndex, datasetKey, store.size(), f);
@@ -474,12 +569,16 @@ public class UsageMatcherFactory implements DatasetListener, life.catalogue.comm
   public static UsageMatcher openPersistentMatcher(int datasetKey, MatchingConfig cfg, NameIndex nameIndex) throws IOException {
     var f = cfg.dir(datasetKey);
     LOG.info("Open persistent matcher for dataset {} at {}", datasetKey, f);
-    return new UsageMatcher(datasetKey, nameIndex, UsageMatcherFileStore.open(datasetKey, f), true);
+    UsageMatcherFileStore store;
+    try (var ctx = MatchingMetrics.STORE_OPEN.time()) {
+      store = UsageMatcherFileStore.open(datasetKey, f);
+    }
+    return new UsageMatcher(datasetKey, nameIndex, store, true);
   }
 
   public UsageMatcher memory(int datasetKey) {
-    LOG.info("Create new in memory matcher for dataset {}", datasetKey);
-    var store = new UsageMatcherMemStore(datasetKey);
+    LOG.info("Create new {} in memory matcher for dataset {}", cfg.offHeapMemoryStore ? "off heap" : "heap", datasetKey);
+    UsageMatcherStore store = cfg.offHeapMemoryStore ? new UsageMatcherArenaStore(datasetKey) : new UsageMatcherMemStore(datasetKey);
     return new UsageMatcher(datasetKey, nameIndex, store, false);
   }
 
@@ -625,6 +724,8 @@ public class UsageMatcherFactory implements DatasetListener, life.catalogue.comm
     }
     LOG.info("Reconcile removed {} obsolete and scheduled {} (re)builds (force={}); {} of {} published datasets in scope, plus {} on demand",
       removed, scheduled, force, shouldHave.size(), published.size(), onDemand.size());
+    // datasets may have changed their pinned status, e.g. a newer release was published
+    reweigh();
   }
 
   /**
@@ -4,9 +4,14 @@ import life.catalogue.api.exception.NotFoundException;
 import life.catalogue.api.model.DSID;
 import life.catalogue.api.model.NameUsage;
 import life.catalogue.api.model.SimpleNameCached;
+import life.catalogue.api.model.SimpleNameClassified;
 import life.catalogue.api.vocab.TaxGroup;
+import life.catalogue.api.vocab.TaxonomicStatus;
 import life.catalogue.matching.mmap.MmapIO;
 
+import org.gbif.nameparser.api.NomCode;
+import org.gbif.nameparser.api.Rank;
+
 import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -18,6 +23,8 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,13 +33,15 @@ import org.slf4j.LoggerFactory;
  * A sealed, memory mapped usage store: built once by {@link UsageMatcherFileStoreBuilder}, then read many
  * times without any locking or copy-out.
  *
- * <p>Three files make up a store, all little endian (see {@link MmapIO}):
+ * <p>Four files make up a store, all little endian (see {@link MmapIO}):
  * <pre>
- * usages.bin     header | long[n+1] record offsets | int[tableSize] id hash | records blob
- *                record = [int idLen][id utf8 bytes][fory serialized body]
- * canonical.bin  header | int[nCanon] canonical ids, ascending | int[nCanon+1] offsets
- *                       | int[tableSize] canonical id hash | int[nRefs] usage slots
- * groups.bin     header | byte[n], TaxGroup ordinal + 1, 0 = null
+ * usages.bin      header | long[n+1] record offsets | int[tableSize] id hash | records blob
+ *                 record = [int idLen][id utf8 bytes][fory serialized body]
+ * canonical.bin   header | int[nCanon] canonical ids, ascending | int[nCanon+1] offsets
+ *                        | int[tableSize] canonical id hash | int[nRefs] usage slots
+ * groups.bin      header | byte[n], TaxGroup ordinal + 1, 0 = null
+ * attributes.bin  header | n * [byte rank][byte status][byte code][byte reserved][int parent][int nidx]
+ *                 enums as ordinal + 1, 0 = null. parent = slot + 1, 0 = none, -1 = not in the store. nidx -1 = null
  * </pre>
  *
  * <p>The usage id is stored outside the serialized body so a hash collision is resolved by comparing raw
@@ -40,6 +49,11 @@ import org.slf4j.LoggerFactory;
  * rather than id strings, so a candidate is resolved by a direct offset instead of a second hash lookup.
  * Neither index has a per canonical fan out limit: a bucket is a plain run of ints.
  *
+ * <p>The attribute column repeats the few fields the first matching filters look at in a fixed width row per
+ * slot. A {@link Candidates} cursor walks a canonical bucket on these rows alone, so candidates rejected for
+ * their status or rank are never deserialized - the allocations of a match no longer grow with the size
+ * of a homonym bucket.
+ *
  * <p>Everything except the group column is immutable. {@link #add(SimpleNameCached)} and
  * {@link #updateParentId(String, String)} therefore throw; a change to the data means a rebuild.
  *
@@ -57,7 +71,7 @@ import org.slf4j.LoggerFactory;
  *
  * <p>This matters because the mapping is {@code MAP_SHARED}: two writers - threads, or processes sharing a
  * {@code storageDir} - would overwrite each other's bytes with no ordering or visibility guarantee. Reading
- * is unrestricted; any number of processes may map the same sealed store, and the two immutable files never
+ * is unrestricted; any number of processes may map the same sealed store, and the three immutable files never
  * change under them. Building, on the other hand, is single-writer by design and is <em>not</em> coordinated
  * across processes - see {@link UsageMatcherFactory} for what that means for a shared storage directory.
  */
@@ -67,18 +81,30 @@ public class UsageMatcherFileStore implements UsageMatcherStore {
   static final String USAGES_FILE = "usages.bin";
   static final String CANONICAL_FILE = "canonical.bin";
   static final String GROUPS_FILE = "groups.bin";
+  static final String ATTRIBUTES_FILE = "attributes.bin";
 
   static final int MAGIC_USAGES = 0x434C5553; // CLUS
   static final int MAGIC_CANONICAL = 0x434C4341; // CLCA
   static final int MAGIC_GROUPS = 0x434C4752; // CLGR
+  static final int MAGIC_ATTRIBUTES = 0x434C4154; // CLAT
   /** Bumped whenever the layout changes; an older file is rejected and the store rebuilt. */
-  static final int FORMAT_VERSION = 1;
+  static final int FORMAT_VERSION = 2;
 
   static final int USAGES_HEADER = 32;
   static final int CANONICAL_HEADER = 32;
   static final int GROUPS_HEADER = 16;
+  static final int ATTRIBUTES_HEADER = 16;
+  static final int ATTRIBUTES_WIDTH = 12;
+
+  /** {@link #parentSlot(int)} of a usage without a parent. */
+  public static final int NO_PARENT = -1;
+  /** {@link #parentSlot(int)} of a usage whose parent id is not part of the store. */
+  public static final int MISSING_PARENT = -2;
 
   private static final TaxGroup[] GROUPS = TaxGroup.values();
+  private static final Rank[] RANKS = Rank.values();
+  private static final TaxonomicStatus[] STATUS = TaxonomicStatus.values();
+  private static final NomCode[] CODES = NomCode.values();
 
   private final int datasetKey;
   private final File dir;
@@ -86,6 +112,7 @@ public class UsageMatcherFileStore implements UsageMatcherStore {
   private final MemorySegment usages;
   private final MemorySegment canonical;
   private final MemorySegment groups;
+  private final MemorySegment attributes;
   private final boolean writableGroups;
 
   private final int n;
@@ -104,7 +131,7 @@ public class UsageMatcherFileStore implements UsageMatcherStore {
   private final long cRefs;
 
   /**
-   * The regions of the three files, derived from their headers and validated against the actual file sizes.
+   * The regions of the four files, derived from their headers and validated against the actual file sizes.
    * Every offset a lookup uses comes from here, so a truncated or otherwise corrupt store is rejected while
    * opening rather than blowing up with an {@link IndexOutOfBoundsException} on some later match request.
    */
@@ -115,8 +142,9 @@ public class UsageMatcherFileStore implements UsageMatcherStore {
      * @param uHdr {n, tableSize, live} and the record blob length
      * @param cHdr {nCanon, tableSize, nRefs}
      * @param gn   the usage count recorded in the group column
+     * @param an   the usage count recorded in the attribute column
      */
-    static Layout of(int[] uHdr, long blobLen, long uLen, int[] cHdr, long cLen, int gn, long gLen) throws IOException {
+    static Layout of(int[] uHdr, long blobLen, long uLen, int[] cHdr, long cLen, int gn, long gLen, int an, long aLen) throws IOException {
       int n = uHdr[0], uTable = uHdr[1], live = uHdr[2];
       checkCount(n, "usage count", USAGES_FILE);
       checkTable(uTable, n, USAGES_FILE);
@@ -145,6 +173,10 @@ public class UsageMatcherFileStore implements UsageMatcherStore {
         throw corrupt(GROUPS_FILE, "holds " + gn + " groups but " + USAGES_FILE + " holds " + n + " usages");
       }
       checkSize(gLen, GROUPS_HEADER, n, "group column", GROUPS_FILE);
+      if (an != n) {
+        throw corrupt(ATTRIBUTES_FILE, "holds " + an + " rows but " + USAGES_FILE + " holds " + n + " usages");
+      }
+      checkSize(aLen, ATTRIBUTES_HEADER, (long) ATTRIBUTES_WIDTH * n, "attribute column", ATTRIBUTES_FILE);
 
       return new Layout(n, live, uTable - 1, uOffsets, uHash, uRecords, blobLen,
         nCanon, nRefs, cTable - 1, cIds, cOffsets, cHash, cRefs);
@@ -153,7 +185,7 @@ public class UsageMatcherFileStore implements UsageMatcherStore {
 
   /**
    * Checks whether dir holds a complete and structurally sound store written by the current code, reading
-   * only the three file headers - nothing is mapped and no record is touched. False for a missing directory,
+   * only the four file headers - nothing is mapped and no record is touched. False for a missing directory,
    * an older format, the files of the previous chronicle based store, and for a store whose headers do not
    * describe the bytes actually on disk.
    *
@@ -169,7 +201,9 @@ public class UsageMatcherFileStore implements UsageMatcherStore {
       long cLen = readHeader(dir, CANONICAL_FILE, MAGIC_CANONICAL, CANONICAL_HEADER, cHdr, null);
       int[] gHdr = new int[1]; // n
       long gLen = readHeader(dir, GROUPS_FILE, MAGIC_GROUPS, GROUPS_HEADER, gHdr, null);
-      Layout.of(uHdr, blobLen[0], uLen, cHdr, cLen, gHdr[0], gLen);
+      int[] aHdr = new int[1]; // n
+      long aLen = readHeader(dir, ATTRIBUTES_FILE, MAGIC_ATTRIBUTES, ATTRIBUTES_HEADER, aHdr, null);
+      Layout.of(uHdr, blobLen[0], uLen, cHdr, cLen, gHdr[0], gLen, aHdr[0], aLen);
       return true;
     } catch (IOException e) {
       return false;
@@ -237,7 +271,7 @@ public class UsageMatcherFileStore implements UsageMatcherStore {
     this.datasetKey = datasetKey;
     this.dir = dir;
     this.writableGroups = writableGroups;
-    for (var fn : new String[]{USAGES_FILE, CANONICAL_FILE, GROUPS_FILE}) {
+    for (var fn : new String[]{USAGES_FILE, CANONICAL_FILE, GROUPS_FILE, ATTRIBUTES_FILE}) {
       if (!new File(dir, fn).isFile()) {
         throw new IOException("Missing matcher store file " + fn + " in " + dir);
       }
@@ -247,16 +281,19 @@ public class UsageMatcherFileStore implements UsageMatcherStore {
       this.usages = MmapIO.map(new File(dir, USAGES_FILE), a, false);
       this.canonical = MmapIO.map(new File(dir, CANONICAL_FILE), a, false);
       this.groups = MmapIO.map(new File(dir, GROUPS_FILE), a, writableGroups);
+      this.attributes = MmapIO.map(new File(dir, ATTRIBUTES_FILE), a, false);
 
       checkHeader(usages, MAGIC_USAGES, USAGES_HEADER, USAGES_FILE);
       checkHeader(canonical, MAGIC_CANONICAL, CANONICAL_HEADER, CANONICAL_FILE);
       checkHeader(groups, MAGIC_GROUPS, GROUPS_HEADER, GROUPS_FILE);
+      checkHeader(attributes, MAGIC_ATTRIBUTES, ATTRIBUTES_HEADER, ATTRIBUTES_FILE);
 
       var l = Layout.of(
         new int[]{usages.get(MmapIO.INT, 8), usages.get(MmapIO.INT, 12), usages.get(MmapIO.INT, 16)},
         usages.get(MmapIO.LONG, 24), usages.byteSize(),
         new int[]{canonical.get(MmapIO.INT, 8), canonical.get(MmapIO.INT, 12), canonical.get(MmapIO.INT, 16)},
-        canonical.byteSize(), groups.get(MmapIO.INT, 8), groups.byteSize());
+        canonical.byteSize(), groups.get(MmapIO.INT, 8), groups.byteSize(),
+        attributes.get(MmapIO.INT, 8), attributes.byteSize());
       this.n = l.n();
       this.live = l.live();
       this.uMask = l.uMask();
@@ -352,6 +389,11 @@ public class UsageMatcherFileStore implements UsageMatcherStore {
     return nCanon;
   }
 
+  @Override
+  public long mappedBytes() {
+    return usages.byteSize() + canonical.byteSize() + groups.byteSize() + attributes.byteSize();
+  }
+
   /** Absolute position of a record, resolving the negation that marks a shadowed slot. */
   private long offset(int slot) {
     long v = usages.get(MmapIO.LONG, uOffsets + 8L * slot);
@@ -424,15 +466,158 @@ public class UsageMatcherFileStore implements UsageMatcherStore {
     groups.set(MmapIO.BYTE, GROUPS_HEADER + (long) slot, (byte) (group == null ? 0 : group.ordinal() + 1));
   }
 
+  private long attributes(int slot) {
+    return ATTRIBUTES_HEADER + (long) ATTRIBUTES_WIDTH * slot;
+  }
+
+  private static <T> T decode(T[] values, byte b) {
+    int v = b & 0xff;
+    return v == 0 ? null : values[v - 1];
+  }
+
+  /** @return the rank of the usage in a slot, read from the attribute column */
+  public Rank rank(int slot) {
+    return decode(RANKS, attributes.get(MmapIO.BYTE, attributes(slot)));
+  }
+
+  /** @return the status of the usage in a slot, read from the attribute column */
+  public TaxonomicStatus status(int slot) {
+    return decode(STATUS, attributes.get(MmapIO.BYTE, attributes(slot) + 1));
+  }
+
+  /** @return the nomenclatural code of the usage in a slot, read from the attribute column */
+  public NomCode code(int slot) {
+    return decode(CODES, attributes.get(MmapIO.BYTE, attributes(slot) + 2));
+  }
+
+  /** @return the slot of the parent usage, {@link #NO_PARENT} or {@link #MISSING_PARENT} */
+  public int parentSlot(int slot) {
+    int v = attributes.get(MmapIO.INT, attributes(slot) + 4);
+    return v == 0 ? NO_PARENT : v < 0 ? MISSING_PARENT : v - 1;
+  }
+
+  /** @return the names index id of the usage in a slot or -1 if it has none */
+  public int namesIndexId(int slot) {
+    return attributes.get(MmapIO.INT, attributes(slot) + 8);
+  }
+
+  /**
+   * The first comparable rank of the classification of a slot, walked on the attribute column alone.
+   * A parent missing from the store or a circle falls back to {@link #getClassification(String)},
+   * which reports the broken classification just like for any other store.
+   */
+  private Optional<Rank> concreteParentRank(int slot) {
+    int p = parentSlot(slot);
+    for (int steps = 0; p >= 0 && steps < n; steps++) {
+      Rank r = rank(p);
+      if (r != null && !r.isUncomparable()) {
+        return Optional.of(r);
+      }
+      p = parentSlot(p);
+    }
+    if (p == NO_PARENT) {
+      return Optional.empty();
+    }
+    return UsageMatcherStore.concreteRank(getClassification(read(slot).getParentId()));
+  }
+
+  /**
+   * A flyweight cursor over the usages of a canonical bucket in insertion order.
+   * All accessors but {@link #read()} are served from the attribute column and allocate nothing.
+   * A cursor is cheap, but not thread safe - use one per lookup.
+   */
+  public final class Candidates {
+    private final int from;
+    private final int to;
+    private int i;
+    private int slot = -1;
+
+    private Candidates(int from, int to) {
+      this.from = from;
+      this.to = to;
+      this.i = from;
+    }
+
+    /** Moves to the next candidate. @return false if there are no more candidates */
+    public boolean next() {
+      if (i >= to) {
+        return false;
+      }
+      slot = canonical.get(MmapIO.INT, cRefs + 4L * i++);
+      return true;
+    }
+
+    /** @return the total number of candidates in the bucket */
+    public int size() {
+      return to - from;
+    }
+
+    public int slot() {
+      return slot;
+    }
+
+    public Rank rank() {
+      return UsageMatcherFileStore.this.rank(slot);
+    }
+
+    public TaxonomicStatus status() {
+      return UsageMatcherFileStore.this.status(slot);
+    }
+
+    public NomCode code() {
+      return UsageMatcherFileStore.this.code(slot);
+    }
+
+    public int parentSlot() {
+      return UsageMatcherFileStore.this.parentSlot(slot);
+    }
+
+    public int namesIndexId() {
+      return UsageMatcherFileStore.this.namesIndexId(slot);
+    }
+
+    public Optional<Rank> concreteParentRank() {
+      return UsageMatcherFileStore.this.concreteParentRank(slot);
+    }
+
+    /** Deserializes the current candidate. */
+    public SimpleNameCached read() {
+      return UsageMatcherFileStore.this.read(slot);
+    }
+  }
+
+  /**
+   * @return a cursor over all usages with the given canonical id, empty if there are none
+   */
+  public Candidates candidates(int canonId) {
+    int ci = canonIndex(canonId);
+    if (ci < 0) return new Candidates(0, 0);
+    return new Candidates(canonical.get(MmapIO.INT, cOffsets + 4L * ci), canonical.get(MmapIO.INT, cOffsets + 4L * (ci + 1)));
+  }
+
   @Override
   public List<SimpleNameCached> simpleNamesByCanonicalId(int canonId) {
-    int ci = canonIndex(canonId);
-    if (ci < 0) return List.of();
-    int from = canonical.get(MmapIO.INT, cOffsets + 4L * ci);
-    int to = canonical.get(MmapIO.INT, cOffsets + 4L * (ci + 1));
-    var list = new ArrayList<SimpleNameCached>(to - from);
-    for (int i = from; i < to; i++) {
-      list.add(read(canonical.get(MmapIO.INT, cRefs + 4L * i)));
+    var c = candidates(canonId);
+    if (c.size() == 0) return List.of();
+    var list = new ArrayList<SimpleNameCached>(c.size());
+    while (c.next()) {
+      list.add(c.read());
+    }
+    return list;
+  }
+
+  /**
+   * Tests candidates on the attribute column and only deserializes those the filter keeps.
+   */
+  @Override
+  public List<SimpleNameClassified<SimpleNameCached>> usagesByCanonicalId(int canonId, CandidateFilter filter) {
+    var c = candidates(canonId);
+    var list = new ArrayList<SimpleNameClassified<SimpleNameCached>>();
+    final Supplier<Optional<Rank>> parentRank = c::concreteParentRank;
+    while (c.next()) {
+      if (filter.keep(c.status(), c.rank(), parentRank)) {
+        list.add(new LazyClassifiedUsage(c.read(), this));
+      }
     }
     return list;
   }
@@ -1,7 +1,11 @@
 package life.catalogue.matching;
 
 import life.catalogue.api.model.SimpleNameCached;
+import life.catalogue.concurrent.NamedThreadFactory;
+import life.catalogue.db.PgUtils;
+import life.catalogue.db.mapper.NameUsageMapper;
 import life.catalogue.matching.mmap.MmapIO;
+import life.catalogue.matching.nidx.NameIndex;
 
 import java.io.File;
 import java.io.IOException;
@@ -10,9 +14,23 @@ import java.lang.foreign.MemorySegment;
 import java.nio.charset.StandardCharsets;
 import java.nio.channels.FileChannel;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,31 +39,30 @@ import it.unimi.dsi.fastutil.Arrays;
 /**
  * Builds a {@link UsageMatcherFileStore} from a stream of usages.
  *
- * <p>Every {@link #add(SimpleNameCached)} is a sequential append to three temporary files - there is no
+ * <p>Every {@link #add(SimpleNameCached)} is a sequential append to a few temporary files - there is no
  * read-modify-write anywhere, so the cost is linear in the number of usages no matter how many of them
  * share a canonical name. {@link #seal()} then assembles the final files in a single pass each and hands
  * back the read only store.
  *
- * <p>The builder is not thread safe; loads are single threaded.
+ * <p>The builder itself is not thread safe. A parallel build instead opens one {@link Shard} per producer
+ * thread, each with its own temporary files, and adds the usages in numbered blocks. Sealing first merges
+ * the blocks of all shards in block order into the regular temporary files, so the store is byte for byte
+ * the one a single threaded build gets when it adds the same usages in that order.
+ * {@link #load(SqlSessionFactory, NameIndex, int)} does exactly that for a dataset scan.
  */
 public class UsageMatcherFileStoreBuilder implements UsageSink, AutoCloseable {
   private static final Logger LOG = LoggerFactory.getLogger(UsageMatcherFileStoreBuilder.class);
+  // usages per block handed to a shard by a parallel load
+  static final int BLOCK_SIZE = 1000;
+  // bytes per usage in the temporary attributes file: rank, status, code, a reserved byte and the names index id.
+  // The final attributes file adds the parent slot
+  private static final int TEMP_ATTRIBUTE_BYTES = 8;
 
   private final int datasetKey;
   private final File dir;
-  private final File recordsTmp;
-  private final File offsetsTmp;
-  private final File canonTmp;
-  private final File groupsTmp;
-
-  private MmapIO.LeOut records;
-  private MmapIO.LeOut offsets;
-  private MmapIO.LeOut canon;
-  private MmapIO.LeOut groups;
-
-  private int n = 0;
-  private int canonPairs = 0;
-  private long pos = 0;
+  private final TempFiles temps;
+  private final List<Shard> shards = new ArrayList<>();
+
   private boolean sealed = false;
   // slots dropped because a later add repeated their id; null while there are none
   private BitSet shadowedSlots;
@@ -55,33 +72,48 @@ public class UsageMatcherFileStoreBuilder implements UsageSink, AutoCloseable {
     this.datasetKey = datasetKey;
     this.dir = dir;
     FileUtils.forceMkdir(dir);
-    this.recordsTmp = new File(dir, "records.tmp");
-    this.offsetsTmp = new File(dir, "offsets.tmp");
-    this.canonTmp = new File(dir, "canon.tmp");
-    this.groupsTmp = new File(dir, "groups.tmp");
-    this.records = new MmapIO.LeOut(recordsTmp);
-    this.offsets = new MmapIO.LeOut(offsetsTmp);
-    this.canon = new MmapIO.LeOut(canonTmp);
-    this.groups = new MmapIO.LeOut(groupsTmp);
-  }
-
-  @Override
-  public int datasetKey() {
-    return datasetKey;
-  }
-
-  public int size() {
-    return n;
+    this.temps = new TempFiles(dir, "");
   }
 
   /**
-   * Appends a usage. Ids should be unique - if the same id is added twice the later record wins, exactly
-   * like a map put, and the shadowed record is skipped by the sealed store.
+   * The temporary files usages are streamed into before sealing, plus the counters needed to merge them.
+   * Usages are numbered by slot in the order they were appended.
    */
-  @Override
-  public void add(SimpleNameCached sn) {
-    if (sealed) throw new IllegalStateException("Store already sealed");
-    try {
+  private static class TempFiles {
+    final File recordsFile;
+    final File offsetsFile;
+    final File canonFile;
+    final File groupsFile;
+    final File attributesFile;
+    final File parentsFile;
+
+    MmapIO.LeOut records;
+    MmapIO.LeOut offsets;
+    MmapIO.LeOut canon;
+    MmapIO.LeOut groups;
+    MmapIO.LeOut attributes;
+    MmapIO.LeOut parents;
+
+    int n = 0;
+    int canonPairs = 0;
+    long pos = 0;
+
+    TempFiles(File dir, String prefix) throws IOException {
+      recordsFile = new File(dir, prefix + "records.tmp");
+      offsetsFile = new File(dir, prefix + "offsets.tmp");
+      canonFile = new File(dir, prefix + "canon.tmp");
+      groupsFile = new File(dir, prefix + "groups.tmp");
+      attributesFile = new File(dir, prefix + "attributes.tmp");
+      parentsFile = new File(dir, prefix + "parents.tmp");
+      records = new MmapIO.LeOut(recordsFile);
+      offsets = new MmapIO.LeOut(offsetsFile);
+      canon = new MmapIO.LeOut(canonFile);
+      groups = new MmapIO.LeOut(groupsFile);
+      attributes = new MmapIO.LeOut(attributesFile);
+      parents = new MmapIO.LeOut(parentsFile);
+    }
+
+    void add(SimpleNameCached sn) throws IOException {
       byte[] id = sn.getId().getBytes(StandardCharsets.UTF_8);
       byte[] body = UsageMatcherFactory.FURY.serializeJavaObject(sn);
       offsets.writeLong(pos);
@@ -91,17 +123,333 @@ public class UsageMatcherFileStoreBuilder implements UsageSink, AutoCloseable {
       pos += 4L + id.length + body.length;
       var g = sn.getGroup();
       groups.writeByte(g == null ? 0 : g.ordinal() + 1);
+      // a row of TEMP_ATTRIBUTE_BYTES
+      attributes.writeByte(ordinal(sn.getRank()));
+      attributes.writeByte(ordinal(sn.getStatus()));
+      attributes.writeByte(ordinal(sn.getCode()));
+      attributes.writeByte(0); // reserved
+      attributes.writeInt(sn.getNamesIndexId() == null ? -1 : sn.getNamesIndexId());
+      // parent ids are resolved to slots once all ids are known
+      if (sn.getParentId() == null) {
+        parents.writeInt(-1);
+      } else {
+        byte[] pid = sn.getParentId().getBytes(StandardCharsets.UTF_8);
+        parents.writeInt(pid.length);
+        parents.write(pid);
+      }
       if (sn.getCanonicalId() != null) {
         canon.writeInt(sn.getCanonicalId());
         canon.writeInt(n);
         canonPairs++;
       }
       n++;
+    }
+
+    void closeOut() throws IOException {
+      if (records != null) { records.close(); records = null; }
+      if (offsets != null) { offsets.close(); offsets = null; }
+      if (canon != null) { canon.close(); canon = null; }
+      if (groups != null) { groups.close(); groups = null; }
+      if (attributes != null) { attributes.close(); attributes = null; }
+      if (parents != null) { parents.close(); parents = null; }
+    }
+
+    void delete() {
+      FileUtils.deleteQuietly(recordsFile);
+      FileUtils.deleteQuietly(offsetsFile);
+      FileUtils.deleteQuietly(canonFile);
+      FileUtils.deleteQuietly(groupsFile);
+      FileUtils.deleteQuietly(attributesFile);
+      FileUtils.deleteQuietly(parentsFile);
+    }
+  }
+
+  /**
+   * A consecutive run of usages added to a shard, located within the temporary files of the shard.
+   */
+  private record Block(Shard shard, int no, int usages, int canonPairs, long recordBytes, long parentBytes) {
+  }
+
+  /**
+   * Temporary files of a single producer of a parallel build. Usages are added in blocks, each with a number
+   * that orders it among the blocks of all shards. A shard must only be used by one thread at a time and its
+   * blocks must be added in ascending order.
+   */
+  public class Shard {
+    private final TempFiles temps;
+    private final List<Block> blocks = new ArrayList<>();
+
+    private Shard(int idx) throws IOException {
+      this.temps = new TempFiles(dir, "shard" + idx + "-");
+    }
+
+    /**
+     * Appends a block of usages. Blocks with a lower number end up before the ones with a higher number
+     * in the sealed store, no matter which shard they were added to.
+     * @param no block number, unique across all shards and ascending within a shard
+     */
+    public void addBlock(int no, List<SimpleNameCached> usages) {
+      if (sealed) throw new IllegalStateException("Store already sealed");
+      if (!blocks.isEmpty() && blocks.getLast().no() >= no) {
+        throw new IllegalArgumentException("Block " + no + " added after block " + blocks.getLast().no());
+      }
+      int n = temps.n;
+      int canonPairs = temps.canonPairs;
+      long pos = temps.pos;
+      long parentPos = temps.parents.written();
+      for (var sn : usages) {
+        try {
+          temps.add(sn);
+        } catch (IOException e) {
+          throw new RuntimeException("Failed to add usage " + sn.getId() + " to the matcher store for dataset " + datasetKey, e);
+        }
+      }
+      blocks.add(new Block(this, no, temps.n - n, temps.canonPairs - canonPairs, temps.pos - pos, temps.parents.written() - parentPos));
+    }
+  }
+
+  @Override
+  public int datasetKey() {
+    return datasetKey;
+  }
+
+  public int size() {
+    if (!sealed && !shards.isEmpty()) {
+      return shards.stream().mapToInt(s -> s.temps.n).sum();
+    }
+    return temps.n;
+  }
+
+  /**
+   * Opens a new shard for a parallel build. Usages can only be added either through shards or directly.
+   */
+  public synchronized Shard shard() throws IOException {
+    if (sealed) throw new IllegalStateException("Store already sealed");
+    if (temps.n > 0) throw new IllegalStateException("Usages were already added directly");
+    var s = new Shard(shards.size());
+    shards.add(s);
+    return s;
+  }
+
+  /**
+   * Appends a usage. Ids should be unique - if the same id is added twice the later record wins, exactly
+   * like a map put, and the shadowed record is skipped by the sealed store.
+   */
+  @Override
+  public void add(SimpleNameCached sn) {
+    if (sealed) throw new IllegalStateException("Store already sealed");
+    if (!shards.isEmpty()) throw new IllegalStateException("Usages must be added to the shards of a parallel build");
+    try {
+      temps.add(sn);
     } catch (IOException e) {
       throw new RuntimeException("Failed to add usage " + sn.getId() + " to the matcher store for dataset " + datasetKey, e);
     }
   }
 
+  private static int ordinal(Enum<?> e) {
+    return e == null ? 0 : e.ordinal() + 1;
+  }
+
+  /**
+   * Loads the dataset with its persisted name matches like {@link #load(SqlSessionFactory)},
+   * but serializes the usages with several threads.
+   * @param threads number of producer threads, 1 or less loads on the calling thread
+   */
+  public int load(SqlSessionFactory factory, int threads) {
+    if (threads <= 1) {
+      return load(factory);
+    }
+    return loadParallel(factory, num -> num.processDatasetSimpleNidx(datasetKey), Function.identity(), threads);
+  }
+
+  /**
+   * Loads the dataset rematching all usages against the names index like {@link #load(SqlSessionFactory, NameIndex)},
+   * but serializes the usages with several threads. The database is read and matched by the calling thread
+   * with a single cursor, which hands out blocks of usages in the order they are read. Matching stays on that
+   * thread as it may insert new names: the index ids they get depend on the insertion order, and the store
+   * must equal the one of a single threaded load of the same scan.
+   * @param threads number of producer threads, 1 or less loads on the calling thread
+   */
+  public int load(SqlSessionFactory factory, NameIndex ni, int threads) {
+    if (threads <= 1) {
+      return load(factory, ni);
+    }
+    return loadParallel(factory, num -> num.processDataset(datasetKey), u -> UsageSink.rematch(u, ni), threads);
+  }
+
+  private record Batch(int no, List<SimpleNameCached> usages) {
+  }
+
+  private <T> int loadParallel(SqlSessionFactory factory, Function<NameUsageMapper, Cursor<T>> query,
+                               Function<T, SimpleNameCached> converter, int threads) {
+    LOG.info("Start loading all usages from dataset {} with {} threads", datasetKey, threads);
+    final Batch end = new Batch(-1, null);
+    BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(threads * 2);
+    var exec = Executors.newFixedThreadPool(threads, new NamedThreadFactory("matcher-store-" + datasetKey));
+    List<Future<?>> workers = new ArrayList<>();
+    var cnt = new AtomicInteger();
+    try {
+      for (int i = 0; i < threads; i++) {
+        final Shard shard = shard();
+        workers.add(exec.submit(() -> {
+          while (true) {
+            var b = queue.take();
+            if (b == end) return null;
+            shard.addBlock(b.no(), b.usages());
+          }
+        }));
+      }
+      try (SqlSession session = factory.openSession()) {
+        var num = session.getMapper(NameUsageMapper.class);
+        var batch = new ArrayList<SimpleNameCached>(BLOCK_SIZE);
+        var blocks = new AtomicInteger();
+        PgUtils.consume(() -> query.apply(num), item -> {
+          batch.add(converter.apply(item));
+          cnt.incrementAndGet();
+          if (batch.size() == BLOCK_SIZE) {
+            put(queue, new Batch(blocks.getAndIncrement(), new ArrayList<>(batch)), workers);
+            batch.clear();
+          }
+        });
+        if (!batch.isEmpty()) {
+          put(queue, new Batch(blocks.getAndIncrement(), batch), workers);
+        }
+      }
+      for (int i = 0; i < threads; i++) {
+        put(queue, end, workers);
+      }
+      for (var w : workers) {
+        w.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted loading usages of dataset " + datasetKey, e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Failed to load usages of dataset " + datasetKey, e.getCause());
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to open shards for dataset " + datasetKey, e);
+    } finally {
+      exec.shutdownNow();
+    }
+    LOG.info("Loaded {} usages for dataset {}", cnt, datasetKey);
+    return cnt.intValue();
+  }
+
+  /**
+   * Hands a batch to the workers, rethrowing the failure of any worker instead of waiting forever for a queue
+   * nobody drains anymore.
+   */
+  private static <T> void put(BlockingQueue<T> queue, T item, List<Future<?>> workers) {
+    try {
+      while (!queue.offer(item, 1, TimeUnit.SECONDS)) {
+        for (var w : workers) {
+          if (w.isDone()) w.get();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted loading usages", e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Failed to load usages", e.getCause());
+    }
+  }
+
+  /**
+   * Concatenates the blocks of all shards in block order into the regular temporary files,
+   * renumbering slots and record offsets as if the usages had been added directly.
+   */
+  private void mergeShards() throws IOException {
+    List<Block> blocks = new ArrayList<>();
+    for (var s : shards) {
+      s.temps.closeOut();
+      blocks.addAll(s.blocks);
+    }
+    blocks.sort(Comparator.comparingInt(Block::no));
+    for (int i = 1; i < blocks.size(); i++) {
+      if (blocks.get(i).no() == blocks.get(i - 1).no()) {
+        throw new IllegalStateException("Block " + blocks.get(i).no() + " was added to several shards");
+      }
+    }
+    List<ShardReader> readers = new ArrayList<>();
+    try {
+      for (var s : shards) {
+        readers.add(new ShardReader(s.temps));
+      }
+      byte[] buf = new byte[65536];
+      for (var b : blocks) {
+        var r = readers.get(shards.indexOf(b.shard()));
+        for (int i = 0; i < b.usages(); i++) {
+          temps.offsets.writeLong(r.offsets.readLong() - r.pos + temps.pos);
+        }
+        for (int i = 0; i < b.canonPairs(); i++) {
+          temps.canon.writeInt(r.canon.readInt());
+          temps.canon.writeInt(r.canon.readInt() - r.n + temps.n);
+        }
+        copy(r.records, temps.records, b.recordBytes(), buf);
+        copy(r.groups, temps.groups, b.usages(), buf);
+        copy(r.attributes, temps.attributes, (long) TEMP_ATTRIBUTE_BYTES * b.usages(), buf);
+        copy(r.parents, temps.parents, b.parentBytes(), buf);
+        r.n += b.usages();
+        r.pos += b.recordBytes();
+        temps.n += b.usages();
+        temps.canonPairs += b.canonPairs();
+        temps.pos += b.recordBytes();
+      }
+    } finally {
+      for (var r : readers) {
+        r.close();
+      }
+    }
+    for (var s : shards) {
+      s.temps.delete();
+    }
+    LOG.info("Merged {} blocks of {} shards for dataset {}", blocks.size(), shards.size(), datasetKey);
+  }
+
+  private static void copy(MmapIO.LeIn in, MmapIO.LeOut out, long len, byte[] buf) throws IOException {
+    long left = len;
+    while (left > 0) {
+      int l = (int) Math.min(buf.length, left);
+      in.readFully(buf, l);
+      out.write(buf, 0, l);
+      left -= l;
+    }
+  }
+
+  /**
+   * Reads the temporary files of a shard sequentially, block after block, keeping track of the first slot
+   * and record offset of the next block.
+   */
+  private static class ShardReader implements AutoCloseable {
+    final MmapIO.LeIn records;
+    final MmapIO.LeIn offsets;
+    final MmapIO.LeIn canon;
+    final MmapIO.LeIn groups;
+    final MmapIO.LeIn attributes;
+    final MmapIO.LeIn parents;
+    int n = 0;
+    long pos = 0;
+
+    ShardReader(TempFiles t) throws IOException {
+      records = new MmapIO.LeIn(t.recordsFile);
+      offsets = new MmapIO.LeIn(t.offsetsFile);
+      canon = new MmapIO.LeIn(t.canonFile);
+      groups = new MmapIO.LeIn(t.groupsFile);
+      attributes = new MmapIO.LeIn(t.attributesFile);
+      parents = new MmapIO.LeIn(t.parentsFile);
+    }
+
+    @Override
+    public void close() throws IOException {
+      records.close();
+      offsets.close();
+      canon.close();
+      groups.close();
+      attributes.close();
+      parents.close();
+    }
+  }
+
   /**
    * Assembles the final files and opens the sealed store. The builder is unusable afterwards; closing it
    * only removes the temporary files.
@@ -113,36 +461,37 @@ public class UsageMatcherFileStoreBuilder implements UsageSink, AutoCloseable {
   public UsageMatcherFileStore seal() throws IOException {
     if (sealed) throw new IllegalStateException("Store already sealed");
     sealed = true;
-    closeTemps();
+    if (!shards.isEmpty()) {
+      mergeShards();
+    }
+    temps.closeOut();
 
     long[] offs = readOffsets();
     int[] table = buildUsageIndex(offs);
     writeUsages(offs, table);
+    writeAttributes(offs, table);
     table = null;
     offs = null;
 
     writeCanonical();
     writeGroups();
 
-    FileUtils.deleteQuietly(recordsTmp);
-    FileUtils.deleteQuietly(offsetsTmp);
-    FileUtils.deleteQuietly(canonTmp);
-    FileUtils.deleteQuietly(groupsTmp);
+    temps.delete();
 
-    LOG.info("Sealed matcher store for dataset {} with {} usages in {}", datasetKey, n, dir);
+    LOG.info("Sealed matcher store for dataset {} with {} usages in {}", datasetKey, temps.n, dir);
     // writable: the caller built these files into a directory nobody else has seen yet, so it is the
     // exclusive owner and the only one entitled to run analyze() over the group column
     return UsageMatcherFileStore.openWritable(datasetKey, dir);
   }
 
   private long[] readOffsets() throws IOException {
-    long[] offs = new long[n + 1];
-    try (var in = new MmapIO.LeIn(offsetsTmp)) {
-      for (int i = 0; i < n; i++) {
+    long[] offs = new long[temps.n + 1];
+    try (var in = new MmapIO.LeIn(temps.offsetsFile)) {
+      for (int i = 0; i < temps.n; i++) {
         offs[i] = in.readLong();
       }
     }
-    offs[n] = pos;
+    offs[temps.n] = temps.pos;
     return offs;
   }
 
@@ -151,14 +500,14 @@ public class UsageMatcherFileStoreBuilder implements UsageSink, AutoCloseable {
    * and marks the earlier slot shadowed by negating its offset.
    */
   private int[] buildUsageIndex(long[] offs) throws IOException {
-    int[] table = new int[MmapIO.tableSize(n)];
+    int[] table = new int[MmapIO.tableSize(temps.n)];
     int mask = table.length - 1;
     int shadowed = 0;
-    if (n > 0) {
+    if (temps.n > 0) {
       try (Arena arena = Arena.ofConfined()) {
-        MemorySegment seg = MmapIO.map(recordsTmp, arena, false);
+        MemorySegment seg = MmapIO.map(temps.recordsFile, arena, false);
         byte[] buf = new byte[64];
-        for (int slot = 0; slot < n; slot++) {
+        for (int slot = 0; slot < temps.n; slot++) {
           long start = offs[slot] < 0 ? -offs[slot] - 1 : offs[slot];
           int idLen = seg.get(MmapIO.INT, start);
           if (buf.length < idLen) buf = new byte[idLen];
@@ -175,7 +524,7 @@ public class UsageMatcherFileStoreBuilder implements UsageSink, AutoCloseable {
               // same id added twice: the later record wins, the earlier one is dropped from the store
               offs[other] = -offs[other] - 1;
               table[idx] = slot + 1;
-              if (shadowedSlots == null) shadowedSlots = new BitSet(n);
+              if (shadowedSlots == null) shadowedSlots = new BitSet(temps.n);
               shadowedSlots.set(other);
               shadowed++;
               break;
@@ -205,11 +554,11 @@ public class UsageMatcherFileStoreBuilder implements UsageSink, AutoCloseable {
     try (var out = new MmapIO.LeOut(f)) {
       out.writeInt(UsageMatcherFileStore.MAGIC_USAGES);
       out.writeInt(UsageMatcherFileStore.FORMAT_VERSION);
-      out.writeInt(n);
+      out.writeInt(temps.n);
       out.writeInt(table.length);
-      out.writeInt(n - shadowedCount);
+      out.writeInt(temps.n - shadowedCount);
       out.writeInt(0); // reserved
-      out.writeLong(pos); // total length of the records blob
+      out.writeLong(temps.pos); // total length of the records blob
       for (long o : offs) {
         out.writeLong(o);
       }
@@ -219,7 +568,7 @@ public class UsageMatcherFileStoreBuilder implements UsageSink, AutoCloseable {
       out.flush();
       headerEnd = out.written();
     }
-    appendBlob(f, headerEnd, recordsTmp);
+    appendBlob(f, headerEnd, temps.recordsFile);
   }
 
   /** Appends the raw record blob at the given position, avoiding a copy through user space. */
@@ -240,12 +589,60 @@ public class UsageMatcherFileStoreBuilder implements UsageSink, AutoCloseable {
     }
   }
 
+  /**
+   * Writes the fixed width attribute rows, resolving the parent id of every usage to its slot through the
+   * id table just built. A repeated parent id resolves to the record that won, like {@link UsageMatcherFileStore#get(String)}.
+   */
+  private void writeAttributes(long[] offs, int[] table) throws IOException {
+    int mask = table.length - 1;
+    try (Arena arena = Arena.ofConfined();
+         var out = new MmapIO.LeOut(new File(dir, UsageMatcherFileStore.ATTRIBUTES_FILE));
+         var attrIn = new MmapIO.LeIn(temps.attributesFile);
+         var parentIn = new MmapIO.LeIn(temps.parentsFile)) {
+      out.writeInt(UsageMatcherFileStore.MAGIC_ATTRIBUTES);
+      out.writeInt(UsageMatcherFileStore.FORMAT_VERSION);
+      out.writeInt(temps.n);
+      out.writeInt(0); // reserved
+      if (temps.n == 0) return;
+      MemorySegment seg = MmapIO.map(temps.recordsFile, arena, false);
+      byte[] enums = new byte[TEMP_ATTRIBUTE_BYTES - 4];
+      byte[] buf = new byte[64];
+      MemorySegment key = MemorySegment.ofArray(buf);
+      for (int slot = 0; slot < temps.n; slot++) {
+        attrIn.readFully(enums, 4);
+        int nidx = attrIn.readInt();
+        int parent = 0;
+        int len = parentIn.readInt();
+        if (len >= 0) {
+          if (buf.length < len) {
+            buf = new byte[len];
+            key = MemorySegment.ofArray(buf);
+          }
+          parentIn.readFully(buf, len);
+          parent = -1; // unless found below
+          int idx = MmapIO.hash(buf, len) & mask;
+          while (table[idx] != 0) {
+            int other = table[idx] - 1;
+            if (keyEquals(seg, offs, other, key, 0, len)) {
+              parent = other + 1;
+              break;
+            }
+            idx = (idx + 1) & mask;
+          }
+        }
+        out.write(enums);
+        out.writeInt(parent);
+        out.writeInt(nidx);
+      }
+    }
+  }
+
   private void writeCanonical() throws IOException {
-    final int[] ids = new int[canonPairs];
-    final int[] slots = new int[canonPairs];
+    final int[] ids = new int[temps.canonPairs];
+    final int[] slots = new int[temps.canonPairs];
     int m = 0;
-    try (var in = new MmapIO.LeIn(canonTmp)) {
-      for (int i = 0; i < canonPairs; i++) {
+    try (var in = new MmapIO.LeIn(temps.canonFile)) {
+      for (int i = 0; i < temps.canonPairs; i++) {
         int cid = in.readInt();
         int slot = in.readInt();
         if (shadowedSlots != null && shadowedSlots.get(slot)) continue; // dropped duplicate
@@ -309,13 +706,13 @@ public class UsageMatcherFileStoreBuilder implements UsageSink, AutoCloseable {
 
   private void writeGroups() throws IOException {
     try (var out = new MmapIO.LeOut(new File(dir, UsageMatcherFileStore.GROUPS_FILE));
-         var in = new MmapIO.LeIn(groupsTmp)) {
+         var in = new MmapIO.LeIn(temps.groupsFile)) {
       out.writeInt(UsageMatcherFileStore.MAGIC_GROUPS);
       out.writeInt(UsageMatcherFileStore.FORMAT_VERSION);
-      out.writeInt(n);
+      out.writeInt(temps.n);
       out.writeInt(0); // reserved
       byte[] buf = new byte[65536];
-      int left = n;
+      int left = temps.n;
       while (left > 0) {
         int len = Math.min(buf.length, left);
         in.readFully(buf, len);
@@ -325,23 +722,19 @@ public class UsageMatcherFileStoreBuilder implements UsageSink, AutoCloseable {
     }
   }
 
-  private void closeTemps() throws IOException {
-    if (records != null) { records.close(); records = null; }
-    if (offsets != null) { offsets.close(); offsets = null; }
-    if (canon != null) { canon.close(); canon = null; }
-    if (groups != null) { groups.close(); groups = null; }
-  }
-
   @Override
   public void close() {
     try {
-      closeTemps();
+      temps.closeOut();
+      for (var s : shards) {
+        s.temps.closeOut();
+      }
     } catch (IOException e) {
       LOG.warn("Failed to close temporary matcher store files in {}", dir, e);
     }
-    FileUtils.deleteQuietly(recordsTmp);
-    FileUtils.deleteQuietly(offsetsTmp);
-    FileUtils.deleteQuietly(canonTmp);
-    FileUtils.deleteQuietly(groupsTmp);
+    temps.delete();
+    for (var s : shards) {
+      s.temps.delete();
+    }
   }
 }
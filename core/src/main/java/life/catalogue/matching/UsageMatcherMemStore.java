@@ -13,6 +13,7 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 /**
  * A heap based, fully mutable store used while data is still changing - the extended release merges into
  * one of these. There is no fan out limit: a canonical bucket is a plain set.
+ * All reads and writes are synchronized so sectors can be merged concurrently into the same store.
  */
 public class UsageMatcherMemStore implements UsageMatcherStore {
   private final int datasetKey;
@@ -29,22 +30,22 @@ public class UsageMatcherMemStore implements UsageMatcherStore {
   }
 
   @Override
-  public int size() {
+  public synchronized int size() {
     return usages.size();
   }
 
   @Override
-  public int canonicalSize() {
+  public synchronized int canonicalSize() {
     return byCanonNidx.size();
   }
 
   @Override
-  public Collection<Integer> allCanonicalIds() {
-    return byCanonNidx.keySet();
+  public synchronized Collection<Integer> allCanonicalIds() {
+    return new ArrayList<>(byCanonNidx.keySet());
   }
 
   @Override
-  public List<SimpleNameCached> simpleNamesByCanonicalId(int canonId) {
+  public synchronized List<SimpleNameCached> simpleNamesByCanonicalId(int canonId) {
     var canonIDs = byCanonNidx.get(canonId);
     if (canonIDs == null) return List.of();
     var list = new ArrayList<SimpleNameCached>(canonIDs.size());
@@ -55,7 +56,7 @@ public class UsageMatcherMemStore implements UsageMatcherStore {
   }
 
   @Override
-  public SimpleNameCached get(String usageID) throws NotFoundException {
+  public synchronized SimpleNameCached get(String usageID) throws NotFoundException {
     var sn = usages.get(usageID);
     if (sn == null) {
       throw NotFoundException.notFound(NameUsage.class, DSID.of(datasetKey, usageID));
@@ -69,12 +70,12 @@ public class UsageMatcherMemStore implements UsageMatcherStore {
   }
 
   @Override
-  public void update(String usageID, TaxGroup group) {
+  public synchronized void update(String usageID, TaxGroup group) {
     get(usageID).setGroup(group);
   }
 
   @Override
-  public void add(SimpleNameCached sn) {
+  public synchronized void add(SimpleNameCached sn) {
     var old = usages.put(sn.getId(), sn);
     if (old != null && !Objects.equals(old.getCanonicalId(), sn.getCanonicalId())) {
       // the usage moved to a different canonical name, drop it from the old bucket
@@ -92,7 +93,7 @@ public class UsageMatcherMemStore implements UsageMatcherStore {
   }
 
   @Override
-  public void updateParentId(String usageID, String parentId) {
+  public synchronized void updateParentId(String usageID, String parentId) {
     get(usageID).setParent(parentId);
   }
 
@@ -3,8 +3,12 @@ package life.catalogue.matching;
 import life.catalogue.api.exception.NotFoundException;
 import life.catalogue.api.model.*;
 import life.catalogue.api.vocab.TaxGroup;
+import life.catalogue.api.vocab.TaxonomicStatus;
+
+import org.gbif.nameparser.api.Rank;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 public interface UsageMatcherStore extends UsageSink, AutoCloseable {
 
@@ -37,6 +41,13 @@ public interface UsageMatcherStore extends UsageSink, AutoCloseable {
     return size() < 1;
   }
 
+  /**
+   * @return bytes the store keeps outside of the java heap, in memory mapped files or off heap allocations
+   */
+  default long mappedBytes() {
+    return 0;
+  }
+
   /**
    * Candidates for a match, in the shape the matcher wants them: with a classification.
    *
@@ -58,6 +69,43 @@ public interface UsageMatcherStore extends UsageSink, AutoCloseable {
     return list;
   }
 
+  /**
+   * A test on the few candidate properties the first matching filters look at. Unlike the later filters it
+   * judges every candidate on its own, so it can be applied before a candidate is materialized at all.
+   */
+  @FunctionalInterface
+  interface CandidateFilter {
+    /**
+     * @param status candidate status
+     * @param rank candidate rank
+     * @param concreteParentRank supplies the first comparable rank of the candidate classification, if any.
+     *                           Only call it when really needed as it walks the parents.
+     * @return true to keep the candidate
+     */
+    boolean keep(TaxonomicStatus status, Rank rank, Supplier<Optional<Rank>> concreteParentRank);
+  }
+
+  /**
+   * Like {@link #usagesByCanonicalId(int)}, but only returns the candidates the filter keeps.
+   * Stores that can read status and rank without deserializing a usage should override this,
+   * so rejected candidates of a large homonym bucket cost no allocation.
+   */
+  default List<SimpleNameClassified<SimpleNameCached>> usagesByCanonicalId(int canonId, CandidateFilter filter) {
+    var list = usagesByCanonicalId(canonId);
+    list.removeIf(u -> !filter.keep(u.getStatus(), u.getRank(), () -> concreteRank(u.getClassification())));
+    return list;
+  }
+
+  /**
+   * @return the first comparable rank of a classification
+   */
+  static Optional<Rank> concreteRank(List<SimpleNameCached> classification) {
+    return classification == null ? Optional.empty() : classification.stream()
+      .map(SimpleName::getRank)
+      .filter(r -> !r.isUncomparable())
+      .findFirst();
+  }
+
   List<SimpleNameCached> simpleNamesByCanonicalId(int canonId);
 
   /**
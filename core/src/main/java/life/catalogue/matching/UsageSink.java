@@ -63,8 +63,15 @@ public interface UsageSink {
   }
 
   private void matchAndAdd(NameUsageBase u, NameIndex ni) {
+    add(rematch(u, ni));
+  }
+
+  /**
+   * Matches the name of a usage against the names index, allowing inserts, and converts it into the cached form.
+   */
+  static SimpleNameCached rematch(NameUsageBase u, NameIndex ni) {
     var m = ni.match(u.getName(), true, false);
     u.getName().applyMatch(m);
-    add(new SimpleNameCached(u, m.getNidx()));
+    return new SimpleNameCached(u, m.getNidx());
   }
 }
@@ -7,18 +7,31 @@ import life.catalogue.common.lang.Exceptions;
 import life.catalogue.common.util.LoggingUtils;
 import life.catalogue.concurrent.DatasetBlockingJob;
 import life.catalogue.concurrent.JobPriority;
+import life.catalogue.concurrent.NamedThreadFactory;
 import life.catalogue.dao.*;
 import life.catalogue.db.CopyDataset;
 import life.catalogue.db.mapper.*;
 import life.catalogue.es.indexing.NameUsageIndexService;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.time.DurationFormatUtils;
+import org.apache.commons.lang3.time.StopWatch;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import com.google.common.base.Throwables;
 
 import jakarta.validation.Validator;
 
@@ -30,6 +43,38 @@ import static life.catalogue.common.lang.Exceptions.interruptIfCancelled;
  */
 public abstract class AbstractProjectCopy extends DatasetBlockingJob {
   protected static final Logger LOG = LoggerFactory.getLogger(AbstractProjectCopy.class);
+  /**
+   * All tables to be copied in an order that respects their foreign keys, together with the tables they depend on.
+   */
+  private static final List<TableCopy> TABLES = List.of(
+    new TableCopy(Sector.class, SectorMapper.class),
+    new TableCopy(EditorialDecision.class, DecisionMapper.class),
+    new TableCopy(SectorPublisher.class, SectorPublisherMapper.class),
+    new TableCopy(VerbatimSource.class, VerbatimSourceMapper.class),
+    new TableCopy(SpeciesEstimate.class, EstimateMapper.class, VerbatimSource.class),
+    new TableCopy(SecondarySource.class, VerbatimSourceSecondaryMapper.class, VerbatimSource.class),
+
+    new TableCopy(Reference.class, ReferenceMapper.class, Sector.class, VerbatimSource.class),
+
+    new TableCopy(Name.class, NameMapper.class, Reference.class),
+    new TableCopy(NameMatch.class, NameMatchMapper.class, Name.class),
+    new TableCopy(NameRelation.class, NameRelationMapper.class, Name.class),
+    new TableCopy(TypeMaterial.class, TypeMaterialMapper.class, Name.class),
+
+    new TableCopy(NameUsage.class, NameUsageMapper.class, Name.class),
+
+    new TableCopy(VernacularName.class, VernacularNameMapper.class, NameUsage.class),
+    new TableCopy(Distribution.class, DistributionMapper.class, NameUsage.class),
+    new TableCopy(Treatment.class, TreatmentMapper.class, NameUsage.class),
+    new TableCopy(Media.class, MediaMapper.class, NameUsage.class)
+  );
+
+  private record TableCopy(Class<?> entity, Class<? extends CopyDataset> mapper, List<Class<?>> after) {
+    TableCopy(Class<?> entity, Class<? extends CopyDataset> mapper, Class<?>... after) {
+      this(entity, mapper, List.of(after));
+    }
+  }
+
   protected final SqlSessionFactory factory;
   protected final DatasetImportDao diDao;
   protected final DatasetDao dDao;
@@ -48,6 +93,7 @@ public abstract class AbstractProjectCopy extends DatasetBlockingJob {
   protected DatasetSettings settings;
   protected Dataset base;
   protected final boolean deleteOnError;
+  protected int copyThreads = 1;
 
   private static int projectKey(int baseReleaseOrProjectKey) {
     return DatasetInfoCache.CACHE.info(baseReleaseOrProjectKey).keyOrProjectKey();
@@ -270,30 +316,59 @@ public abstract class AbstractProjectCopy extends DatasetBlockingJob {
   }
 
   protected void copyData() throws InterruptedException {
-    LOG.info("Copy data into dataset {}", newDatasetKey);
+    LOG.info("Copy data into dataset {} using {} threads", newDatasetKey, copyThreads);
     updateState(ImportState.INSERTING);
-    try (SqlSession session = factory.openSession(false)) {
-      copyTable(Sector.class, SectorMapper.class, session);
-      copyTable(EditorialDecision.class, DecisionMapper.class, session);
-      copyTable(SpeciesEstimate.class, EstimateMapper.class, session);
-      copyTable(SectorPublisher.class, SectorPublisherMapper.class, session);
-      copyTable(VerbatimSource.class, VerbatimSourceMapper.class, session);
-      copyTable(SecondarySource.class, VerbatimSourceSecondaryMapper.class, session);
-
-      copyTable(Reference.class, ReferenceMapper.class, session);
-
-      copyTable(Name.class, NameMapper.class, session);
-      copyTable(NameMatch.class, NameMatchMapper.class, session);
-      copyTable(NameRelation.class, NameRelationMapper.class, session);
-      copyTable(TypeMaterial.class, TypeMaterialMapper.class, session);
-
-      copyTable(NameUsage.class, NameUsageMapper.class, session);
-
-      copyTable(VernacularName.class, VernacularNameMapper.class, session);
-      copyTable(Distribution.class, DistributionMapper.class, session);
-      copyTable(Treatment.class, TreatmentMapper.class, session);
-      copyTable(Media.class, MediaMapper.class, session);
-      session.commit();
+    if (copyThreads > 1) {
+      copyDataParallel();
+    } else {
+      try (SqlSession session = factory.openSession(false)) {
+        for (TableCopy t : TABLES) {
+          copyTable(t.entity, t.mapper, session);
+        }
+        session.commit();
+      }
+    }
+  }
+
+  /**
+   * Copies the tables on copyThreads separate connections.
+   * Every table is committed on its own, so a table is only started once all tables it references are committed.
+   */
+  private void copyDataParallel() throws InterruptedException {
+    final ExecutorService exec = Executors.newFixedThreadPool(copyThreads, new NamedThreadFactory("ProjectCopy-" + newDatasetKey));
+    final Map<String, String> mdc = MDC.getCopyOfContextMap();
+    final Map<Class<?>, CompletableFuture<Void>> copies = new HashMap<>();
+    final AtomicInteger counter = new AtomicInteger(0);
+    try {
+      for (TableCopy t : TABLES) {
+        var deps = t.after.stream().map(copies::get).toArray(CompletableFuture[]::new);
+        copies.put(t.entity, CompletableFuture.allOf(deps).thenRunAsync(() -> {
+          if (mdc != null) {
+            MDC.setContextMap(mdc);
+          }
+          StopWatch watch = StopWatch.createStarted();
+          try (SqlSession session = factory.openSession(false)) {
+            copyTable(t.entity, t.mapper, session);
+            LOG.info("Copied table {}/{} for {}s in {}", counter.incrementAndGet(), TABLES.size(), t.entity.getSimpleName(), watch);
+          } catch (InterruptedException e) {
+            throw new CompletionException(e);
+          } finally {
+            MDC.clear();
+          }
+        }, exec));
+      }
+      CompletableFuture.allOf(copies.values().toArray(CompletableFuture[]::new)).join();
+
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof InterruptedException ie) {
+        throw ie;
+      }
+      Throwables.throwIfUnchecked(cause);
+      throw new RuntimeException(cause);
+
+    } finally {
+      exec.shutdownNow();
     }
   }
 
@@ -18,6 +18,7 @@ public class ProjectDuplication extends AbstractProjectCopy {
   ProjectDuplication(SqlSessionFactory factory, NameUsageIndexService indexService, DatasetImportDao diDao, DatasetDao dDao, Validator validator,
                      int datasetKey, int userKey, ReleaseConfig cfg) {
     super("duplicating", factory, diDao, dDao, indexService, validator, userKey, datasetKey, false, cfg.deleteOnError);
+    this.copyThreads = cfg.copyThreads;
   }
 
   @Override
@@ -81,6 +81,7 @@ public class ProjectRelease extends AbstractProjectCopy {
     // this loads and validates already the project release config
     super(action, factory, diDao, dDao, indexService, validator, userKey, baseReleaseOrProjectKey, true, cfg.deleteOnError);
     this.cfg = cfg;
+    this.copyThreads = cfg.copyThreads;
     this.apiURI = apiURI;
     this.clbURI = clbURI;
     this.imageService = imageService;
@@ -0,0 +1,178 @@
+package life.catalogue.release;
+
+import life.catalogue.concurrent.ExecutorUtils;
+import life.catalogue.concurrent.NamedThreadFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntAVLTreeSet;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
+
+/**
+ * Conflict graph of merge sectors given in priority order, identified by their index in that order.
+ * Each sector depends on all sectors of higher priority it conflicts with,
+ * so conflicting sectors are merged strictly in priority order while all others can be merged concurrently.
+ *
+ * Name conflicts are tracked per canonical names index id:
+ * a sector only depends on the last sector before it that shared a name,
+ * which in turn depends on all earlier ones.
+ */
+class SectorConflictGraph {
+  private final int size;
+  private final List<IntSortedSet> deps;
+  private final Int2IntOpenHashMap lastByName = new Int2IntOpenHashMap();
+
+  @FunctionalInterface
+  interface SectorTask {
+    void run(int idx) throws Exception;
+  }
+
+  SectorConflictGraph(int size) {
+    this.size = size;
+    deps = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      deps.add(new IntAVLTreeSet());
+    }
+    lastByName.defaultReturnValue(-1);
+  }
+
+  /**
+   * Builds the conflict graph for sectors given in priority order. Two sectors conflict if
+   * <ul>
+   *   <li>one of them might attach anywhere, i.e. has no known target</li>
+   *   <li>the target of one is the same or an ancestor of the other sectors target</li>
+   *   <li>their subject subtrees share a canonical name which both might match to or create</li>
+   * </ul>
+   * Sectors from the same source dataset with disjoint subjects therefore do not conflict by themselves.
+   *
+   * @param targets the target id followed by all its ancestor ids for each sector, null if the sector might attach anywhere
+   * @param names supplies the canonical names index ids of a sectors subject subtree, called in priority order
+   */
+  static SectorConflictGraph build(List<List<String>> targets, IntFunction<IntIterator> names) {
+    final int size = targets.size();
+    final var graph = new SectorConflictGraph(size);
+    final Map<String, IntList> byTarget = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      var cl = targets.get(i);
+      if (cl != null && !cl.isEmpty()) {
+        byTarget.computeIfAbsent(cl.get(0), k -> new IntArrayList()).add(i);
+      }
+    }
+    for (int i = 0; i < size; i++) {
+      var cl = targets.get(i);
+      if (cl == null || cl.isEmpty()) {
+        for (int j = 0; j < size; j++) {
+          graph.addConflict(i, j);
+        }
+      } else {
+        for (var id : cl) {
+          for (int j : byTarget.getOrDefault(id, IntList.of())) {
+            graph.addConflict(i, j);
+          }
+        }
+      }
+    }
+    // shared names, added in priority order
+    for (int i = 0; i < size; i++) {
+      graph.addNames(i, names.apply(i));
+    }
+    return graph;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Marks two sectors as conflicting, the one with the lower index is merged first.
+   */
+  void addConflict(int i, int j) {
+    if (i < j) {
+      deps.get(j).add(i);
+    } else if (j < i) {
+      deps.get(i).add(j);
+    }
+  }
+
+  /**
+   * Adds the canonical names index ids of a sectors source.
+   * Must be called in priority order, i.e. with increasing sector indices.
+   */
+  void addNames(int idx, IntIterator canonicalIds) {
+    while (canonicalIds.hasNext()) {
+      int prev = lastByName.put(canonicalIds.nextInt(), idx);
+      if (prev >= 0 && prev != idx) {
+        deps.get(idx).add(prev);
+      }
+    }
+  }
+
+  /**
+   * @return indices of the sectors which have to be merged before the given one
+   */
+  IntSortedSet dependencies(int idx) {
+    return deps.get(idx);
+  }
+
+  /**
+   * @return the length of the longest chain of sectors that have to be merged one after the other
+   */
+  int depth() {
+    int[] depth = new int[size];
+    int max = 0;
+    for (int i = 0; i < size; i++) {
+      int d = 0;
+      for (int j : deps.get(i)) {
+        d = Math.max(d, depth[j]);
+      }
+      depth[i] = d + 1;
+      max = Math.max(max, depth[i]);
+    }
+    return max;
+  }
+
+  /**
+   * Runs the task for every sector as soon as all sectors it depends on have finished.
+   * Once a task failed no further tasks are started and the first exception is rethrown after all running tasks completed.
+   */
+  void run(int threads, String name, SectorTask task) throws Exception {
+    final AtomicReference<Exception> error = new AtomicReference<>();
+    ExecutorService exec = Executors.newFixedThreadPool(threads, new NamedThreadFactory(name));
+    try {
+      final List<CompletableFuture<Void>> futures = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        final int idx = i;
+        CompletableFuture<?>[] before = deps.get(i).intStream()
+          .mapToObj(futures::get)
+          .toArray(CompletableFuture[]::new);
+        futures.add(CompletableFuture.allOf(before).thenRunAsync(() -> {
+          if (error.get() == null) {
+            try {
+              task.run(idx);
+            } catch (Exception e) {
+              error.compareAndSet(null, e);
+            }
+          }
+        }, exec));
+      }
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    } finally {
+      ExecutorUtils.shutdown(exec);
+    }
+    if (error.get() != null) {
+      throw error.get();
+    }
+  }
+}
@@ -9,6 +9,7 @@ import java.util.function.Supplier;
 public class XIdGen implements Supplier<String> {
   private final AtomicInteger id = new AtomicInteger(1);
   private final IdConverter converter;
+  private final String scope;
 
   /**
    * Uses tilde as id prefix which is URI safe and not present in ShortUUIDs nor LATIN29 which can be found in project data.
@@ -19,10 +20,21 @@ public class XIdGen implements Supplier<String> {
 
   public XIdGen(char prefix) {
     converter = new IdConverter(IdConverter.URISAFE64, prefix);
+    scope = null;
+  }
+
+  /**
+   * Issues ids that are unique within the given scope, e.g. a sector, by prefixing them with the encoded scope.
+   * Ids of several scoped generators never clash and do not depend on the order in which they are issued across scopes.
+   */
+  public XIdGen(char prefix, int scope) {
+    converter = new IdConverter(IdConverter.URISAFE64, prefix);
+    this.scope = converter.encode(scope);
   }
 
   @Override
   public String get() {
-    return converter.encode(id.incrementAndGet());
+    var x = converter.encode(id.incrementAndGet());
+    return scope == null ? x : scope + x;
   }
 }
@@ -17,6 +17,7 @@ import org.apache.ibatis.session.SqlSessionFactory;
  */
 public class XIdProvider extends IdProvider implements UsageIdGen, AutoCloseable {
   private final Writer nomatchWriter;
+  private boolean tempIdsOnly;
 
   public XIdProvider(int projectKey, int mappedDatasetKey, int attempt, int releaseDatasetKey, ReleaseConfig cfg, ProjectReleaseConfig prCfg,
                      SqlSessionFactory factory
@@ -25,15 +26,24 @@ public class XIdProvider extends IdProvider implements UsageIdGen, AutoCloseable
     nomatchWriter = buildNomatchWriter();
   }
 
+  /**
+   * If enabled all usages, not just the ones without authorship, get a temporary id when issued
+   * and are only assigned their stable id in the final mapping of all temporary ids.
+   * This keeps the stable ids independent of the order in which usages are issued, e.g. by concurrent sector merges.
+   */
+  public synchronized void setTempIdsOnly(boolean tempIdsOnly) {
+    this.tempIdsOnly = tempIdsOnly;
+  }
+
   @Override
-  public String issue(SimpleNameWithNidx usage) {
+  public synchronized String issue(SimpleNameWithNidx usage) {
     // OTU names (UNITE/BOLD) use their code verbatim as the stable id (see IdProvider.otuId)
     final String otu = otuId(usage);
     if (otu != null) {
       return otu;
     }
     try {
-      if (usage.hasAuthorship()) {
+      if (usage.hasAuthorship() && !tempIdsOnly) {
         // remember real canonical ID as we use the property to encode the new id internally
         final var canonID = usage.getCanonicalId();
         // the usage still carries the parent id of its source dataset at this point, not the accepted name,
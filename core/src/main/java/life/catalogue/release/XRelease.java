@@ -7,6 +7,8 @@ import life.catalogue.api.vocab.*;
 import life.catalogue.assembly.SectorSync;
 import life.catalogue.assembly.SyncException;
 import life.catalogue.assembly.SyncFactory;
+import life.catalogue.assembly.TreeBaseHandler;
+import life.catalogue.assembly.TreeMergeHandler;
 import life.catalogue.assembly.TreeMergeHandlerConfig;
 import life.catalogue.basgroup.HomotypicConsolidator;
 import life.catalogue.basgroup.SectorPriority;
@@ -27,12 +29,11 @@ import life.catalogue.matching.nidx.NameIndex;
 import org.gbif.nameparser.api.NameType;
 import org.gbif.nameparser.api.Rank;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.time.LocalDateTime;
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
@@ -44,6 +45,9 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+
 import jakarta.validation.Validator;
 
 public class XRelease extends ProjectRelease {
@@ -61,7 +65,7 @@ public class XRelease extends ProjectRelease {
   private XReleaseConfig xCfg;
   private TreeMergeHandlerConfig mergeCfg;
   private XIdProvider usageIdGen;
-  private int failedSyncs;
+  private final AtomicInteger failedSyncs = new AtomicInteger();
   private int tmpProjectKey;
 
   XRelease(SqlSessionFactory factory, SyncFactory syncFactory, UsageMatcherFactory matcherFactory, NameIndex nidx, NameUsageIndexService indexService, ImageService imageService,
@@ -518,7 +522,9 @@ public class XRelease extends ProjectRelease {
   }
 
   /**
-   * We do all extended work here, e.g. sector merging
+   * We do all extended work here, e.g. sector merging.
+   * With more than one merge thread configured sectors that do not conflict with each other are merged concurrently,
+   * see {@link #mergeSectorsConcurrently(List)}.
    */
   protected void mergeSectors(int maxSectors) throws Exception {
     checkIfCancelled();
@@ -527,67 +533,189 @@ public class XRelease extends ProjectRelease {
     final LocalDateTime start = LocalDateTime.now();
     final int size = sectors.size();
     int counter = 0;
-    failedSyncs = 0;
-    // sequential id generators for extended records
-    final Supplier<String> nameIdGen = new XIdGen();
-    final Supplier<String> typeMaterialIdGen = new XIdGen();
+    failedSyncs.set(0);
     updateState(ImportState.INSERTING);
-    for (Sector s : sectors) {
-      if (counter >= maxSectors) {
-        LOG.warn("Stop merging as we reached the debug limit of {} sectors", maxSectors);
-        break;
+    if (xCfg.mergeThreads > 1) {
+      if (size > maxSectors) {
+        LOG.warn("Only merge the first {} sectors as we reached the debug limit", maxSectors);
       }
+      var toMerge = sectors.subList(0, Math.min(size, maxSectors));
+      mergeSectorsConcurrently(toMerge);
+      counter = toMerge.size();
 
-      LOG.info("Merge {}. #{} out of {}", s, counter++, size);
-      // the sector might not have been copied to the xrelease yet - we only copied all sectors from the base release, not the project.
-      // create only if missing
-      try (SqlSession session = factory.openSession(true)) {
-        SectorMapper sm = session.getMapper(SectorMapper.class);
-        if (!sm.exists(s)) {
-          // the sector belongs to the tmp project,
-          // but the targetID points to the project ids, not the tmp dataset ids which use the stable base release identifiers
-          SectorSync.rematchSectorTarget(s, s.getDatasetKey(), session);
-          sm.createWithID(s);
+    } else {
+      // sequential id generators for extended records
+      final Supplier<String> nameIdGen = new XIdGen();
+      final Supplier<String> typeMaterialIdGen = new XIdGen();
+      for (Sector s : sectors) {
+        if (counter >= maxSectors) {
+          LOG.warn("Stop merging as we reached the debug limit of {} sectors", maxSectors);
+          break;
         }
+        LOG.info("Merge {}. #{} out of {}", s, counter++, size);
+        createSectorIfMissing(s);
+        checkIfCancelled();
+        mergeSector(s, nameIdGen, typeMaterialIdGen);
       }
-      checkIfCancelled();
-      SectorSync ss;
-      try {
-        // sector syncs require the project key where we store all sync attempts
-        var skey = DSID.of(projectKey, s.getId());
-        ss = syncFactory.release(skey, tmpProjectKey, mergeCfg, matcher, nameIdGen, typeMaterialIdGen, usageIdGen, fullUser.getKey());
-        ss.run();
-        if (ss.getState().getState() != ImportState.FINISHED){
-          failedSyncs++;
-          if (mergeCfg.xCfg.failOnSyncErrors) {
-            throw new SyncException(ss.lastException());
-          }
-          LOG.error("Failed to sync {} with state={}, error={}", s, ss.getState().getState(), ss.getState().getError(), ss.lastException());
-        } else {
-          // copy remaining merge decisions
-          copyMergeDecisions(ss.getDecisions().values());
-          // copy attempts to local instances as it finished successfully
-          s.setSyncAttempt(ss.getState().getAttempt());
-          // and also update our release copy!
-          try (SqlSession session = factory.openSession(true)) {
-            SectorMapper sm = session.getMapper(SectorMapper.class);
-            sm.updateReleaseAttempts(DSID.of(projectKey, s.getId()), newDatasetKey);
-          }
+    }
+
+    LOG.info("All {} sectors merged, {} failed", counter, failedSyncs.get());
+    DateUtils.logDuration(LOG, "Merging sectors", start);
+    matcher=null; // release matcher memory
+  }
+
+  /**
+   * The sector might not have been copied to the xrelease yet - we only copied all sectors from the base release, not the project.
+   * Create only if missing.
+   */
+  private void createSectorIfMissing(Sector s) {
+    try (SqlSession session = factory.openSession(true)) {
+      SectorMapper sm = session.getMapper(SectorMapper.class);
+      if (!sm.exists(s)) {
+        // the sector belongs to the tmp project,
+        // but the targetID points to the project ids, not the tmp dataset ids which use the stable base release identifiers
+        SectorSync.rematchSectorTarget(s, s.getDatasetKey(), session);
+        sm.createWithID(s);
+      }
+    }
+  }
+
+  private void mergeSector(Sector s, Supplier<String> nameIdGen, Supplier<String> typeMaterialIdGen) throws SyncException {
+    SectorSync ss;
+    try {
+      // sector syncs require the project key where we store all sync attempts
+      var skey = DSID.of(projectKey, s.getId());
+      ss = syncFactory.release(skey, tmpProjectKey, mergeCfg, matcher, nameIdGen, typeMaterialIdGen, usageIdGen, fullUser.getKey());
+      ss.run();
+      if (ss.getState().getState() != ImportState.FINISHED){
+        failedSyncs.incrementAndGet();
+        if (mergeCfg.xCfg.failOnSyncErrors) {
+          throw new SyncException(ss.lastException());
         }
-      } catch (NotFoundException e) {
-        failedSyncs++;
-        LOG.error("Sector {} was deleted. No sync possible", s);
-        // remove from release
+        LOG.error("Failed to sync {} with state={}, error={}", s, ss.getState().getState(), ss.getState().getError(), ss.lastException());
+      } else {
+        // copy remaining merge decisions
+        copyMergeDecisions(ss.getDecisions().values());
+        // copy attempts to local instances as it finished successfully
+        s.setSyncAttempt(ss.getState().getAttempt());
+        // and also update our release copy!
         try (SqlSession session = factory.openSession(true)) {
           SectorMapper sm = session.getMapper(SectorMapper.class);
-          sm.delete(DSID.of(newDatasetKey, s.getId()));
+          sm.updateReleaseAttempts(DSID.of(projectKey, s.getId()), newDatasetKey);
         }
       }
+    } catch (NotFoundException e) {
+      failedSyncs.incrementAndGet();
+      LOG.error("Sector {} was deleted. No sync possible", s);
+      // remove from release
+      try (SqlSession session = factory.openSession(true)) {
+        SectorMapper sm = session.getMapper(SectorMapper.class);
+        sm.delete(DSID.of(newDatasetKey, s.getId()));
+      }
     }
+  }
 
-    LOG.info("All {} sectors merged, {} failed", counter, failedSyncs);
-    DateUtils.logDuration(LOG, "Merging sectors", start);
-    matcher=null; // release matcher memory
+  /**
+   * Merges sectors concurrently against the shared project matcher, serializing only conflicting sectors in their priority order.
+   * To keep the result independent of the order in which non conflicting sectors finish,
+   * name and type material ids are scoped by sector and all usages get temporary ids that are mapped to stable ids at the end.
+   * Verbatim source keys are issued as temporary keys scoped by sector and renumbered in sector priority order once all sectors are merged.
+   */
+  private void mergeSectorsConcurrently(List<Sector> toMerge) throws Exception {
+    for (Sector s : toMerge) {
+      createSectorIfMissing(s);
+    }
+    checkIfCancelled();
+    final var graph = buildConflictGraph(toMerge);
+    LOG.info("Merge {} sectors with {} threads, the longest chain of conflicting sectors is {}", toMerge.size(), xCfg.mergeThreads, graph.depth());
+    mergeCfg.shareVerbatimSourceKeys();
+    usageIdGen.setTempIdsOnly(true);
+    final AtomicInteger counter = new AtomicInteger();
+    try {
+      graph.run(xCfg.mergeThreads, "xrelease-merge-" + newDatasetKey, idx -> {
+        checkIfCancelled();
+        Sector s = toMerge.get(idx);
+        LOG.info("Merge {}. #{} out of {}", s, counter.getAndIncrement(), toMerge.size());
+        mergeSector(s,
+          new XIdGen(TreeMergeHandler.ID_PREFIX, s.getId()),
+          new XIdGen(TreeMergeHandler.ID_PREFIX, s.getId())
+        );
+      });
+    } finally {
+      usageIdGen.setTempIdsOnly(false);
+    }
+    mergeCfg.renumberVerbatimSourceKeys(toMerge.stream().map(Sector::getId).toList());
+  }
+
+  /**
+   * Builds the conflict graph from the target classifications in the shared matcher
+   * and the canonical names found in the subtree of each sectors subject
+   * including the implicit names the merge might create for them,
+   * see {@link SectorConflictGraph#build(List, java.util.function.IntFunction)}.
+   */
+  private SectorConflictGraph buildConflictGraph(List<Sector> toMerge) {
+    // classification of each sector target, null for sectors that might attach anywhere
+    final List<List<String>> targets = new ArrayList<>(toMerge.size());
+    for (Sector s : toMerge) {
+      List<String> cl = null;
+      if (s.getTargetID() != null) {
+        try {
+          cl = matcher.store().getClassification(s.getTargetID()).stream()
+            .map(SimpleNameCached::getId)
+            .toList();
+        } catch (NotFoundException e) {
+          LOG.info("Target {} of sector {} not found, merge it in isolation", s.getTargetID(), s.getId());
+        }
+      }
+      targets.add(cl);
+    }
+    try (SqlSession session = factory.openSession()) {
+      var nmm = session.getMapper(NameMatchMapper.class);
+      var nm = session.getMapper(NameMapper.class);
+      return SectorConflictGraph.build(targets, idx -> {
+        Sector s = toMerge.get(idx);
+        IntList ids = new IntArrayList();
+        if (s.getSubjectDatasetKey() != null) {
+          // only the names of the subject subtree can be matched or created by the merge
+          try (var cursor = s.getSubjectID() == null ?
+            nmm.processIndexIds(s.getSubjectDatasetKey()) :
+            nmm.processSubtreeIndexIds(s.getSubjectAsDSID())
+          ) {
+            cursor.forEach(id -> {
+              if (id != null) {
+                ids.add(id.intValue());
+              }
+            });
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+          if (s.isCreateImplicitNames()) {
+            // implicit genera, subgenera and species created for the accepted names of the subtree
+            Set<String> implicits = new HashSet<>();
+            try (var cursor = nm.processImplicitParentNames(DSID.of(s.getSubjectDatasetKey(), s.getSubjectID()))) {
+              cursor.forEach(n -> {
+                if (n.getRank() != null && n.getRank().isSpeciesOrBelow()) {
+                  for (Rank r : List.of(Rank.GENUS, Rank.SUBGENUS, Rank.SPECIES)) {
+                    if (r.higherThan(n.getRank())) {
+                      var in = TreeBaseHandler.implicitName(n, r);
+                      if (in != null && in.getScientificName() != null && implicits.add(r + " " + in.getScientificName() + " " + in.getCode())) {
+                        var m = ni.match(in, true, false);
+                        if (m.getNidx() != null) {
+                          ids.add(m.getNidx().intValue());
+                        }
+                      }
+                    }
+                  }
+                }
+              });
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          }
+        }
+        return ids.iterator();
+      });
+    }
   }
 
   /**
@@ -604,7 +732,10 @@ public class XRelease extends ProjectRelease {
     DateUtils.logDuration(LOG, "ID provider", start);
   }
 
-  private void copyMergeDecisions(Collection<EditorialDecision> decisions) {
+  /**
+   * Synchronized as sectors of the same source share their decisions and might be merged concurrently.
+   */
+  private synchronized void copyMergeDecisions(Collection<EditorialDecision> decisions) {
     int counter = 0;
     int existed = 0;
     try (SqlSession session = factory.openSession(false)) {
@@ -627,7 +758,7 @@ public class XRelease extends ProjectRelease {
   }
 
   public int getFailedSyncs() {
-    return failedSyncs;
+    return failedSyncs.get();
   }
 
   /**
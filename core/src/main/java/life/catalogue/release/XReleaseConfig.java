@@ -64,6 +64,15 @@ public class XReleaseConfig extends ProjectReleaseConfig {
   @Min(1)
   public int homotypicConsolidationThreads = 4;
 
+  /**
+   * Number of sectors to merge concurrently. Sectors with overlapping targets
+   * or canonical names shared between their subject subtrees are still merged one after the other in their priority order.
+   * Using more than one thread issues all new usage ids as temporary ids which are only mapped to stable ids at the end.
+   * Verbatim source keys are likewise renumbered in sector priority order after all sectors are merged.
+   */
+  @Min(1)
+  public int mergeThreads = 1;
+
   /**
    * An optional set of issues that if found on the usage or name will trigger the exclusion of the usage in the merge syncs.
    */
@@ -666,6 +666,7 @@ public class HierarchySyncIT {
         r -> {},
         (r, e) -> { throw new AssertionError("HierarchySync failed", e); },
         scopeResolver,
+        null,
         USER
       );
       sync.run();
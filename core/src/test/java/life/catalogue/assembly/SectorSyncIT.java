@@ -3,6 +3,7 @@ package life.catalogue.assembly;
 import life.catalogue.TestDataRules;
 import life.catalogue.api.model.*;
 import life.catalogue.api.vocab.*;
+import life.catalogue.config.SyncManagerConfig;
 import life.catalogue.dao.TaxonDao;
 import life.catalogue.db.mapper.*;
 import life.catalogue.junit.*;
@@ -13,8 +14,10 @@ import org.gbif.nameparser.api.Rank;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.ibatis.session.SqlSession;
 import org.junit.After;
@@ -26,6 +29,8 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.rules.RuleChain;
 import org.junit.rules.TestRule;
 
+import com.codahale.metrics.MetricRegistry;
+
 import static org.junit.Assert.*;
 
 /**
@@ -266,6 +271,71 @@ public class SectorSyncIT extends SectorSyncTestBase {
     assertEquals(5, keys.size());
   }
   
+  /**
+   * Two sectors attached to disjoint subtrees of the project are synced at the same time by the sync manager
+   * and must not clash on the verbatim source keys they create.
+   */
+  @Test
+  public void concurrentSyncs() throws Exception {
+    final int srcKey1 = dataRule.mapKey(DataFormat.ACEF, 1);
+    final int srcKey3 = dataRule.mapKey(DataFormat.ACEF, 6);
+
+    NameUsageBase src = getByName(srcKey1, Rank.ORDER, "Fabales");
+    NameUsageBase trg = getByName(Datasets.COL, Rank.PHYLUM, "Tracheophyta");
+    final var s1 = DSID.copy(createSector(Sector.Mode.ATTACH, src, trg));
+
+    src = getByName(srcKey3, Rank.FAMILY, "Theridiidae");
+    trg = getByName(Datasets.COL, Rank.CLASS, "Insecta");
+    final var s2 = DSID.copy(createSector(Sector.Mode.ATTACH, src, trg));
+
+    var cfg = new SyncManagerConfig();
+    cfg.threads = 2;
+    cfg.projectThreads = 2;
+    var manager = new SyncManager(cfg, SqlSessionFactoryRule.getSqlSessionFactory(), NameMatchingRule.getIndex(), SyncFactoryRule.getFactory(), new MetricRegistry());
+    manager.start();
+    try {
+      manager.sync(sector(s1), TestDataRule.TEST_USER.getKey());
+      manager.sync(sector(s2), TestDataRule.TEST_USER.getKey());
+      var timeout = LocalDateTime.now().plusMinutes(2);
+      while (!manager.isIdle()) {
+        assertTrue("Syncs did not finish in time", LocalDateTime.now().isBefore(timeout));
+        TimeUnit.MILLISECONDS.sleep(100);
+      }
+    } finally {
+      manager.stop();
+    }
+
+    SectorImport i1 = sectorImport(s1);
+    SectorImport i2 = sectorImport(s2);
+    assertEquals(i1.getError(), ImportState.FINISHED, i1.getState());
+    assertEquals(i2.getError(), ImportState.FINISHED, i2.getState());
+    // both ran at the same time
+    assertTrue(i1.getStarted().isBefore(i2.getFinished()));
+    assertTrue(i2.getStarted().isBefore(i1.getFinished()));
+
+    Taxon vogelii = (Taxon) getByName(Datasets.COL, Rank.SUBSPECIES, "Astragalus vogelii subsp. vogelii");
+    assertEquals(s1, vogelii.getSectorDSID());
+    assertHasVerbatimSource(vogelii, "5177");
+
+    // every synced usage points to a verbatim source of its own sector
+    try (SqlSession session = SqlSessionFactoryRule.getSqlSessionFactory().openSession(true);
+         var st = session.getConnection().createStatement()
+    ) {
+      var rs = st.executeQuery("SELECT count(*) FROM name_usage u " +
+        "LEFT JOIN verbatim_source v ON v.dataset_key=u.dataset_key AND v.id=u.verbatim_source_key " +
+        "WHERE u.dataset_key=" + Datasets.COL + " AND u.sector_key IN (" + s1.getId() + "," + s2.getId() + ") " +
+        "AND v.sector_key IS DISTINCT FROM u.sector_key");
+      rs.next();
+      assertEquals(0, rs.getInt(1));
+    }
+  }
+
+  private SectorImport sectorImport(DSID<Integer> key) {
+    try (SqlSession session = SqlSessionFactoryRule.getSqlSessionFactory().openSession(true)) {
+      return session.getMapper(SectorImportMapper.class).get(key, sector(key).getSyncAttempt());
+    }
+  }
+
   /**
    * https://github.com/Sp2000/colplus-backend/issues/493
    */
@@ -0,0 +1,56 @@
+package life.catalogue.assembly;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import static life.catalogue.assembly.SubtreeLocks.Subtree;
+import static org.junit.Assert.*;
+
+public class SubtreeLocksTest {
+
+  @Test
+  public void overlaps() {
+    var plants = Subtree.of(1, "p", List.of("root"));
+    var pinus = Subtree.of(1, "pin", List.of("root", "p", "pinaceae"));
+    var animals = Subtree.of(1, "a", List.of("root"));
+    var otherProject = Subtree.of(2, "pin", List.of("root", "p", "pinaceae"));
+
+    assertTrue(plants.overlaps(pinus));
+    assertTrue(pinus.overlaps(plants));
+    assertTrue(pinus.overlaps(Subtree.of(1, "pin", List.of())));
+    assertFalse(plants.overlaps(animals));
+    assertFalse(pinus.overlaps(animals));
+    assertFalse(pinus.overlaps(otherProject));
+    assertTrue(animals.overlaps(Subtree.project(1)));
+    assertTrue(Subtree.project(1).overlaps(Subtree.project(1)));
+    assertFalse(Subtree.project(1).overlaps(Subtree.project(2)));
+  }
+
+  @Test
+  public void lock() {
+    var locks = new SubtreeLocks(2);
+    var plants = Subtree.of(1, "p", List.of("root"));
+    var pinus = Subtree.of(1, "pin", List.of("root", "p", "pinaceae"));
+    var animals = Subtree.of(1, "a", List.of("root"));
+    var fungi = Subtree.of(1, "f", List.of("root"));
+
+    assertTrue(locks.tryLock(pinus));
+    assertFalse(locks.tryLock(plants));
+    assertFalse(locks.tryLock(Subtree.project(1)));
+    assertTrue(locks.tryLock(animals));
+    assertEquals(2, locks.size(1));
+    // max locks per project reached
+    assertFalse(locks.isAvailable(fungi));
+    assertTrue(locks.tryLock(Subtree.project(2)));
+
+    locks.unlock(pinus);
+    assertTrue(locks.tryLock(fungi));
+    assertFalse(locks.tryLock(plants));
+    locks.unlock(animals);
+    locks.unlock(fungi);
+    assertEquals(0, locks.size(1));
+    assertTrue(locks.tryLock(Subtree.project(1)));
+    assertFalse(locks.tryLock(pinus));
+  }
+}
@@ -0,0 +1,66 @@
+package life.catalogue.exporter;
+
+import life.catalogue.common.id.IdConverter;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class IdSetTest {
+
+  @Test
+  public void addContainsIterate() {
+    Set<String> expected = new HashSet<>();
+    try (IdSet ids = new IdSet()) {
+      List<String> values = List.of("0", "1", "123456", "2147483647", "2147483648", "007", "-3",
+        IdConverter.LATIN29.encode(0), IdConverter.LATIN29.encode(4711), IdConverter.LATIN29.encode(Integer.MAX_VALUE),
+        "BBBBBBBBB", "urn:lsid:ipni.org:names:1234-1", "Abies alba", "", "2B", "b2");
+      for (String id : values) {
+        ids.add(id);
+        ids.add(id);
+        expected.add(id);
+      }
+      ids.add(null);
+      ids.addAll(List.of("x1", "42"));
+      ids.addAll(null);
+      expected.add("x1");
+      expected.add("42");
+
+      assertEquals(expected.size(), ids.size());
+      for (String id : expected) {
+        assertTrue(id, ids.contains(id));
+      }
+      assertFalse(ids.contains(null));
+      assertFalse(ids.contains("43"));
+      assertFalse(ids.contains("0042"));
+      assertFalse(ids.contains("x2"));
+
+      Set<String> iterated = new HashSet<>();
+      for (String id : ids) {
+        assertTrue(iterated.add(id));
+      }
+      assertEquals(expected, iterated);
+    }
+  }
+
+  @Test
+  public void numbersOnly() {
+    Set<String> expected = new HashSet<>();
+    try (IdSet ids = new IdSet()) {
+      for (int i = 0; i < 10000; i++) {
+        ids.add(String.valueOf(i));
+        ids.add(IdConverter.LATIN29.encode(i));
+        expected.add(String.valueOf(i));
+        expected.add(IdConverter.LATIN29.encode(i));
+      }
+      // some encoded ids only use digits and are the same as plain numbers
+      assertEquals(expected.size(), ids.size());
+      assertTrue(ids.contains("9999"));
+      assertTrue(ids.contains(IdConverter.LATIN29.encode(9999)));
+    }
+  }
+}
@@ -27,6 +27,9 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -159,6 +162,86 @@ public class MatchingJobTest extends EmailNotificationTemplateTest {
     assertEquals("Expected 3 data rows in result" + variant, 3, dataRows);
   }
 
+  /**
+   * Batches matched by several threads must still be written in the order of the upload.
+   */
+  @Test
+  public void testMatchUploadParallel() throws Exception {
+    final int rows = 3500;
+    StringBuilder sb = new StringBuilder("id,scientificName\n");
+    for (int i = 1; i <= rows; i++) {
+      sb.append(i).append(",Aus bus").append(i % 7 == 0 ? " alpha" : "").append("\n");
+    }
+    File upload = File.createTempFile("col-parallel-test-", ".csv");
+    upload.deleteOnExit();
+    try (FileOutputStream fos = new FileOutputStream(upload)) {
+      fos.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    // let the batches finish out of order
+    var matcher = matcherFactory.persistent(dataRule.testData.key);
+    when(matcher.matchAll(any(), anyBoolean(), anyBoolean(), anyBoolean())).thenAnswer(inv -> {
+      List<?> sncs = inv.getArgument(0);
+      Thread.sleep(ThreadLocalRandom.current().nextInt(50));
+      return sncs.stream().map(x -> UsageMatch.empty(0)).toList();
+    });
+
+    MatchingRequest req = new MatchingRequest();
+    req.setDatasetKey(dataRule.testData.key);
+    req.setUpload(upload);
+    req.setThreads(3);
+    var job = new MatchingJob(req, Users.TESTER, SqlSessionFactoryRule.getSqlSessionFactory(), matcherFactory, cfg.matching);
+    job.run();
+    assertNull(job.getError());
+
+    try (ZipFile zipFile = new ZipFile(job.getResult().getFile())) {
+      ZipEntry entry = zipFile.entries().nextElement();
+      try (BufferedReader br = new BufferedReader(new InputStreamReader(zipFile.getInputStream(entry), StandardCharsets.UTF_8))) {
+        br.readLine();
+        int expected = 1;
+        String line;
+        while ((line = br.readLine()) != null) {
+          assertEquals(String.valueOf(expected++), line.split("\t")[0]);
+        }
+        assertEquals(rows + 1, expected);
+      }
+    }
+  }
+
+  /**
+   * Repeated names are only matched once per job and answered from the duplicate name cache.
+   */
+  @Test
+  public void testMatchUploadDuplicates() throws Exception {
+    final int rows = 2500;
+    StringBuilder sb = new StringBuilder("id,scientificName,family\n");
+    for (int i = 1; i <= rows; i++) {
+      sb.append(i).append(",Aus bus,").append(i % 3 == 0 ? "Asteraceae" : i % 3 == 1 ? "Rosaceae" : "Poaceae").append("\n");
+    }
+    File upload = File.createTempFile("col-duplicates-test-", ".csv");
+    upload.deleteOnExit();
+    try (FileOutputStream fos = new FileOutputStream(upload)) {
+      fos.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    var matched = new AtomicInteger();
+    var matcher = matcherFactory.persistent(dataRule.testData.key);
+    when(matcher.matchAll(any(), anyBoolean(), anyBoolean(), anyBoolean())).thenAnswer(inv -> {
+      List<?> sncs = inv.getArgument(0);
+      matched.addAndGet(sncs.size());
+      return sncs.stream().map(x -> UsageMatch.empty(0)).toList();
+    });
+
+    MatchingRequest req = new MatchingRequest();
+    req.setDatasetKey(dataRule.testData.key);
+    req.setUpload(upload);
+    var job = new MatchingJob(req, Users.TESTER, SqlSessionFactoryRule.getSqlSessionFactory(), matcherFactory, cfg.matching);
+    job.run();
+    assertNull(job.getError());
+    // the same name in 3 different families
+    assertEquals(3, matched.get());
+    assertEquals(3, job.getResult().getCacheMisses());
+    assertEquals(rows - 3, job.getResult().getCacheHits());
+  }
+
   @Test
   public void testMatchingProducesValidZip() throws Exception {
     MatchingRequest req = new MatchingRequest();
@@ -0,0 +1,141 @@
+package life.catalogue.matching;
+
+import life.catalogue.api.model.SimpleNameCached;
+import life.catalogue.api.vocab.TaxGroup;
+
+import org.gbif.nameparser.api.Rank;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class UsageMatcherArenaStoreTest extends UsageMatcherStoreTestBase {
+
+  @Override
+  UsageSink createSink(int datasetKey) {
+    return new UsageMatcherArenaStore(datasetKey);
+  }
+
+  @Override
+  UsageMatcherStore seal(UsageSink sink) {
+    return (UsageMatcherStore) sink;
+  }
+
+  /**
+   * The store is mutable like the heap based one: usages can be replaced, moved to another canonical bucket,
+   * re-parented and get a tax group assigned.
+   */
+  @Test
+  public void updates() {
+    try (var store = new UsageMatcherArenaStore(1)) {
+      store.add(snc("1", null, "Aus bus", "Smith", Rank.SPECIES, 1, 1));
+      store.add(snc("2", null, "Aus bus", "Miller", Rank.SPECIES, 1, 2));
+      store.add(snc("3", null, "Aus bus", "Jones", Rank.SPECIES, 1, 3));
+      assertEquals(List.of("1", "2", "3"), ids(store.simpleNamesByCanonicalId(1)));
+
+      // same id and canonical again: an update keeping its bucket position
+      store.add(snc("2", null, "Aus bus", "Mill.", Rank.SPECIES, 1, 2));
+      assertEquals(3, store.size());
+      assertEquals("Mill.", store.get("2").getAuthorship());
+      assertEquals(List.of("1", "2", "3"), ids(store.simpleNamesByCanonicalId(1)));
+
+      // moved to a different canonical name
+      store.add(snc("1", null, "Aus cus", "Smith", Rank.SPECIES, 2, 4));
+      assertEquals(List.of("2", "3"), ids(store.simpleNamesByCanonicalId(1)));
+      assertEquals(List.of("1"), ids(store.simpleNamesByCanonicalId(2)));
+      store.add(snc("3", null, "Aus cus", "Jones", Rank.SPECIES, 2, 5));
+      assertEquals(List.of("2"), ids(store.simpleNamesByCanonicalId(1)));
+      assertEquals(List.of("1", "3"), ids(store.simpleNamesByCanonicalId(2)));
+      store.add(snc("2", null, "Aus cus", "Miller", Rank.SPECIES, 2, 2));
+      assertTrue(store.simpleNamesByCanonicalId(1).isEmpty());
+      assertEquals(1, store.canonicalSize());
+
+      store.updateParentId("3", "1");
+      assertEquals("1", store.get("3").getParentId());
+      assertEquals(2, store.getClassification("3").size());
+
+      store.update("3", TaxGroup.Plants);
+      assertEquals(TaxGroup.Plants, store.get("3").getGroup());
+      assertNull(store.get("1").getGroup());
+      assertEquals(3, store.size());
+    }
+  }
+
+  /**
+   * Growing the slot columns, the id table and the record chunks must not lose any usage.
+   */
+  @Test
+  public void grow() {
+    final int n = 200_000;
+    try (var store = new UsageMatcherArenaStore(1)) {
+      for (int i = 0; i < n; i++) {
+        var sn = snc("u" + i, i == 0 ? null : "u" + (i - 1) / 2, "Aus bus", "Smith, " + i, Rank.SPECIES, i % 1000, i);
+        store.add(sn);
+      }
+      assertEquals(n, store.size());
+      assertEquals(1000, store.canonicalSize());
+      assertTrue(store.allocated() > UsageMatcherArenaStore.CHUNK_SIZE);
+      for (int i = 0; i < n; i += 997) {
+        assertEquals("Smith, " + i, store.get("u" + i).getAuthorship());
+      }
+      assertEquals(n / 1000, store.simpleNamesByCanonicalId(7).size());
+      Set<String> all = stream(store.all()).map(SimpleNameCached::getId).collect(Collectors.toSet());
+      assertEquals(n, all.size());
+    }
+  }
+
+  /**
+   * Concurrent merges write and read the same store from several threads.
+   */
+  @Test
+  public void concurrent() throws Exception {
+    final int threads = 8;
+    final int n = 20_000;
+    ExecutorService exec = Executors.newFixedThreadPool(threads);
+    try (var store = new UsageMatcherArenaStore(1)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        final int thread = t;
+        futures.add(exec.submit(() -> {
+          for (int i = 0; i < n; i++) {
+            String id = thread + "-" + i;
+            store.add(snc(id, i == 0 ? null : thread + "-" + (i - 1), "Aus bus", "Smith, " + i, Rank.SPECIES, i % 100, i));
+            assertEquals("Smith, " + i, store.get(id).getAuthorship());
+            if (i % 10 == 0) {
+              store.updateParentId(id, null);
+              store.update(id, TaxGroup.Plants);
+              assertFalse(store.simpleNamesByCanonicalId(i % 100).isEmpty());
+              store.allCanonicalIds().forEach(x -> {});
+            }
+          }
+          return null;
+        }));
+      }
+      for (var f : futures) {
+        f.get();
+      }
+      assertEquals(threads * n, store.size());
+      assertEquals(100, store.canonicalSize());
+      assertEquals(threads * n / 100, store.simpleNamesByCanonicalId(7).size());
+      for (int t = 0; t < threads; t++) {
+        assertEquals(TaxGroup.Plants, store.get(t + "-10").getGroup());
+        assertNull(store.get(t + "-10").getParentId());
+        assertEquals(t + "-10", store.get(t + "-11").getParentId());
+      }
+    } finally {
+      exec.shutdown();
+    }
+  }
+
+  private static List<String> ids(List<SimpleNameCached> usages) {
+    return usages.stream().map(SimpleNameCached::getId).collect(Collectors.toList());
+  }
+}
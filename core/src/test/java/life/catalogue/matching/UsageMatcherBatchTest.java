@@ -0,0 +1,90 @@
+package life.catalogue.matching;
+
+import life.catalogue.api.model.SimpleNameCached;
+import life.catalogue.api.model.SimpleNameClassified;
+import life.catalogue.api.vocab.TaxonomicStatus;
+import life.catalogue.matching.nidx.NameIndex;
+
+import org.gbif.nameparser.api.Rank;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Batch matching must give the very same results as matching usages one by one,
+ * while loading the candidates of a canonical name only once.
+ */
+public class UsageMatcherBatchTest {
+
+  static SimpleNameCached sn(String id, String parentId, String name, String authorship, Rank rank, int canonicalId) {
+    var sn = new SimpleNameCached(id, name, rank);
+    sn.setParent(parentId);
+    sn.setAuthorship(authorship);
+    sn.setCanonicalId(canonicalId);
+    sn.setNamesIndexId(canonicalId);
+    sn.setStatus(TaxonomicStatus.ACCEPTED);
+    return sn;
+  }
+
+  static SimpleNameClassified<SimpleNameCached> query(String name, String authorship, int canonicalId) {
+    var q = new SimpleNameClassified<SimpleNameCached>(sn(null, null, name, authorship, Rank.SPECIES, canonicalId));
+    q.setClassification(new ArrayList<>(List.of(sn(null, null, "Ausaceae", null, Rank.FAMILY, 10))));
+    return q;
+  }
+
+  static List<SimpleNameClassified<SimpleNameCached>> queries() {
+    return List.of(
+      query("Aus bus", "Smith", 1),
+      query("Aus cus", null, 2),
+      query("Aus bus", "Smith", 1),
+      query("Xus bus", null, 99),
+      query("Aus cus", "Jackson", 2),
+      query("Aus cus", null, 2)
+    );
+  }
+
+  @Test
+  public void matchAll() {
+    var mem = new UsageMatcherMemStore(1);
+    mem.add(sn("0", null, "Ausaceae", null, Rank.FAMILY, 10));
+    mem.add(sn("4", "0", "Aus", "Green", Rank.GENUS, 4));
+    mem.add(sn("1", "4", "Aus bus", "Smith", Rank.SPECIES, 1));
+    mem.add(sn("2", "4", "Aus cus", "Miller", Rank.SPECIES, 2));
+    var syn = sn("5", "2", "Aus cus", "Jackson", Rank.SPECIES, 2);
+    syn.setStatus(TaxonomicStatus.SYNONYM);
+    mem.add(syn);
+
+    var store = spy(mem);
+    var matcher = new UsageMatcher(1, mock(NameIndex.class), store, false);
+
+    List<UsageMatch> expected = new ArrayList<>();
+    for (var q : queries()) {
+      expected.add(matcher.match(q, false, false, false));
+    }
+
+    clearInvocations(store);
+    var matches = matcher.matchAll(queries(), false, false, false);
+    assertEquals(expected.size(), matches.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).type, matches.get(i).type);
+      assertEquals(expected.get(i).isMatch(), matches.get(i).isMatch());
+      if (expected.get(i).isMatch()) {
+        assertEquals(expected.get(i).usage.getId(), matches.get(i).usage.getId());
+      }
+    }
+    assertEquals("1", matches.get(0).usage.getId());
+    assertEquals("5", matches.get(4).usage.getId());
+    assertFalse(matches.get(3).isMatch());
+    // identical queries share the same match
+    assertSame(matches.get(0), matches.get(2));
+    assertSame(matches.get(1), matches.get(5));
+    // candidates are loaded once per canonical id
+    verify(store, times(1)).simpleNamesByCanonicalId(2);
+    verify(store, times(1)).simpleNamesByCanonicalId(1);
+  }
+}
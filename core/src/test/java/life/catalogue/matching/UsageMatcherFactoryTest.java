@@ -31,6 +31,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.io.File;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -627,6 +628,44 @@ public class UsageMatcherFactoryTest {
     assertEquals(0, tmp.getRoot().list().length);
   }
 
+  /**
+   * With room for a single store the factory keeps the pinned matcher plus one other. Evicted matchers stay
+   * usable while leased and only close once the last lease is released.
+   */
+  @Test
+  public void evictionKeepsPinnedMatchers() throws Exception {
+    MatchingConfig cfg = new MatchingConfig();
+    cfg.storageDir = tmp.getRoot();
+    cfg.maxMappedMB = 1;
+    cfg.pinnedDatasets.add(1);
+    var f = new UsageMatcherFactory(cfg, nameIndex, sqlSessionFactory, executor);
+    var opened = new ArrayList<UsageMatcher>();
+    for (int key = 1; key <= 3; key++) {
+      fakeStore(key);
+      opened.add(f.openPersistent(key));
+    }
+    f.cleanUp();
+    assertEquals(2, f.matchers.size());
+    assertTrue(f.matchers.containsKey(1));
+    for (var m : opened) {
+      assertEquals("Aus bus", m.store().get("u1").getName());
+      m.close();
+    }
+    for (var m : opened) {
+      boolean cached = f.matchers.get(m.datasetKey) == m;
+      assertEquals(cached, m.tryAcquire());
+      if (cached) {
+        m.close();
+      }
+    }
+    // an evicted matcher is opened again from disk
+    for (int key = 1; key <= 3; key++) {
+      try (var m = f.openPersistent(key)) {
+        assertEquals(1, m.store().size());
+      }
+    }
+  }
+
   /**
    * Writes a store dir + dataset sidecar for key (attempt + embedded nidxCreated) and wires the DB to report
    * the same attempt (in sync), mirroring what {@code writeSidecar} produces after a build.
@@ -1,8 +1,12 @@
 package life.catalogue.matching;
 
+import life.catalogue.api.exception.NotFoundException;
+import life.catalogue.api.model.SimpleNameCached;
 import life.catalogue.api.vocab.TaxGroup;
+import life.catalogue.api.vocab.TaxonomicStatus;
 import life.catalogue.common.io.TempFile;
 
+import org.gbif.nameparser.api.NomCode;
 import org.gbif.nameparser.api.Rank;
 
 import java.io.File;
@@ -61,9 +65,9 @@ public class UsageMatcherFileStoreTest extends UsageMatcherStoreTestBase {
       assertEquals(sn, store.get("abc"));
       assertEquals(List.of("abc"), store.simpleNamesByCanonicalId(42).stream().map(s -> s.getId()).toList());
     }
-    // the temporary build files are gone, only the three store files and nothing else remain
+    // the temporary build files are gone, only the four store files and nothing else remain
     var names = new java.util.TreeSet<>(List.of(dir.list()));
-    assertEquals(java.util.Set.of("usages.bin", "canonical.bin", "groups.bin"), names);
+    assertEquals(java.util.Set.of("usages.bin", "canonical.bin", "groups.bin", "attributes.bin"), names);
   }
 
   /** The tax group column is the one mutable part of a sealed store - IdProvider fills it after loading. */
@@ -252,7 +256,7 @@ public class UsageMatcherFileStoreTest extends UsageMatcherStoreTestBase {
    */
   @Test
   public void truncatedFilesAreRejected() throws IOException {
-    for (var fn : new String[]{UsageMatcherFileStore.USAGES_FILE, UsageMatcherFileStore.CANONICAL_FILE, UsageMatcherFileStore.GROUPS_FILE}) {
+    for (var fn : new String[]{UsageMatcherFileStore.USAGES_FILE, UsageMatcherFileStore.CANONICAL_FILE, UsageMatcherFileStore.GROUPS_FILE, UsageMatcherFileStore.ATTRIBUTES_FILE}) {
       var dir = buildSmallStore();
       var f = new File(dir, fn);
       long full = f.length();
@@ -270,7 +274,7 @@ public class UsageMatcherFileStoreTest extends UsageMatcherStoreTestBase {
   /** Extra trailing bytes mean the file is not the one the header describes either. */
   @Test
   public void trailingGarbageIsRejected() throws IOException {
-    for (var fn : new String[]{UsageMatcherFileStore.USAGES_FILE, UsageMatcherFileStore.CANONICAL_FILE, UsageMatcherFileStore.GROUPS_FILE}) {
+    for (var fn : new String[]{UsageMatcherFileStore.USAGES_FILE, UsageMatcherFileStore.CANONICAL_FILE, UsageMatcherFileStore.GROUPS_FILE, UsageMatcherFileStore.ATTRIBUTES_FILE}) {
       var dir = buildSmallStore();
       try (var out = new FileOutputStream(new File(dir, fn), true)) {
         out.write(new byte[16]);
@@ -310,6 +314,88 @@ public class UsageMatcherFileStoreTest extends UsageMatcherStoreTestBase {
     assertThrows(IOException.class, () -> UsageMatcherFileStore.open(91, dir));
   }
 
+  /** The attribute column must describe the same number of usages as the record file. */
+  @Test
+  public void mismatchedAttributeColumnIsRejected() throws IOException {
+    var dir = buildSmallStore();
+    writeLeInt(new File(dir, UsageMatcherFileStore.ATTRIBUTES_FILE), 8, 19);
+    assertFalse(UsageMatcherFileStore.isStore(dir));
+    assertThrows(IOException.class, () -> UsageMatcherFileStore.open(91, dir));
+  }
+
+  /**
+   * The cursor serves status, rank, code, names index id and parent slot from the attribute column
+   * and agrees with the deserialized usages.
+   */
+  @Test
+  public void candidatesCursor() throws IOException {
+    try (var builder = new UsageMatcherFileStoreBuilder(92, newDir())) {
+      builder.add(snc("f", null, "Ausaceae", null, Rank.FAMILY, 10, 10));
+      builder.add(snc("u", "f", "Aus", null, Rank.UNRANKED, 11, 11));
+      builder.add(snc("a", "u", "Aus bus", "Smith", Rank.SPECIES, 1, 21));
+      var bare = snc("b", null, "Aus bus", "Miller", Rank.SPECIES, 1, 22);
+      bare.setStatus(TaxonomicStatus.BARE_NAME);
+      bare.setNamesIndexId(null);
+      builder.add(bare);
+      var code = snc("c", "gone", "Aus bus", null, Rank.UNRANKED, 1, 23);
+      code.setCode(NomCode.BOTANICAL);
+      builder.add(code);
+      try (var store = builder.seal()) {
+        var c = store.candidates(1);
+        assertEquals(3, c.size());
+        List<String> ids = new ArrayList<>();
+        while (c.next()) {
+          var sn = c.read();
+          ids.add(sn.getId());
+          assertEquals(sn.getRank(), c.rank());
+          assertEquals(sn.getStatus(), c.status());
+          assertEquals(sn.getCode(), c.code());
+          assertEquals(sn.getNamesIndexId() == null ? -1 : (int) sn.getNamesIndexId(), c.namesIndexId());
+        }
+        assertEquals(List.of("a", "b", "c"), ids);
+        assertFalse(store.candidates(99).next());
+        assertEquals(0, store.candidates(99).size());
+
+        c = store.candidates(1);
+        c.next();
+        assertEquals(Rank.UNRANKED, store.rank(c.parentSlot()));
+        // the unranked parent is skipped
+        assertEquals(java.util.Optional.of(Rank.FAMILY), c.concreteParentRank());
+        c.next();
+        assertEquals(UsageMatcherFileStore.NO_PARENT, c.parentSlot());
+        assertEquals(java.util.Optional.empty(), c.concreteParentRank());
+        c.next();
+        assertEquals(UsageMatcherFileStore.MISSING_PARENT, c.parentSlot());
+        assertThrows(NotFoundException.class, c::concreteParentRank);
+      }
+    }
+  }
+
+  /**
+   * Filtered candidates skip rejected usages without deserializing them
+   * and give the same result as filtering the full candidate list.
+   */
+  @Test
+  public void filteredCandidates() throws IOException {
+    try (var builder = new UsageMatcherFileStoreBuilder(93, newDir())) {
+      for (int i = 0; i < 50; i++) {
+        var sn = snc("u" + i, null, "Aus bus", "Smith " + i, i % 2 == 0 ? Rank.SPECIES : Rank.GENUS, 1, 100 + i);
+        if (i % 5 == 0) sn.setStatus(TaxonomicStatus.BARE_NAME);
+        builder.add(sn);
+      }
+      try (var store = builder.seal()) {
+        UsageMatcherStore.CandidateFilter filter = (status, rank, parentRank) -> !status.isBareName() && rank == Rank.SPECIES;
+        var filtered = store.usagesByCanonicalId(1, filter);
+        var expected = store.usagesByCanonicalId(1).stream()
+          .filter(u -> !u.getStatus().isBareName() && u.getRank() == Rank.SPECIES)
+          .map(SimpleNameCached::getId)
+          .toList();
+        assertEquals(20, expected.size());
+        assertEquals(expected, filtered.stream().map(SimpleNameCached::getId).toList());
+      }
+    }
+  }
+
   /**
    * A store reopened from disk is entirely read only, so a stray group write fails loudly rather than
    * racing another process through the shared mapping. Only the builder hands out a writable store.
@@ -337,7 +423,8 @@ public class UsageMatcherFileStoreTest extends UsageMatcherStoreTestBase {
   public void opensOnAReadOnlyDirectory() throws IOException {
     var dir = buildSmallStore();
     var files = new File[]{new File(dir, UsageMatcherFileStore.USAGES_FILE),
-      new File(dir, UsageMatcherFileStore.CANONICAL_FILE), new File(dir, UsageMatcherFileStore.GROUPS_FILE)};
+      new File(dir, UsageMatcherFileStore.CANONICAL_FILE), new File(dir, UsageMatcherFileStore.GROUPS_FILE),
+      new File(dir, UsageMatcherFileStore.ATTRIBUTES_FILE)};
     try {
       for (var f : files) {
         assumeTrue("cannot drop write permission", f.setWritable(false, false));
@@ -364,6 +451,67 @@ public class UsageMatcherFileStoreTest extends UsageMatcherStoreTestBase {
     }
   }
 
+  /**
+   * Blocks added by concurrent shards, in any interleaving, must seal into exactly the files a single
+   * threaded build writes for the same usages in block order.
+   */
+  @Test
+  public void shardedBuildIsByteIdentical() throws Exception {
+    List<SimpleNameCached> usages = new ArrayList<>();
+    for (int i = 0; i < 2500; i++) {
+      usages.add(snc("u" + i, i == 0 ? null : "u" + (i / 3), "Aus bus" + i % 400, "Smith", Rank.SPECIES, i % 400, i));
+    }
+    // a repeated id shadows its earlier record in both builds
+    usages.add(snc("u17", "u1", "Aus bus17", "Miller", Rank.SPECIES, 17, 17));
+
+    var seqDir = newDir();
+    try (var builder = new UsageMatcherFileStoreBuilder(92, seqDir)) {
+      usages.forEach(builder::add);
+      builder.seal().close();
+    }
+
+    final int shards = 3;
+    final int blockSize = 100;
+    var parDir = newDir();
+    try (var builder = new UsageMatcherFileStoreBuilder(92, parDir)) {
+      List<Thread> threads = new ArrayList<>();
+      for (int s = 0; s < shards; s++) {
+        var shard = builder.shard();
+        final int first = s;
+        threads.add(new Thread(() -> {
+          for (int b = first; b * blockSize < usages.size(); b += shards) {
+            shard.addBlock(b, usages.subList(b * blockSize, Math.min(usages.size(), (b + 1) * blockSize)));
+          }
+        }));
+      }
+      threads.forEach(Thread::start);
+      for (var t : threads) {
+        t.join();
+      }
+      assertEquals(usages.size(), builder.size());
+      try (var store = builder.seal()) {
+        assertEquals(2500, store.size());
+        assertEquals("Miller", store.get("u17").getAuthorship());
+      }
+    }
+
+    var names = new java.util.TreeSet<>(List.of(parDir.list()));
+    assertEquals(new java.util.TreeSet<>(List.of(seqDir.list())), names);
+    for (var name : names) {
+      assertEquals(name, -1, java.nio.file.Files.mismatch(new File(seqDir, name).toPath(), new File(parDir, name).toPath()));
+    }
+  }
+
+  @Test
+  public void shardBlocksMustAscend() throws IOException {
+    try (var builder = new UsageMatcherFileStoreBuilder(93, newDir())) {
+      var shard = builder.shard();
+      shard.addBlock(2, List.of(snc("a", null, "Aus", null, Rank.GENUS, 1, 1)));
+      assertThrows(IllegalArgumentException.class, () -> shard.addBlock(1, List.of(snc("b", null, "Bus", null, Rank.GENUS, 2, 2))));
+      assertThrows(IllegalStateException.class, () -> builder.add(snc("c", null, "Cus", null, Rank.GENUS, 3, 3)));
+    }
+  }
+
   private static void writeLeInt(File f, long pos, int value) throws IOException {
     try (var ch = java.nio.channels.FileChannel.open(f.toPath(), java.nio.file.StandardOpenOption.WRITE)) {
       var bb = java.nio.ByteBuffer.allocate(4).order(java.nio.ByteOrder.LITTLE_ENDIAN).putInt(value).flip();
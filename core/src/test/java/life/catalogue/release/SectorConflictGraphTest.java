@@ -0,0 +1,121 @@
+package life.catalogue.release;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+import static org.junit.Assert.*;
+
+public class SectorConflictGraphTest {
+
+  @Test
+  public void dependencies() {
+    var g = new SectorConflictGraph(5);
+    g.addConflict(3, 1);
+    g.addConflict(1, 3);
+    g.addConflict(2, 2);
+    g.addNames(0, IntList.of(10, 11).iterator());
+    g.addNames(1, IntList.of(12).iterator());
+    g.addNames(2, IntList.of(11, 12, 12).iterator());
+    g.addNames(4, IntList.of(11).iterator());
+
+    assertTrue(g.dependencies(0).isEmpty());
+    assertTrue(g.dependencies(1).isEmpty());
+    assertEquals(IntSet.of(0, 1), g.dependencies(2));
+    assertEquals(IntSet.of(1), g.dependencies(3));
+    // only the last sector with the same name
+    assertEquals(IntSet.of(2), g.dependencies(4));
+    assertEquals(3, g.depth());
+
+    assertEquals(1, new SectorConflictGraph(3).depth());
+    assertEquals(0, new SectorConflictGraph(0).depth());
+  }
+
+  @Test
+  public void build() {
+    List<List<String>> targets = new ArrayList<>();
+    // two sectors of the same source with disjoint subtrees below sibling targets
+    targets.add(List.of("t1", "root"));
+    targets.add(List.of("t2", "root"));
+    // below the first target
+    targets.add(List.of("t11", "t1", "root"));
+    // unknown target
+    targets.add(null);
+    // disjoint target but sharing a name with the first
+    targets.add(List.of("t3", "root"));
+    List<IntList> names = List.of(
+      IntList.of(1, 2),
+      IntList.of(3, 4),
+      IntList.of(5),
+      IntList.of(),
+      IntList.of(6, 2)
+    );
+    var g = SectorConflictGraph.build(targets, idx -> names.get(idx).iterator());
+    assertTrue(g.dependencies(0).isEmpty());
+    assertTrue(g.dependencies(1).isEmpty());
+    assertEquals(IntSet.of(0), g.dependencies(2));
+    assertEquals(IntSet.of(0, 1, 2), g.dependencies(3));
+    assertEquals(IntSet.of(0, 3), g.dependencies(4));
+  }
+
+  /**
+   * Two disjoint sectors of the same source are merged in parallel:
+   * each task waits for the other one to have started.
+   */
+  @Test
+  public void parallel() throws Exception {
+    var g = SectorConflictGraph.build(
+      List.of(List.of("t1", "root"), List.of("t2", "root")),
+      idx -> (idx == 0 ? IntList.of(1, 2) : IntList.of(3, 4)).iterator()
+    );
+    final CountDownLatch started = new CountDownLatch(2);
+    g.run(2, "conflict-test", idx -> {
+      started.countDown();
+      assertTrue("sectors not merged in parallel", started.await(10, TimeUnit.SECONDS));
+    });
+  }
+
+  @Test
+  public void run() throws Exception {
+    final int size = 200;
+    var g = new SectorConflictGraph(size);
+    // chains of conflicting sectors
+    for (int i = 3; i < size; i++) {
+      g.addConflict(i, i - 3);
+    }
+    final List<Integer> done = Collections.synchronizedList(new ArrayList<>());
+    g.run(4, "conflict-test", idx -> {
+      for (int d : g.dependencies(idx)) {
+        assertTrue(done.contains(d));
+      }
+      done.add(idx);
+    });
+    assertEquals(size, done.size());
+  }
+
+  @Test
+  public void failure() {
+    var g = new SectorConflictGraph(10);
+    for (int i = 1; i < 10; i++) {
+      g.addConflict(i, i - 1);
+    }
+    final AtomicInteger counter = new AtomicInteger();
+    var e = assertThrows(IllegalStateException.class, () -> g.run(2, "conflict-test", idx -> {
+      counter.incrementAndGet();
+      if (idx == 4) {
+        throw new IllegalStateException("fail " + idx);
+      }
+    }));
+    assertEquals("fail 4", e.getMessage());
+    // later sectors are never started
+    assertEquals(5, counter.get());
+  }
+}
@@ -0,0 +1,70 @@
+package life.catalogue.release;
+
+import life.catalogue.config.MatchingConfig;
+import life.catalogue.db.PgUtils;
+import life.catalogue.db.mapper.NameUsageMapper;
+import life.catalogue.db.mapper.VerbatimSourceMapper;
+import life.catalogue.junit.SqlSessionFactoryRule;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.ibatis.session.SqlSession;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Same as {@link XReleaseIT}, but merging sectors concurrently into the off heap matcher store.
+ * Conflicting sectors are still merged in their priority order, so the expected trees must not change.
+ */
+public class XReleaseConcurrentIT extends XReleaseIT {
+
+  public XReleaseConcurrentIT(String project, List<String> sources) {
+    super(project, sources);
+  }
+
+  @Override
+  MatchingConfig matchingConfig() {
+    var cfg = new MatchingConfig();
+    cfg.offHeapMemoryStore = true;
+    return cfg;
+  }
+
+  @Override
+  void configure(XReleaseConfig cfg) {
+    cfg.mergeThreads = 4;
+  }
+
+  /**
+   * Runs the concurrent extended release twice on the same base release
+   * and makes sure all usage, name and verbatim source ids are the same.
+   */
+  @Test
+  public void sameIds() throws Throwable {
+    matchingRule.rematchAll();
+    final int releaseKey = release();
+    var ids1 = ids(xrelease(releaseKey).getNewDatasetKey());
+    var ids2 = ids(xrelease(releaseKey).getNewDatasetKey());
+    assertFalse(ids1.isEmpty());
+    assertEquals(ids1, ids2);
+  }
+
+  private static Map<String, String> ids(int datasetKey) {
+    Map<String, String> ids = new TreeMap<>();
+    try (SqlSession session = SqlSessionFactoryRule.getSqlSessionFactory().openSession(true)) {
+      PgUtils.consume(() -> session.getMapper(NameUsageMapper.class).processDataset(datasetKey), u -> {
+        ids.put("u" + u.getId(), String.join("|",
+          u.getLabel(), u.getStatus().name(), String.valueOf(u.getParentId()), String.valueOf(u.getVerbatimSourceKey()),
+          u.getName().getId(), String.valueOf(u.getName().getVerbatimSourceKey())
+        ));
+      });
+      PgUtils.consume(() -> session.getMapper(VerbatimSourceMapper.class).processDataset(datasetKey), v -> {
+        ids.put("v" + v.getId(), v.getSectorKey() + "|" + v.getSourceEntity() + "|" + v.getSourceId());
+      });
+    }
+    return ids;
+  }
+}
@@ -156,7 +156,7 @@ public class XReleaseIT extends SectorSyncTestBase {
     var sdao = new SectorDao(SqlSessionFactoryRule.getSqlSessionFactory(), NameUsageIndexService.passThru(), tdao, validator);
     tdao.setSectorDao(sdao);
     var broker = TestUtils.mockedBroker();
-    var matcherFactory = new UsageMatcherFactory(new MatchingConfig(), NameMatchingRule.getIndex(), SqlSessionFactoryRule.getSqlSessionFactory(), jobExecutor);
+    var matcherFactory = new UsageMatcherFactory(matchingConfig(), NameMatchingRule.getIndex(), SqlSessionFactoryRule.getSqlSessionFactory(), jobExecutor);
     var syncFactory = new SyncFactory(SqlSessionFactoryRule.getSqlSessionFactory(), matcherFactory, NameMatchingRule.getIndex(), sdao, siDao, eDao,
       NameUsageIndexService.passThru(), broker, null, null
     );
@@ -183,6 +183,17 @@ public class XReleaseIT extends SectorSyncTestBase {
 
     // load text trees & create sectors
     info = SectorSyncMergeIT.setupProject(project, sources);
+    configure(info.cfg);
+  }
+
+  MatchingConfig matchingConfig() {
+    return new MatchingConfig();
+  }
+
+  /**
+   * Hook to modify the xrelease config of the project before it is released.
+   */
+  void configure(XReleaseConfig cfg) {
   }
 
   @Test
@@ -193,30 +204,9 @@ public class XReleaseIT extends SectorSyncTestBase {
     // rematch
     matchingRule.rematchAll();
 
-    // regular release
-    var rel = projectCopyFactory.buildRelease(Datasets.COL, Users.RELEASER);
-    var job = new Thread(rel);
-    job.run();
-    final int releaseKey = rel.getNewDatasetKey();
-    System.out.println("\n*** RELEASED " + releaseKey + " ***");
-    assertSameTree(Datasets.COL, releaseKey);
-    // poor mans release publishing
-    try (SqlSession session = SqlSessionFactoryRule.getSqlSessionFactory().openSession(true)) {
-      var dm = session.getMapper(DatasetMapper.class);
-      var d = dm.get(releaseKey);
-      d.setPrivat(false);
-      dm.update(d);
-    }
-    // archive release for ids
-    archiver.archiveRelease(releaseKey, true);
-
-    // extended release
-    XRelease xrel = projectCopyFactory.buildExtendedRelease(releaseKey, Users.RELEASER);
-    xrel.setCfg(info.cfg);
-    job = new Thread(xrel);
-    job.run();
+    final int releaseKey = release();
+    XRelease xrel = xrelease(releaseKey);
     final int xreleaseKey = xrel.getNewDatasetKey();
-    System.out.println("\n*** XRELEASED " + xreleaseKey + " ***");
 
     System.out.println("\n*** COMPARISON ***");
     // compare with expected tree
@@ -239,6 +229,41 @@ public class XReleaseIT extends SectorSyncTestBase {
     conditionalChecks(xrel);
   }
 
+  /**
+   * Builds a regular, published and archived release of the project.
+   * @return the release key
+   */
+  int release() throws Exception {
+    var rel = projectCopyFactory.buildRelease(Datasets.COL, Users.RELEASER);
+    var job = new Thread(rel);
+    job.run();
+    final int releaseKey = rel.getNewDatasetKey();
+    System.out.println("\n*** RELEASED " + releaseKey + " ***");
+    assertSameTree(Datasets.COL, releaseKey);
+    // poor mans release publishing
+    try (SqlSession session = SqlSessionFactoryRule.getSqlSessionFactory().openSession(true)) {
+      var dm = session.getMapper(DatasetMapper.class);
+      var d = dm.get(releaseKey);
+      d.setPrivat(false);
+      dm.update(d);
+    }
+    // archive release for ids
+    archiver.archiveRelease(releaseKey, true);
+    return releaseKey;
+  }
+
+  /**
+   * Builds an extended release based on the given release.
+   */
+  XRelease xrelease(int releaseKey) {
+    XRelease xrel = projectCopyFactory.buildExtendedRelease(releaseKey, Users.RELEASER);
+    xrel.setCfg(info.cfg);
+    var job = new Thread(xrel);
+    job.run();
+    System.out.println("\n*** XRELEASED " + xrel.getNewDatasetKey() + " ***");
+    return xrel;
+  }
+
   private void conditionalChecks(XRelease xrel) {
     if (project.equals("inverse_ranks")) {
       // wrong rank order issue
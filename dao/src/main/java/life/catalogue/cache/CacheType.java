@@ -0,0 +1,36 @@
+package life.catalogue.cache;
+
+import life.catalogue.api.model.HasID;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.util.Pool;
+
+/**
+ * Storage backend of the temporary, file based caches used by long running jobs.
+ */
+public enum CacheType {
+  /**
+   * MapDB hash maps, reclaiming the space of replaced or removed entries.
+   */
+  MAPDB,
+
+  /**
+   * An append only, memory mapped record log with cheap inserts and reads,
+   * best for caches that are written once and read many times.
+   */
+  MMAP;
+
+  public UsageCache usageCache(int datasetKey, File location) {
+    return this == MMAP ? new UsageCacheMmap(datasetKey, location, 8) : UsageCache.mapDB(datasetKey, location);
+  }
+
+  /**
+   * @return a new and empty object cache that is deleted when closed
+   */
+  public <T extends HasID<String>> ObjectCache<T> objectCache(Class<T> clazz, File location, Pool<Kryo> kryoPool) throws IOException {
+    return this == MMAP ? new ObjectCacheMmap<>(clazz, location, kryoPool) : new ObjectCacheMapDB<>(clazz, location, kryoPool, false);
+  }
+}
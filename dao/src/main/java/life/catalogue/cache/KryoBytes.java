@@ -0,0 +1,35 @@
+package life.catalogue.cache;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.util.Pool;
+
+/**
+ * Kryo (de)serialization of single objects to plain byte arrays as kept by the {@link MmapRecordStore}.
+ * Each thread takes its own kryo instance from the pool once and keeps it together with a reusable output buffer,
+ * so concurrent reads and writes never wait on the shared pool.
+ */
+class KryoBytes<T> {
+  private final Class<T> clazz;
+  private final ThreadLocal<Kryo> kryo;
+  private final ThreadLocal<Output> output;
+
+  KryoBytes(Class<T> clazz, Pool<Kryo> pool, int bufferSize) {
+    this.clazz = clazz;
+    this.kryo = ThreadLocal.withInitial(pool::obtain);
+    this.output = ThreadLocal.withInitial(() -> new Output(bufferSize, -1));
+  }
+
+  byte[] write(T obj) {
+    Output out = output.get();
+    out.reset();
+    kryo.get().writeObject(out, obj);
+    return out.toBytes();
+  }
+
+  T read(byte[] bytes) {
+    if (bytes == null) return null;
+    return kryo.get().readObject(new Input(bytes), clazz);
+  }
+}
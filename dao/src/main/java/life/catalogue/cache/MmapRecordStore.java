@@ -0,0 +1,355 @@
+package life.catalogue.cache;
+
+import life.catalogue.matching.mmap.MmapIO;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static life.catalogue.matching.mmap.MmapIO.BYTE;
+import static life.catalogue.matching.mmap.MmapIO.INT;
+
+/**
+ * An append only store of binary records keyed by a string id, kept in a memory mapped file.
+ * Every put appends the key and value to a record log and an open addressed hash table on the heap
+ * maps the id to the address of its latest record. There is no tree or page maintenance on writes,
+ * a read is a table probe and a single copy out of the mapped log.
+ *
+ * Replaced and removed records stay in the log until the store is cleared,
+ * so it suits temporary caches that are written once and read many times.
+ *
+ * Records are laid out as int key length, utf8 key bytes, int value length and value bytes, all little endian.
+ * The log is mapped in chunks that records never span, a record larger than a chunk gets a chunk of its own.
+ *
+ * The store is thread safe with concurrent reads and serialized writes.
+ * Iterators only see every key exactly once if the store is not modified while iterating.
+ * The file is deleted when the store is closed.
+ */
+public class MmapRecordStore implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(MmapRecordStore.class);
+  static final int DEFAULT_CHUNK_SIZE = 64 * 1024 * 1024;
+  // table slots hold the record address + 1, so 0 can mark an empty slot
+  private static final long EMPTY = 0;
+  private static final long REMOVED = -1;
+
+  private final File file;
+  private final int chunkSize;
+  private final FileChannel channel;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final List<MemorySegment> chunks = new ArrayList<>();
+  private Arena arena;
+  private long fileSize;
+  private int chunkPos;
+  private long[] addresses;
+  private int[] hashes;
+  private int size;
+  private int used; // live and removed slots
+
+  /**
+   * @param file the log file to create. An existing file is overwritten.
+   */
+  public MmapRecordStore(File file) throws IOException {
+    this(file, DEFAULT_CHUNK_SIZE);
+  }
+
+  MmapRecordStore(File file, int chunkSize) throws IOException {
+    this.file = file;
+    this.chunkSize = chunkSize;
+    FileUtils.forceMkdirParent(file);
+    channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+      StandardOpenOption.READ, StandardOpenOption.WRITE);
+    arena = Arena.ofShared();
+    initTable(MmapIO.tableSize(0));
+    LOG.info("Create memory mapped record store at {}", file.getAbsolutePath());
+  }
+
+  private void initTable(int tableSize) {
+    addresses = new long[tableSize];
+    hashes = new int[tableSize];
+    used = size;
+  }
+
+  private static byte[] bytes(String key) {
+    return key.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @return the slot of the key or -(slot+1) of the slot to insert it into
+   */
+  private int probe(byte[] key, int hash) {
+    final int mask = addresses.length - 1;
+    int free = -1;
+    int i = hash & mask;
+    while (true) {
+      long a = addresses[i];
+      if (a == EMPTY) {
+        return -((free < 0 ? i : free) + 1);
+      }
+      if (a == REMOVED) {
+        if (free < 0) free = i;
+      } else if (hashes[i] == hash && keyEquals(a - 1, key)) {
+        return i;
+      }
+      i = (i + 1) & mask;
+    }
+  }
+
+  private MemorySegment chunk(long address) {
+    return chunks.get((int) (address >>> 32));
+  }
+
+  private boolean keyEquals(long address, byte[] key) {
+    MemorySegment seg = chunk(address);
+    int pos = (int) address;
+    int len = seg.get(INT, pos);
+    return len == key.length
+      && MemorySegment.mismatch(seg, pos + 4, pos + 4 + len, MemorySegment.ofArray(key), 0, len) < 0;
+  }
+
+  private byte[] value(long address) {
+    MemorySegment seg = chunk(address);
+    int pos = (int) address;
+    pos += 4 + seg.get(INT, pos);
+    int len = seg.get(INT, pos);
+    return seg.asSlice(pos + 4, len).toArray(BYTE);
+  }
+
+  private long append(byte[] key, byte[] value) {
+    int len = 8 + key.length + value.length;
+    MemorySegment seg = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+    if (seg == null || chunkPos + len > seg.byteSize()) {
+      int size = Math.max(chunkSize, len);
+      try {
+        seg = channel.map(FileChannel.MapMode.READ_WRITE, fileSize, size, arena);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to extend record store " + file.getAbsolutePath(), e);
+      }
+      fileSize += size;
+      chunks.add(seg);
+      chunkPos = 0;
+    }
+    long address = ((long) (chunks.size() - 1) << 32) | chunkPos;
+    seg.set(INT, chunkPos, key.length);
+    MemorySegment.copy(key, 0, seg, BYTE, chunkPos + 4, key.length);
+    seg.set(INT, chunkPos + 4 + key.length, value.length);
+    MemorySegment.copy(value, 0, seg, BYTE, chunkPos + 8 + key.length, value.length);
+    chunkPos += len;
+    return address;
+  }
+
+  private void rehash() {
+    long[] oldAddresses = addresses;
+    int[] oldHashes = hashes;
+    initTable(MmapIO.tableSize(size));
+    final int mask = addresses.length - 1;
+    for (int j = 0; j < oldAddresses.length; j++) {
+      if (oldAddresses[j] > EMPTY) {
+        int i = oldHashes[j] & mask;
+        while (addresses[i] != EMPTY) {
+          i = (i + 1) & mask;
+        }
+        addresses[i] = oldAddresses[j];
+        hashes[i] = oldHashes[j];
+      }
+    }
+  }
+
+  public boolean contains(String key) {
+    byte[] k = bytes(key);
+    int h = MmapIO.hash(k, k.length);
+    lock.readLock().lock();
+    try {
+      return probe(k, h) >= 0;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @return the value of the latest record stored for the key or null
+   */
+  public byte[] get(String key) {
+    byte[] k = bytes(key);
+    int h = MmapIO.hash(k, k.length);
+    lock.readLock().lock();
+    try {
+      int i = probe(k, h);
+      return i < 0 ? null : value(addresses[i] - 1);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Appends a new record for the key.
+   * @return the previous value of the key or null
+   */
+  public byte[] put(String key, byte[] value) {
+    byte[] k = bytes(key);
+    int h = MmapIO.hash(k, k.length);
+    lock.writeLock().lock();
+    try {
+      long address = append(k, value);
+      int i = probe(k, h);
+      if (i >= 0) {
+        byte[] prev = value(addresses[i] - 1);
+        addresses[i] = address + 1;
+        return prev;
+      }
+      i = -i - 1;
+      if (addresses[i] == EMPTY) {
+        used++;
+      }
+      addresses[i] = address + 1;
+      hashes[i] = h;
+      size++;
+      if (used * 2 > addresses.length) {
+        rehash();
+      }
+      return null;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes the key from the table. Its records stay in the log.
+   * @return the previous value of the key or null
+   */
+  public byte[] remove(String key) {
+    byte[] k = bytes(key);
+    int h = MmapIO.hash(k, k.length);
+    lock.writeLock().lock();
+    try {
+      int i = probe(k, h);
+      if (i < 0) {
+        return null;
+      }
+      byte[] prev = value(addresses[i] - 1);
+      addresses[i] = REMOVED;
+      size--;
+      return prev;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @return number of bytes mapped for the record log
+   */
+  public long mappedBytes() {
+    lock.readLock().lock();
+    try {
+      return fileSize;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Removes all records and truncates the log file.
+   */
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      chunks.clear();
+      arena.close();
+      arena = Arena.ofShared();
+      channel.truncate(0);
+      fileSize = 0;
+      chunkPos = 0;
+      size = 0;
+      initTable(MmapIO.tableSize(0));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to truncate record store " + file.getAbsolutePath(), e);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * @return iterator over the latest values of all keys in no particular order
+   */
+  public Iterator<byte[]> values() {
+    return new Iterator<>() {
+      private int slot = -1;
+      private byte[] next = advance();
+
+      private byte[] advance() {
+        lock.readLock().lock();
+        try {
+          while (++slot < addresses.length) {
+            long a = addresses[slot];
+            if (a > EMPTY) {
+              return value(a - 1);
+            }
+          }
+          return null;
+        } finally {
+          lock.readLock().unlock();
+        }
+      }
+
+      @Override
+      public boolean hasNext() {
+        return next != null;
+      }
+
+      @Override
+      public byte[] next() {
+        if (next == null) {
+          throw new NoSuchElementException();
+        }
+        byte[] curr = next;
+        next = advance();
+        return curr;
+      }
+    };
+  }
+
+  @Override
+  public void close() {
+    lock.writeLock().lock();
+    if (!channel.isOpen()) {
+      lock.writeLock().unlock();
+      return;
+    }
+    try {
+      chunks.clear();
+      arena.close();
+      channel.close();
+    } catch (IOException e) {
+      LOG.warn("Failed to close record store {}", file.getAbsolutePath(), e);
+    } finally {
+      lock.writeLock().unlock();
+      LOG.info("Deleting memory mapped record store at {}", file.getAbsolutePath());
+      if (!FileUtils.deleteQuietly(file)) {
+        LOG.warn("Failed to delete {}", file.getAbsolutePath());
+      }
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package life.catalogue.cache;
+
+import life.catalogue.api.model.HasID;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+
+import jakarta.validation.constraints.NotNull;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.util.Pool;
+
+/**
+ * ObjectCache implementation that appends kryo serialized objects to a memory mapped {@link MmapRecordStore}.
+ * Inserts and reads are considerably cheaper than with {@link ObjectCacheMapDB}, but replaced or removed objects
+ * are never reclaimed, so it is meant for temporary caches that are written once and read many times.
+ * A new cache is always empty and its file is deleted when closed.
+ */
+public class ObjectCacheMmap<T extends HasID<String>> implements ObjectCache<T> {
+  private final MmapRecordStore store;
+  private final KryoBytes<T> kryo;
+
+  /**
+   * @param location the file to store the objects in. Existing data is wiped.
+   */
+  public ObjectCacheMmap(Class<T> clazz, File location, Pool<Kryo> kryoPool) throws IOException {
+    this.store = new MmapRecordStore(location);
+    this.kryo = new KryoBytes<>(clazz, kryoPool, 128);
+  }
+
+  @Override
+  public boolean contains(String id) {
+    return store.contains(id);
+  }
+
+  @Override
+  public T get(String id) {
+    return kryo.read(store.get(id));
+  }
+
+  @Override
+  public void put(T obj) {
+    store.put(obj.getId(), kryo.write(obj));
+  }
+
+  @Override
+  public void remove(String id) {
+    store.remove(id);
+  }
+
+  @Override
+  public int size() {
+    return store.size();
+  }
+
+  @NotNull
+  @Override
+  public Iterator<T> iterator() {
+    final Iterator<byte[]> iter = store.values();
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return iter.hasNext();
+      }
+
+      @Override
+      public T next() {
+        return kryo.read(iter.next());
+      }
+    };
+  }
+
+  @Override
+  public void close() {
+    store.close();
+  }
+}
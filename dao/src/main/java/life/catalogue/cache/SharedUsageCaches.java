@@ -0,0 +1,235 @@
+package life.catalogue.cache;
+
+import life.catalogue.api.event.DatasetChanged;
+import life.catalogue.api.event.DatasetDataChanged;
+import life.catalogue.api.event.DatasetListener;
+import life.catalogue.api.model.Dataset;
+import life.catalogue.api.model.SimpleNameCached;
+import life.catalogue.db.mapper.DatasetMapper;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read only usage caches of entire datasets shared by several consumers, e.g. all hierarchy syncs reading the same source.
+ * A cache is preloaded once with a single streaming scan of all usages of the dataset and then handed out as leases.
+ * Caches are bound to the import attempt of their dataset: they are rebuilt when the attempt changed
+ * and retired when the data of the dataset changed, e.g. by a re-import, or when the dataset was deleted.
+ * Only the given maximum number of caches is kept, evicting the least recently used one.
+ *
+ * Retired caches are closed once their last lease is closed.
+ */
+public class SharedUsageCaches implements DatasetListener, AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(SharedUsageCaches.class);
+  private final SqlSessionFactory factory;
+  private final File dir;
+  private final CacheType type;
+  private final int maxSize;
+  // access ordered, least recently used first
+  private final LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private class Entry {
+    final int datasetKey;
+    final Integer attempt;
+    private UsageCache cache;
+    private int leases;
+    private boolean retired;
+
+    Entry(int datasetKey, Integer attempt) {
+      this.datasetKey = datasetKey;
+      this.attempt = attempt;
+    }
+
+    /**
+     * Loads the cache if not yet done. Concurrent callers wait for the first one to finish loading.
+     */
+    synchronized UsageCache load() {
+      if (cache == null) {
+        var c = type.usageCache(datasetKey, new File(dir, "shared-usages-" + datasetKey + "-" + UUID.randomUUID()));
+        try {
+          c.load(factory);
+        } catch (RuntimeException e) {
+          c.close();
+          throw e;
+        }
+        cache = c;
+      }
+      return cache;
+    }
+
+    synchronized void close() {
+      if (cache != null) {
+        LOG.info("Close shared usage cache of dataset {} attempt {}", datasetKey, attempt);
+        cache.close();
+        cache = null;
+      }
+    }
+  }
+
+  /**
+   * @param dir directory to keep the cache files in
+   * @param maxSize maximum number of dataset caches to keep
+   */
+  public SharedUsageCaches(SqlSessionFactory factory, File dir, CacheType type, int maxSize) {
+    this.factory = factory;
+    this.dir = dir;
+    this.type = type;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Leases the preloaded cache of the current import attempt of the dataset, loading it if needed.
+   * The returned cache is read only and ignores any modifications.
+   * It must be closed to release the lease, which does not close the shared cache itself.
+   */
+  public UsageCache acquire(int datasetKey) {
+    final Integer attempt = currentAttempt(datasetKey);
+    final Entry e;
+    synchronized (this) {
+      var existing = entries.get(datasetKey);
+      if (existing != null && !Objects.equals(existing.attempt, attempt)) {
+        LOG.info("Dataset {} changed from attempt {} to {}", datasetKey, existing.attempt, attempt);
+        retire(datasetKey);
+        existing = null;
+      }
+      if (existing == null) {
+        existing = new Entry(datasetKey, attempt);
+        entries.put(datasetKey, existing);
+        evict();
+      }
+      e = existing;
+      e.leases++;
+    }
+    try {
+      return new Lease(e, e.load());
+    } catch (RuntimeException ex) {
+      synchronized (this) {
+        if (entries.remove(datasetKey, e)) {
+          e.retired = true;
+        }
+        release(e);
+      }
+      throw ex;
+    }
+  }
+
+  private Integer currentAttempt(int datasetKey) {
+    try (SqlSession session = factory.openSession(true)) {
+      Dataset d = session.getMapper(DatasetMapper.class).get(datasetKey);
+      return d == null ? null : d.getAttempt();
+    }
+  }
+
+  private void evict() {
+    var iter = entries.values().iterator();
+    while (entries.size() > maxSize && iter.hasNext()) {
+      var e = iter.next();
+      iter.remove();
+      retire(e);
+    }
+  }
+
+  private void retire(int datasetKey) {
+    var e = entries.get(datasetKey);
+    if (e != null) {
+      entries.remove(datasetKey);
+      retire(e);
+    }
+  }
+
+  private void retire(Entry e) {
+    e.retired = true;
+    if (e.leases == 0) {
+      e.close();
+    }
+  }
+
+  private synchronized void release(Entry e) {
+    e.leases--;
+    if (e.retired && e.leases == 0) {
+      e.close();
+    }
+  }
+
+  /**
+   * @return number of cached datasets
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  @Override
+  public synchronized void datasetChanged(DatasetChanged event) {
+    if (event.isDeletion()) {
+      retire(event.key);
+    }
+  }
+
+  @Override
+  public synchronized void datasetDataChanged(DatasetDataChanged event) {
+    retire(event.datasetKey);
+  }
+
+  @Override
+  public synchronized void close() {
+    for (var key : new ArrayList<>(entries.keySet())) {
+      retire(key);
+    }
+  }
+
+  /**
+   * A read only view on a shared cache that releases its lease when closed.
+   */
+  private class Lease implements UsageCache {
+    private final Entry entry;
+    private final UsageCache cache;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    Lease(Entry entry, UsageCache cache) {
+      this.entry = entry;
+      this.cache = cache;
+    }
+
+    @Override
+    public int getDatasetKey() {
+      return cache.getDatasetKey();
+    }
+
+    @Override
+    public boolean contains(String key) {
+      return cache.contains(key);
+    }
+
+    @Override
+    public SimpleNameCached get(String key) {
+      return cache.get(key);
+    }
+
+    @Override
+    public SimpleNameCached put(SimpleNameCached usage) {
+      return null;
+    }
+
+    @Override
+    public SimpleNameCached remove(String key) {
+      return null;
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    @Override
+    public void close() {
+      if (closed.compareAndSet(false, true)) {
+        release(entry);
+      }
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package life.catalogue.config;
 
+import life.catalogue.cache.CacheType;
+
 import javax.annotation.Nullable;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -80,6 +82,41 @@ public class EsConfig {
   @Min(1)
   public int indexingThreads = 4;
 
+  /**
+   * Minimum number of name usages a project or release needs to be indexed in parallel slices,
+   * one per sector plus one for all usages outside of sectors, sharing the indexingThreads.
+   * Smaller datasets are indexed with a single cursor. Zero disables slicing.
+   */
+  @Min(0)
+  public int partitionThreshold = 1_000_000;
+
+  /**
+   * Number of threads each dataset or slice uses to build the classifications and taxonomic groups of its taxa.
+   * Taxa are then indexed in no particular order. Multiplies with indexingThreads for sliced projects and releases.
+   */
+  @Min(1)
+  public int classificationThreads = 1;
+
+  /**
+   * Storage of the temporary taxa and usage caches each dataset or slice builds while indexing.
+   */
+  @NotNull
+  public CacheType cacheType = CacheType.MAPDB;
+
+  /**
+   * Maximum number of concurrent bulk requests a single dataset or sector indexer keeps in flight
+   * while it continues to read from the database. 1 sends every bulk synchronously.
+   */
+  @Min(1)
+  public int bulkConcurrency = 2;
+
+  /**
+   * Maximum payload size of a single bulk request in bytes.
+   * Elastic recommends a few MB, too large requests put the cluster under heap pressure.
+   */
+  @Min(1024)
+  public long bulkSizeBytes = 10 * 1024 * 1024;
+
   @JsonIgnore
   public boolean isEmpty() {
     return hosts == null || index == null;
@@ -92,6 +129,10 @@ public class EsConfig {
       .add("user", user)
       .add("index", index)
       .add("threads", indexingThreads)
+      .add("partitionThreshold", partitionThreshold)
+      .add("classificationThreads", classificationThreads)
+      .add("cacheType", cacheType)
+      .add("bulkConcurrency", bulkConcurrency)
       .toString();
   }
 }
@@ -26,6 +26,13 @@ public class ImporterConfig {
    */
   @Min(100)
   public int maxQueue = 1000;
+
+  /**
+   * If true verbatim records, references, names with their matches and usages are streamed into postgres with binary COPY
+   * instead of batched MyBatis inserts. Verbatim keys are then assigned up front by the importer.
+   * Usages are copied in a first pass, their associated entities, metrics and search index documents are written in a second one.
+   */
+  public boolean binaryCopy = false;
   
 
 
@@ -1,8 +1,11 @@
 package life.catalogue.config;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 public class MatchingConfig {
@@ -26,6 +29,64 @@ public class MatchingConfig {
    */
   public int onDemandTtlDays = 30;
 
+  /**
+   * Maximum size in MB of the memory mapped stores of all persistent matchers kept open.
+   * Beyond it the least used matchers are closed once their running matches are done,
+   * and reopened from disk when they are needed again.
+   * 0 or less keeps every opened matcher until it is removed.
+   */
+  public int maxMappedMB = 32 * 1024;
+
+  /**
+   * Number of threads serializing usages while a persistent matcher store is built.
+   * The database is always read, and names rematched, by a single thread in scan order,
+   * so the store is the same whatever the number of threads. 1 builds on the loading thread only.
+   */
+  @Min(1)
+  public int buildThreads = 1;
+
+  /**
+   * Number of threads matching names against the names index when entire datasets are rematched.
+   * With more than 1 names are read, matched and written by separate threads and the changed matches are
+   * bulk copied into postgres. 1 matches and writes every name on the reading thread.
+   */
+  @Min(1)
+  public int rematchThreads = 1;
+
+  /**
+   * Maximum number of threads a single matching job may use to match uploaded names or entire datasets,
+   * whatever the number of threads requested.
+   */
+  @Min(1)
+  public int maxJobThreads = 4;
+
+  /**
+   * Maximum number of distinct names a single matching job remembers with their match,
+   * so repeated names of an upload are answered without matching them again. 0 disables the cache.
+   */
+  @Min(0)
+  public int jobCacheSize = 100_000;
+
+  /**
+   * Seconds between two runs of the incremental matcher, which rematches names reported as changed,
+   * e.g. by sector syncs, in small batches.
+   */
+  @Min(1)
+  public int incrementalDelay = 10;
+
+  /**
+   * Keys of datasets whose matchers are never closed to make room for others.
+   */
+  @NotNull
+  public Set<Integer> pinnedDatasets = new HashSet<>();
+
+  /**
+   * If true in memory matchers, e.g. the one of an extended release, keep their usages as serialized records
+   * off heap instead of as objects on the java heap, see UsageMatcherArenaStore.
+   * Off by default, i.e. the off heap store is opt-in.
+   */
+  public boolean offHeapMemoryStore = false;
+
   /**
    * Temporary folder for file uploads.
    */
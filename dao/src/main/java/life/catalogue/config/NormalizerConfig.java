@@ -12,6 +12,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Preconditions;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 /**
@@ -38,6 +39,25 @@ public class NormalizerConfig {
   @NotNull
   public File scratchDir = new File("/tmp/col");
 
+  /**
+   * Number of threads interpreting CSV records, running the record local normalizer phases and walking separate root subtrees.
+   * Names are matched on a single thread so names index ids stay deterministic.
+   */
+  @Min(1)
+  public int threads = 1;
+
+  /**
+   * Optional file for a persistent cache of parsed names, shared by all imports and kept across restarts.
+   * Cached names are dropped when the name parser version changes. If null no names are cached.
+   */
+  public File parseCache;
+
+  /**
+   * Maximum number of parsed names to keep in the persistent parse cache.
+   */
+  @Min(1)
+  public long parseCacheSize = 10_000_000;
+
   /**
    * The dataset source files as a single archive in original format (zip, gzip, etc).
    * Stored in special archive directory so we can keep large amounts of data on cheap storage devices
@@ -9,6 +9,7 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 /**
@@ -20,6 +21,13 @@ public class ReleaseConfig {
   public Integer restart;
   public boolean deleteOnError = true;
 
+  /**
+   * Number of tables copied in parallel, each on its own db connection, when a project is released or duplicated.
+   * Tables are only copied once all tables they reference are done. 1 copies all tables one after the other.
+   */
+  @Min(1)
+  public int copyThreads = 4;
+
   @NotNull
   public File reportDir = new File("/tmp/col/release");
 
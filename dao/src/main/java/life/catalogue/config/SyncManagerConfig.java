@@ -1,6 +1,9 @@
 package life.catalogue.config;
 
+import life.catalogue.cache.CacheType;
+
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 
 public class SyncManagerConfig {
 
@@ -11,5 +14,31 @@ public class SyncManagerConfig {
   @Min(0)
   public int polling = 0;
 
+  /**
+   * Number of sector syncs and deletions to run concurrently across all projects.
+   */
+  @Min(1)
+  public int threads = 1;
+
+  /**
+   * Maximum number of sector syncs and deletions to run concurrently in a single project.
+   * Jobs in the same project only run concurrently if their target subtrees do not overlap.
+   * Merge sectors and sectors without a target always lock the entire project.
+   */
+  @Min(1)
+  public int projectThreads = 1;
+
+  /**
+   * Maximum number of source datasets to keep preloaded usage caches for, shared by all hierarchy syncs.
+   * Zero disables shared caches and every hierarchy sync lazily loads its own source usages.
+   */
+  @Min(0)
+  public int sourceCaches = 2;
+
+  /**
+   * Storage backend of the shared source caches.
+   */
+  @NotNull
+  public CacheType sourceCacheType = CacheType.MMAP;
 
 }
@@ -85,7 +85,11 @@ public class NameDao extends SectorEntityDao<Name, NameMapper> {
     updateUsageIndex(n, session);
     // update name match
     NameMatch m = nameIndex.match(n, true, false);
-    session.getMapper(NameMatchMapper.class).update(n,m.getNidx());
+    var nmm = session.getMapper(NameMatchMapper.class);
+    // names copied without a match, e.g. by a hierarchy sync, have no match record yet
+    if (nmm.update(n, m.getNidx()) < 1) {
+      nmm.create(n, n.getSectorKey(), m.getNidx());
+    }
     n.applyMatch(m);
     return true;
   }
@@ -3,10 +3,12 @@ package life.catalogue.dao;
 import life.catalogue.api.model.*;
 import life.catalogue.api.search.NameUsageWrapper;
 import life.catalogue.cache.CacheLoader;
+import life.catalogue.cache.CacheType;
 import life.catalogue.cache.ObjectCache;
-import life.catalogue.cache.ObjectCacheMapDB;
 import life.catalogue.cache.UsageCache;
 import life.catalogue.common.kryo.ApiKryoPool;
+import life.catalogue.concurrent.ExecutorUtils;
+import life.catalogue.concurrent.NamedThreadFactory;
 import life.catalogue.db.PgUtils;
 import life.catalogue.db.mapper.*;
 import life.catalogue.matching.TaxGroupAnalyzer;
@@ -14,6 +16,7 @@ import life.catalogue.matching.TaxGroupAnalyzer;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
@@ -29,21 +32,37 @@ import org.slf4j.LoggerFactory;
  * This is done by caching of all accepted taxa in a file persisted mapdb.
  *
  * Usages are ordered by status, with synonyms coming first before any taxa.
+ * Taxa are processed at the end and can optionally be classified by several threads,
+ * in which case they reach the consumer in no particular order. The consumer is always called from the calling thread.
  *
  * The class is thread safe.
  */
 public class NameUsageProcessor {
   private static final Logger LOG = LoggerFactory.getLogger(NameUsageProcessor.class);
   private static final int LOG_INTERVAL = 5000;
+  private static final int BATCH_SIZE = 1000;
 
   private final SqlSessionFactory factory;
   private final TaxGroupAnalyzer groupAnalyzer = new TaxGroupAnalyzer();
-  private int loadCounter = 0;
+  private final AtomicInteger loadCounter = new AtomicInteger(0);
   private final File tmpDir;
+  private final int threads;
+  private final CacheType cacheType;
 
   public NameUsageProcessor(SqlSessionFactory factory, File tmpDir) {
+    this(factory, tmpDir, 1, CacheType.MAPDB);
+  }
+
+  /**
+   * @param threads number of threads to build the classification and taxonomic group of cached taxa with.
+   *                With more than one thread taxa are passed to the consumer in no particular order.
+   * @param cacheType storage of the temporary taxa and usage caches
+   */
+  public NameUsageProcessor(SqlSessionFactory factory, File tmpDir, int threads, CacheType cacheType) {
     this.factory = factory;
     this.tmpDir = tmpDir;
+    this.threads = Math.max(1, threads);
+    this.cacheType = cacheType;
   }
 
   /**
@@ -74,6 +93,16 @@ public class NameUsageProcessor {
     processTree(sectorKey.getDatasetKey(), sectorKey.getId(), consumer);
   }
 
+  /**
+   * Process all usages of a dataset which do not belong to any sector, e.g. the managed classification of a project.
+   * Together with processSector for every sector of the dataset this covers all usages of processDataset,
+   * but allows to process large projects and releases in independent slices.
+   */
+  public void processUnsectored(int datasetKey, Consumer<NameUsageWrapper> consumer) {
+    LOG.info("Process usages outside of sectors of dataset {}", datasetKey);
+    processTree(datasetKey, NameUsageWrapperMapper.NO_SECTOR, consumer);
+  }
+
   /**
    * Container for indexed sector data
    */
@@ -132,7 +161,9 @@ public class NameUsageProcessor {
         // we prefetch sectorKey to the sectors subject dataset key depending whether we process a sector or entire dataset
         final Map<Integer, SectorProps> sectors = new HashMap<>();
         if (sectorKey != null) {
-          sectors.put(sectorKey, new SectorProps(sm.get(sKey.id(sectorKey)), dm));
+          if (sectorKey != NameUsageWrapperMapper.NO_SECTOR) {
+            sectors.put(sectorKey, new SectorProps(sm.get(sKey.id(sectorKey)), dm));
+          }
         } else {
           sm.listByDataset(datasetKey, null, null).forEach(s -> sectors.put(s.getId(), new SectorProps(s, dm)));
         }
@@ -140,7 +171,7 @@ public class NameUsageProcessor {
         // build temporary table within the session, collecting issues from all usage related tables
         // we do this in a separate step to not overload postgres with gigantic joins later on
         var ism = session.getMapper(TmpIssueMapper.class);
-        ism.createTmpIssuesTable(datasetKey, null);
+        ism.createTmpIssuesTable(datasetKey, sectorKey);
 
         // processing first returns all taxa before any synonym is returned - cache these and process them at the end
         PgUtils.consume(() -> nuwm.processWithoutClassification(datasetKey, sectorKey), nuw -> {
@@ -200,13 +231,16 @@ public class NameUsageProcessor {
       // The cursor session above is already closed, so no transaction is held idle while we do - postgres
       // kills those with idle_in_transaction_session_timeout (15min in production) and an open transaction
       // pins the xmin horizon and blocks vacuum for as long as it lives.
-      LOG.info("Process {} taxa of dataset {}; loaded taxa={}", taxa.size(), datasetKey, loadCounter);
-      for (var nuw : taxa) {
-        addClassification(nuw, taxa, usageCache, loader);
-        nuw.setGroup(groupAnalyzer.analyze(nuw.getUsage().toSimpleNameLink(), nuw.getClassification()));
-        consumer.accept(nuw);
-        if (counter.incrementAndGet() % LOG_INTERVAL == 0) {
-          LOG.debug("Processed {} usages of dataset {}; loaded taxa={}", counter, datasetKey, loadCounter);
+      LOG.info("Process {} taxa of dataset {} using {} threads; loaded taxa={}", taxa.size(), datasetKey, threads, loadCounter);
+      if (threads > 1) {
+        processTaxaParallel(datasetKey, taxa, usageCache, new SynchronizedLoader(loader), consumer, counter);
+      } else {
+        for (var nuw : taxa) {
+          classify(nuw, taxa, usageCache, loader);
+          consumer.accept(nuw);
+          if (counter.incrementAndGet() % LOG_INTERVAL == 0) {
+            LOG.debug("Processed {} usages of dataset {}; loaded taxa={}", counter, datasetKey, loadCounter);
+          }
         }
       }
 
@@ -215,6 +249,98 @@ public class NameUsageProcessor {
     }
   }
 
+  /**
+   * Classifies the cached taxa in batches on a pool of worker threads which only read from the mapdb caches
+   * and add missing parents to the thread safe usage cache.
+   * Finished batches are passed to the consumer on the calling thread in the order they complete,
+   * so the consumer does not need to be thread safe.
+   * At most 2 batches per thread are held in memory at any time.
+   */
+  private void processTaxaParallel(int datasetKey, ObjectCache<NameUsageWrapper> taxa, UsageCache usageCache, CacheLoader loader,
+                                   Consumer<NameUsageWrapper> consumer, AtomicInteger counter) throws InterruptedException {
+    ExecutorService exec = Executors.newFixedThreadPool(threads, new NamedThreadFactory("usage-processor-" + datasetKey));
+    try {
+      CompletionService<List<NameUsageWrapper>> completion = new ExecutorCompletionService<>(exec);
+      final int maxPending = threads * 2;
+      int pending = 0;
+      List<NameUsageWrapper> batch = new ArrayList<>(BATCH_SIZE);
+      for (var nuw : taxa) {
+        batch.add(nuw);
+        if (batch.size() >= BATCH_SIZE) {
+          submit(completion, batch, taxa, usageCache, loader);
+          batch = new ArrayList<>(BATCH_SIZE);
+          if (++pending >= maxPending) {
+            consume(completion.take(), datasetKey, consumer, counter);
+            pending--;
+          }
+        }
+      }
+      if (!batch.isEmpty()) {
+        submit(completion, batch, taxa, usageCache, loader);
+        pending++;
+      }
+      while (pending > 0) {
+        consume(completion.take(), datasetKey, consumer, counter);
+        pending--;
+      }
+
+    } finally {
+      exec.shutdownNow();
+      ExecutorUtils.shutdown(exec);
+    }
+  }
+
+  private void submit(CompletionService<List<NameUsageWrapper>> completion, List<NameUsageWrapper> batch,
+                      ObjectCache<NameUsageWrapper> taxa, UsageCache usageCache, CacheLoader loader) {
+    completion.submit(() -> {
+      for (var nuw : batch) {
+        classify(nuw, taxa, usageCache, loader);
+      }
+      return batch;
+    });
+  }
+
+  private void consume(Future<List<NameUsageWrapper>> f, int datasetKey, Consumer<NameUsageWrapper> consumer, AtomicInteger counter) throws InterruptedException {
+    List<NameUsageWrapper> batch;
+    try {
+      batch = f.get();
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Failed to classify taxa of dataset " + datasetKey, e.getCause());
+    }
+    for (var nuw : batch) {
+      consumer.accept(nuw);
+      if (counter.incrementAndGet() % LOG_INTERVAL == 0) {
+        LOG.debug("Processed {} usages of dataset {}; loaded taxa={}", counter, datasetKey, loadCounter);
+      }
+    }
+  }
+
+  private void classify(NameUsageWrapper nuw, ObjectCache<NameUsageWrapper> taxa, UsageCache usageCache, CacheLoader loader) {
+    addClassification(nuw, taxa, usageCache, loader);
+    nuw.setGroup(groupAnalyzer.analyze(nuw.getUsage().toSimpleNameLink(), nuw.getClassification()));
+  }
+
+  /**
+   * Serializes access to the loaders single sql session which is shared by all worker threads.
+   */
+  private static class SynchronizedLoader implements CacheLoader {
+    private final CacheLoader loader;
+
+    SynchronizedLoader(CacheLoader loader) {
+      this.loader = loader;
+    }
+
+    @Override
+    public synchronized SimpleNameCached load(String key) {
+      return loader.load(key);
+    }
+
+    @Override
+    public synchronized void commit() {
+      loader.commit();
+    }
+  }
+
   private void addClassification(NameUsageWrapper nuw, ObjectCache<NameUsageWrapper> taxa, UsageCache usageCache, CacheLoader loader) {
     List<SimpleName> classification = new ArrayList<>();
     if (!nuw.getUsage().isBareName()) {
@@ -226,7 +352,7 @@ public class NameUsageProcessor {
         } else {
           // need to fetch usage which lies outside the scope of this processor, e.g. a merge sector with parents outside of the sector
           curr = usageCache.getOrLoad(curr.getParent(), loader);
-          loadCounter++;
+          loadCounter.incrementAndGet();
         }
         if (curr != null) {
           classification.add(curr);
@@ -238,9 +364,9 @@ public class NameUsageProcessor {
   }
 
   private ObjectCache<NameUsageWrapper> buildObjCache(int datasetKey) throws IOException {
-    return new ObjectCacheMapDB<>(NameUsageWrapper.class, new File(tmpDir, "OC" +datasetKey +"-" +UUID.randomUUID()), new ApiKryoPool(8), false);
+    return cacheType.objectCache(NameUsageWrapper.class, new File(tmpDir, "OC" +datasetKey +"-" +UUID.randomUUID()), new ApiKryoPool(8));
   }
   private UsageCache buildUsageCache(int datasetKey) throws Exception {
-    return UsageCache.mapDB(datasetKey, new File(tmpDir, "UC" +datasetKey +"-" + UUID.randomUUID()));
+    return cacheType.usageCache(datasetKey, new File(tmpDir, "UC" +datasetKey +"-" + UUID.randomUUID()));
   }
 }
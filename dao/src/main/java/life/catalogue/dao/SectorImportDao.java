@@ -60,6 +60,16 @@ public class SectorImportDao {
     LOG.debug("Updated names for metrics update for sector {} from dataset {}", si.getSectorDSID(), datasetKey);
   }
 
+  /**
+   * Updates only the estimate count of a finished sector import, e.g. after the project estimates were rematched.
+   */
+  public void updateEstimateCount(SectorImport si, int datasetKey) {
+    try (SqlSession session = factory.openSession(true)) {
+      SectorImportMapper mapper = session.getMapper(SectorImportMapper.class);
+      si.setEstimateCount(mapper.countEstimate(datasetKey, si.getSectorKey()));
+      mapper.update(si);
+    }
+  }
 
   private void populateCounts(SectorImportMapper mapper, SectorImport si, int datasetKey) {
     final int key = si.getSectorKey();
@@ -65,6 +65,14 @@ public interface NameMapper extends CRUD<DSID<String>, Name>, DatasetProcessable
    */
   Cursor<Name> processDatasetWithoutMatches(@Nullable @Param("datasetKey") Integer datasetKey);
 
+  /**
+   * Iterates over the distinct genus, infrageneric & specific epithet, rank and code of all accepted names
+   * in the subtree of the given usage, including the usage itself.
+   * These are the parts used to build implicit genus, subgenus and species names.
+   * @param key the root usage of the subtree or a key without id for the entire dataset
+   */
+  Cursor<Name> processImplicitParentNames(@Param("key") DSID<String> key);
+
   /**
    * Iterates over all names returning the concatenation of scientific name and authorship from the names table.
    */
@@ -40,6 +40,11 @@ public interface NameMatchMapper extends MatchMapper, CopyDataset, NameProcessab
   default Cursor<Integer> processIndexIds(@Param("datasetKey") int datasetKey) {
     return processIndexIds(datasetKey, null);
   }
+
+  /**
+   * Lists all distinct index ids of the names used in the subtree of the given usage, including the usage itself and all synonyms.
+   */
+  Cursor<Integer> processSubtreeIndexIds(@Param("key") DSID<String> key);
   @Override
   default List<NameMatch> listByName(@Param("key") DSID<String> key) {
     var m = get(key);
@@ -16,6 +16,12 @@ import org.apache.ibatis.cursor.Cursor;
  */
 public interface NameUsageWrapperMapper {
 
+  /**
+   * Pseudo sector key that restricts processWithoutClassification and the temporary issue tables
+   * to usages that do not belong to any sector, e.g. the managed higher classification of a project.
+   */
+  int NO_SECTOR = -1;
+
   /**
    * Issues and decisions are included, but publisherKey and sector information is not retrieved!
    *
@@ -51,7 +57,7 @@ public interface NameUsageWrapperMapper {
    * Create it before using the VerbatimRecordMapper.createTmpIssuesTable method.
    *
    * @param datasetKey the dataset, e.g. catalogue, to process
-   * @param sectorKey the optional sector to restrict the processed usages to
+   * @param sectorKey the optional sector to restrict the processed usages to, or NO_SECTOR for usages outside of any sector
    */
   Cursor<NameUsageWrapper> processWithoutClassification(@Param("datasetKey") Integer datasetKey,
                                           @Nullable @Param("sectorKey") Integer sectorKey);
@@ -19,13 +19,18 @@ import org.apache.ibatis.cursor.Cursor;
 public interface NamesIndexMapper extends CRUD<Integer, NameIndexEntry> {
 
   /**
-   * Atomically inserts a new canonical entry keyed by its normalized bucket key, or does nothing if a row
-   * with that normalized key already exists (INSERT ... ON CONFLICT(normalized) DO NOTHING). On a fresh
-   * insert the generated primary key is set on the passed NameIndexEntry; on a conflict the key is left
-   * untouched (typically null) so the caller can resolve the winner via {@link #getKeyByNormalized(String)}.
-   * This makes assign-on-miss safe across concurrent index rebuilds sharing one postgres.
+   * Inserts a new canonical entry with an already assigned key, usually taken from {@link #nextKeys(int)}.
+   * Does nothing if a row with the same normalized bucket key or the same key already exists.
+   * @return number of inserted rows, i.e. 0 on a conflict
    */
-  void createOnConflict(NameIndexEntry name);
+  int createWithKey(NameIndexEntry name);
+
+  /**
+   * Allocates a block of new primary keys from the names_index sequence in a single round trip.
+   * The keys are not necessarily consecutive if other sessions draw from the sequence at the same time.
+   * @param size number of keys to allocate
+   */
+  List<Integer> nextKeys(@Param("size") int size);
 
   /**
    * @return the primary key of the names_index row with the given normalized bucket key, or null if none exists.
@@ -47,7 +47,7 @@ public interface TmpIssueMapper extends DatasetProcessable<VerbatimSource>, Sect
    *
    * Warning: This does not include verbatim_source records for projects and releases, use the VerbatimSourceMapper instead !
    * @param datasetKey
-   * @param sectorKey optional sector to restrict the issues to
+   * @param sectorKey optional sector to restrict the issues to, see NameUsageWrapperMapper.NO_SECTOR
    */
   void createTmpIssuesTableFromVerbatim(@Param("datasetKey") int datasetKey, @Nullable @Param("sectorKey") Integer sectorKey);
 
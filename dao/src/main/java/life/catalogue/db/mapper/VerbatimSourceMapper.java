@@ -132,5 +132,17 @@ public interface VerbatimSourceMapper extends Create<VerbatimSource>, CopyDatase
   void removeAllIssues(@Param("projectKey") int projectKey);
 
   int deleteOrphans(@Param("datasetKey") int datasetKey);
+
+  /**
+   * Replaces all temporary, negative verbatim source keys of a dataset with final keys,
+   * updating all records that refer to them.
+   * Temporary keys are issued in blocks, so key -(block * blockSize + i + 1) becomes starts[block] + i.
+   *
+   * @param blockSize number of keys per block
+   * @param starts the first final key for each block of temporary keys
+   */
+  void renumberTemporaryKeys(@Param("datasetKey") int datasetKey,
+                             @Param("blockSize") int blockSize,
+                             @Param("starts") Map<Integer, Integer> starts);
 }
 
@@ -26,11 +26,17 @@ public class TermTypeHandler extends BaseTypeHandler<Term> {
   
   @Override
   public void setNonNullParameter(PreparedStatement ps, int i, Term parameter, JdbcType jdbcType) throws SQLException {
-    if (parameter instanceof UnknownTerm) {
-      ps.setString(i, parameter.qualifiedName());
-    } else {
-      ps.setString(i, parameter.prefixedName());
+    ps.setString(i, toText(parameter));
+  }
+
+  /**
+   * @return the text representation stored in postgres, e.g. for binary COPY
+   */
+  public static String toText(Term term) {
+    if (term == null) {
+      return null;
     }
+    return term instanceof UnknownTerm ? term.qualifiedName() : term.prefixedName();
   }
   
   @Override
@@ -40,9 +40,15 @@ public class JsonAbstractHandler<T> extends BaseTypeHandler<T> {
   @Override
   public void setNonNullParameter(PreparedStatement ps, int i, T parameter,
                                   JdbcType jdbcType) throws SQLException {
+    ps.setString(i, toJson(parameter));
+  }
+
+  /**
+   * @return the json text as stored in postgres, e.g. for binary COPY
+   */
+  public String toJson(T parameter) throws SQLException {
     try {
-      String x = writer.writeValueAsString(parameter);
-      ps.setString(i, x);
+      return writer.writeValueAsString(parameter);
     } catch (JsonProcessingException e) {
       throw new SQLException("Unable to convert " + typeName + " to JSONB", e);
     }
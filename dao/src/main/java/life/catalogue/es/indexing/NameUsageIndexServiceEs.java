@@ -5,6 +5,7 @@ import life.catalogue.api.model.DSID;
 import life.catalogue.api.model.Sector;
 import life.catalogue.api.model.SimpleNameClassification;
 import life.catalogue.api.search.NameUsageWrapper;
+import life.catalogue.api.vocab.TaxGroup;
 import life.catalogue.common.func.BatchConsumer;
 import life.catalogue.common.util.LoggingUtils;
 import life.catalogue.concurrent.ExecutorUtils;
@@ -14,6 +15,7 @@ import life.catalogue.dao.DatasetInfoCache;
 import life.catalogue.dao.NameUsageProcessor;
 import life.catalogue.db.PgUtils;
 import life.catalogue.db.mapper.DatasetMapper;
+import life.catalogue.db.mapper.NameUsageMapper;
 import life.catalogue.db.mapper.NameUsageWrapperMapper;
 import life.catalogue.db.mapper.SectorMapper;
 import life.catalogue.es.EsException;
@@ -24,11 +26,15 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -60,7 +66,7 @@ public class NameUsageIndexServiceEs implements NameUsageIndexService {
     this.client = client;
     this.esConfig = esConfig;
     this.factory = factory;
-    this.processor = new NameUsageProcessor(factory, tmpDir);
+    this.processor = new NameUsageProcessor(factory, tmpDir, esConfig.classificationThreads, esConfig.cacheType);
   }
 
   @Override
@@ -70,6 +76,8 @@ public class NameUsageIndexServiceEs implements NameUsageIndexService {
 
   /**
    * Parallelize indexing of several datasets.
+   * Very large projects and releases are indexed one after the other at the end,
+   * each of them using all indexing threads for its sector slices.
    */
   @Override
   public Stats indexDatasets(List<Integer> keys, boolean clearIndex) {
@@ -77,8 +85,13 @@ public class NameUsageIndexServiceEs implements NameUsageIndexService {
     final Stats total = new Stats();
 
     final AtomicInteger counter = new AtomicInteger(0);
+    final List<Integer> sliced = new ArrayList<>();
     ExecutorService exec = Executors.newFixedThreadPool(esConfig.indexingThreads, new NamedThreadFactory("ES-Indexer"));
     for (Integer datasetKey : keys) {
+      if (isSliced(datasetKey)) {
+        sliced.add(datasetKey);
+        continue;
+      }
       CompletableFuture.supplyAsync(() -> indexDatasetInternal(datasetKey, clearIndex), exec)
         .exceptionally(ex -> {
           counter.incrementAndGet();
@@ -91,6 +104,16 @@ public class NameUsageIndexServiceEs implements NameUsageIndexService {
     }
     ExecutorUtils.shutdown(exec);
 
+    for (Integer datasetKey : sliced) {
+      try {
+        total.add(indexDatasetInternal(datasetKey, clearIndex));
+        LOG.info("Indexed {}/{} dataset {}. Total usages {}", counter.incrementAndGet(), keys.size(), datasetKey, total.usages);
+      } catch (Exception e) {
+        counter.incrementAndGet();
+        LOG.error("Error indexing dataset {}", datasetKey, e);
+      }
+    }
+
     LOG.info("Successfully indexed {} datasets. Index: {}. Usages: {}. Bare names: {}. Total: {}.",
       counter, esConfig.index.name, total.usages, total.names, total.total());
     return total;
@@ -103,8 +126,7 @@ public class NameUsageIndexServiceEs implements NameUsageIndexService {
       LOG.info("Remove dataset {} from index", datasetKey);
       createOrEmptyIndex(datasetKey);
 
-      NameUsageIndexer indexer = new NameUsageIndexer(client, esConfig.index.name);
-      return new IndexerBatchConsumer(indexer);
+      return new IndexerBatchConsumer(bulkIndexer());
 
     } catch (IOException e) {
       throw new EsException(e);
@@ -124,6 +146,7 @@ public class NameUsageIndexServiceEs implements NameUsageIndexService {
     @Override
     public void close() {
       super.close();
+      indexer.close();
       EsUtil.refreshIndex(indexer.getEsClient(), indexer.getIndexName());
     }
   }
@@ -134,23 +157,35 @@ public class NameUsageIndexServiceEs implements NameUsageIndexService {
         handler
       );
     }
+    indexer.flush();
+  }
+
+  /**
+   * @return a new indexer sending bulks asynchronously as configured. Make sure to close it!
+   */
+  private NameUsageIndexer bulkIndexer() {
+    return new NameUsageIndexer(client, esConfig.index.name, esConfig.bulkConcurrency, esConfig.bulkSizeBytes);
   }
 
   private Stats indexDatasetInternal(int datasetKey, boolean clearIndex) {
-    try {
-      LoggingUtils.setDatasetMDC(datasetKey, getClass());
+    LoggingUtils.setDatasetMDC(datasetKey, getClass());
+    try (NameUsageIndexer indexer = bulkIndexer()) {
       Stats stats = new Stats();
-      NameUsageIndexer indexer = new NameUsageIndexer(client, esConfig.index.name);
       if (clearIndex) {
         LOG.info("Remove dataset {} from index", datasetKey);
         createOrEmptyIndex(datasetKey);
       }
-      try (BatchConsumer<NameUsageWrapper> handler = new BatchConsumer<>(indexer, BATCH_SIZE)) {
-        LOG.info("Indexing usages from dataset {}", datasetKey);
-        processor.processDataset(datasetKey, handler);
+      if (isSliced(datasetKey)) {
+        stats.usages = indexSlices(datasetKey, indexer.getTaxGroups());
+      } else {
+        try (BatchConsumer<NameUsageWrapper> handler = new BatchConsumer<>(indexer, BATCH_SIZE)) {
+          LOG.info("Indexing usages from dataset {}", datasetKey);
+          processor.processDataset(datasetKey, handler);
+        }
+        indexer.flush();
+        stats.usages = indexer.documentsIndexed();
       }
       EsUtil.refreshIndex(client, esConfig.index.name);
-      stats.usages = indexer.documentsIndexed();
       indexer.reset();
 
       try (SqlSession session = factory.openSession()) {
@@ -180,6 +215,81 @@ public class NameUsageIndexServiceEs implements NameUsageIndexService {
     }
   }
 
+  /**
+   * @return true if the dataset is a project or release large enough to be indexed in parallel sector slices
+   */
+  private boolean isSliced(int datasetKey) {
+    if (esConfig.partitionThreshold <= 0 || esConfig.indexingThreads < 2
+        || !DatasetInfoCache.CACHE.info(datasetKey).origin.isProjectOrRelease()) {
+      return false;
+    }
+    try (SqlSession session = factory.openSession()) {
+      return session.getMapper(NameUsageMapper.class).count(datasetKey) >= esConfig.partitionThreshold
+        && !session.getMapper(SectorMapper.class).listByDataset(datasetKey, null, null).isEmpty();
+    }
+  }
+
+  /**
+   * Indexes all usages of a dataset in independent slices, one for every sector and one for all usages outside of sectors.
+   * Each slice streams its own cursor into its own indexer, the slices share a pool of indexingThreads.
+   * The largest sectors are scheduled first so a single huge sector does not end up running alone at the end.
+   * Bare names are not included.
+   *
+   * @param taxGroups set to add the taxonomic groups of all indexed usages to
+   * @return number of indexed usages
+   */
+  private int indexSlices(int datasetKey, Set<TaxGroup> taxGroups) {
+    final List<Integer> slices = new ArrayList<>();
+    slices.add(NameUsageWrapperMapper.NO_SECTOR);
+    try (SqlSession session = factory.openSession()) {
+      session.getMapper(SectorMapper.class).listByDataset(datasetKey, null, null).stream()
+        .sorted(Comparator.comparing(Sector::getSize, Comparator.nullsLast(Comparator.reverseOrder())))
+        .forEach(s -> slices.add(s.getId()));
+    }
+    LOG.info("Indexing usages from dataset {} in {} slices using {} threads", datasetKey, slices.size(), esConfig.indexingThreads);
+
+    final AtomicInteger counter = new AtomicInteger(0);
+    final AtomicInteger total = new AtomicInteger(0);
+    final List<Future<?>> futures = new ArrayList<>(slices.size());
+    ExecutorService exec = Executors.newFixedThreadPool(esConfig.indexingThreads, new NamedThreadFactory("ES-Slicer-" + datasetKey));
+    for (Integer sectorKey : slices) {
+      futures.add(exec.submit(() -> {
+        try {
+          LoggingUtils.setDatasetMDC(datasetKey, getClass());
+          NameUsageIndexer indexer = bulkIndexer();
+          try (indexer; BatchConsumer<NameUsageWrapper> handler = new BatchConsumer<>(indexer, BATCH_SIZE)) {
+            if (sectorKey == NameUsageWrapperMapper.NO_SECTOR) {
+              processor.processUnsectored(datasetKey, handler);
+            } else {
+              processor.processSector(DSID.of(datasetKey, sectorKey), handler);
+            }
+          }
+          synchronized (taxGroups) {
+            taxGroups.addAll(indexer.getTaxGroups());
+          }
+          int sum = total.addAndGet(indexer.documentsIndexed());
+          LOG.info("Indexed slice {}/{} of dataset {} with {} usages from {}. Total usages {}", counter.incrementAndGet(), slices.size(),
+            datasetKey, indexer.documentsIndexed(), sectorKey == NameUsageWrapperMapper.NO_SECTOR ? "outside of sectors" : "sector " + sectorKey, sum);
+        } finally {
+          LoggingUtils.removeDatasetMDC();
+        }
+      }));
+    }
+    ExecutorUtils.shutdown(exec);
+    // fail if any slice failed, a partially indexed dataset must not be reported as success
+    for (Future<?> f : futures) {
+      try {
+        f.get();
+      } catch (ExecutionException e) {
+        throw new EsException("Failed to index dataset " + datasetKey, e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new EsException("Interrupted indexing dataset " + datasetKey, e);
+      }
+    }
+    return total.get();
+  }
+
   @Override
   public int deleteDataset(int datasetKey) {
     try {
@@ -198,12 +308,13 @@ public class NameUsageIndexServiceEs implements NameUsageIndexService {
   @Override
   public Stats indexSector(DSID<Integer> sectorKey) {
     Stats stats = new Stats();
-    try (SqlSession session = factory.openSession()) {
+    try (SqlSession session = factory.openSession();
+         NameUsageIndexer indexer = bulkIndexer()
+    ) {
       LoggingUtils.setSectorMDC(sectorKey);
       Sector s = session.getMapper(SectorMapper.class).get(sectorKey);
       if (s == null) throw NotFoundException.notFound(Sector.class, sectorKey);
 
-      NameUsageIndexer indexer = new NameUsageIndexer(client, esConfig.index.name);
       deleteSector(s);
       NameUsageWrapperMapper mapper = session.getMapper(NameUsageWrapperMapper.class);
 
@@ -211,6 +322,7 @@ public class NameUsageIndexServiceEs implements NameUsageIndexService {
         LOG.info("Indexing usages from sector {}", s.getKey());
         processor.processSector(s, handler);
       }
+      indexer.flush();
       stats.usages = indexer.documentsIndexed();
       indexer.reset();
 
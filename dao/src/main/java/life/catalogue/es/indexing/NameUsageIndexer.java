@@ -2,36 +2,98 @@ package life.catalogue.es.indexing;
 
 import life.catalogue.api.search.NameUsageWrapper;
 import life.catalogue.api.vocab.TaxGroup;
+import life.catalogue.concurrent.NamedThreadFactory;
 import life.catalogue.es.EsException;
+import life.catalogue.es.TooManyRequestsException;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
 import co.elastic.clients.elasticsearch.core.BulkRequest;
 import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
 import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.util.BinaryData;
+import co.elastic.clients.util.ContentType;
+import jakarta.json.stream.JsonGenerator;
 
-public class NameUsageIndexer implements Consumer<List<NameUsageWrapper>> {
+/**
+ * Writes batches of usages to ES with bulk requests.
+ *
+ * Documents are serialized as soon as they are accepted and grouped into bulk requests by their payload size,
+ * so bulks of tiny bare names and of usages with large classifications put a similar load on the cluster.
+ * Bulks or single bulk items rejected with 429 TOO MANY REQUESTS are retried with an exponential backoff.
+ *
+ * By default every accepted batch is sent synchronously before accept returns.
+ * With more than one concurrent request the indexer works asynchronously: documents are buffered until a bulk
+ * is full and then sent from a background thread while the producer continues reading from the database.
+ * If the configured number of bulks is in flight, accept blocks until one of them has finished.
+ * In async mode callers must call flush() before reading documentsIndexed() and close() the indexer once done.
+ */
+public class NameUsageIndexer implements Consumer<List<NameUsageWrapper>>, AutoCloseable {
 
   private static final Logger LOG = LoggerFactory.getLogger(NameUsageIndexer.class);
+  private static final int MAX_RETRIES = 8;
+  private static final long INITIAL_BACKOFF_MILLIS = 1000;
+  static final long DEFAULT_BULK_BYTES = 10 * 1024 * 1024;
 
   private final ElasticsearchClient client;
+  private final JsonpMapper mapper;
   private final String index;
+  private final long maxBulkBytes;
+  private final int concurrentRequests;
+  // async mode only, null otherwise
+  private final ExecutorService exec;
+  private final Semaphore inFlight;
+  private final AtomicReference<Exception> failure = new AtomicReference<>();
 
-  private int indexed = 0;
+  private final AtomicInteger indexed = new AtomicInteger(0);
+  // 429 rejections of entire bulk requests and of single bulk items
+  private final AtomicInteger rejectedRequests = new AtomicInteger(0);
+  private final AtomicInteger rejectedItems = new AtomicInteger(0);
   private final Set<TaxGroup> taxGroups;
+  // serialized documents not yet sent
+  private List<BinaryData> pending = new ArrayList<>();
+  private long pendingBytes = 0;
 
   NameUsageIndexer(ElasticsearchClient client, String index) {
+    this(client, index, 1, DEFAULT_BULK_BYTES);
+  }
+
+  /**
+   * @param concurrentRequests maximum number of bulk requests in flight. 1 sends all bulks synchronously
+   * @param maxBulkBytes maximum payload size of a single bulk request
+   */
+  NameUsageIndexer(ElasticsearchClient client, String index, int concurrentRequests, long maxBulkBytes) {
     this.client = client;
+    this.mapper = client._jsonpMapper();
     this.index = index;
+    this.maxBulkBytes = maxBulkBytes;
+    this.concurrentRequests = Math.max(1, concurrentRequests);
     this.taxGroups = EnumSet.noneOf(TaxGroup.class);
+    if (this.concurrentRequests > 1) {
+      exec = Executors.newFixedThreadPool(this.concurrentRequests, new NamedThreadFactory("ES-Bulk"));
+      inFlight = new Semaphore(this.concurrentRequests);
+    } else {
+      exec = null;
+      inFlight = null;
+    }
   }
 
   @Override
@@ -39,39 +101,173 @@ public class NameUsageIndexer implements Consumer<List<NameUsageWrapper>> {
     index(batch);
   }
 
-
   private void index(List<NameUsageWrapper> batch) {
-    try {
-      BulkRequest.Builder br = new BulkRequest.Builder();
-      for (NameUsageWrapper doc : batch) {
-        br.operations(op -> op.index(i -> i
-          .index(index)
-          .document(doc)
-        ));
-        if (doc.getGroup() != null) {
-          taxGroups.add(doc.getGroup());
-        }
+    checkFailure();
+    for (NameUsageWrapper doc : batch) {
+      BinaryData data = serialize(doc);
+      if (!pending.isEmpty() && pendingBytes + data.size() > maxBulkBytes) {
+        send();
+      }
+      pending.add(data);
+      pendingBytes += data.size();
+      if (doc.getGroup() != null) {
+        taxGroups.add(doc.getGroup());
+      }
+    }
+    // synchronous mode never keeps documents between calls
+    if (exec == null && !pending.isEmpty()) {
+      send();
+    }
+  }
+
+  private BinaryData serialize(NameUsageWrapper doc) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(2048);
+    try (JsonGenerator gen = mapper.jsonProvider().createGenerator(out)) {
+      mapper.serialize(doc, gen);
+    }
+    return BinaryData.of(out.toByteArray(), ContentType.APPLICATION_JSON);
+  }
+
+  private void send() {
+    final List<BinaryData> docs = pending;
+    pending = new ArrayList<>();
+    pendingBytes = 0;
+    if (exec == null) {
+      sendBulk(docs);
+    } else {
+      try {
+        inFlight.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new EsException("Interrupted while waiting for bulk requests", e);
       }
-      sendBulk(br.build(), batch.size());
-    } catch (IOException e) {
-      throw new EsException(e);
+      checkFailureAndRelease();
+      exec.execute(() -> {
+        try {
+          sendBulk(docs);
+        } catch (Exception e) {
+          failure.compareAndSet(null, e);
+        } finally {
+          inFlight.release();
+        }
+      });
     }
   }
 
-  private void sendBulk(BulkRequest request, int batchSize) throws IOException {
-    BulkResponse response = client.bulk(request);
-    if (response.errors()) {
-      for (BulkResponseItem item : response.items()) {
-        if (item.error() != null) {
-          LOG.error("ES Bulk item error: {}", item.error().reason());
+  private void sendBulk(List<BinaryData> docs) {
+    long backoff = INITIAL_BACKOFF_MILLIS;
+    List<BinaryData> todo = docs;
+    for (int attempt = 0; attempt <= MAX_RETRIES; attempt++) {
+      if (attempt > 0) {
+        sleep(backoff);
+        backoff = Math.min(backoff * 2, TooManyRequestsException.WAIT_INTERVAL_MILLIS);
+      }
+      try {
+        BulkResponse response = client.bulk(buildRequest(todo));
+        List<BinaryData> rejected = new ArrayList<>();
+        if (response.errors()) {
+          int idx = 0;
+          for (BulkResponseItem item : response.items()) {
+            if (item.error() != null) {
+              if (item.status() == 429) {
+                rejected.add(todo.get(idx));
+              } else {
+                LOG.error("ES Bulk item error: {}", item.error().reason());
+              }
+            }
+            idx++;
+          }
+        }
+        indexed.addAndGet(todo.size() - rejected.size());
+        if (rejected.isEmpty()) {
+          return;
+        }
+        rejectedItems.addAndGet(rejected.size());
+        LOG.warn("{} of {} bulk items rejected by Elasticsearch. Waiting {}ms before retry {}", rejected.size(), todo.size(), backoff, attempt + 1);
+        todo = rejected;
+
+      } catch (ElasticsearchException e) {
+        if (e.status() != 429) {
+          throw new EsException(e);
         }
+        rejectedRequests.incrementAndGet();
+        LOG.warn("Bulk request with {} items rejected by Elasticsearch. Waiting {}ms before retry {}", todo.size(), backoff, attempt + 1);
+      } catch (IOException e) {
+        throw new EsException(e);
+      }
+    }
+    throw new TooManyRequestsException();
+  }
+
+  private BulkRequest buildRequest(List<BinaryData> docs) {
+    BulkRequest.Builder br = new BulkRequest.Builder();
+    for (BinaryData doc : docs) {
+      br.operations(BulkOperation.of(op -> op.index(i -> i
+        .index(index)
+        .document(doc)
+      )));
+    }
+    return br.build();
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new EsException("Interrupted while waiting for Elasticsearch", e);
+    }
+  }
+
+  private void checkFailureAndRelease() {
+    if (failure.get() != null) {
+      inFlight.release();
+      checkFailure();
+    }
+  }
+
+  private void checkFailure() {
+    Exception e = failure.get();
+    if (e != null) {
+      throw e instanceof RuntimeException ? (RuntimeException) e : new EsException(e);
+    }
+  }
+
+  /**
+   * Sends all buffered documents and waits for all bulk requests in flight to finish.
+   * @throws EsException if any bulk request failed
+   */
+  public void flush() {
+    if (!pending.isEmpty()) {
+      send();
+    }
+    if (exec != null) {
+      try {
+        inFlight.acquire(concurrentRequests);
+        inFlight.release(concurrentRequests);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new EsException("Interrupted while waiting for bulk requests", e);
+      }
+    }
+    checkFailure();
+  }
+
+  @Override
+  public void close() {
+    try {
+      flush();
+    } finally {
+      if (exec != null) {
+        exec.shutdown();
       }
     }
-    indexed += batchSize;
   }
 
   void reset() {
-    indexed = 0;
+    indexed.set(0);
+    rejectedRequests.set(0);
+    rejectedItems.set(0);
   }
 
   ElasticsearchClient getEsClient() {
@@ -83,7 +279,21 @@ public class NameUsageIndexer implements Consumer<List<NameUsageWrapper>> {
   }
 
   int documentsIndexed() {
-    return indexed;
+    return indexed.get();
+  }
+
+  /**
+   * @return number of entire bulk requests rejected with 429
+   */
+  int requestsRejected() {
+    return rejectedRequests.get();
+  }
+
+  /**
+   * @return number of single bulk items rejected with 429 in otherwise accepted bulk requests
+   */
+  int itemsRejected() {
+    return rejectedItems.get();
   }
 
   public Set<TaxGroup> getTaxGroups() {
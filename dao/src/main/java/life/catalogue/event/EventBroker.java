@@ -34,6 +34,7 @@ public class EventBroker implements AutoCloseable {
   private final List<UserListener> userListeners = new ArrayList<>();
   private final List<SectorListener> sectorListeners = new ArrayList<>();
   private final List<DatasetListener> datasetListeners = new ArrayList<>();
+  private final List<NameListener> nameListeners = new ArrayList<>();
   private final KryoHelper io;
   private final Thread polling;
   private final SingleChronicleQueue queue;
@@ -64,6 +65,9 @@ public class EventBroker implements AutoCloseable {
     if (listener instanceof SectorListener) {
       sectorListeners.add((SectorListener) listener);
     }
+    if (listener instanceof NameListener) {
+      nameListeners.add((NameListener) listener);
+    }
   }
 
   public void dumpQueue(Writer writer) {
@@ -185,6 +189,15 @@ public class EventBroker implements AutoCloseable {
             LOG.error("Failed to broker sector delete event: {}", event, e);
           }
         }
+      } else if (obj instanceof NamesChanged) {
+        NamesChanged event = (NamesChanged) obj;
+        for (NameListener l : nameListeners) {
+          try {
+            l.namesChanged(event);
+          } catch (Exception e) {
+            LOG.error("Failed to broker names change event for dataset {}", event.datasetKey, e);
+          }
+        }
       } else if (obj instanceof DoiChange) {
         DoiChange event = (DoiChange) obj;
         for (DoiListener l : doiListeners) {
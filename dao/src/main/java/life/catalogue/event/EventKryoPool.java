@@ -48,6 +48,7 @@ public class EventKryoPool extends Pool<Kryo> {
     kryo.register(DatasetDataChanged.class);
     kryo.register(DatasetLogoChanged.class);
     kryo.register(DeleteSector.class);
+    kryo.register(NamesChanged.class);
     kryo.register(UserChanged.class);
     kryo.register(UserPermissionChanged.class);
     kryo.register(EventType.class);
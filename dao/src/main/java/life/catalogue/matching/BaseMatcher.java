@@ -2,15 +2,33 @@ package life.catalogue.matching;
 
 import life.catalogue.api.model.Name;
 import life.catalogue.api.model.NameMatch;
+import life.catalogue.concurrent.NamedThreadFactory;
+import life.catalogue.db.InitDbUtils;
+import life.catalogue.db.mapper.ArchivedNameUsageMatchMapper;
 import life.catalogue.db.mapper.MatchMapper;
 import life.catalogue.matching.nidx.NameIndex;
+import life.catalogue.pgcopy.PgBinaryWriter;
+import life.catalogue.pgcopy.PgCopyUtils;
 
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
+import org.postgresql.jdbc.PgConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,10 +42,17 @@ public class BaseMatcher {
   protected int total = 0;
   protected int updated = 0;
   protected int nomatch = 0;
+  // number of matching threads, 1 matches and writes on the reading thread
+  protected final int threads;
 
   public BaseMatcher(SqlSessionFactory factory, NameIndex ni) {
+    this(factory, ni, 1);
+  }
+
+  public BaseMatcher(SqlSessionFactory factory, NameIndex ni, int threads) {
     this.factory = factory;
     this.ni = ni.assertOnline();
+    this.threads = threads;
   }
 
   public int getTotal() {
@@ -42,7 +67,29 @@ public class BaseMatcher {
     return nomatch;
   }
 
-  class BulkMatchHandler implements Consumer<Name>, AutoCloseable {
+  /**
+   * Consumes names to (re)match and persists the changed matches once closed at the latest.
+   */
+  interface MatchHandler extends Consumer<Name>, AutoCloseable {
+    /**
+     * @return keys of all datasets with changed matches
+     */
+    IntSet getDatasets();
+
+    @Override
+    void close() throws RuntimeException;
+  }
+
+  /**
+   * @return a handler matching with the configured number of threads
+   */
+  MatchHandler handler(boolean allowInserts, Class<? extends MatchMapper> mapperClass, boolean update) {
+    return threads > 1 ?
+      new PipelinedMatchHandler(allowInserts, mapperClass, threads) :
+      new BulkMatchHandler(allowInserts, mapperClass, update);
+  }
+
+  class BulkMatchHandler implements MatchHandler {
     private final boolean allowInserts;
     private final boolean update;
 
@@ -96,6 +143,7 @@ public class BaseMatcher {
       }
     }
 
+    @Override
     public IntSet getDatasets() {
       return datasets;
     }
@@ -111,4 +159,203 @@ public class BaseMatcher {
       nomatch += _nomatch;
     }
   }
+
+  private record Match(Name name, Integer nidx) {
+  }
+
+  /**
+   * Matches names with a pipeline of three stages, each on its own threads: the caller reading the names,
+   * several workers matching them against the names index, and a single writer persisting the changed
+   * matches in large batches. The writer copies the matches into a temporary staging table and merges them
+   * into the match table with a single upsert per batch, so it works the same for new and existing matches.
+   *
+   * <p>Throughput of every stage is recorded in {@link MatchingMetrics}.
+   */
+  class PipelinedMatchHandler implements MatchHandler {
+    private static final int BATCH_SIZE = 1000;
+    private static final int FLUSH_SIZE = 50_000;
+    private final List<Name> namesEnd = new ArrayList<>();
+    private final List<Match> matchesEnd = new ArrayList<>();
+
+    private final boolean allowInserts;
+    private final boolean archive;
+    private final int workers;
+    private final BlockingQueue<List<Name>> names;
+    private final BlockingQueue<List<Match>> matches;
+    private final ExecutorService exec;
+    private final List<Future<?>> matchers = new ArrayList<>();
+    private final Future<?> writer;
+    private List<Name> batch = new ArrayList<>(BATCH_SIZE);
+    private final AtomicInteger _total = new AtomicInteger();
+    private final AtomicInteger _updated = new AtomicInteger();
+    private final AtomicInteger _nomatch = new AtomicInteger();
+    private final IntSet datasets = new IntOpenHashSet();
+
+    PipelinedMatchHandler(boolean allowInserts, Class<? extends MatchMapper> mapperClass, int workers) {
+      this.allowInserts = allowInserts;
+      this.archive = ArchivedNameUsageMatchMapper.class.equals(mapperClass);
+      this.workers = workers;
+      this.names = new ArrayBlockingQueue<>(workers * 2);
+      this.matches = new ArrayBlockingQueue<>(workers * 2);
+      this.exec = Executors.newFixedThreadPool(workers + 1, new NamedThreadFactory("rematch-worker"));
+      for (int i = 0; i < workers; i++) {
+        matchers.add(exec.submit(this::matchNames));
+      }
+      writer = exec.submit(this::writeMatches);
+    }
+
+    @Override
+    public void accept(Name n) {
+      batch.add(n);
+      MatchingMetrics.REMATCH_READ.mark();
+      if (batch.size() == BATCH_SIZE) {
+        put(names, batch);
+        batch = new ArrayList<>(BATCH_SIZE);
+      }
+    }
+
+    private Void matchNames() throws InterruptedException {
+      while (true) {
+        var ns = names.take();
+        if (ns == namesEnd) return null;
+        List<Match> changed = new ArrayList<>();
+        for (Name n : ns) {
+          NameMatch m = ni.match(n, allowInserts, false);
+          if (!m.isMatched()) {
+            _nomatch.incrementAndGet();
+            LOG.debug("No match for {} from dataset {}", n.toStringComplete(), n.getDatasetKey());
+          }
+          if (!Objects.equals(n.getNamesIndexId(), m.getNidx())) {
+            changed.add(new Match(n, m.getNidx()));
+          }
+        }
+        _total.addAndGet(ns.size());
+        MatchingMetrics.REMATCH_MATCHED.mark(ns.size());
+        if (!changed.isEmpty()) {
+          put(matches, changed);
+        }
+      }
+    }
+
+    private Void writeMatches() throws InterruptedException, IOException, SQLException {
+      try (SqlSession session = factory.openSession(false)) {
+        var con = InitDbUtils.toPgConnection(session.getConnection());
+        try (var st = con.createStatement()) {
+          st.execute(archive ?
+            "CREATE TEMP TABLE IF NOT EXISTS rematch_archive_staging (dataset_key INTEGER, index_id INTEGER, usage_id TEXT) ON COMMIT DELETE ROWS" :
+            "CREATE TEMP TABLE IF NOT EXISTS rematch_staging (dataset_key INTEGER, sector_key INTEGER, index_id INTEGER, name_id TEXT) ON COMMIT DELETE ROWS"
+          );
+        }
+        con.commit();
+        List<Match> pending = new ArrayList<>();
+        while (true) {
+          var ms = matches.take();
+          if (ms != matchesEnd) {
+            pending.addAll(ms);
+          }
+          if (ms == matchesEnd || pending.size() >= FLUSH_SIZE) {
+            if (!pending.isEmpty()) {
+              flush(con, pending);
+              pending.clear();
+            }
+            if (ms == matchesEnd) return null;
+          }
+        }
+      }
+    }
+
+    private void flush(PgConnection con, List<Match> pending) throws IOException, SQLException {
+      try (var ctx = MatchingMetrics.REMATCH_FLUSH.time()) {
+        if (archive) {
+          try (PgBinaryWriter w = PgCopyUtils.binaryWriter(con, "rematch_archive_staging", List.of("dataset_key", "index_id", "usage_id"))) {
+            for (var m : pending) {
+              w.startRow(3);
+              w.writeInteger(m.name().getDatasetKey());
+              w.writeInteger(m.nidx());
+              w.writeString(m.name().getId());
+            }
+          }
+        } else {
+          try (PgBinaryWriter w = PgCopyUtils.binaryWriter(con, "rematch_staging", List.of("dataset_key", "sector_key", "index_id", "name_id"))) {
+            for (var m : pending) {
+              w.startRow(4);
+              w.writeInteger(m.name().getDatasetKey());
+              w.writeInteger(m.name().getSectorKey());
+              w.writeInteger(m.nidx());
+              w.writeString(m.name().getId());
+            }
+          }
+        }
+        try (var st = con.createStatement()) {
+          st.executeUpdate(archive ?
+            "INSERT INTO name_usage_archive_match (dataset_key, index_id, usage_id) " +
+              "SELECT dataset_key, index_id, usage_id FROM rematch_archive_staging " +
+              "ON CONFLICT (dataset_key, usage_id) DO UPDATE SET index_id = EXCLUDED.index_id" :
+            "INSERT INTO name_match (dataset_key, sector_key, index_id, name_id) " +
+              "SELECT dataset_key, sector_key, index_id, name_id FROM rematch_staging " +
+              "ON CONFLICT (dataset_key, name_id) DO UPDATE SET index_id = EXCLUDED.index_id"
+          );
+        }
+        con.commit(); // also empties the staging table
+      }
+      for (var m : pending) {
+        datasets.add(m.name().getDatasetKey());
+      }
+      _updated.addAndGet(pending.size());
+      MatchingMetrics.REMATCH_WRITTEN.mark(pending.size());
+      LOG.debug("Updated {} name matches for {} names with {} no matches", _updated, _total, _nomatch);
+    }
+
+    /**
+     * Hands a batch to the next stage, rethrowing the failure of any stage instead of waiting forever
+     * for a queue nobody drains anymore.
+     */
+    private <T> void put(BlockingQueue<T> queue, T item) {
+      try {
+        while (!queue.offer(item, 1, TimeUnit.SECONDS)) {
+          for (var f : matchers) {
+            if (f.isDone()) f.get();
+          }
+          if (writer.isDone()) writer.get();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted rematching names", e);
+      } catch (ExecutionException e) {
+        throw new RuntimeException("Failed to rematch names", e.getCause());
+      }
+    }
+
+    @Override
+    public IntSet getDatasets() {
+      return datasets;
+    }
+
+    @Override
+    public void close() throws RuntimeException {
+      try {
+        if (!batch.isEmpty()) {
+          put(names, batch);
+        }
+        for (int i = 0; i < workers; i++) {
+          put(names, namesEnd);
+        }
+        for (var f : matchers) {
+          f.get();
+        }
+        put(matches, matchesEnd);
+        writer.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted rematching names", e);
+      } catch (ExecutionException e) {
+        throw new RuntimeException("Failed to rematch names", e.getCause());
+      } finally {
+        exec.shutdownNow();
+        total += _total.get();
+        updated += _updated.get();
+        nomatch += _nomatch.get();
+      }
+    }
+  }
 }
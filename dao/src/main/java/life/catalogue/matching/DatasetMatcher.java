@@ -21,6 +21,7 @@ import org.slf4j.LoggerFactory;
 /**
  * Rematches entire datasets, using 2 separate db connections for read & write
  * In case of projects being matched it will also match any archived name usages.
+ * With more than one thread names are matched by a pipeline of reader, matching workers and a bulk writer.
  */
 public class DatasetMatcher extends BaseMatcher {
   private static final Logger LOG = LoggerFactory.getLogger(DatasetMatcher.class);
@@ -29,7 +30,14 @@ public class DatasetMatcher extends BaseMatcher {
   private int datasets = 0;
 
   public DatasetMatcher(SqlSessionFactory factory, NameIndex ni, @Nullable EventBroker bus) {
-    super(factory, ni);
+    this(factory, ni, bus, 1);
+  }
+
+  /**
+   * @param threads number of threads matching names, 1 matches on the reading thread
+   */
+  public DatasetMatcher(SqlSessionFactory factory, NameIndex ni, @Nullable EventBroker bus, int threads) {
+    super(factory, ni, threads);
     this.bus = bus;
   }
 
@@ -57,7 +65,7 @@ public class DatasetMatcher extends BaseMatcher {
         final boolean isProject = DatasetInfoCache.CACHE.info(datasetKey).origin == DatasetOrigin.PROJECT;
         LOG.info("{} {}name matches for {}{}", doUpdate ? "Update" : "Create", onlyMissingMatches?"missing ":"", isProject ? "project " : "", datasetKey);
 
-        try (BulkMatchHandler hn = new BulkMatchHandler(allowInserts, NameMatchMapper.class, doUpdate)) {
+        try (MatchHandler hn = handler(allowInserts, NameMatchMapper.class, doUpdate)) {
           PgUtils.consume(() -> onlyMissingMatches ?
             nm.processDatasetWithoutMatches(datasetKey) :
             nm.processDataset(datasetKey), hn
@@ -69,7 +77,7 @@ public class DatasetMatcher extends BaseMatcher {
           ArchivedNameUsageMapper anum = readOnlySession.getMapper(ArchivedNameUsageMapper.class);
           LOG.info("{} {}name archive matches for project {}", doUpdate ? "Update" : "Create", onlyMissingMatches?"missing ":"", datasetKey);
           final int totalBeforeArchive = total;
-          try (BulkMatchHandler hu = new BulkMatchHandler(allowInserts, ArchivedNameUsageMatchMapper.class, true)) {
+          try (MatchHandler hu = handler(allowInserts, ArchivedNameUsageMatchMapper.class, true)) {
             PgUtils.consume(() -> anum.processArchivedNames(datasetKey, onlyMissingMatches), hu);
           }
           archived = archived + total - totalBeforeArchive;
@@ -24,8 +24,15 @@ import org.slf4j.LoggerFactory;
 public class GlobalMatcherJob extends GlobalBlockingJob {
   private final GlobalMatcher gm;
   public GlobalMatcherJob(int userKey, SqlSessionFactory factory, NameIndex ni, EventBroker bus) {
+    this(userKey, factory, ni, bus, 1);
+  }
+
+  /**
+   * @param threads number of threads matching names, 1 matches on the reading thread
+   */
+  public GlobalMatcherJob(int userKey, SqlSessionFactory factory, NameIndex ni, EventBroker bus, int threads) {
     super(userKey, JobPriority.HIGH);
-    this.gm = new GlobalMatcher(factory, ni, bus, userKey);
+    this.gm = new GlobalMatcher(factory, ni, bus, userKey, threads);
   }
 
   @Override
@@ -38,8 +45,8 @@ public class GlobalMatcherJob extends GlobalBlockingJob {
     private final EventBroker bus;
     private final int userKey;
 
-    GlobalMatcher(SqlSessionFactory factory, NameIndex ni, @Nullable EventBroker bus, int userKey) {
-      super(factory, ni);
+    GlobalMatcher(SqlSessionFactory factory, NameIndex ni, @Nullable EventBroker bus, int userKey, int threads) {
+      super(factory, ni, threads);
       this.bus = bus;
       this.userKey = userKey;
     }
@@ -48,7 +55,7 @@ public class GlobalMatcherJob extends GlobalBlockingJob {
     public void run() throws RuntimeException {
       LOG.info("Create missing name matches for all datasets");
       try (SqlSession readOnlySession = factory.openSession(true);
-           BulkMatchHandler hn = new BulkMatchHandler(true, NameMatchMapper.class, false);
+           MatchHandler hn = handler(true, NameMatchMapper.class, false);
       ) {
         var mapper = readOnlySession.getMapper(NameMapper.class);
         PgUtils.consume(() -> mapper.processDatasetWithoutMatches(null), hn);
@@ -65,7 +72,7 @@ public class GlobalMatcherJob extends GlobalBlockingJob {
 
       LOG.info("Create missing archived name matches for all project");
       try (SqlSession readOnlySession = factory.openSession(true);
-           BulkMatchHandler hn = new BulkMatchHandler(true, ArchivedNameUsageMatchMapper.class, false);
+           MatchHandler hn = handler(true, ArchivedNameUsageMatchMapper.class, false);
       ) {
         total = 0;
         nomatch = 0;
@@ -0,0 +1,134 @@
+package life.catalogue.matching;
+
+import life.catalogue.api.event.NameListener;
+import life.catalogue.api.event.NamesChanged;
+import life.catalogue.api.model.Name;
+import life.catalogue.concurrent.NamedThreadFactory;
+import life.catalogue.db.mapper.NameMapper;
+import life.catalogue.db.mapper.NameMatchMapper;
+import life.catalogue.matching.nidx.NameIndex;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps name matches up to date without rematching entire datasets.
+ * It listens to {@link NamesChanged} events, remembers the ids of the changed names per dataset
+ * and rematches only those names in small batches at a fixed delay.
+ * Names changed several times before the next run are only matched once,
+ * names deleted in the meantime are silently skipped.
+ *
+ * Names created or updated through the NameDao are matched right away and do not need to be reported.
+ */
+public class IncrementalMatcher implements NameListener, AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(IncrementalMatcher.class);
+  static final int BATCH_SIZE = 500;
+  private final SqlSessionFactory factory;
+  private final NameIndex ni;
+  private final Map<Integer, Set<String>> dirty = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler;
+
+  /**
+   * @param delay seconds between two runs matching the names changed in the meantime
+   */
+  public IncrementalMatcher(SqlSessionFactory factory, NameIndex ni, int delay) {
+    this.factory = factory;
+    this.ni = ni;
+    LOG.info("Start incremental name matching every {} seconds", delay);
+    this.scheduler = Executors.newScheduledThreadPool(1,
+      new NamedThreadFactory("incremental-matcher", Thread.NORM_PRIORITY, true)
+    );
+    scheduler.scheduleWithFixedDelay(this::run, delay, delay, TimeUnit.SECONDS);
+  }
+
+  @Override
+  public void namesChanged(NamesChanged event) {
+    if (event.nameIds != null && !event.nameIds.isEmpty()) {
+      dirty.computeIfAbsent(event.datasetKey, k -> ConcurrentHashMap.newKeySet()).addAll(event.nameIds);
+      LOG.debug("{} changed names in dataset {} queued for rematching", event.nameIds.size(), event.datasetKey);
+    }
+  }
+
+  /**
+   * @return number of changed names waiting to be rematched
+   */
+  public int pending() {
+    return dirty.values().stream().mapToInt(Set::size).sum();
+  }
+
+  private void run() {
+    try {
+      matchPending();
+    } catch (Exception e) {
+      LOG.error("Failed to rematch changed names", e);
+    }
+  }
+
+  /**
+   * Rematches all names reported as changed so far.
+   * Nothing is done while the names index is not started, the names are kept for the next run.
+   */
+  public synchronized void matchPending() {
+    if (!ni.hasStarted()) {
+      LOG.debug("Names index offline, keep {} changed names for later", pending());
+      return;
+    }
+    for (Integer datasetKey : new ArrayList<>(dirty.keySet())) {
+      var ids = dirty.remove(datasetKey);
+      if (ids != null && !ids.isEmpty()) {
+        try {
+          match(datasetKey, ids);
+        } catch (RuntimeException e) {
+          // keep the names for the next run
+          dirty.computeIfAbsent(datasetKey, k -> ConcurrentHashMap.newKeySet()).addAll(ids);
+          throw e;
+        }
+      }
+    }
+  }
+
+  /**
+   * Rematches the given names of a dataset, creating missing and updating changed match records.
+   */
+  public synchronized void match(int datasetKey, Collection<String> nameIds) {
+    final var matcher = new BaseMatcher(factory, ni);
+    try (SqlSession session = factory.openSession(true);
+         var hn = matcher.new BulkMatchHandler(true, NameMatchMapper.class, true)
+    ) {
+      NameMapper nm = session.getMapper(NameMapper.class);
+      Set<String> batch = new HashSet<>();
+      for (String id : nameIds) {
+        batch.add(id);
+        if (batch.size() >= BATCH_SIZE) {
+          matchBatch(nm, datasetKey, batch, hn);
+        }
+      }
+      matchBatch(nm, datasetKey, batch, hn);
+    }
+    LOG.info("Rematched {} changed names from dataset {}, updating {} name matches with {} not matching",
+      matcher.getTotal(), datasetKey, matcher.getUpdated(), matcher.getNomatch());
+  }
+
+  private static void matchBatch(NameMapper nm, int datasetKey, Set<String> batch, BaseMatcher.MatchHandler hn) {
+    if (!batch.isEmpty()) {
+      for (Name n : nm.listByIds(datasetKey, batch)) {
+        hn.accept(n);
+      }
+      batch.clear();
+    }
+  }
+
+  @Override
+  public void close() {
+    LOG.info("Stop incremental name matching with {} changed names pending", pending());
+    scheduler.shutdown();
+  }
+}
@@ -0,0 +1,96 @@
+package life.catalogue.matching;
+
+import life.catalogue.api.vocab.MatchType;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+/**
+ * Metrics of the matching hot paths, shared by all names indices, usage matchers and matcher stores of a JVM.
+ * They are recorded at all times, but only show up in the admin metrics once {@link #register(MetricRegistry)}
+ * was called, just like the timer of the name parser.
+ */
+public class MatchingMetrics {
+  private static final String PREFIX = "life.catalogue.matching";
+  private static final Map<MatchType, Timer> MATCH = new EnumMap<>(MatchType.class);
+  static {
+    for (MatchType t : MatchType.values()) {
+      MATCH.put(t, new Timer());
+    }
+  }
+  /**
+   * Number of candidates a single usage match had to look at, i.e. the usages of its canonical names index bucket
+   * that are left after the store side bare name and rank filter. Verbose matches skip that filter and record the entire bucket.
+   */
+  public static final Histogram FILTERED_CANDIDATES = new Histogram(new ExponentiallyDecayingReservoir());
+  /** Names index lookups, including inserts of new names. */
+  public static final Timer NIDX_MATCH = new Timer();
+  /** New canonical names added to the names index. */
+  public static final Meter NIDX_INSERTS = new Meter();
+  /** Inserts that found their insert lock taken by another thread. */
+  public static final Meter NIDX_INSERT_CONTENTION = new Meter();
+  /** Time spent waiting for a contended insert lock. */
+  public static final Timer NIDX_INSERT_LOCK_WAIT = new Timer();
+  /** Opening a sealed matcher store from disk. */
+  public static final Timer STORE_OPEN = new Timer();
+  /** Building a matcher store, from the first usage loaded until it is sealed. */
+  public static final Timer STORE_BUILD = new Timer();
+  /** Names read by a pipelined rematch. */
+  public static final Meter REMATCH_READ = new Meter();
+  /** Names matched by the workers of a pipelined rematch. */
+  public static final Meter REMATCH_MATCHED = new Meter();
+  /** Changed name matches written by a pipelined rematch. */
+  public static final Meter REMATCH_WRITTEN = new Meter();
+  /** Copying and merging a batch of changed name matches. */
+  public static final Timer REMATCH_FLUSH = new Timer();
+
+  private MatchingMetrics() {
+  }
+
+  /**
+   * Records the latency of a usage match by the type of its result.
+   * @param type the match type, null counts as NONE
+   */
+  public static void matched(MatchType type, long nanos) {
+    MATCH.get(type == null ? MatchType.NONE : type).update(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  private static Map<String, Metric> metrics() {
+    Map<String, Metric> metrics = new LinkedHashMap<>();
+    for (var e : MATCH.entrySet()) {
+      metrics.put(MetricRegistry.name(PREFIX, "usage", "match", e.getKey().name().toLowerCase()), e.getValue());
+    }
+    metrics.put(MetricRegistry.name(PREFIX, "usage", "filteredCandidates"), FILTERED_CANDIDATES);
+    metrics.put(MetricRegistry.name(PREFIX, "nidx", "match"), NIDX_MATCH);
+    metrics.put(MetricRegistry.name(PREFIX, "nidx", "inserts"), NIDX_INSERTS);
+    metrics.put(MetricRegistry.name(PREFIX, "nidx", "insertContention"), NIDX_INSERT_CONTENTION);
+    metrics.put(MetricRegistry.name(PREFIX, "nidx", "insertLockWait"), NIDX_INSERT_LOCK_WAIT);
+    metrics.put(MetricRegistry.name(PREFIX, "store", "open"), STORE_OPEN);
+    metrics.put(MetricRegistry.name(PREFIX, "store", "build"), STORE_BUILD);
+    metrics.put(MetricRegistry.name(PREFIX, "rematch", "read"), REMATCH_READ);
+    metrics.put(MetricRegistry.name(PREFIX, "rematch", "matched"), REMATCH_MATCHED);
+    metrics.put(MetricRegistry.name(PREFIX, "rematch", "written"), REMATCH_WRITTEN);
+    metrics.put(MetricRegistry.name(PREFIX, "rematch", "flush"), REMATCH_FLUSH);
+    return metrics;
+  }
+
+  /**
+   * Exposes all matching metrics in the given registry. Metrics already registered under the same name are kept.
+   */
+  public static synchronized void register(MetricRegistry registry) {
+    for (var e : metrics().entrySet()) {
+      if (!registry.getNames().contains(e.getKey())) {
+        registry.register(e.getKey(), e.getValue());
+      }
+    }
+  }
+}
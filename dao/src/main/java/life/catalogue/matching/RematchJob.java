@@ -23,6 +23,7 @@ public class RematchJob extends BackgroundJob {
   private final EventBroker bus;
   @JsonProperty
   private final boolean missingOnly;
+  private final int threads;
 
   @JsonProperty
   private final int[] datasetKeys;
@@ -30,11 +31,18 @@ public class RematchJob extends BackgroundJob {
   private final List<? extends DSID<Integer>> sectorKeys;
 
   public static RematchJob one(int userKey, SqlSessionFactory factory, NameIndex ni, EventBroker bus, boolean missingOnly, int datasetKey){
-    return new RematchJob(userKey, factory, ni, bus, missingOnly, datasetKey);
+    return new RematchJob(userKey, factory, ni, bus, missingOnly, 1, datasetKey);
   }
 
   public static RematchJob some(int userKey, SqlSessionFactory factory, NameIndex ni, EventBroker bus, boolean missingOnly, int... datasetKeys){
-    return new RematchJob(userKey, factory, ni, bus, missingOnly, datasetKeys);
+    return new RematchJob(userKey, factory, ni, bus, missingOnly, 1, datasetKeys);
+  }
+
+  /**
+   * @param threads number of threads matching names, 1 matches on the reading thread
+   */
+  public static RematchJob some(int userKey, SqlSessionFactory factory, NameIndex ni, EventBroker bus, boolean missingOnly, int threads, int[] datasetKeys){
+    return new RematchJob(userKey, factory, ni, bus, missingOnly, threads, datasetKeys);
   }
 
   public static RematchJob sector(int userKey, SqlSessionFactory factory, NameIndex ni, List<? extends DSID<Integer>> sectorKeys){
@@ -50,9 +58,10 @@ public class RematchJob extends BackgroundJob {
     this.ni = ni.assertOnline();
     this.logToFile = true;
     this.missingOnly = false; // not supported for sectors
+    this.threads = 1;
   }
 
-  private RematchJob(int userKey, SqlSessionFactory factory, NameIndex ni, EventBroker bus, boolean missingOnly, int... datasetKeys) {
+  private RematchJob(int userKey, SqlSessionFactory factory, NameIndex ni, EventBroker bus, boolean missingOnly, int threads, int... datasetKeys) {
     super(userKey);
     this.bus = bus;
     this.datasetKeys = Preconditions.checkNotNull(datasetKeys);
@@ -60,6 +69,7 @@ public class RematchJob extends BackgroundJob {
     this.factory = factory;
     this.ni = ni.assertOnline();
     this.missingOnly = missingOnly;
+    this.threads = threads;
   }
 
   @Override
@@ -85,7 +95,7 @@ public class RematchJob extends BackgroundJob {
   void matchDatasets() {
     LOG.info("Rematching {}{} datasets with data. Triggered by {}", missingOnly ? "missing names from ":"", datasetKeys.length, getUserKey());
 
-    DatasetMatcher matcher = new DatasetMatcher(factory, ni, bus);
+    DatasetMatcher matcher = new DatasetMatcher(factory, ni, bus, threads);
     for (int key : datasetKeys) {
       matcher.match(key, true, missingOnly, getUserKey());
     }
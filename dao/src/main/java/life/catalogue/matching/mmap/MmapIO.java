@@ -18,7 +18,8 @@ import java.nio.channels.FileChannel;
 import java.nio.file.StandardOpenOption;
 
 /**
- * Little endian primitives shared by the memory mapped matcher store files.
+ * Little endian primitives shared by the memory mapped matcher store files and the append only record store
+ * behind the memory mapped caches.
  *
  * <p>All files are written and read little endian regardless of the host, so an index built on one
  * machine can be shipped to another - which is exactly what {@code MatchingServerBuildCmd} does.
@@ -127,6 +128,11 @@ public final class MmapIO {
       written += b.length;
     }
 
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      written += len;
+    }
+
     public long written() {
       return written;
     }
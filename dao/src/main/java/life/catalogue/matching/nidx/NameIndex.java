@@ -8,6 +8,8 @@ import life.catalogue.api.model.SimpleName;
 import life.catalogue.common.Managed;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import life.catalogue.parser.NameParser;
 
@@ -33,6 +35,20 @@ public interface NameIndex extends Managed, AutoCloseable {
    */
   NameMatch match(Name name, boolean allowInserts, boolean verbose);
 
+  /**
+   * Matches a batch of parsed names against the names index.
+   * Implementations can share work across the batch, e.g. look up names with the same canonical name only once.
+   *
+   * @return matches in the same order as the given names, never null
+   */
+  default List<NameMatch> matchAll(List<Name> names, boolean allowInserts, boolean verbose) {
+    List<NameMatch> matches = new ArrayList<>(names.size());
+    for (Name n : names) {
+      matches.add(match(n, allowInserts, verbose));
+    }
+    return matches;
+  }
+
   /**
    * Parses and matches a simple name against the names index.
    */
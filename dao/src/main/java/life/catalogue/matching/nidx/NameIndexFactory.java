@@ -120,7 +120,7 @@ public class NameIndexFactory {
    */
   public static NameIndexImpl build(NamesIndexConfig cfg, SqlSessionFactory sqlFactory, AuthorshipNormalizer aNormalizer) {
     NameIndexStore store = buildStore(cfg);
-    return new NameIndexImpl(store, aNormalizer, sqlFactory);
+    return new NameIndexImpl(store, aNormalizer, sqlFactory, cfg.insertStripes, cfg.idBlockSize);
   }
 
   private static NameIndexStore buildStore(NamesIndexConfig cfg) {
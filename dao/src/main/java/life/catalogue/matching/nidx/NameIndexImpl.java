@@ -10,6 +10,7 @@ import life.catalogue.db.EmptySqlSessionFactory;
 import life.catalogue.db.PgUtils;
 import life.catalogue.db.mapper.*;
 import life.catalogue.matching.MatchingException;
+import life.catalogue.matching.MatchingMetrics;
 import life.catalogue.matching.authorship.AuthorComparator;
 
 
@@ -17,16 +18,22 @@ import org.gbif.nameparser.api.NameType;
 import org.gbif.nameparser.util.UnicodeUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.Lock;
 
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.codahale.metrics.Timer;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Striped;
 
 import javax.annotation.Nullable;
 
@@ -37,6 +44,10 @@ import javax.annotation.Nullable;
  * name (see {@link #key}). A match therefore resolves to the bucket's nidx if present, or - when
  * inserts are allowed - assigns a fresh canonical entry on a miss. Authorship and rank are never
  * stored; homonym separation and EXACT/VARIANT classification live in the usage-match layer.
+ *
+ * Inserts are guarded by locks striped over the normalized key, so concurrent imports only wait for each other
+ * when they add names falling into the same stripe. New ids are drawn from blocks pre-allocated from the postgres
+ * sequence, saving the sequence round trip for all but one insert per block.
  */
 public class NameIndexImpl implements NameIndex {
   private static final Logger LOG = LoggerFactory.getLogger(NameIndexImpl.class);
@@ -54,13 +65,29 @@ public class NameIndexImpl implements NameIndex {
   private final SqlSessionFactory sqlFactory;
   private final boolean hasPg;
   private final AtomicInteger keyGen = new AtomicInteger(0); // only used when we have no database
-  private final ReentrantLock insertLock = new ReentrantLock();
+  private final Striped<Lock> insertLocks;
+  private final int idBlockSize;
+  // pre-allocated ids not yet used, guarded by this
+  private List<Integer> idBlock = List.of();
+  private int idBlockPos = 0;
+
   /**
    * @param sqlFactory sql session factory to talk to the data store backend if needed for inserts or initial loading
    * @throws IllegalStateException when db is in a bad state
    */
   public NameIndexImpl(NameIndexStore store, AuthorshipNormalizer normalizer, @Nullable SqlSessionFactory sqlFactory) {
+    this(store, normalizer, sqlFactory, NamesIndexConfig.DEFAULT_INSERT_STRIPES, NamesIndexConfig.DEFAULT_ID_BLOCK_SIZE);
+  }
+
+  /**
+   * @param insertStripes number of locks inserts are striped over
+   * @param idBlockSize number of ids to pre-allocate from the postgres sequence at once
+   */
+  public NameIndexImpl(NameIndexStore store, AuthorshipNormalizer normalizer, @Nullable SqlSessionFactory sqlFactory,
+                       int insertStripes, int idBlockSize) {
     this.store = store;
+    this.insertLocks = Striped.lock(insertStripes);
+    this.idBlockSize = Math.max(1, idBlockSize);
     this.authComp = new AuthorComparator(normalizer);
     hasPg = sqlFactory != null;
     if (sqlFactory == null) {
@@ -93,17 +120,43 @@ public class NameIndexImpl implements NameIndex {
 
   @Override
   public NameMatch match(Name name, boolean allowInserts, boolean verbose) throws MatchingException {
-    try {
+    return match(name, allowInserts, null);
+  }
+
+  /**
+   * Matches all names, looking up and inserting each normalized key only once per batch.
+   * Names that are not eligable for inserts still only match if their key exists,
+   * exactly as if they had been matched one by one in the given order.
+   */
+  @Override
+  public List<NameMatch> matchAll(List<Name> names, boolean allowInserts, boolean verbose) throws MatchingException {
+    final Map<String, Integer> byKey = new HashMap<>();
+    final List<NameMatch> matches = new ArrayList<>(names.size());
+    for (Name n : names) {
+      matches.add(match(n, allowInserts, byKey));
+    }
+    return matches;
+  }
+
+  /**
+   * @param byKey optional nidx of the current batch by their normalized key, 0 for keys not in the index
+   */
+  private NameMatch match(Name name, boolean allowInserts, @Nullable Map<String, Integer> byKey) throws MatchingException {
+    try (Timer.Context ctx = MatchingMetrics.NIDX_MATCH.time()) {
       // make sure we have a rank so the canonical name is built consistently
       if (name.getRank() == null) {
         name.setRank(ScientificName.CANONICAL_RANK);
       }
       final String key = key(name);
-      int nidx = store.get(key);
+      Integer cached = byKey == null ? null : byKey.get(key);
+      int nidx = cached == null ? store.get(key) : cached;
       NameMatch m = nidx > 0 ? NameMatch.match(nidx) : NameMatch.noMatch();
       if (allowInserts && !m.isMatched() && eligable(name)) {
         m = tryToAdd(name, key);
       }
+      if (byKey != null) {
+        byKey.put(key, m.isMatched() ? m.getNidx() : 0);
+      }
       LOG.debug("Matched {} => {}", name.getLabel(), m);
       return m;
 
@@ -144,6 +197,8 @@ public class NameIndexImpl implements NameIndex {
         LOG.warn("Truncating the names index postgres table");
         session.getMapper(NamesIndexMapper.class).truncate();
       }
+      // the truncate restarts the sequence
+      discardIdBlock();
     }
   }
 
@@ -158,7 +213,7 @@ public class NameIndexImpl implements NameIndex {
   }
 
   /**
-   * We synchronize this method to only ever allow one write at a time to avoid duplicates.
+   * We lock the stripe of the normalized key to only ever allow one write per key at a time to avoid duplicates.
    * As we do allow concurrent reads through the main match method
    * we can get parallel queries for the exact same name not previously existing, especially when rebuilding the index concurrently.
    * As these concurrent reads would all result in no matches which would subsequently becomes writes,
@@ -167,7 +222,13 @@ public class NameIndexImpl implements NameIndex {
    * This method assumes the name is well formatted and tested to be eligable to be inserted
    */
   private NameMatch tryToAdd(Name orig, String key) {
-    insertLock.lock();
+    final Lock insertLock = insertLocks.get(key);
+    if (!insertLock.tryLock()) {
+      MatchingMetrics.NIDX_INSERT_CONTENTION.mark();
+      try (Timer.Context ctx = MatchingMetrics.NIDX_INSERT_LOCK_WAIT.time()) {
+        insertLock.lock();
+      }
+    }
     try {
       // re-check under the lock: another thread on this same JVM may have inserted it in the meantime
       int nidx = store.get(key);
@@ -184,11 +245,11 @@ public class NameIndexImpl implements NameIndex {
 
   /**
    * Inserts a fresh canonical entry for the given name and returns its assigned nidx.
-   * With postgres this is an atomic assign-on-miss: {@link NamesIndexMapper#createOnConflict} inserts a
-   * new row and sets its generated key, or - if a concurrent rebuild already inserted the same normalized
-   * bucket - inserts nothing (leaving key null) so we fall back to the existing winner via
-   * {@link NamesIndexMapper#getKeyByNormalized}. This is the only safeguard against duplicate rows across
-   * independent index instances sharing one postgres; the JVM-local insertLock only guards a single one.
+   * With postgres this is an atomic assign-on-miss: {@link NamesIndexMapper#createWithKey} inserts a
+   * new row with a pre-allocated key, or - if a concurrent rebuild already inserted the same normalized
+   * bucket - inserts nothing so we fall back to the existing winner via {@link NamesIndexMapper#getKeyByNormalized}
+   * and the pre-allocated key stays unused. This is the only safeguard against duplicate rows across
+   * independent index instances sharing one postgres; the JVM-local insert locks only guard a single one.
    */
   private int createCanonical(Name orig, String key) {
     // build the canonical (rankless, authorless) carrier to hand to the mapper insert
@@ -197,10 +258,25 @@ public class NameIndexImpl implements NameIndex {
     if (hasPg) {
       try (SqlSession s = sqlFactory.openSession()) {
         NamesIndexMapper nim = s.getMapper(NamesIndexMapper.class);
-        cn.setKey(null);
-        nim.createOnConflict(cn);
-        if (cn.getKey() == null) {
-          cn.setKey(nim.getKeyByNormalized(key));
+        cn.setKey(nextKey(nim));
+        if (nim.createWithKey(cn) == 0) {
+          Integer existing = nim.getKeyByNormalized(key);
+          if (existing == null) {
+            // the key itself clashed, the sequence must have been reset since we allocated the block
+            LOG.warn("Pre-allocated names index id {} already exists. Discard id block", cn.getKey());
+            discardIdBlock();
+            cn.setKey(nextKey(nim));
+            if (nim.createWithKey(cn) == 0) {
+              existing = nim.getKeyByNormalized(key);
+              if (existing == null) {
+                throw new IllegalStateException("Failed to insert names index entry for " + key + " with fresh id " + cn.getKey()
+                  + ": the id exists already, but no entry for the normalized name does. Check the names index id sequence");
+              }
+              cn.setKey(existing);
+            }
+          } else {
+            cn.setKey(existing);
+          }
         }
         s.commit();
       }
@@ -209,9 +285,27 @@ public class NameIndexImpl implements NameIndex {
       id = keyGen.incrementAndGet();
     }
     store.add(key, id);
+    MatchingMetrics.NIDX_INSERTS.mark();
     return id;
   }
 
+  /**
+   * @return the next unused id of the current block, allocating a new block from the postgres sequence if needed
+   */
+  private synchronized int nextKey(NamesIndexMapper nim) {
+    if (idBlockPos >= idBlock.size()) {
+      idBlock = nim.nextKeys(idBlockSize);
+      idBlockPos = 0;
+      LOG.debug("Allocated {} new names index ids starting with {}", idBlock.size(), idBlock.get(0));
+    }
+    return idBlock.get(idBlockPos++);
+  }
+
+  private synchronized void discardIdBlock() {
+    idBlock = List.of();
+    idBlockPos = 0;
+  }
+
   /**
    * @return A pure ASCII key based on the newly formatted canonical name or scientific name as the fallback
    */
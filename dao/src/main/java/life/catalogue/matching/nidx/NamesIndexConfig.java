@@ -14,6 +14,8 @@ public class NamesIndexConfig {
    * normalized-String to nidx-int store no longer uses kryo serialization, so this is now inert.
    */
   public static final int DEFAULT_KRYO_POOL_SIZE = 32;
+  public static final int DEFAULT_INSERT_STRIPES = 64;
+  public static final int DEFAULT_ID_BLOCK_SIZE = 100;
 
   public enum Store {MAPDB, CHRONICLE}
 
@@ -56,4 +58,18 @@ public class NamesIndexConfig {
   @Min(1_000)
   public int maxEntries = 1_000;
 
+  /**
+   * Number of locks new names are striped over by their normalized key.
+   * Concurrent inserts only wait for each other if their keys fall into the same stripe.
+   */
+  @Min(1)
+  public int insertStripes = DEFAULT_INSERT_STRIPES;
+
+  /**
+   * Number of names index ids to pre-allocate from the postgres sequence at once.
+   * Unused ids of a block are lost on shutdown, leaving gaps in the sequence.
+   */
+  @Min(1)
+  public int idBlockSize = DEFAULT_ID_BLOCK_SIZE;
+
 }
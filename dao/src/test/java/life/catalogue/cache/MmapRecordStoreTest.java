@@ -0,0 +1,133 @@
+package life.catalogue.cache;
+
+import life.catalogue.common.io.TempFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MmapRecordStoreTest {
+
+  static byte[] bytes(String x) {
+    return x.getBytes(StandardCharsets.UTF_8);
+  }
+
+  static String str(byte[] x) {
+    return x == null ? null : new String(x, StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void crud() throws Exception {
+    try (TempFile tf = TempFile.file();
+         MmapRecordStore store = new MmapRecordStore(tf.file, 1024)
+    ) {
+      assertFalse(store.contains("a"));
+      assertNull(store.get("a"));
+      assertNull(store.remove("a"));
+
+      assertNull(store.put("a", bytes("Abies")));
+      assertTrue(store.contains("a"));
+      assertEquals("Abies", str(store.get("a")));
+      assertEquals("Abies", str(store.put("a", bytes("Abies alba"))));
+      assertEquals("Abies alba", str(store.get("a")));
+      assertEquals(1, store.size());
+
+      // empty values and keys and records larger than a chunk
+      store.put("", new byte[0]);
+      assertArrayEquals(new byte[0], store.get(""));
+      byte[] large = new byte[5000];
+      large[4999] = 7;
+      store.put("large", large);
+      assertArrayEquals(large, store.get("large"));
+      assertEquals(3, store.size());
+
+      assertEquals("Abies alba", str(store.remove("a")));
+      assertFalse(store.contains("a"));
+      assertNull(store.get("a"));
+      assertEquals(2, store.size());
+
+      store.clear();
+      assertEquals(0, store.size());
+      assertFalse(store.contains("large"));
+      store.put("a", bytes("Picea"));
+      assertEquals("Picea", str(store.get("a")));
+    }
+  }
+
+  @Test
+  public void manyRecords() throws Exception {
+    Map<String, String> expected = new HashMap<>();
+    try (TempFile tf = TempFile.file();
+         MmapRecordStore store = new MmapRecordStore(tf.file, 4096)
+    ) {
+      for (int i = 0; i < 20_000; i++) {
+        store.put("id" + i, bytes("value " + i));
+        expected.put("id" + i, "value " + i);
+      }
+      // replace and remove some to leave stale records and removed slots behind
+      for (int i = 0; i < 20_000; i += 3) {
+        store.put("id" + i, bytes("new " + i));
+        expected.put("id" + i, "new " + i);
+      }
+      for (int i = 1; i < 20_000; i += 5) {
+        store.remove("id" + i);
+        expected.remove("id" + i);
+      }
+      for (int i = 20_000; i < 25_000; i++) {
+        store.put("id" + i, bytes("value " + i));
+        expected.put("id" + i, "value " + i);
+      }
+      assertEquals(expected.size(), store.size());
+      for (var e : expected.entrySet()) {
+        assertEquals(e.getValue(), str(store.get(e.getKey())));
+      }
+      Map<String, Integer> values = new HashMap<>();
+      store.values().forEachRemaining(v -> values.merge(str(v), 1, Integer::sum));
+      assertEquals(expected.size(), values.size());
+      for (String v : expected.values()) {
+        assertEquals((Integer) 1, values.get(v));
+      }
+    }
+  }
+
+  @Test
+  public void concurrent() throws Exception {
+    ExecutorService exec = Executors.newFixedThreadPool(4);
+    try (TempFile tf = TempFile.file();
+         MmapRecordStore store = new MmapRecordStore(tf.file, 64 * 1024)
+    ) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        final int thread = t;
+        futures.add(exec.submit(() -> {
+          for (int i = 0; i < 10_000; i++) {
+            String key = thread + "-" + i;
+            store.put(key, bytes(key));
+            assertEquals(key, str(store.get(key)));
+            // read keys written by other threads
+            String other = ((thread + 1) % 4) + "-" + i / 2;
+            byte[] v = store.get(other);
+            if (v != null) {
+              assertEquals(other, str(v));
+            }
+          }
+        }));
+      }
+      for (var f : futures) {
+        f.get();
+      }
+      assertEquals(40_000, store.size());
+    } finally {
+      exec.shutdown();
+    }
+  }
+}
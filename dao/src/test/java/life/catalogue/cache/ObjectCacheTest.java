@@ -16,9 +16,15 @@ public class ObjectCacheTest {
 
   @Test
   public void crud() throws Exception {
+    for (CacheType type : CacheType.values()) {
+      crud(type);
+    }
+  }
+
+  void crud(CacheType type) throws Exception {
     final ApiKryoPool pool = new ApiKryoPool(8);
     try (TempFile dir = new TempFile();
-         ObjectCache<NameUsageWrapper> cache = new ObjectCacheMapDB<>(NameUsageWrapper.class, dir.file, pool, false)
+         ObjectCache<NameUsageWrapper> cache = type.objectCache(NameUsageWrapper.class, dir.file, pool)
     ) {
       t.setId("a");
 
@@ -33,10 +39,10 @@ public class ObjectCacheTest {
     }
   }
 
-  void bench(int size) throws Exception {
+  void bench(CacheType type, int size) throws Exception {
     final ApiKryoPool pool = new ApiKryoPool(8);
     try (TempFile dir = new TempFile();
-         ObjectCache<NameUsageWrapper> cache = new ObjectCacheMapDB<>(NameUsageWrapper.class, dir.file, pool, false)
+         ObjectCache<NameUsageWrapper> cache = type.objectCache(NameUsageWrapper.class, dir.file, pool)
     ) {
       var watch = StopWatch.createStarted();
       for (int i = 0; i < size; i=i+2) {
@@ -46,7 +52,7 @@ public class ObjectCacheTest {
         cache.put(s);
       }
       watch.stop();
-      System.out.printf("Writing %s objects took %s\n", size, watch);
+      System.out.printf("%s: writing %s objects took %s\n", type, size, watch);
 
       watch.reset();
       watch.start();
@@ -58,14 +64,16 @@ public class ObjectCacheTest {
         if (x == null) throw new RuntimeException("Not found: s" + i);
       }
       watch.stop();
-      System.out.printf("Reading %s objects took %s\n", size, watch);
+      System.out.printf("%s: reading %s objects took %s\n", type, size, watch);
     }
   }
 
   public static void main(String[] args) throws Exception {
     ObjectCacheTest test = new ObjectCacheTest();
-    test.bench(10_000);
-    test.bench(1_000_000);
-    test.bench(10_000_000);
+    for (CacheType type : CacheType.values()) {
+      test.bench(type, 10_000);
+      test.bench(type, 1_000_000);
+      test.bench(type, 10_000_000);
+    }
   }
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package life.catalogue.cache;
+
+import life.catalogue.api.event.DatasetDataChanged;
+import life.catalogue.api.model.SimpleNameCached;
+import life.catalogue.junit.PgSetupRule;
+import life.catalogue.junit.SqlSessionFactoryRule;
+import life.catalogue.junit.TestDataRule;
+
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class SharedUsageCachesTest {
+  @ClassRule
+  public static PgSetupRule pgSetupRule = new PgSetupRule();
+
+  @Rule
+  public TestDataRule testDataRule = TestDataRule.tree();
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void shared() throws Exception {
+    final int key = testDataRule.testData.key;
+    for (CacheType type : CacheType.values()) {
+      try (var caches = new SharedUsageCaches(SqlSessionFactoryRule.getSqlSessionFactory(), folder.getRoot(), type, 1)) {
+        try (var c1 = caches.acquire(key);
+             var c2 = caches.acquire(key)
+        ) {
+          assertEquals(1, caches.size());
+          assertEquals(key, c1.getDatasetKey());
+          // preloaded
+          assertTrue(c1.contains("s11"));
+          assertEquals("s11", c2.get("s11").getId());
+          assertNull(c1.get("nonexisting"));
+
+          // read only
+          var sn = new SimpleNameCached();
+          sn.setId("xyz");
+          c1.put(sn);
+          c1.remove("s11");
+          assertFalse(c2.contains("xyz"));
+          assertTrue(c2.contains("s11"));
+
+          // retired caches stay usable until the last lease is closed
+          caches.datasetDataChanged(new DatasetDataChanged(key, 1));
+          assertEquals(0, caches.size());
+          assertTrue(c1.contains("s11"));
+
+          try (var c3 = caches.acquire(key)) {
+            assertEquals(1, caches.size());
+            assertTrue(c3.contains("s11"));
+          }
+        }
+
+        // evict least recently used
+        try (var c = caches.acquire(9999)) {
+          assertEquals(1, caches.size());
+          assertFalse(c.contains("s11"));
+        }
+      }
+    }
+  }
+}
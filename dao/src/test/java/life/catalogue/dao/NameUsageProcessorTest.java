@@ -4,6 +4,7 @@ import life.catalogue.api.TestEntityGenerator;
 import life.catalogue.api.model.*;
 import life.catalogue.api.search.NameUsageWrapper;
 import life.catalogue.api.vocab.Datasets;
+import life.catalogue.cache.CacheType;
 import life.catalogue.common.io.TempFile;
 import life.catalogue.db.mapper.SectorMapper;
 import life.catalogue.junit.MybatisTestUtils;
@@ -12,6 +13,8 @@ import life.catalogue.junit.TestDataRule;
 
 import java.sql.Connection;
 import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
@@ -36,6 +39,29 @@ public class NameUsageProcessorTest extends DaoTestBase {
     Assert.assertEquals(24, handler.counter.get());
     Assert.assertEquals(4, handler.synCounter.get());
   }
+
+  @Test
+  public void processDatasetParallel() {
+    Map<String, NameUsageWrapper> expected = new HashMap<>();
+    new NameUsageProcessor(SqlSessionFactoryRule.getSqlSessionFactory(), TempFile.directoryFile())
+      .processDataset(NAME4.getDatasetKey(), nuw -> expected.put(nuw.getId(), nuw));
+
+    DRH handler = new DRH();
+    Map<String, NameUsageWrapper> parallel = new HashMap<>();
+    NameUsageProcessor proc = new NameUsageProcessor(SqlSessionFactoryRule.getSqlSessionFactory(), TempFile.directoryFile(), 3, CacheType.MMAP);
+    proc.processDataset(NAME4.getDatasetKey(), nuw -> {
+      handler.accept(nuw);
+      assertNull(parallel.put(nuw.getId(), nuw));
+    });
+    Assert.assertEquals(24, handler.counter.get());
+    Assert.assertEquals(4, handler.synCounter.get());
+    Assert.assertEquals(expected.keySet(), parallel.keySet());
+    for (var nuw : expected.values()) {
+      var p = parallel.get(nuw.getId());
+      Assert.assertEquals(nuw.getClassification(), p.getClassification());
+      Assert.assertEquals(nuw.getGroup(), p.getGroup());
+    }
+  }
   
   public static class DRH implements Consumer<NameUsageWrapper> {
     public AtomicInteger counter = new AtomicInteger(0);
@@ -119,5 +145,13 @@ public class NameUsageProcessorTest extends DaoTestBase {
     });
     // we do not want the target node that does have sectorKey=NULL !!!
     Assert.assertEquals(3, counter.get());
+
+    // the remaining usages without a sector make up the unsectored slice
+    counter.set(0);
+    proc.processUnsectored(COL, obj -> {
+      counter.incrementAndGet();
+      assertNull(obj.getUsage().getSectorKey());
+    });
+    Assert.assertEquals(2, counter.get());
   }
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ import org.junit.Test;
 import static life.catalogue.api.TestEntityGenerator.NAME1;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 
 /**
  *
@@ -59,6 +60,12 @@ public class NameMatchMapperTest extends MapperTestBase<NameMatchMapper> {
     mapper().processIndexIds(datasetKey, null).forEach(System.out::println);
   }
 
+  @Test
+  public void processSubtreeIndexIds() throws Exception {
+    mapper().processSubtreeIndexIds(DSID.of(datasetKey, "1")).forEach(System.out::println);
+    mapper().processSubtreeIndexIds(DSID.of(datasetKey, "nonexisting")).forEach(id -> fail("unexpected index id " + id));
+  }
+
   @Test
   public void updateMatches() throws Exception {
     NameMapper nm = mapper(NameMapper.class);
@@ -8,6 +8,8 @@ import life.catalogue.junit.TestDataRule;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.Test;
@@ -115,6 +117,45 @@ public class VerbatimSourceMapperTest extends MapperTestBase<VerbatimSourceMappe
     CopyDatasetTestComponent.copy(mapper(), datasetKey, true);
   }
 
+  @Test
+  public void renumberTemporaryKeys() {
+    // two keys of block 0, one of block 1 with a block size of 1000
+    id = -2;
+    VerbatimSource v2 = create();
+    mapper().create(v2);
+    id = -1;
+    VerbatimSource v1 = create();
+    mapper().create(v1);
+    id = -1001;
+    VerbatimSource v1001 = create();
+    v1001.setSourceId("block1");
+    mapper().create(v1001);
+    mapper().insertSources(v1, DSID.of(34, "dtfgzhn"), Set.of(InfoGroup.PARENT));
+
+    Taxon t = TestEntityGenerator.newTaxon(datasetKey);
+    t.getName().setVerbatimSourceKey(v2.getId());
+    t.setVerbatimSourceKey(v1001.getId());
+    mapper(NameMapper.class).create(t.getName());
+    mapper(TaxonMapper.class).create(t);
+    commit();
+
+    Map<Integer, Integer> starts = new LinkedHashMap<>();
+    starts.put(1, 10);
+    starts.put(0, 20);
+    mapper().renumberTemporaryKeys(datasetKey, 1000, starts);
+    commit();
+
+    assertNull(mapper().get(v1));
+    assertNull(mapper().get(v2));
+    assertNull(mapper().get(v1001));
+    assertEquals("block1", mapper().get(DSID.of(datasetKey, 10)).getSourceId());
+    assertEquals("source77", mapper().get(DSID.of(datasetKey, 20)).getSourceId());
+    assertEquals("source77", mapper().get(DSID.of(datasetKey, 21)).getSourceId());
+    assertEquals(Set.of(InfoGroup.PARENT), mapper().getSources(DSID.of(datasetKey, 20)).keySet());
+    assertEquals(21, (int) mapper().getVSKeyByName(DSID.of(datasetKey, t.getName().getId())));
+    assertEquals(10, (int) mapper().getVSKeyByUsage(DSID.of(datasetKey, t.getId())));
+  }
+
   Taxon createTaxon() {
     Taxon t = TestEntityGenerator.newTaxon(datasetKey);
     mapper(NameMapper.class).create(t.getName());
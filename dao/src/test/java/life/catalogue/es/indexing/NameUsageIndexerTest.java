@@ -0,0 +1,170 @@
+package life.catalogue.es.indexing;
+
+import life.catalogue.api.model.Name;
+import life.catalogue.api.model.Taxon;
+import life.catalogue.api.search.NameUsageWrapper;
+import life.catalogue.api.vocab.TaxonomicStatus;
+import life.catalogue.es.json.EsModule;
+
+import org.gbif.nameparser.api.Rank;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.ErrorCause;
+import co.elastic.clients.elasticsearch._types.ErrorResponse;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import co.elastic.clients.util.BinaryData;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test of the bulk handling against a stubbed ES client that rejects requests and bulk items with 429.
+ */
+public class NameUsageIndexerTest {
+  static final String INDEX = "test";
+  static final int DOCS = 50;
+
+  @Test
+  public void retries() throws Exception {
+    for (int concurrency : List.of(1, 3)) {
+      var client = new StubClient();
+      try (var indexer = new NameUsageIndexer(client, INDEX, concurrency, 1000)) {
+        List<NameUsageWrapper> batch = new ArrayList<>();
+        for (int i = 0; i < DOCS; i++) {
+          batch.add(usage(i));
+          if (batch.size() == 7) {
+            indexer.accept(batch);
+            batch = new ArrayList<>();
+          }
+        }
+        indexer.accept(batch);
+        indexer.flush();
+
+        assertEquals(DOCS, indexer.documentsIndexed());
+        assertEquals(DOCS, client.indexed.size());
+        for (int i = 0; i < DOCS; i++) {
+          assertEquals("u" + i, 1, (int) client.indexed.get("u" + i));
+        }
+        // the first request and every tenth document were rejected once
+        assertEquals(DOCS / 10, client.rejected.size());
+        assertEquals(1, indexer.requestsRejected());
+        assertEquals(DOCS / 10, indexer.itemsRejected());
+        assertTrue(client.bulks.get() > 1);
+        assertTrue("Too many bulks in flight: " + client.maxInFlight.get(), client.maxInFlight.get() <= concurrency);
+      }
+    }
+  }
+
+  static NameUsageWrapper usage(int i) {
+    Name n = new Name();
+    n.setId("n" + i);
+    n.setRank(Rank.SPECIES);
+    n.setScientificName("Abies alba" + i);
+    Taxon t = new Taxon(n);
+    t.setId("u" + i);
+    t.setStatus(TaxonomicStatus.ACCEPTED);
+    return new NameUsageWrapper(t);
+  }
+
+  /**
+   * Rejects the very first bulk request entirely and the first attempt of every tenth document as a bulk item.
+   */
+  static class StubClient extends ElasticsearchClient {
+    private static final ObjectMapper MAPPER = EsModule.contentMapper();
+    final Map<String, Integer> indexed = new ConcurrentHashMap<>();
+    final Set<String> rejected = ConcurrentHashMap.newKeySet();
+    final AtomicInteger bulks = new AtomicInteger();
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger maxInFlight = new AtomicInteger();
+
+    StubClient() {
+      super(transport());
+    }
+
+    private static ElasticsearchTransport transport() {
+      ElasticsearchTransport transport = mock(ElasticsearchTransport.class);
+      when(transport.jsonpMapper()).thenReturn(new JacksonJsonpMapper(MAPPER));
+      return transport;
+    }
+
+    @Override
+    public BulkResponse bulk(BulkRequest request) throws IOException, ElasticsearchException {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      try {
+        if (bulks.getAndIncrement() == 0) {
+          throw new ElasticsearchException("bulk", ErrorResponse.of(e -> e
+            .status(429)
+            .error(cause())
+          ));
+        }
+        // keep the request in flight for a while so concurrent bulks overlap
+        Thread.sleep(20);
+        List<BulkResponseItem> items = new ArrayList<>();
+        boolean errors = false;
+        for (var op : request.operations()) {
+          String id = id((BinaryData) op.index().document());
+          int num = Integer.parseInt(id.substring(1));
+          if (num % 10 == 0 && rejected.add(id)) {
+            errors = true;
+            items.add(item(429, true));
+          } else {
+            indexed.merge(id, 1, Integer::sum);
+            items.add(item(201, false));
+          }
+        }
+        final boolean hasErrors = errors;
+        return BulkResponse.of(b -> b
+          .errors(hasErrors)
+          .took(1)
+          .items(items)
+        );
+      } catch (InterruptedException e) {
+        throw new IOException(e);
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    }
+
+    private static String id(BinaryData data) throws IOException {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      data.writeTo(out);
+      return MAPPER.readTree(out.toByteArray()).path("usage").path("id").asText();
+    }
+
+    private static BulkResponseItem item(int status, boolean error) {
+      return BulkResponseItem.of(b -> {
+        b.operationType(OperationType.Index)
+          .index(INDEX)
+          .status(status);
+        if (error) {
+          b.error(cause());
+        }
+        return b;
+      });
+    }
+
+    private static ErrorCause cause() {
+      return ErrorCause.of(c -> c
+        .type("es_rejected_execution_exception")
+        .reason("rejected execution")
+      );
+    }
+  }
+}
@@ -8,6 +8,7 @@ import life.catalogue.api.model.User;
 import life.catalogue.api.vocab.area.Country;
 import life.catalogue.api.vocab.Users;
 
+import java.util.HashSet;
 import java.util.Set;
 
 import org.junit.Test;
@@ -24,6 +25,7 @@ public class EventKryoPoolTest {
     assertSerde(kryo, new UserPermissionChanged("markus"));
     assertSerde(kryo, new DatasetLogoChanged(8));
     assertSerde(kryo, new DeleteSector(DSID.of(123, 1234), 18));
+    assertSerde(kryo, new NamesChanged(3, new HashSet<>(Set.of("n1", "n2")), 18));
 
     User u = new User();
     u.setKey(123);
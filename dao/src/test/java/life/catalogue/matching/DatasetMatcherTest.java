@@ -2,6 +2,7 @@ package life.catalogue.matching;
 
 import life.catalogue.api.vocab.Users;
 import life.catalogue.common.tax.AuthorshipNormalizer;
+import life.catalogue.db.mapper.NameMatchMapper;
 import life.catalogue.junit.PgSetupRule;
 import life.catalogue.junit.SqlSessionFactoryRule;
 import life.catalogue.junit.TestDataRule;
@@ -13,6 +14,8 @@ import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+
 public class DatasetMatcherTest {
 
   @ClassRule
@@ -36,4 +39,34 @@ public class DatasetMatcherTest {
     m = new DatasetMatcher(SqlSessionFactoryRule.getSqlSessionFactory(), nidx, null);
     m.match(11, true, false, Users.TESTER);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void rematchApplePipelined() throws Exception {
+    var factory = SqlSessionFactoryRule.getSqlSessionFactory();
+    NameIndex nidx = NameIndexFactory.build(NamesIndexConfig.memory(512), factory, AuthorshipNormalizer.createWithoutAuthormap()).started();
+    DatasetMatcher m = new DatasetMatcher(factory, nidx, null);
+    m.match(11, true, false, Users.TESTER);
+    int matches = countMatches(11);
+
+    // start from scratch, the pipeline must create the very same matches
+    try (var session = factory.openSession(true)) {
+      session.getMapper(NameMatchMapper.class).deleteByDataset(11);
+    }
+    DatasetMatcher pm = new DatasetMatcher(factory, nidx, null, 3);
+    pm.match(11, true, false, Users.TESTER);
+    assertEquals(m.getTotal(), pm.getTotal());
+    assertEquals(matches, countMatches(11));
+
+    // nothing changes when matching again
+    pm = new DatasetMatcher(factory, nidx, null, 3);
+    pm.match(11, true, false, Users.TESTER);
+    assertEquals(0, pm.getUpdated());
+    assertEquals(matches, countMatches(11));
+  }
+
+  private static int countMatches(int datasetKey) {
+    try (var session = SqlSessionFactoryRule.getSqlSessionFactory().openSession(true)) {
+      return session.getMapper(NameMatchMapper.class).countByDataset(datasetKey);
+    }
+  }
+}
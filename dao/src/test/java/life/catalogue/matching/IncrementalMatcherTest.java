@@ -0,0 +1,69 @@
+package life.catalogue.matching;
+
+import life.catalogue.api.event.NamesChanged;
+import life.catalogue.api.model.Name;
+import life.catalogue.api.model.Page;
+import life.catalogue.api.vocab.Users;
+import life.catalogue.common.tax.AuthorshipNormalizer;
+import life.catalogue.db.mapper.NameMapper;
+import life.catalogue.db.mapper.NameMatchMapper;
+import life.catalogue.junit.PgSetupRule;
+import life.catalogue.junit.SqlSessionFactoryRule;
+import life.catalogue.junit.TestDataRule;
+import life.catalogue.matching.nidx.NameIndex;
+import life.catalogue.matching.nidx.NameIndexFactory;
+import life.catalogue.matching.nidx.NamesIndexConfig;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class IncrementalMatcherTest {
+
+  @ClassRule
+  public static PgSetupRule pgSetupRule = new PgSetupRule();
+
+  @Rule
+  public TestDataRule testDataRule = TestDataRule.apple();
+
+  @Test
+  public void matchChangedNames() throws Exception {
+    var factory = SqlSessionFactoryRule.getSqlSessionFactory();
+    NameIndex nidx = NameIndexFactory.build(NamesIndexConfig.memory(512), factory, AuthorshipNormalizer.createWithoutAuthormap()).started();
+    Set<String> ids;
+    try (var session = factory.openSession(true)) {
+      session.getMapper(NameMatchMapper.class).deleteByDataset(11);
+      ids = session.getMapper(NameMapper.class).list(11, new Page(0, 3)).stream()
+        .map(Name::getId)
+        .collect(Collectors.toSet());
+    }
+
+    try (var im = new IncrementalMatcher(factory, nidx, 3600)) {
+      var changed = new HashSet<>(ids);
+      changed.add("deleted-name");
+      im.namesChanged(new NamesChanged(11, changed, Users.TESTER));
+      im.namesChanged(new NamesChanged(11, ids, Users.TESTER));
+      assertEquals(ids.size() + 1, im.pending());
+
+      im.matchPending();
+      assertEquals(0, im.pending());
+      assertEquals(ids.size(), countMatches(11));
+
+      // matching again changes nothing
+      im.match(11, ids);
+      assertEquals(ids.size(), countMatches(11));
+    }
+  }
+
+  private static int countMatches(int datasetKey) {
+    try (var session = SqlSessionFactoryRule.getSqlSessionFactory().openSession(true)) {
+      return session.getMapper(NameMatchMapper.class).countByDataset(datasetKey);
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package life.catalogue.matching;
+
+import life.catalogue.api.vocab.MatchType;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+import static org.junit.Assert.*;
+
+public class MatchingMetricsTest {
+
+  @Test
+  public void register() {
+    var registry = new MetricRegistry();
+    MatchingMetrics.register(registry);
+    int size = registry.getMetrics().size();
+    assertEquals(MatchType.values().length + 11, size);
+    // registering twice keeps the existing metrics
+    MatchingMetrics.register(registry);
+    assertEquals(size, registry.getMetrics().size());
+
+    Timer variant = registry.timer("life.catalogue.matching.usage.match.variant");
+    long before = variant.getCount();
+    MatchingMetrics.matched(MatchType.VARIANT, TimeUnit.MILLISECONDS.toNanos(3));
+    assertEquals(before + 1, variant.getCount());
+
+    Timer none = registry.timer("life.catalogue.matching.usage.match.none");
+    before = none.getCount();
+    MatchingMetrics.matched(null, 100);
+    assertEquals(before + 1, none.getCount());
+  }
+}
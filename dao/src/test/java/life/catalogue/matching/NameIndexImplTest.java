@@ -2,7 +2,6 @@ package life.catalogue.matching;
 
 import life.catalogue.api.TestEntityGenerator;
 import life.catalogue.api.model.Name;
-import life.catalogue.api.model.NameIndexEntry;
 import life.catalogue.api.model.NameMatch;
 import life.catalogue.api.model.VerbatimRecord;
 import life.catalogue.api.vocab.Origin;
@@ -16,10 +15,17 @@ import life.catalogue.parser.NameParser;
 
 import org.gbif.nameparser.api.*;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.apache.ibatis.session.SqlSession;
@@ -32,6 +38,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 /**
@@ -44,22 +51,23 @@ public class NameIndexImplTest {
   static final AuthorshipNormalizer aNormalizer = AuthorshipNormalizer.INSTANCE;
 
   NameIndex ni;
+  NamesIndexMapper mapper;
   AtomicInteger keyGen = new AtomicInteger(1);
 
   @Before
   public void setup() throws Exception {
     SqlSessionFactory factory = mock(SqlSessionFactory.class);
     SqlSession session = mock(SqlSession.class);
-    NamesIndexMapper mapper = mock(NamesIndexMapper.class);
+    mapper = mock(NamesIndexMapper.class);
 
     when(factory.openSession()).thenReturn(session);
     when(session.getMapper(any())).thenReturn(mapper);
-    // assign-on-miss insert: mimic postgres by handing out sequential ids
-    doAnswer(invocation -> {
-      NameIndexEntry param = invocation.getArgument(0, NameIndexEntry.class);
-      param.setKey(keyGen.getAndIncrement());
-      return null;
-    }).when(mapper).createOnConflict(any());
+    // id blocks: mimic the postgres sequence by handing out sequential ids
+    when(mapper.nextKeys(anyInt())).thenAnswer(invocation -> {
+      int size = invocation.getArgument(0, Integer.class);
+      return IntStream.range(0, size).mapToObj(i -> keyGen.getAndIncrement()).collect(Collectors.toList());
+    });
+    when(mapper.createWithKey(any())).thenReturn(1);
 
     ni = NameIndexFactory.build(NamesIndexConfig.memory(512), factory, aNormalizer).started();
     assertEquals(0, ni.size());
@@ -124,6 +132,22 @@ public class NameIndexImplTest {
     assertEquals(15, ni.size());
   }
 
+  /**
+   * Fresh ids that keep clashing with existing rows without an entry for the name
+   * must fail with a descriptive error instead of a NPE.
+   */
+  @Test
+  public void clashingIds() throws Exception {
+    when(mapper.createWithKey(any())).thenReturn(0);
+    try {
+      ni.match(name("Abies alba", Rank.SPECIES), true, false);
+      fail("Expected the insert to fail");
+    } catch (MatchingException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+    assertEquals(0, ni.size());
+  }
+
   /**
    * Try to add the same name again and multiple names with the same key
    */
@@ -308,6 +332,67 @@ public class NameIndexImplTest {
     assertEquals(1, ni.size());
   }
 
+  /**
+   * Many threads adding overlapping names at the same time must end up with exactly one id per canonical name.
+   */
+  @Test
+  public void concurrentInserts() throws Exception {
+    final int threads = 8;
+    final List<Name> names = new ArrayList<>();
+    for (int i = 0; i < 250; i++) {
+      names.add(create("Abies", "nov" + (char) ('a' + i % 26) + (char) ('a' + i / 26)));
+    }
+    ExecutorService exec = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<List<Integer>>> results = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        results.add(exec.submit(() -> {
+          List<Integer> ids = new ArrayList<>();
+          for (Name n : names) {
+            ids.add(ni.match(new Name(n), true, false).getNidx());
+          }
+          return ids;
+        }));
+      }
+      final List<Integer> expected = results.get(0).get();
+      for (var f : results) {
+        assertEquals(expected, f.get());
+      }
+      Set<Integer> distinct = new HashSet<>(expected);
+      assertEquals(ni.size(), distinct.size());
+      // ids are handed out in order from the pre-allocated blocks without gaps
+      assertEquals(distinct.size(), (int) distinct.stream().max(Integer::compare).get());
+    } finally {
+      exec.shutdown();
+    }
+  }
+
+  /**
+   * Batch matching must return the same matches as single ones in input order,
+   * inserting a new canonical name only once.
+   */
+  @Test
+  public void matchAll() throws Exception {
+    ni.match(create("Abies", "alba"), true, false);
+    var matches = ni.matchAll(List.of(
+      create("Abies", "nova", "1901", "Jones"),
+      create("Abies", "alba", "1873"),
+      create("Abies", "nova"),
+      create("Picea", "abies")
+    ), true, false);
+    assertEquals(4, matches.size());
+    assertEquals(3, ni.size());
+    assertEquals(matches.get(0).getNidx(), matches.get(2).getNidx());
+    assertEquals(ni.match(create("Abies", "alba"), false, false).getNidx(), matches.get(1).getNidx());
+    assertNotEquals(matches.get(0).getNidx(), matches.get(3).getNidx());
+
+    // no inserts: unknown names stay unmatched
+    matches = ni.matchAll(List.of(create("Larix", "decidua"), create("Abies", "nova")), false, false);
+    assertFalse(matches.get(0).isMatched());
+    assertEquals(matches.get(1).getNidx(), ni.match(create("Abies", "nova"), false, false).getNidx());
+    assertEquals(3, ni.size());
+  }
+
   @Test
   public void infraspecifics() throws Exception {
     final Name n1 = new Name();
@@ -4,6 +4,7 @@ import life.catalogue.api.model.*;
 import life.catalogue.api.vocab.*;
 import life.catalogue.common.collection.DefaultMap;
 import life.catalogue.common.lang.InterruptedRuntimeException;
+import life.catalogue.concurrent.NamedThreadFactory;
 import life.catalogue.csv.CsvReader;
 import life.catalogue.csv.MappingInfos;
 import life.catalogue.csv.Schema;
@@ -18,8 +19,10 @@ import org.gbif.dwc.terms.Term;
 
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -27,6 +30,7 @@ import java.util.function.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.univocity.parsers.common.CommonParserSettings;
 import com.univocity.parsers.csv.CsvFormat;
 
@@ -42,21 +46,35 @@ import static life.catalogue.common.lang.Exceptions.runtimeInterruptIfCancelled;
 public abstract class DataCsvInserter implements DataInserter {
   private static final Logger LOG = LoggerFactory.getLogger(DataCsvInserter.class);
   protected static final String INTERRUPT_MESSAGE = "Data inserter interrupted, exit early with incomplete import";
+  private static final int BATCH_SIZE = 1000;
   protected final DatasetSettings settings;
   protected final ImportStore store;
   protected final Path folder;
   protected final CsvReader reader;
   protected final ReferenceFactory refFactory;
+  // number of threads interpreting entity records
+  private final int threads;
+  // number of records interpreted together by a single thread
+  private int batchSize = BATCH_SIZE;
   private final Set<Term> interpretedClassTerms = new HashSet<>();
   private int vcounter;
   private Map<Term, AtomicInteger> badTaxonFks = DefaultMap.createCounter();
 
   protected DataCsvInserter(Path folder, CsvReader reader, ImportStore store, DatasetSettings settings, ReferenceFactory refFactory) {
+    this(folder, reader, store, settings, refFactory, 1);
+  }
+
+  /**
+   * @param threads number of threads interpreting entity records. With more than one thread
+   *                entities are inserted by a pipeline, see {@link #processVerbatim(CsvReader, Term, Function, BiPredicate)}
+   */
+  protected DataCsvInserter(Path folder, CsvReader reader, ImportStore store, DatasetSettings settings, ReferenceFactory refFactory, int threads) {
     this.folder = folder;
     this.reader = reader;
     this.store = store;
     this.settings = settings;
     this.refFactory = refFactory;
+    this.threads = threads;
     // update CSV reader with manual dataset settings if existing
     // see https://github.com/Sp2000/colplus-backend/issues/582
     if (settings.has(Setting.CSV_DELIMITER) || settings.has(Setting.CSV_QUOTE) || settings.has(Setting.CSV_QUOTE_ESCAPE)) {
@@ -153,19 +171,131 @@ public abstract class DataCsvInserter implements DataInserter {
     vcounter += counter.get();
   }
   
+  /**
+   * Processes all records of a class term with separate interpretation and write steps.
+   * With a single thread both steps are simply run one after the other for each record.
+   *
+   * Otherwise records are processed by a pipeline of three stages.
+   * The calling thread reads the CSV records and assigns their verbatim keys in file order,
+   * a pool of workers interprets batches of records, e.g. parsing names,
+   * and a single writer applies the interpreted batches to the store in the order they were read.
+   * The interpretation must therefore not depend on entities written by the same class term.
+   * New references created from citations are such entities, so the workers defer them to the writer,
+   * see {@link InterpreterBase#deferReferences(java.util.function.Supplier)}.
+   */
+  private <R> void processVerbatim(final CsvReader reader, final Term classTerm,
+                                   final Function<VerbatimRecord, R> interpret, final BiPredicate<VerbatimRecord, R> write
+  ) {
+    if (threads < 2) {
+      processVerbatim(reader, classTerm, rec -> write.test(rec, interpret.apply(rec)));
+      return;
+    }
+    runtimeInterruptIfCancelled(INTERRUPT_MESSAGE);
+    final AtomicInteger counter = new AtomicInteger(0);
+    final AtomicInteger success = new AtomicInteger(0);
+    interpretedClassTerms.add(classTerm);
+    final InterpreterBase inter = interpreter();
+    final BlockingQueue<PendingBatch<R>> queue = new ArrayBlockingQueue<>(threads * 2);
+    final PendingBatch<R> end = new PendingBatch<>(List.of(), CompletableFuture.completedFuture(List.of()));
+    ExecutorService exec = Executors.newFixedThreadPool(threads + 1, new NamedThreadFactory("csv-inserter"));
+    try {
+      Future<?> writer = exec.submit(() -> {
+        while (true) {
+          var pb = queue.take();
+          if (pb == end) return null;
+          var results = pb.results();
+          for (int i = 0; i < pb.records.size(); i++) {
+            runtimeInterruptIfCancelled(INTERRUPT_MESSAGE);
+            VerbatimRecord rec = pb.records.get(i);
+            if (write.test(rec, results.get(i).complete())) {
+              success.incrementAndGet();
+            } else {
+              rec.add(Issue.NOT_INTERPRETED);
+            }
+            // processing might already have flagged issues, load and merge them
+            VerbatimRecord old = store.getVerbatim(rec.getId());
+            rec.add(old.getIssues());
+            store.put(rec);
+            counter.incrementAndGet();
+          }
+        }
+      });
+
+      List<VerbatimRecord> batch = new ArrayList<>(batchSize);
+      var iter = reader.stream(classTerm).iterator();
+      while (iter.hasNext()) {
+        runtimeInterruptIfCancelled(INTERRUPT_MESSAGE);
+        VerbatimRecord rec = iter.next();
+        // assigns the verbatim key in the order of the file
+        store.put(rec);
+        batch.add(rec);
+        if (batch.size() == batchSize || !iter.hasNext()) {
+          final List<VerbatimRecord> recs = batch;
+          var interpreted = exec.submit(() -> {
+            List<InterpreterBase.Deferred<R>> results = new ArrayList<>(recs.size());
+            for (VerbatimRecord r : recs) {
+              results.add(inter.deferReferences(() -> interpret.apply(r)));
+            }
+            return results;
+          });
+          put(queue, new PendingBatch<>(recs, interpreted), writer);
+          batch = new ArrayList<>(batchSize);
+        }
+      }
+      put(queue, end, writer);
+      writer.get();
+
+    } catch (InterruptedException e) {
+      throw new InterruptedRuntimeException(INTERRUPT_MESSAGE);
+
+    } catch (ExecutionException e) {
+      // the writer rethrows failed interpretations wrapped in another ExecutionException
+      Throwable cause = e.getCause();
+      while (cause instanceof ExecutionException && cause.getCause() != null) {
+        cause = cause.getCause();
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new RuntimeException(cause);
+
+    } finally {
+      exec.shutdownNow();
+    }
+    LOG.info("Inserted {} verbatim, {} successfully processed {} with {} threads", counter.get(), success.get(), classTerm.prefixedName(), threads);
+    vcounter += counter.get();
+  }
+
+  /**
+   * Hands over a batch to the writer, failing early if the writer has stopped already.
+   */
+  private static <R> void put(BlockingQueue<PendingBatch<R>> queue, PendingBatch<R> pb, Future<?> writer) throws InterruptedException, ExecutionException {
+    while (!queue.offer(pb, 1, TimeUnit.SECONDS)) {
+      if (writer.isDone()) {
+        writer.get();
+        throw new IllegalStateException("CSV insert writer stopped unexpectedly");
+      }
+    }
+  }
+
+  /**
+   * Records read from the CSV file together with their pending interpretation.
+   */
+  private record PendingBatch<R>(List<VerbatimRecord> records, Future<List<InterpreterBase.Deferred<R>>> interpreted) {
+    List<InterpreterBase.Deferred<R>> results() throws InterruptedException, ExecutionException {
+      return interpreted.get();
+    }
+  }
+
   protected <T extends VerbatimEntity > void insertEntities(final CsvReader reader, final Term classTerm,
                                                            Function<VerbatimRecord, Optional<T>> interpret,
                                                            Predicate<T> add
   ) {
     processVerbatim(reader, classTerm, (rec) -> {
       Optional<T> opt = interpret.apply(rec);
-      if (opt.isPresent()) {
-        T obj = opt.get();
-        obj.setVerbatimKey(rec.getId());
-        return add.test(obj);
-      }
-      return false;
-    });
+      opt.ifPresent(obj -> obj.setVerbatimKey(rec.getId()));
+      return opt;
+    }, (rec, opt) -> opt.isPresent() && add.test(opt.get()));
   }
 
   protected <T extends VerbatimEntity> void insertTaxonEntities(final CsvReader reader, final Term classTerm,
@@ -355,6 +485,19 @@ public abstract class DataCsvInserter implements DataInserter {
     return reader.logo();
   }
 
+  /**
+   * @return the interpreter used by the current insert
+   */
+  protected abstract InterpreterBase interpreter();
+
+  /**
+   * Sets the number of records interpreted together by a single thread.
+   */
+  @VisibleForTesting
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
   protected abstract void insert() throws NormalizationFailedException, InterruptedException, InterruptedRuntimeException;
 
 }
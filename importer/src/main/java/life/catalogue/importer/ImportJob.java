@@ -422,7 +422,7 @@ public class ImportJob implements Runnable {
           LOG.info("Normalizing {}", datasetKey);
           updateState(ImportState.PROCESSING);
 
-          new Normalizer(dataset, store, sourceDir, index, imgService, validator, resolver).call();
+          new Normalizer(dataset, store, sourceDir, index, imgService, validator, resolver, nCfg.threads).call();
 
           LOG.info("Fetching logo for {}", datasetKey);
           LogoUpdateJob.updateDatasetAsync(dataset.getDataset(), factory, downloader, nCfg::scratchFile, imgService, req.createdBy);
@@ -26,6 +26,7 @@ import java.time.LocalDate;
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -53,6 +54,8 @@ public class InterpreterBase {
   protected final NameInterpreter nameInterpreter;
   private final Gazetteer distributionStandard;
   protected final ReferenceFactory refFactory;
+  // creations of new references postponed by the current thread, see #deferReferences
+  private final ThreadLocal<List<Runnable>> deferredRefs = new ThreadLocal<>();
 
   /**
    * @param settings
@@ -166,37 +169,83 @@ public class InterpreterBase {
 
   protected void setAccordingTo(NameUsage u, String accordingTo, VerbatimRecord v) {
     if (accordingTo != null) {
-      Reference ref = buildReference(accordingTo, v);
-      if (ref != null) {
+      buildReference(accordingTo, v, ref -> {
         if (u.getAccordingToId() != null) {
           v.add(Issue.ACCORDING_TO_CONFLICT);
         }
         u.setAccordingToId(ref.getId());
         u.setAccordingTo(accordingTo);
-      }
+      });
     }
   }
 
   protected void setPublishedIn(Name n, String publishedIn, VerbatimRecord v) {
-    Reference ref = buildReference(publishedIn, v);
-    if (ref != null) {
+    buildReference(publishedIn, v, ref -> {
       n.setPublishedInId(ref.getId());
       n.setPublishedInPage(ref.getPage());
       n.setPublishedInYear(ref.getYear());
-    }
+    });
   }
 
-  protected Reference buildReference(String citation, VerbatimRecord v) {
-    Reference ref = null;
+  protected void buildReference(String citation, VerbatimRecord v, Consumer<Reference> consumer) {
     if (!StringUtils.isBlank(citation)){
-      ref = refFactory.fromCitation(null, citation, v);
+      findOrCreateReference(() -> refFactory.fromCitation(null, citation, v), v, consumer);
+    }
+  }
+
+  /**
+   * Builds a reference, usually by looking up an existing one, stores it if it has never been seen before
+   * and hands it to the consumer unless it is null.
+   * Within {@link #deferReferences(Supplier)} all of this is postponed until the returned tasks are run.
+   */
+  protected void findOrCreateReference(Supplier<Reference> builder, VerbatimRecord v, Consumer<Reference> consumer) {
+    List<Runnable> deferred = deferredRefs.get();
+    if (deferred != null) {
+      deferred.add(() -> findOrCreateReferenceNow(builder, v, consumer));
+    } else {
+      findOrCreateReferenceNow(builder, v, consumer);
+    }
+  }
+
+  private void findOrCreateReferenceNow(Supplier<Reference> builder, VerbatimRecord v, Consumer<Reference> consumer) {
+    Reference ref = builder.get();
+    if (ref != null) {
       if (ref.getVerbatimKey() == null) {
         // create new reference with verbatim key, we've never seen this before!
         ref.setVerbatimKey(v.getId());
         store.references().create(ref);
       }
+      consumer.accept(ref);
+    }
+  }
+
+  /**
+   * Runs an interpretation without creating any new references from citations.
+   * Records interpreted in parallel would otherwise assign reference ids and verbatim keys in whichever order they happen to run.
+   * The postponed creations are returned instead and must be run in the order of the records,
+   * before the interpreted result is used.
+   */
+  public <R> Deferred<R> deferReferences(Supplier<R> interpretation) {
+    List<Runnable> deferred = new ArrayList<>();
+    deferredRefs.set(deferred);
+    try {
+      return new Deferred<>(interpretation.get(), deferred);
+    } finally {
+      deferredRefs.remove();
+    }
+  }
+
+  /**
+   * An interpretation result with its postponed reference creations.
+   */
+  public record Deferred<R>(R result, List<Runnable> references) {
+    /**
+     * Creates the postponed references and returns the completed result.
+     */
+    public R complete() {
+      references.forEach(Runnable::run);
+      return result;
     }
-    return ref;
   }
 
   protected List<TaxonProperty> interpretProperty(VerbatimRecord rec, BiConsumer<TaxonProperty, VerbatimRecord> addReference,
@@ -41,8 +41,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
@@ -73,6 +77,8 @@ public class Normalizer implements Callable<Boolean> {
   private final NameIndex index;
   private final DatasetWithSettings dataset;
   private final Validator validator;
+  // number of threads interpreting CSV records, running record local phases and walking the tree
+  private final int threads;
   private MappingInfos meta;
   // parsing is expensive so we cache the higher taxa names that we need to parse a lot
   private final LoadingCache<RanKnName, ExtinctName> parseCache = Caffeine.newBuilder()
@@ -81,6 +87,13 @@ public class Normalizer implements Callable<Boolean> {
 
 
   public Normalizer(DatasetWithSettings dataset, ImportStore store, Path sourceDir, NameIndex index, ImageService imgService, Validator validator, @Nullable DoiResolver resolver) {
+    this(dataset, store, sourceDir, index, imgService, validator, resolver, 1);
+  }
+
+  /**
+   * @param threads number of threads interpreting CSV records, running record local phases and walking separate root subtrees in parallel
+   */
+  public Normalizer(DatasetWithSettings dataset, ImportStore store, Path sourceDir, NameIndex index, ImageService imgService, Validator validator, @Nullable DoiResolver resolver, int threads) {
     this.format = Preconditions.checkNotNull(dataset.getDataFormat(), "Data format not given");
     this.dataset = dataset;
     this.sourceDir = sourceDir;
@@ -93,6 +106,7 @@ public class Normalizer implements Callable<Boolean> {
     this.index = index;
     this.imgService = imgService;
     this.validator = validator;
+    this.threads = threads;
   }
 
   /**
@@ -123,6 +137,29 @@ public class Normalizer implements Callable<Boolean> {
     return true;
   }
 
+  /**
+   * Applies an action to all records of a stream, in parallel with more than one thread.
+   * Only use it for record local work, which modifies nothing but the given record and the issues of its verbatim record,
+   * so the result does not depend on the order records are processed in.
+   */
+  private <T> void forEach(Stream<T> records, Consumer<T> action) throws InterruptedException {
+    if (threads < 2) {
+      records.forEach(action);
+    } else {
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      try {
+        pool.submit(() -> records.parallel().forEach(action)).get();
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new RuntimeException(e.getCause());
+      } finally {
+        pool.shutdownNow();
+      }
+    }
+  }
+
   private void checkIfCancelled() throws InterruptedException {
     if (Thread.currentThread().isInterrupted()) {
       throw new InterruptedException("Normalizer was interrupted");
@@ -159,7 +196,7 @@ public class Normalizer implements Callable<Boolean> {
     final Set<Environment> defaultEnvironment = dataset.getEnvironment() == null ? null : Set.of(dataset.getEnvironment());
 
     LOG.info("Require mandatory name fields");
-    store.names().all().forEach(nn -> {
+    forEach(store.names().all(), nn -> {
       Name n = nn.getName();
 
       // dataset defaults
@@ -178,14 +215,13 @@ public class Normalizer implements Callable<Boolean> {
       require(n, n.getType(), "name type");
 
       // all names should have a verbatim record by now - even implicit ones!
-      VerbatimRecord v = NameValidator.flagIssues(n, n.getType(), store.verbatimSupplier(n.getVerbatimKey()));
-      if (v != null) {
-        store.put(v);
-      }
+      var issues = IssueContainer.simple();
+      NameValidator.flagIssues(n, n.getType(), issues);
+      store.addIssues(n.getVerbatimKey(), issues);
     });
 
     LOG.info("Apply dataset defaults");
-    store.usages().all().forEach(u -> {
+    forEach(store.usages().all(), u -> {
       try {
         // taxon or synonym
         if (u.isSynonym()) {
@@ -238,7 +274,7 @@ public class Normalizer implements Callable<Boolean> {
     });
 
     LOG.info("Validate name usages");
-    TreeWalker.walkTree(store, new TreeWalker.StartEndHandler() {
+    TreeWalker.walkTreeParallel(store, threads, () -> new TreeWalker.StartEndHandler[]{new TreeWalker.StartEndHandler() {
       final ParentStack<TreeCleanerAndValidator.XLinneanNameUsage> parents = new ParentStack();
 
       @Override
@@ -252,27 +288,19 @@ public class Normalizer implements Callable<Boolean> {
         // look for redundant supplementary infos: https://github.com/CatalogueOfLife/backend/issues/1504
         flagRedundantRecords(nu, issues);
 
-        if (issues.hasIssues()) {
-          // all usages should have a verbatim record by now - even implicit ones!
-          VerbatimRecord v = store.getVerbatim(nu.ud.getVerbatimKey());
-          v.add(issues);
-          store.put(v);
-        }
+        // all usages should have a verbatim record by now - even implicit ones!
+        store.addIssues(nu.ud.getVerbatimKey(), issues);
       }
 
       @Override
       public void end(NameUsageData data, TreeWalker.WalkerContext ctxt) {}
-    });
+    }});
 
     LOG.info("Validate bare names");
-    store.names().allBareNames().forEach(nn -> {
+    forEach(store.names().allBareNames(), nn -> {
       var issues = IssueContainer.simple();
       NameValidator.flagIssues(nn.getName(), nn.getName().getType(), issues);
-      if (issues.hasIssues()) {
-        VerbatimRecord v = store.getVerbatim(nn.getVerbatimKey());
-        v.add(issues);
-        store.put(v);
-      }
+      store.addIssues(nn.getVerbatimKey(), issues);
     });
 
     // verify reference truncation
@@ -416,9 +444,9 @@ public class Normalizer implements Callable<Boolean> {
       });
   }
 
-  private void validateRelations() {
+  private void validateRelations() throws InterruptedException {
     LOG.info("Validate parent relations");
-    store.usages().all().forEach(u -> {
+    forEach(store.usages().all(), u -> {
       if (u.usage.getParentId() != null) {
         var p = store.usages().objByID(u.usage.getParentId());
         if (p == null) {
@@ -508,8 +536,8 @@ public class Normalizer implements Callable<Boolean> {
    * Currently only ambigous synonyms and misapplied names are derived
    * from names data and flagged by an issue.
    */
-  private void rectifyTaxonomicStatus() {
-    store.usages().all().forEach(u -> {
+  private void rectifyTaxonomicStatus() throws InterruptedException {
+    forEach(store.usages().all(), u -> {
       if (u.isSynonym()) {
         Synonym syn = u.asSynonym();
         var n = store.names().objByID(u.nameID);
@@ -1172,13 +1200,13 @@ public class Normalizer implements Callable<Boolean> {
       DataInserter inserter;
       switch (format) {
         case COLDP:
-          inserter = new ColdpInserter(store, sourceDir, dataset.getSettings(), refFactory);
+          inserter = new ColdpInserter(store, sourceDir, dataset.getSettings(), refFactory, threads);
           break;
         case DWCA:
-          inserter = new DwcaInserter(store, sourceDir, dataset.getSettings(), refFactory);
+          inserter = new DwcaInserter(store, sourceDir, dataset.getSettings(), refFactory, threads);
           break;
         case ACEF:
-          inserter = new AcefInserter(store, sourceDir, dataset.getSettings(), refFactory);
+          inserter = new AcefInserter(store, sourceDir, dataset.getSettings(), refFactory, threads);
           break;
         case TEXT_TREE:
           inserter = new TxtTreeInserter(store, sourceDir, dataset.getSettings(), refFactory);
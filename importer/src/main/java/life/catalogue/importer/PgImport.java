@@ -3,15 +3,20 @@ package life.catalogue.importer;
 import life.catalogue.api.model.*;
 import life.catalogue.api.search.NameUsageWrapper;
 import life.catalogue.api.search.SimpleDecision;
+import life.catalogue.api.vocab.Environment;
 import life.catalogue.api.vocab.Issue;
 import life.catalogue.api.vocab.Setting;
 import life.catalogue.api.vocab.Users;
+import life.catalogue.cache.MmapRecordStore;
 import life.catalogue.common.lang.InterruptedRuntimeException;
 import life.catalogue.config.ImporterConfig;
 import life.catalogue.dao.DatasetDao;
 import life.catalogue.dao.TaxonMetricsBuilder;
 import life.catalogue.db.PgUtils;
 import life.catalogue.db.mapper.*;
+import life.catalogue.db.type.CslJsonHandler;
+import life.catalogue.db.type.TermTypeHandler;
+import life.catalogue.db.type2.TermMapTypeHandler;
 import life.catalogue.es.indexing.NameUsageIndexService;
 import life.catalogue.es.indexing.NameUsageIndexServiceEs;
 import life.catalogue.importer.store.ImportStore;
@@ -24,9 +29,18 @@ import life.catalogue.matching.IdentifierScopeResolver;
 import life.catalogue.matching.UsageMatch;
 import life.catalogue.matching.UsageMatcher;
 import life.catalogue.matching.UsageMatcherFactory;
+import life.catalogue.pgcopy.PgBinaryWriter;
+import life.catalogue.pgcopy.PgCopyUtils;
 
+import org.gbif.nameparser.api.Authorship;
+import org.gbif.nameparser.api.NamePart;
 import org.gbif.nameparser.api.Rank;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -37,6 +51,7 @@ import javax.annotation.Nullable;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
+import org.postgresql.jdbc.PgConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,9 +78,33 @@ import static life.catalogue.common.lang.Exceptions.runtimeInterruptIfCancelled;
  */
 public class PgImport implements Callable<Boolean> {
   private static final Logger LOG = LoggerFactory.getLogger(PgImport.class);
-  
+  private static final List<String> VERBATIM_COLUMNS = List.of(
+    "id", "dataset_key", "line", "file", "type", "terms", "issues"
+  );
+  private static final List<String> REFERENCE_COLUMNS = List.of(
+    "dataset_key", "id", "sector_key", "verbatim_key", "verbatim_source_key", "csl", "citation", "year", "created_by", "modified_by"
+  );
+  private static final List<String> NAME_COLUMNS = List.of(
+    "dataset_key", "id", "sector_key", "identifier", "verbatim_key", "verbatim_source_key",
+    "scientific_name", "scientific_name_normalized", "authorship", "authorship_normalized", "rank",
+    "uninomial", "genus", "infrageneric_epithet", "specific_epithet", "infraspecific_epithet", "cultivar_epithet", "candidatus", "notho",
+    "basionym_authors", "basionym_ex_authors", "basionym_year", "combination_authors", "combination_ex_authors", "combination_year",
+    "sanctioning_author", "published_in_id", "published_in_page", "published_in_page_link",
+    "code", "nom_status", "original_spelling", "gender_agreement", "gender", "origin", "type",
+    "etymology", "link", "nomenclatural_note", "unparsed", "remarks", "created_by", "modified_by"
+  );
+  private static final List<String> NAME_MATCH_COLUMNS = List.of(
+    "dataset_key", "sector_key", "index_id", "name_id"
+  );
+  private static final List<String> USAGE_COLUMNS = List.of(
+    "dataset_key", "id", "sector_key", "verbatim_key", "verbatim_source_key", "parent_id", "name_id", "status", "origin",
+    "name_phrase", "according_to_id", "reference_ids", "identifier", "remarks", "created_by", "modified_by",
+    "ordinal", "scrutinizer", "scrutinizer_id", "scrutinizer_date", "extinct", "temporal_range_start", "temporal_range_end", "environments", "link"
+  );
+
   private final ImportStore store;
   private final int batchSize;
+  private final boolean binaryCopy;
   private final SqlSessionFactory sessionFactory;
   private final DatasetDao datasetDao;
   private final NameUsageIndexService indexService;
@@ -103,6 +142,7 @@ public class PgImport implements Callable<Boolean> {
     this.userKey = userKey;
     this.store = store;
     this.batchSize = cfg.batchSize;
+    this.binaryCopy = cfg.binaryCopy;
     this.sessionFactory = sessionFactory;
     this.indexService = indexService;
     this.datasetDao = datasetDao;
@@ -209,6 +249,10 @@ public class PgImport implements Callable<Boolean> {
 
   private void insertVerbatim() throws InterruptedException {
     LOG.info("Start inserting verbatim data for dataset {}: {}", dataset.getKey(), dataset.getTitle());
+    if (binaryCopy) {
+      copyVerbatim();
+      return;
+    }
     try (final SqlSession session = sessionFactory.openSession(ExecutorType.BATCH, false)) {
       VerbatimRecordMapper mapper = session.getMapper(VerbatimRecordMapper.class);
       int counter = 0;
@@ -239,6 +283,45 @@ public class PgImport implements Callable<Boolean> {
     batchCache.clear();
   }
 
+  /**
+   * Streams all verbatim records into postgres with a single binary COPY.
+   * Keys are assigned up front in store order instead of reading generated keys back after every batch commit.
+   * The dataset's verbatim sequence is moved past them afterwards, so later inserts never collide.
+   */
+  private void copyVerbatim() throws InterruptedException {
+    final TermMapTypeHandler termsHandler = new TermMapTypeHandler();
+    try (SqlSession session = sessionFactory.openSession(false)) {
+      PgConnection con = session.getConnection().unwrap(PgConnection.class);
+      final int issueOid = PgCopyUtils.typeOid(con, "ISSUE");
+      int counter = 0;
+      try (PgBinaryWriter w = PgCopyUtils.binaryWriter(con, "verbatim", VERBATIM_COLUMNS)) {
+        for (VerbatimRecord v : store.verbatimList()) {
+          int key = ++counter;
+          verbatimKeys.put(v.getId(), key);
+          w.startRow(VERBATIM_COLUMNS.size());
+          w.writePInt(key);
+          w.writePInt(dataset.getKey());
+          w.writePInt((int) v.getLine());
+          w.writeString(v.getFile());
+          w.writeString(TermTypeHandler.toText(v.getType()));
+          w.writeJsonb(v.getTerms() == null ? null : termsHandler.toJson(v.getTerms()));
+          w.writeEnumArray(issueOid, v.getIssues() == null ? Collections.<Issue>emptySet() : v.getIssues());
+          if (counter % batchSize == 0) {
+            interruptIfCancelled();
+            LOG.debug("Copied {} verbatim records so far", counter);
+          }
+        }
+      }
+      con.commit();
+      session.getMapper(DatasetPartitionMapper.class).updateIdSequence("verbatim", dataset.getKey());
+      session.commit();
+      LOG.info("Copied {} verbatim records", counter);
+
+    } catch (IOException | SQLException e) {
+      throw new RuntimeException("Failed to copy verbatim records of dataset " + dataset.getKey(), e);
+    }
+  }
+
   private <T extends VerbatimEntity & UserManaged & DatasetScoped > T updateVerbatimUserEntity(T ent) {
     return updateVerbatimUserEntity(ent, null);
   }
@@ -286,6 +369,10 @@ public class PgImport implements Callable<Boolean> {
   }
 
   private void insertReferences() throws InterruptedException {
+    if (binaryCopy) {
+      copyReferences();
+      return;
+    }
     try (final SqlSession session = sessionFactory.openSession(ExecutorType.BATCH, false)) {
       ReferenceMapper mapper = session.getMapper(ReferenceMapper.class);
       int counter = 0;
@@ -309,10 +396,48 @@ public class PgImport implements Callable<Boolean> {
   }
   
   
+  private void copyReferences() throws InterruptedException {
+    final CslJsonHandler cslHandler = new CslJsonHandler();
+    try (SqlSession session = sessionFactory.openSession(false)) {
+      PgConnection con = session.getConnection().unwrap(PgConnection.class);
+      // update all tmp ids to nice ones
+      store.references().updateTmpIds();
+      try (PgBinaryWriter w = PgCopyUtils.binaryWriter(con, "reference", REFERENCE_COLUMNS)) {
+        for (Reference r : store.references()) {
+          updateVerbatimUserEntity(r);
+          w.startRow(REFERENCE_COLUMNS.size());
+          w.writePInt(dataset.getKey());
+          w.writeString(r.getId());
+          w.writeInteger(r.getSectorKey());
+          w.writeInteger(r.getVerbatimKey());
+          w.writeInteger(r.getVerbatimSourceKey());
+          w.writeJsonb(r.getCsl() == null ? null : cslHandler.toJson(r.getCsl()));
+          w.writeString(r.getCitation());
+          w.writeInteger(r.getYear());
+          w.writePInt(r.getCreatedBy());
+          w.writePInt(r.getModifiedBy());
+          if (rCounter.incrementAndGet() % batchSize == 0) {
+            interruptIfCancelled();
+            LOG.debug("Copied {} references", rCounter);
+          }
+        }
+      }
+      con.commit();
+      LOG.debug("Copied all {} references", rCounter);
+
+    } catch (IOException | SQLException e) {
+      throw new RuntimeException("Failed to copy references of dataset " + dataset.getKey(), e);
+    }
+  }
+
   /**
    * Inserts all names, collecting all homotypic name keys for later updates if they haven't been inserted already.
    */
-  private void insertNames() {
+  private void insertNames() throws InterruptedException {
+    if (binaryCopy) {
+      copyNames();
+      return;
+    }
     try (final SqlSession session = sessionFactory.openSession(ExecutorType.BATCH, false)) {
       final NameMapper nm = session.getMapper(NameMapper.class);
       final NameMatchMapper nmm = session.getMapper(NameMatchMapper.class);
@@ -334,6 +459,101 @@ public class PgImport implements Callable<Boolean> {
     }
     LOG.info("Inserted {} name in total", nCounter.get());
   }
+
+  /**
+   * Streams all names and their names index matches into postgres with binary COPY.
+   * The matches are copied in a second pass over the names as a connection can only run a single COPY at a time.
+   */
+  private void copyNames() throws InterruptedException {
+    try (SqlSession session = sessionFactory.openSession(false)) {
+      PgConnection con = session.getConnection().unwrap(PgConnection.class);
+      final int namePartOid = PgCopyUtils.typeOid(con, "NAMEPART");
+      try (PgBinaryWriter w = PgCopyUtils.binaryWriter(con, "name", NAME_COLUMNS)) {
+        for (NameData nd : (Iterable<NameData>) store.names().all()::iterator) {
+          Name n = nd.getName();
+          updateVerbatimUserEntity(n);
+          updateReferenceKey(n.getPublishedInId(), n::setPublishedInId);
+          writeName(w, n, namePartOid);
+          if (nCounter.incrementAndGet() % batchSize == 0) {
+            interruptIfCancelled();
+            LOG.debug("Copied {} names", nCounter.get());
+          }
+        }
+      }
+      try (PgBinaryWriter w = PgCopyUtils.binaryWriter(con, "name_match", NAME_MATCH_COLUMNS)) {
+        for (NameData nd : (Iterable<NameData>) store.names().all()::iterator) {
+          Name n = nd.getName();
+          w.startRow(NAME_MATCH_COLUMNS.size());
+          w.writePInt(dataset.getKey());
+          w.writeInteger(n.getSectorKey());
+          w.writeInteger(n.getNamesIndexId());
+          w.writeString(n.getId());
+        }
+      }
+      con.commit();
+
+    } catch (IOException | SQLException e) {
+      throw new RuntimeException("Failed to copy names of dataset " + dataset.getKey(), e);
+    }
+    LOG.info("Copied {} names in total", nCounter.get());
+  }
+
+  private void writeName(PgBinaryWriter w, Name n, int namePartOid) throws IOException {
+    w.startRow(NAME_COLUMNS.size());
+    w.writePInt(dataset.getKey());
+    w.writeString(n.getId());
+    w.writeInteger(n.getSectorKey());
+    w.writeStringArray(identifiers(n.getIdentifier()));
+    w.writeInteger(n.getVerbatimKey());
+    w.writeInteger(n.getVerbatimSourceKey());
+    w.writeString(n.getScientificName());
+    w.writeString(n.getScientificNameNormalized());
+    w.writeString(n.getAuthorship());
+    w.writeStringArray(n.getAuthorshipNormalized());
+    w.writeEnum(n.getRank());
+    w.writeString(n.getUninomial());
+    w.writeString(n.getGenus());
+    w.writeString(n.getInfragenericEpithet());
+    w.writeString(n.getSpecificEpithet());
+    w.writeString(n.getInfraspecificEpithet());
+    w.writeString(n.getCultivarEpithet());
+    w.writePBoolean(n.isCandidatus());
+    w.writeEnumArray(namePartOid, n.getNotho() == null ? Collections.<NamePart>emptySet() : n.getNotho());
+    writeAuthorship(w, n.getBasionymAuthorship());
+    writeAuthorship(w, n.getCombinationAuthorship());
+    w.writeString(n.getSanctioningAuthor());
+    w.writeString(n.getPublishedInId());
+    w.writeString(n.getPublishedInPage());
+    w.writeString(n.getPublishedInPageLink());
+    w.writeEnum(n.getCode());
+    w.writeEnum(n.getNomStatus());
+    w.writeBoolean(n.isOriginalSpelling());
+    w.writeBoolean(n.hasGenderAgreement());
+    w.writeEnum(n.getGender());
+    w.writeEnum(n.getOrigin());
+    w.writeEnum(n.getType());
+    w.writeString(n.getEtymology());
+    w.writeString(n.getLink() == null ? null : n.getLink().toString());
+    w.writeString(n.getNomenclaturalNote());
+    w.writeString(n.getUnparsed());
+    w.writeString(n.getRemarks());
+    w.writeInteger(n.getCreatedBy());
+    w.writeInteger(n.getModifiedBy());
+  }
+
+  private static void writeAuthorship(PgBinaryWriter w, @Nullable Authorship a) throws IOException {
+    w.writeStringArray(a == null ? List.of() : emptyIfNull(a.getAuthors()));
+    w.writeStringArray(a == null ? List.of() : emptyIfNull(a.getExAuthors()));
+    w.writeString(a == null ? null : a.getYear());
+  }
+
+  private static List<String> emptyIfNull(@Nullable List<String> values) {
+    return values == null ? List.of() : values;
+  }
+
+  private static List<String> identifiers(@Nullable List<Identifier> ids) {
+    return ids == null ? null : ids.stream().map(Identifier::toString).toList();
+  }
   
   /**
    * Go through all name relations and convert & persist them
@@ -394,6 +614,9 @@ public class PgImport implements Callable<Boolean> {
    * insert taxa/synonyms with all the rest. Skips bare name usages.
    * Requires names to be inserted before!
    * This also indexes usages into the ES search index!
+   *
+   * With binary copy enabled all taxa and synonyms are first streamed with COPY, see {@link #copyUsages},
+   * and the tree walk below only inserts their associated entities, builds metrics and indexes them.
    */
   private void insertUsages() throws InterruptedException {
     // optionally set up cross-dataset matching: for each imported usage we add the matched usageID
@@ -432,6 +655,7 @@ public class PgImport implements Callable<Boolean> {
       matchTarget = null;
       matchScope = null;
     }
+    MmapRecordStore matchedIds = null;
     try (var indexer = indexService.buildDatasetIndexingHandler(dataset.getKey())) {
       // load all decisions so we can include them in the ES usage index later
       final Map<String, List<SimpleDecision>> decisions = new HashMap<>();
@@ -452,6 +676,18 @@ public class PgImport implements Callable<Boolean> {
         LOG.info("Loaded {} decisions for indexing", cnt);
       }
       interruptIfCancelled();
+      if (binaryCopy) {
+        // ids matched during the copy pass, spilled to disk until they are indexed
+        if (matchTarget != null && matchScope != null) {
+          try {
+            matchedIds = new MmapRecordStore(new File(store.getStoreDir(), "matched-ids"));
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }
+        copyUsages(matchTarget, matchScope, matchedIds);
+      }
+      final MmapRecordStore copyMatches = matchedIds;
       try (SqlSession session = sessionFactory.openSession(ExecutorType.BATCH, false)) {
         LOG.info("Inserting all taxa & synonyms");
         TreatmentMapper treatmentMapper = session.getMapper(TreatmentMapper.class);
@@ -477,8 +713,14 @@ public class PgImport implements Callable<Boolean> {
 
             var u = nu.ud;
             fillUsageData(u, vKeys);
-            // optional cross-dataset matching: add a scoped Identifier from the configured target dataset
-            if (matchTarget != null && matchScope != null && (u.isTaxon() || u.isSynonym())) {
+            if (binaryCopy) {
+              // usages were already copied and matched
+              byte[] id = copyMatches == null ? null : copyMatches.get(u.getId());
+              if (id != null) {
+                u.usage.asUsageBase().addIdentifier(new Identifier(matchScope, new String(id, StandardCharsets.UTF_8)));
+              }
+            } else if (matchTarget != null && matchScope != null && (u.isTaxon() || u.isSynonym())) {
+              // optional cross-dataset matching: add a scoped Identifier from the configured target dataset
               matchUsage(u, vKey, matchTarget, matchScope, verbatimRecordMapper);
             }
             // update depth
@@ -488,18 +730,24 @@ public class PgImport implements Callable<Boolean> {
             // insert taxon or synonym
             UsageNXtra nx = null; // we only populate that for accepted taxa which we push onto the stack later
             if (u.isSynonym()) {
-              var syn = u.asSynonym();
-              synMapper.create(syn);
-              sCounter.incrementAndGet();
-              for (String id : u.proParteAcceptedIDs) {
-                syn.setId(u.getId() + "-" + id);
-                syn.setParentId(id);
+              if (binaryCopy) {
+                sCounter.addAndGet(1 + u.proParteAcceptedIDs.size());
+              } else {
+                var syn = u.asSynonym();
                 synMapper.create(syn);
                 sCounter.incrementAndGet();
+                for (String id : u.proParteAcceptedIDs) {
+                  syn.setId(u.getId() + "-" + id);
+                  syn.setParentId(id);
+                  synMapper.create(syn);
+                  sCounter.incrementAndGet();
+                }
               }
 
             } else if (u.isTaxon()){
-              taxonMapper.create(updateUser(u.asTaxon()));
+              if (!binaryCopy) {
+                taxonMapper.create(updateUser(u.asTaxon()));
+              }
               tCounter.incrementAndGet();
               Taxon acc = u.asTaxon();
 
@@ -635,6 +883,9 @@ public class PgImport implements Callable<Boolean> {
         }
       }
     } finally {
+      if (matchedIds != null) {
+        matchedIds.close();
+      }
       // release our cross-dataset match-target lease so the factory can close its store once no one holds it
       if (matchTarget != null) {
         try {
@@ -646,26 +897,139 @@ public class PgImport implements Callable<Boolean> {
     }
   }
 
+  /**
+   * Streams all taxa and synonyms into postgres with binary COPY, walking the tree in the same order as the regular inserts.
+   * As a connection can only run a single COPY and all associated entities require their usage to exist,
+   * this is a first pass before the regular tree walk inserts the associated entities, builds metrics and indexes the usages.
+   * Only the usages themselves are updated here, their names are loaded and updated once in the second pass.
+   * The ids matched by the optional cross dataset matching are kept in the given store so the second pass can index them.
+   */
+  private void copyUsages(@Nullable UsageMatcher matchTarget, @Nullable String matchScope, @Nullable MmapRecordStore matchedIds) throws InterruptedException {
+    final AtomicInteger counter = new AtomicInteger();
+    try (SqlSession session = sessionFactory.openSession(false);
+         SqlSession issueSession = sessionFactory.openSession(ExecutorType.BATCH, false)
+    ) {
+      PgConnection con = session.getConnection().unwrap(PgConnection.class);
+      final int environmentOid = PgCopyUtils.typeOid(con, "ENVIRONMENT");
+      final VerbatimRecordMapper verbatimRecordMapper = issueSession.getMapper(VerbatimRecordMapper.class);
+      final DSID<Integer> vKey = DSID.root(dataset.getKey());
+      try (PgBinaryWriter w = PgCopyUtils.binaryWriter(con, "name_usage", USAGE_COLUMNS)) {
+        TreeWalker.walkTree(store, new TreeWalker.StartEndHandler() {
+          @Override
+          public void start(NameUsageData nu, TreeWalker.WalkerContext ctxt) {
+            var u = nu.ud;
+            if (!u.isTaxon() && !u.isSynonym()) {
+              // bare names are only indexed
+              return;
+            }
+            updateUsageData(u, null);
+            if (matchedIds != null) {
+              // matching needs the name, but not its updated keys
+              u.usage.setName(store.names().objByID(u.nameID).getName());
+              var id = matchUsage(u, vKey, matchTarget, matchScope, verbatimRecordMapper);
+              if (id != null) {
+                matchedIds.put(u.getId(), id.getId().getBytes(StandardCharsets.UTF_8));
+              }
+            }
+            try {
+              if (u.isSynonym()) {
+                var syn = u.asSynonym();
+                writeUsage(w, syn, syn.getId(), syn.getParentId(), u.nameID, environmentOid);
+                for (String id : u.proParteAcceptedIDs) {
+                  writeUsage(w, syn, u.getId() + "-" + id, id, u.nameID, environmentOid);
+                }
+              } else {
+                var t = updateUser(u.asTaxon());
+                writeUsage(w, t, t.getId(), t.getParentId(), u.nameID, environmentOid);
+              }
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+            if (counter.incrementAndGet() % batchSize == 0) {
+              runtimeInterruptIfCancelled();
+              LOG.debug("Copied {} taxa & synonyms", counter.get());
+            }
+          }
+
+          @Override
+          public void end(NameUsageData data, TreeWalker.WalkerContext ctxt) {
+          }
+        });
+      }
+      con.commit();
+      issueSession.commit();
+
+    } catch (IOException | SQLException | UncheckedIOException e) {
+      throw new RuntimeException("Failed to copy usages of dataset " + dataset.getKey(), e);
+    }
+    LOG.info("Copied {} taxa & synonyms", counter.get());
+  }
+
+  /**
+   * Writes the same columns as the taxon and synonym mappers, leaving the taxon only ones empty for synonyms.
+   */
+  private void writeUsage(PgBinaryWriter w, NameUsageBase u, String id, String parentId, String nameId, int environmentOid) throws IOException {
+    w.startRow(USAGE_COLUMNS.size());
+    w.writePInt(dataset.getKey());
+    w.writeString(id);
+    w.writeInteger(u.getSectorKey());
+    w.writeInteger(u.getVerbatimKey());
+    w.writeInteger(u.getVerbatimSourceKey());
+    w.writeString(parentId);
+    w.writeString(nameId);
+    w.writeEnum(u.getStatus());
+    w.writeEnum(u.getOrigin());
+    w.writeString(u.getNamePhrase());
+    w.writeString(u.getAccordingToId());
+    w.writeStringArray(emptyIfNull(u.getReferenceIds()));
+    w.writeStringArray(identifiers(u.getIdentifier()));
+    w.writeString(u.getRemarks());
+    w.writeInteger(u.getCreatedBy());
+    w.writeInteger(u.getModifiedBy());
+    if (u instanceof Taxon t) {
+      w.writeInteger(t.getOrdinal());
+      w.writeString(t.getScrutinizer());
+      w.writeString(t.getScrutinizerID());
+      w.writeString(t.getScrutinizerDate() == null ? null : t.getScrutinizerDate().toString());
+      w.writeBoolean(t.isExtinct());
+      w.writeString(t.getTemporalRangeStart());
+      w.writeString(t.getTemporalRangeEnd());
+      w.writeEnumArray(environmentOid, t.getEnvironments() == null ? Collections.<Environment>emptySet() : t.getEnvironments());
+      w.writeString(t.getLink() == null ? null : t.getLink().toString());
+    } else {
+      for (int i = 0; i < 7; i++) {
+        w.writeNull();
+      }
+      // the column default
+      w.writeEnumArray(environmentOid, Collections.<Environment>emptySet());
+      w.writeNull();
+    }
+  }
+
   /**
    * Matches the imported usage against the configured target dataset and either attaches an
    * {@link Identifier} (for clean and HIGHERRANK matches) or flags a MATCHING_* issue on the
    * verbatim record (for AMBIGUOUS, NONE, UNSUPPORTED, and additionally HIGHERRANK).
+   *
+   * @return the attached identifier or null
    */
-  private void matchUsage(UsageData u, DSID<Integer> vKey, UsageMatcher matcher, String scope, VerbatimRecordMapper verbatimRecordMapper) {
+  private Identifier matchUsage(UsageData u, DSID<Integer> vKey, UsageMatcher matcher, String scope, VerbatimRecordMapper verbatimRecordMapper) {
     UsageMatch m;
     try {
       m = matcher.parseAndMatch(u.usage.toSimpleNameLink(), true);
     } catch (RuntimeException e) {
       LOG.warn("Match failed for usage {} {}", u.getId(), u.usage.getName().getLabel(), e);
-      return;
+      return null;
     }
-    if (m == null || m.type == null) return;
+    if (m == null || m.type == null) return null;
+    Identifier id = null;
     switch (m.type) {
       case EXACT:
       case VARIANT:
       case CANONICAL:
         if (m.usage != null) {
-          u.usage.asUsageBase().addIdentifier(new Identifier(scope, m.usage.getId()));
+          id = new Identifier(scope, m.usage.getId());
+          u.usage.asUsageBase().addIdentifier(id);
         }
         break;
       case HIGHERRANK:
@@ -674,7 +1038,8 @@ public class PgImport implements Callable<Boolean> {
       case AMBIGUOUS:
         addVerbatimIssue(verbatimRecordMapper, vKey, u.getVerbatimKey(), Issue.MATCHING_AMBIGUOUS);
         if (m.usage != null) {
-          u.usage.asUsageBase().addIdentifier(new Identifier(scope, m.usage.getId()));
+          id = new Identifier(scope, m.usage.getId());
+          u.usage.asUsageBase().addIdentifier(id);
         }
         break;
       case NONE:
@@ -684,6 +1049,7 @@ public class PgImport implements Callable<Boolean> {
         addVerbatimIssue(verbatimRecordMapper, vKey, u.getVerbatimKey(), Issue.MATCHING_UNSUPPORTED);
         break;
     }
+    return id;
   }
 
   private void addVerbatimIssue(VerbatimRecordMapper mapper, DSID<Integer> vKey, Integer verbatimKey, Issue issue) {
@@ -712,10 +1078,16 @@ public class PgImport implements Callable<Boolean> {
 
   private void fillUsageData(UsageData u, Set<Integer> vKeys){
     NameData nn = updateNameData(store.names().objByID(u.nameID), vKeys);
+    u.usage.setName(nn.getName());
+    updateUsageData(u, vKeys);
+  }
 
+  /**
+   * Updates the usage itself, leaving its name untouched.
+   */
+  private void updateUsageData(UsageData u, Set<Integer> vKeys){
     updateVerbatimEntity(u, vKeys);
     NameUsage nu = u.usage;
-    nu.setName(nn.getName());
     nu.setDatasetKey(dataset.getKey());
     if (nu.getAccordingToId() != null) {
       updateReferenceKey(nu.getAccordingToId(), nu::setAccordingToId);
@@ -724,7 +1096,7 @@ public class PgImport implements Callable<Boolean> {
     updateReferenceKey(nub.getReferenceIds());
     updateUser(nub);
     if (u.isSynonym() && u.usage.getParentId() == null) {
-      throw new IllegalStateException("Synonym " + u.getId() + " without accepted taxon found: " + nn.getName().getScientificName());
+      throw new IllegalStateException("Synonym " + u.getId() + " without accepted taxon found for name " + u.nameID);
     }
   }
 
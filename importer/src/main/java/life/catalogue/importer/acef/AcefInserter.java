@@ -7,6 +7,7 @@ import life.catalogue.common.date.FuzzyDate;
 import life.catalogue.csv.AcefReader;
 import life.catalogue.dao.ReferenceFactory;
 import life.catalogue.importer.DataCsvInserter;
+import life.catalogue.importer.InterpreterBase;
 import life.catalogue.importer.NormalizationFailedException;
 import life.catalogue.importer.store.ImportStore;
 import life.catalogue.importer.store.ReferenceMapStore;
@@ -44,13 +45,22 @@ public class AcefInserter extends DataCsvInserter {
   private AcefInterpreter inter;
   
   public AcefInserter(ImportStore store, Path folder, DatasetSettings settings, ReferenceFactory refFactory) throws IOException {
-    super(folder, AcefReader.from(folder), store, settings, refFactory);
+    this(store, folder, settings, refFactory, 1);
+  }
+
+  public AcefInserter(ImportStore store, Path folder, DatasetSettings settings, ReferenceFactory refFactory, int threads) throws IOException {
+    super(folder, AcefReader.from(folder), store, settings, refFactory, threads);
   }
   
   /**
    * Inserts ACEF data from a source folder into the normalizer store. Before inserting it does a
    * quick check to see if all required files are existing.
    */
+  @Override
+  protected InterpreterBase interpreter() {
+    return inter;
+  }
+
   @Override
   protected void insert() throws NormalizationFailedException, InterruptedException {
     inter = new AcefInterpreter(settings, reader.getMappingFlags(), refFactory, store);
@@ -9,6 +9,7 @@ import life.catalogue.common.io.InputStreamUtils;
 import life.catalogue.csv.ColdpReader;
 import life.catalogue.dao.ReferenceFactory;
 import life.catalogue.importer.DataCsvInserter;
+import life.catalogue.importer.InterpreterBase;
 import life.catalogue.importer.NormalizationFailedException;
 import life.catalogue.importer.bibtex.BibTexInserter;
 import life.catalogue.importer.csljson.CslJsonInserter;
@@ -39,13 +40,22 @@ public class ColdpInserter extends DataCsvInserter {
   private ColdpInterpreter inter;
 
   public ColdpInserter(ImportStore store, Path folder, DatasetSettings settings, ReferenceFactory refFactory) throws IOException {
-    super(folder, ColdpReader.from(folder), store, settings, refFactory);
+    this(store, folder, settings, refFactory, 1);
+  }
+
+  public ColdpInserter(ImportStore store, Path folder, DatasetSettings settings, ReferenceFactory refFactory, int threads) throws IOException {
+    super(folder, ColdpReader.from(folder), store, settings, refFactory, threads);
   }
   
   /**
    * Inserts COL data from a source folder into the normalizer store. Before inserting it does a
    * quick check to see if all required files are existing.
    */
+  @Override
+  protected InterpreterBase interpreter() {
+    return inter;
+  }
+
   @Override
   protected void insert() throws NormalizationFailedException, InterruptedException {
     inter = new ColdpInterpreter(settings, reader.getMappingFlags(), refFactory, store);
@@ -44,7 +44,8 @@ public class DwcInterpreter extends InterpreterBase {
   private static final Term WORMS_INVASIVENESS = UnknownTerm.build("http://www.marinespecies.org/traits/Invasiveness", "Invasiveness", false);
 
   private final Term idTerm;
-  private final Map<String, String> dwcaID2taxonID = new HashMap<>();
+  // written while interpreting taxon records, which can happen in parallel
+  private final Map<String, String> dwcaID2taxonID = Collections.synchronizedMap(new HashMap<>());
 
   public DwcInterpreter(DatasetSettings settings, MappingInfos mappingFlags, ReferenceFactory refFactory, ImportStore store) {
     super(settings, refFactory, store, false);
@@ -89,13 +90,8 @@ public class DwcInterpreter extends InterpreterBase {
 
   public List<TaxonAndProperties> interpretSpeciesProfile(VerbatimRecord v) {
     var tp = new TaxonAndProperties();
-    String refID;
     if (v.hasTerm(DcTerm.source)) {
-      var ref = buildReference(v.get(DcTerm.source), v);
-      if (ref != null) {
-        refID = ref.getId();
-        tp.getReferenceIds().add(refID);
-      }
+      buildReference(v.get(DcTerm.source), v, ref -> tp.getReferenceIds().add(ref.getId()));
     }
 
     super.setReference(v, ColdpTerm.referenceID, tp.getReferenceIds()::add);
@@ -349,15 +345,7 @@ public class DwcInterpreter extends InterpreterBase {
    */
   private void setReference(Referenced obj, VerbatimRecord v) {
     if (v.hasTerm(DcTerm.source)) {
-      Reference ref = refFactory.fromCitation(null, v.get(DcTerm.source), v);
-      if (ref != null) {
-        if (ref.getVerbatimKey() == null) {
-          // create new reference with verbatim key, we've never seen this before!
-          ref.setVerbatimKey(v.getId());
-          store.references().create(ref);
-        }
-        obj.setReferenceId(ref.getId());
-      }
+      findOrCreateReference(() -> refFactory.fromCitation(null, v.get(DcTerm.source), v), v, ref -> obj.setReferenceId(ref.getId()));
     }
   }
 
@@ -375,16 +363,10 @@ public class DwcInterpreter extends InterpreterBase {
     if (opt.isPresent()) {
       Name n = opt.get().getName();
       if (v.hasTerm(DwcTerm.namePublishedInID) || v.hasTerm(DwcTerm.namePublishedIn)) {
-        Reference ref = refFactory.fromDWC(v.getRaw(DwcTerm.namePublishedInID), v.get(DwcTerm.namePublishedIn), v.get(DwcTerm.namePublishedInYear), v);
-        if (ref != null) {
-          if (ref.getVerbatimKey() == null) {
-            // create new reference with verbatim key, we've never seen this before!
-            ref.setVerbatimKey(v.getId());
-            store.references().create(ref);
-          }
+        findOrCreateReference(() -> refFactory.fromDWC(v.getRaw(DwcTerm.namePublishedInID), v.get(DwcTerm.namePublishedIn), v.get(DwcTerm.namePublishedInYear), v), v, ref -> {
           n.setPublishedInId(ref.getId());
           n.setPublishedInPage(ref.getPage());
-        }
+        });
       }
     }
     return opt;
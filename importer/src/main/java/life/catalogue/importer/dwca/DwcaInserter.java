@@ -12,6 +12,7 @@ import life.catalogue.common.text.StringUtils;
 import life.catalogue.csv.DwcaReader;
 import life.catalogue.dao.ReferenceFactory;
 import life.catalogue.importer.DataCsvInserter;
+import life.catalogue.importer.InterpreterBase;
 import life.catalogue.importer.NormalizationFailedException;
 import life.catalogue.importer.store.ImportStore;
 import life.catalogue.importer.store.model.NameUsageData;
@@ -57,13 +58,22 @@ public class DwcaInserter extends DataCsvInserter {
   private DwcInterpreter inter;
 
   public DwcaInserter(ImportStore store, Path folder, DatasetSettings settings, ReferenceFactory refFactory) throws IOException {
-    super(folder, DwcaReader.from(folder), store, settings, refFactory);
+    this(store, folder, settings, refFactory, 1);
+  }
+
+  public DwcaInserter(ImportStore store, Path folder, DatasetSettings settings, ReferenceFactory refFactory, int threads) throws IOException {
+    super(folder, DwcaReader.from(folder), store, settings, refFactory, threads);
   }
   
   /**
    * Inserts DWCA data from a source folder into the normalizer store.
    * Before inserting it does a quick check to see if all required files are existing.
    */
+  @Override
+  protected InterpreterBase interpreter() {
+    return inter;
+  }
+
   @Override
   protected void insert() throws NormalizationFailedException, InterruptedException {
     inter = new DwcInterpreter(settings, reader.getMappingFlags(), refFactory, store);
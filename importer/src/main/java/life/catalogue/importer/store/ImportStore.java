@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.io.StringWriter;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -31,6 +32,7 @@ import org.slf4j.LoggerFactory;
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.util.Pool;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Striped;
 
 import static life.catalogue.common.tax.NameFormatter.HYBRID_MARKER;
 
@@ -55,6 +57,8 @@ public class ImportStore implements AutoCloseable {
   // verbatimKey sequence and lookup
   private final AtomicInteger verbatimSequence = new AtomicInteger(0);
   private final Map<Integer, VerbatimRecord> verbatim;
+  // guards the read-modify-write of verbatim records by parallel normalizer phases
+  private final Striped<Lock> verbatimLocks = Striped.lock(256);
   private final ReferenceMapStore references;
   private final MapStore<TypeMaterial> typeMaterial;
   private final NameStore names;
@@ -116,6 +120,13 @@ public class ImportStore implements AutoCloseable {
     return datasetKey;
   }
 
+  /**
+   * @return the directory of the store which is removed when the store is closed, so it can also keep temporary files
+   */
+  public File getStoreDir() {
+    return storeDir;
+  }
+
   public NameStore names() {
     return names;
   }
@@ -312,20 +323,36 @@ public class ImportStore implements AutoCloseable {
   
   public void addIssues(Integer verbatimKey, Issue... issue) {
     if (verbatimKey != null) {
-      VerbatimRecord v = getVerbatim(verbatimKey);
-      if (v == null) {
-        LOG.warn("No verbatim exists for verbatim key {}", verbatimKey);
-      } else {
-        for (Issue is : issue) {
-          if (is != null) {
-            v.add(is);
+      Lock lock = verbatimLocks.get(verbatimKey);
+      lock.lock();
+      try {
+        VerbatimRecord v = getVerbatim(verbatimKey);
+        if (v == null) {
+          LOG.warn("No verbatim exists for verbatim key {}", verbatimKey);
+        } else {
+          for (Issue is : issue) {
+            if (is != null) {
+              v.add(is);
+            }
           }
+          put(v);
         }
-        put(v);
+      } finally {
+        lock.unlock();
       }
     }
   }
 
+  /**
+   * Adds all issues of a container to a verbatim record.
+   * Safe to be called concurrently for the same record.
+   */
+  public void addIssues(Integer verbatimKey, IssueContainer issues) {
+    if (issues.hasIssues()) {
+      addIssues(verbatimKey, issues.getIssues().toArray(Issue[]::new));
+    }
+  }
+
   public int verbatimSize() {
     return verbatim.size();
   }
@@ -29,7 +29,7 @@ import com.esotericsoftware.kryo.util.Pool;
 
 public class NameStore extends CRUDStore<NameData> {
   
-  // scientificName to nameID
+  // scientificName to nameID, only modified by the synchronized index methods as names can be updated concurrently
   private final Map<String, Set<String>> names;
 
   public NameStore(DB mapDb, String mapDbName, Pool<Kryo> pool, IdGenerator idGen, ImportStore importStore) throws IOException {
@@ -79,7 +79,7 @@ public class NameStore extends CRUDStore<NameData> {
     return nn;
   }
   
-  private void rmFromIndex(NameData n) {
+  private synchronized void rmFromIndex(NameData n) {
     if (n.getName().getScientificName() != null) {
       var nids = names.get(n.getName().getScientificName());
       if (nids != null) {
@@ -93,7 +93,7 @@ public class NameStore extends CRUDStore<NameData> {
     }
   }
   
-  private void addToIndex(NameData n) {
+  private synchronized void addToIndex(NameData n) {
     if (n.getName().getScientificName() != null) {
       var sciname = n.getName().getScientificName();
       var nids = names.getOrDefault(sciname, new HashSet<>());
@@ -5,10 +5,16 @@ import life.catalogue.api.vocab.NomRelType;
 import life.catalogue.importer.store.model.NameUsageData;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import life.catalogue.concurrent.NamedThreadFactory;
 import life.catalogue.importer.txttree.TxtTreeInserter;
 
 import org.slf4j.Logger;
@@ -64,6 +70,53 @@ public class TreeWalker {
     return ctxt.counter.get();
   }
 
+  /**
+   * Walks the subtrees of all roots in parallel, each of them in the same depth first order as {@link #walkTree}.
+   * Every subtree gets its own handlers from the supplier, so handlers keeping state like a parent stack
+   * do not need to be thread safe. As long as handlers only modify the usage they are given
+   * the results do not depend on the number of threads.
+   *
+   * @param threads number of threads walking subtrees, 1 walks all roots on the calling thread
+   * @return the number of usages processed
+   */
+  public static int walkTreeParallel(ImportStore db, int threads, Supplier<StartEndHandler[]> handlers) throws InterruptedException {
+    var ctxt = buildContext(db);
+    var roots = db.usages().listRoot().stream()
+      .map(db::nameUsage)
+      .sorted(BY_RANK_N_NAME)
+      .toList();
+    if (threads < 2 || roots.size() < 2) {
+      var handler = handlers.get();
+      for (var root : roots) {
+        if (Thread.currentThread().isInterrupted()) {
+          throw new InterruptedException("TreeWalker thread was cancelled/interrupted");
+        }
+        walkUsage(root, ctxt, handler);
+      }
+      return ctxt.counter.get();
+    }
+
+    LOG.info("Walk {} root subtrees with {} threads", roots.size(), threads);
+    ExecutorService exec = Executors.newFixedThreadPool(threads, new NamedThreadFactory("tree-walker"));
+    try {
+      List<Future<?>> tasks = new ArrayList<>(roots.size());
+      for (var root : roots) {
+        tasks.add(exec.submit(() -> walkUsage(root, ctxt, handlers.get())));
+      }
+      for (var t : tasks) {
+        t.get();
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException("Failed to walk tree", e.getCause());
+    } finally {
+      exec.shutdownNow();
+    }
+    return ctxt.counter.get();
+  }
+
   public static class WalkerContext {
     final ImportStore db ;
     final AtomicInteger counter = new AtomicInteger();
@@ -2,6 +2,7 @@ package life.catalogue.importer;
 
 import life.catalogue.api.model.DatasetSettings;
 import life.catalogue.api.model.DatasetWithSettings;
+import life.catalogue.api.model.Reference;
 import life.catalogue.config.NormalizerConfig;
 import life.catalogue.dao.ReferenceFactory;
 import life.catalogue.importer.store.ImportStore;
@@ -12,6 +13,8 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.After;
@@ -72,6 +75,25 @@ public abstract class InserterBaseTest {
     }
   }
   
+  /**
+   * Renders the names, usages and references of the store by their id,
+   * including their verbatim keys and the ids of linked references.
+   */
+  protected Map<String, String> snapshot() {
+    Map<String, String> data = new HashMap<>();
+    store.names().all().forEach(nd -> {
+      var n = nd.getName();
+      data.put("name " + nd.getId(), nd.getVerbatimKey() + " " + n.getLabel() + " " + n.getPublishedInId() + " " + n.getPublishedInPage());
+    });
+    store.usages().all().forEach(ud -> {
+      data.put("usage " + ud.getId(), ud.getVerbatimKey() + " " + ud.usage.getAccordingToId());
+    });
+    for (Reference r : store.references()) {
+      data.put("ref " + r.getId(), r.getVerbatimKey() + " " + r.getCitation());
+    }
+    return data;
+  }
+
   public abstract DataInserter newInserter(Path resource, DatasetSettings settings) throws IOException;
   
 }
@@ -0,0 +1,113 @@
+package life.catalogue.importer;
+
+import life.catalogue.api.model.DatasetWithSettings;
+import life.catalogue.api.model.VerbatimRecord;
+import life.catalogue.api.vocab.DataFormat;
+import life.catalogue.config.NormalizerConfig;
+import life.catalogue.img.ImageService;
+import life.catalogue.importer.store.ImportStore;
+import life.catalogue.importer.store.ImportStoreFactory;
+import life.catalogue.importer.store.model.RankedName;
+import life.catalogue.matching.nidx.NameIndexFactory;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import com.google.common.io.Files;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Normalizes the same archives as {@link NormalizerTreeIT} sequentially and with 3 threads
+ * and makes sure both produce the same tree, bare names and verbatim issues.
+ */
+@RunWith(Parameterized.class)
+public class NormalizerParallelIT {
+  private static final int THREADS = 3;
+  private static NormalizerConfig cfg;
+  private static ImportStoreFactory importStoreFactory;
+  private static final AtomicInteger keyGen = new AtomicInteger(1);
+
+  private final DataFormat format;
+  private final int sourceKey;
+
+  @Parameterized.Parameters
+  public static Collection<Object[]> data() {
+    return NormalizerTreeIT.data();
+  }
+
+  public NormalizerParallelIT(DataFormat format, int sourceKey) {
+    this.format = format;
+    this.sourceKey = sourceKey;
+  }
+
+  @BeforeClass
+  public static void initCfg() throws Exception {
+    cfg = new NormalizerConfig();
+    cfg.archiveDir = Files.createTempDir();
+    cfg.scratchDir = Files.createTempDir();
+    importStoreFactory = new ImportStoreFactory(cfg);
+  }
+
+  @AfterClass
+  public static void cleanupRepo() throws Exception {
+    FileUtils.deleteQuietly(cfg.archiveDir);
+    FileUtils.deleteQuietly(cfg.scratchDir);
+  }
+
+  @Test
+  public void sameAsSequential() throws Exception {
+    System.out.println("TEST " + format + " " + sourceKey);
+    Result sequential = normalize(1);
+    Result parallel = normalize(THREADS);
+    assertFalse("Empty tree, probably no root node found", sequential.tree.isEmpty());
+    assertEquals("Taxon tree differs", sequential.tree, parallel.tree);
+    assertEquals("Bare names differ", sequential.bareNames, parallel.bareNames);
+    assertEquals("Issues differ", sequential.issues, parallel.issues);
+  }
+
+  private Result normalize(int threads) throws Exception {
+    final int datasetKey = keyGen.incrementAndGet();
+    final String resourceDir = "/" + format.name().toLowerCase() + "/" + sourceKey;
+    Path source = Paths.get(getClass().getResource(resourceDir).toURI());
+
+    DatasetWithSettings d = new DatasetWithSettings();
+    d.setKey(datasetKey);
+    d.setDataFormat(format);
+    NormalizerITBase.readDatasetCode(resourceDir).ifPresent(d::setCode);
+
+    Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    try (ImportStore store = importStoreFactory.create(datasetKey, 1)) {
+      Normalizer norm = new Normalizer(d, store, source, NameIndexFactory.passThru(), ImageService.passThru(), validator, null, threads);
+      norm.call();
+
+      String bareNames = store.bareNames()
+        .map(nd -> new RankedName(nd).toString())
+        .sorted()
+        .collect(Collectors.joining("\n"));
+      Map<Integer, String> issues = new TreeMap<>();
+      for (VerbatimRecord v : store.verbatimList()) {
+        issues.put(v.getId(), v.getIssues().stream().map(Enum::name).sorted().collect(Collectors.joining(",")));
+      }
+      return new Result(store.printTree(true), bareNames, issues);
+    }
+  }
+
+  record Result(String tree, String bareNames, Map<Integer, String> issues) {}
+}
@@ -0,0 +1,11 @@
+package life.catalogue.importer;
+
+/**
+ * Runs all {@link PgImportIT} tests with verbatim records, references, names and usages streamed via binary COPY.
+ */
+public class PgImportBinaryCopyIT extends PgImportIT {
+
+  public PgImportBinaryCopyIT() {
+    icfg.binaryCopy = true;
+  }
+}
@@ -6,6 +6,7 @@ import life.catalogue.api.vocab.License;
 import life.catalogue.api.vocab.SpeciesInteractionType;
 import life.catalogue.common.csl.CslDataConverter;
 import life.catalogue.common.csl.CslUtil;
+import life.catalogue.importer.DataCsvInserter;
 import life.catalogue.importer.DataInserter;
 import life.catalogue.importer.InserterBaseTest;
 
@@ -16,6 +17,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 
 import org.jbibtex.BibTeXDatabase;
 import org.junit.Test;
@@ -26,6 +28,28 @@ import life.catalogue.api.model.CSLType;
 import static org.junit.Assert.*;
 
 public class ColdpInserterTest extends InserterBaseTest {
+  private int threads = 1;
+
+  @Test
+  public void parallelInsert() throws Exception {
+    for (String resource : List.of("/coldp/0", "/coldp/30")) {
+      var expected = insert(resource, 1);
+      assertFalse(expected.isEmpty());
+      assertEquals(resource, expected, insert(resource, 3));
+    }
+  }
+
+  private Map<String, String> insert(String resource, int threads) throws Exception {
+    if (store != null) {
+      store.close();
+    }
+    this.threads = threads;
+    DataInserter ins = setup(resource);
+    // small batches to spread the records over all threads
+    ((DataCsvInserter) ins).setBatchSize(2);
+    ins.insertAll();
+    return snapshot();
+  }
 
   /**
    * https://github.com/CatalogueOfLife/backend/issues/1229
@@ -253,6 +277,6 @@ public class ColdpInserterTest extends InserterBaseTest {
 
   @Override
   public DataInserter newInserter(Path resource, DatasetSettings settings) throws IOException {
-    return new ColdpInserter(store, resource, settings, refFactory);
+    return new ColdpInserter(store, resource, settings, refFactory, threads);
   }
 }
@@ -5,6 +5,7 @@ import life.catalogue.api.vocab.Environment;
 import life.catalogue.api.vocab.area.Gazetteer;
 import life.catalogue.api.vocab.License;
 import life.catalogue.common.date.FuzzyDate;
+import life.catalogue.importer.DataCsvInserter;
 import life.catalogue.importer.DataInserter;
 import life.catalogue.importer.InserterBaseTest;
 import life.catalogue.importer.store.model.UsageData;
@@ -17,6 +18,7 @@ import java.net.URI;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.Ignore;
@@ -26,10 +28,35 @@ import org.junit.Test;
 import static org.junit.Assert.*;
 
 public class DwcaInserterTest extends InserterBaseTest {
-  
+  private int threads = 1;
+
   @Override
   public DataInserter newInserter(Path resource, DatasetSettings settings) throws IOException  {
-    return new DwcaInserter(store, resource, settings, refFactory);
+    return new DwcaInserter(store, resource, settings, refFactory, threads);
+  }
+
+  /**
+   * References created from namePublishedIn citations must get the same ids and verbatim keys
+   * no matter how many threads interpret the taxon records.
+   */
+  @Test
+  public void parallelInsert() throws Exception {
+    // WoRMS sponges citing the same publications many times
+    var expected = insert("/dwca/21", 1);
+    assertTrue(expected.keySet().stream().anyMatch(k -> k.startsWith("ref ")));
+    assertEquals(expected, insert("/dwca/21", 3));
+  }
+
+  private Map<String, String> insert(String resource, int threads) throws Exception {
+    if (store != null) {
+      store.close();
+    }
+    this.threads = threads;
+    DataInserter ins = setup(resource);
+    // small batches to spread the records over all threads
+    ((DataCsvInserter) ins).setBatchSize(2);
+    ins.insertAll();
+    return snapshot();
   }
 
   /**
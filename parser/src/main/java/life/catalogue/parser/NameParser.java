@@ -74,6 +74,7 @@ public class NameParser implements Parser<ParsedNameUsage>, AutoCloseable {
       .build();
 
   private Timer timer;
+  private volatile NameParserCache cache;
   private final NameParserRust parserInternal;
 
   NameParser() {
@@ -103,6 +104,23 @@ public class NameParser implements Parser<ParsedNameUsage>, AutoCloseable {
     timer = registry.timer("life.catalogue.parser.name");
   }
 
+  /**
+   * Uses a persistent cache for all subsequent full name parses, replacing and closing any previous cache.
+   * @param cache the cache to use or null to stop caching
+   */
+  public void setCache(@Nullable NameParserCache cache) {
+    var prev = this.cache;
+    this.cache = cache;
+    if (prev != null && prev != cache) {
+      prev.close();
+    }
+  }
+
+  @Nullable
+  public NameParserCache getCache() {
+    return cache;
+  }
+
   /**
    * @deprecated use parse(name, rank, code, issues) instead!
    */
@@ -369,6 +387,23 @@ public class NameParser implements Parser<ParsedNameUsage>, AutoCloseable {
     if (StringUtils.isBlank(n.getScientificName())) {
       return Optional.empty();
     }
+    final NameParserCache cache = this.cache;
+    if (cache != null) {
+      final String key = NameParserCache.key(n);
+      ParsedNameUsage pnu = cache.get(key, n, issues);
+      if (pnu == null) {
+        // parse a new name with the parser input only and keep its issues apart,
+        // so properties already given for this name are never cached
+        IssueContainer ic = new IssueContainer.Simple();
+        ParsedNameUsage parsed = parseUncached(NameParserCache.input(n), ic);
+        pnu = cache.put(key, parsed, ic, n, issues);
+      }
+      return Optional.of(pnu);
+    }
+    return Optional.of(parseUncached(n, issues));
+  }
+
+  private ParsedNameUsage parseUncached(Name n, IssueContainer issues) {
     ParsedNameUsage pnu;
     Timer.Context ctx = timer == null ? null : timer.time();
     try {
@@ -417,7 +452,7 @@ public class NameParser implements Parser<ParsedNameUsage>, AutoCloseable {
         ctx.stop();
       }
     }
-    return Optional.of(pnu);
+    return pnu;
   }
   
   public Optional<NameType> determineType(Name name) {
@@ -491,7 +526,8 @@ public class NameParser implements Parser<ParsedNameUsage>, AutoCloseable {
 
   @Override
   public void close() throws Exception {
-    // nothing to close in the v4 parser
+    // nothing to close in the parser itself, but a persistent cache needs to be flushed
+    setCache(null);
   }
 
 }
@@ -0,0 +1,318 @@
+package life.catalogue.parser;
+
+import life.catalogue.api.model.IssueContainer;
+import life.catalogue.api.model.Name;
+import life.catalogue.api.model.ParsedNameUsage;
+import life.catalogue.api.vocab.Issue;
+import life.catalogue.common.io.Resources;
+import life.catalogue.common.kryo.ApiKryoPool;
+import life.catalogue.common.kryo.map.MapDbObjectSerializer;
+
+import org.gbif.nameparser.rust.NameParserRust;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.mapdb.Atomic;
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.mapdb.HTreeMap;
+import org.mapdb.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.google.common.hash.Hashing;
+
+/**
+ * A persistent cache of parsed names, kept in a memory mapped MapDB file so it survives restarts
+ * and serves the same names again when datasets are reimported on a schedule.
+ * The cache is keyed by the scientific name, authorship, rank and code given to the parser
+ * and stores the parsed name parts together with the issues flagged while parsing.
+ * Names are parsed from these inputs only, so other properties of the given name never end up in the cache.
+ *
+ * The cache is versioned by the name parser version, the backend build and the {@link #FORMAT_VERSION} of the cached entries.
+ * If any differs from the one the file was written with, all entries are dropped when the cache is opened.
+ *
+ * The cache is thread safe, but a file can only be opened by a single process at a time.
+ */
+public class NameParserCache implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(NameParserCache.class);
+  /** Bumped whenever the cached entries or the post processing of the parser results change. */
+  static final int FORMAT_VERSION = 1;
+  private static final char SEP = '\u0001';
+  private final File file;
+  private final DB db;
+  private final HTreeMap<String, Entry> map;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * @param file the MapDB file to store the parsed names in. Existing entries are reused if their version matches.
+   *             A file that cannot be opened, e.g. after an unclean shutdown, is deleted and replaced by an empty cache.
+   * @param maxSize maximum number of parsed names to keep, the oldest are evicted first
+   */
+  public NameParserCache(File file, long maxSize) throws IOException {
+    this.file = file;
+    Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+    DB db = null;
+    HTreeMap<String, Entry> map;
+    String version;
+    try {
+      db = open(file);
+      map = names(db, maxSize);
+      version = checkVersion(db, map);
+    } catch (RuntimeException e) {
+      // the file has no write ahead log and can be corrupted by an unclean shutdown
+      LOG.error("Failed to open name parser cache at {}. Delete the file and start with an empty cache", file.getAbsolutePath(), e);
+      if (db != null) {
+        try {
+          db.close();
+        } catch (RuntimeException ex) {
+          LOG.debug("Failed to close corrupt name parser cache", ex);
+        }
+      }
+      Files.deleteIfExists(file.toPath());
+      db = open(file);
+      map = names(db, maxSize);
+      version = checkVersion(db, map);
+    }
+    this.db = db;
+    this.map = map;
+    LOG.info("Opened name parser cache at {} with {} parsed names and version {}", file.getAbsolutePath(), map.size(), version);
+  }
+
+  private static DB open(File file) {
+    return DBMaker
+      .fileDB(file)
+      .fileMmapEnableIfSupported()
+      .make();
+  }
+
+  private static HTreeMap<String, Entry> names(DB db, long maxSize) {
+    return db.hashMap("names")
+      .keySerializer(Serializer.STRING)
+      .valueSerializer(new MapDbObjectSerializer<>(Entry.class, new KryoPool(), 256))
+      .expireMaxSize(maxSize)
+      .expireAfterCreate()
+      .createOrOpen();
+  }
+
+  /**
+   * Drops all cached entries if they were written with a different version.
+   * @return the current version
+   */
+  private static String checkVersion(DB db, HTreeMap<String, Entry> map) {
+    Atomic.String version = db.atomicString("version").createOrOpen();
+    final String current = version();
+    if (!current.equals(version.get())) {
+      if (!map.isEmpty()) {
+        LOG.info("Drop {} parsed names cached with version {}, parser version is now {}", map.size(), version.get(), current);
+        map.clear();
+      }
+      version.set(current);
+    }
+    return current;
+  }
+
+  /**
+   * @return the version of the name parser, the backend build and the cache format. Cached entries of a different version are dropped.
+   */
+  static String version() {
+    return FORMAT_VERSION + "-" + Objects.requireNonNullElse(NameParserRust.class.getPackage().getImplementationVersion(), "dev")
+      + "-" + buildVersion();
+  }
+
+  /**
+   * The parser is a snapshot dependency which often lacks a manifest version, e.g. in the shaded jar.
+   * We therefore also use the git commit of the backend build or, if missing, a hash of the jar containing the parser.
+   */
+  private static String buildVersion() {
+    try (InputStream in = Resources.stream("version/git.properties")) {
+      if (in != null) {
+        Properties props = new Properties();
+        props.load(in);
+        String commit = props.getProperty("git.commit.id");
+        if (commit != null) {
+          return commit;
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      LOG.debug("Failed to read build version", e);
+    }
+    try {
+      Path jar = Path.of(NameParserRust.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+      if (Files.isRegularFile(jar)) {
+        return com.google.common.io.Files.asByteSource(jar.toFile()).hash(Hashing.murmur3_128()).toString();
+      }
+    } catch (Exception e) {
+      LOG.debug("Failed to hash name parser jar", e);
+    }
+    return "dev";
+  }
+
+  /**
+   * @return the cache key for a name before it is parsed
+   */
+  static String key(Name n) {
+    StringBuilder sb = new StringBuilder(n.getScientificName());
+    sb.append(SEP);
+    if (n.getAuthorship() != null) {
+      sb.append(n.getAuthorship());
+    }
+    sb.append(SEP);
+    if (n.getRank() != null) {
+      sb.append(n.getRank().name());
+    }
+    sb.append(SEP);
+    if (n.getCode() != null) {
+      sb.append(n.getCode().name());
+    }
+    return sb.toString();
+  }
+
+  /**
+   * @return a new name with just the properties of the given name that are used as the parser input and cache key
+   */
+  static Name input(Name n) {
+    Name in = new Name();
+    in.setScientificName(n.getScientificName());
+    in.setAuthorship(n.getAuthorship());
+    in.setRank(n.getRank());
+    in.setCode(n.getCode());
+    return in;
+  }
+
+  /**
+   * Populates the given name with a previously cached parsing result and adds the cached issues.
+   * @return the parsed name usage wrapping the given name or null if the name was never parsed before
+   */
+  ParsedNameUsage get(String key, Name n, IssueContainer issues) {
+    Entry e;
+    try {
+      e = map.get(key);
+    } catch (RuntimeException ex) {
+      // an entry written by an incompatible build, parse again
+      LOG.debug("Failed to read cached parsed name {}", key, ex);
+      map.remove(key);
+      e = null;
+    }
+    if (e == null) {
+      misses.increment();
+      return null;
+    }
+    hits.increment();
+    return apply(e, n, issues);
+  }
+
+  /**
+   * Caches the result of parsing a name created by {@link #input(Name)} and populates the given name with it.
+   * @param parsed the parsing result of the input name
+   * @param parsedIssues the issues flagged while parsing the input name
+   * @return the parsed name usage wrapping the given name
+   */
+  ParsedNameUsage put(String key, ParsedNameUsage parsed, IssueContainer parsedIssues, Name n, IssueContainer issues) {
+    Entry e = new Entry();
+    e.name = new Name();
+    copyParsed(parsed.getName(), e.name);
+    e.extinct = parsed.isExtinct();
+    e.doubtful = parsed.isDoubtful();
+    e.taxonomicNote = parsed.getTaxonomicNote();
+    e.publishedIn = parsed.getPublishedIn();
+    e.issues = new ArrayList<>(parsedIssues.getIssues());
+    map.put(key, e);
+    return apply(e, n, issues);
+  }
+
+  private static ParsedNameUsage apply(Entry e, Name n, IssueContainer issues) {
+    copyParsed(e.name, n);
+    e.issues.forEach(issues::add);
+    ParsedNameUsage pnu = new ParsedNameUsage(n, e.extinct, e.taxonomicNote, e.publishedIn);
+    pnu.setDoubtful(e.doubtful);
+    return pnu;
+  }
+
+  /**
+   * Copies all name properties populated by the parser.
+   */
+  private static void copyParsed(Name from, Name to) {
+    to.setScientificName(from.getScientificName());
+    to.setAuthorship(from.getAuthorship());
+    to.setRank(from.getRank());
+    to.setCode(from.getCode());
+    to.setType(from.getType());
+    to.setUninomial(from.getUninomial());
+    to.setGenus(from.getGenus());
+    to.setInfragenericEpithet(from.getInfragenericEpithet());
+    to.setSpecificEpithet(from.getSpecificEpithet());
+    to.setInfraspecificEpithet(from.getInfraspecificEpithet());
+    to.setCultivarEpithet(from.getCultivarEpithet());
+    to.setCandidatus(from.isCandidatus());
+    to.setNotho(from.getNotho());
+    to.setOriginalSpelling(from.isOriginalSpelling());
+    to.setCombinationAuthorship(from.getCombinationAuthorship());
+    to.setBasionymAuthorship(from.getBasionymAuthorship());
+    to.setSanctioningAuthor(from.getSanctioningAuthor());
+    // the parser only adds these if they were not given already
+    NameParser.setIfNull(from.getNomenclaturalNote(), to::getNomenclaturalNote, to::setNomenclaturalNote);
+    NameParser.setIfNull(from.getImprintYear(), to::getImprintYear, to::setImprintYear);
+    NameParser.setIfNull(from.getPublishedInYear(), to::getPublishedInYear, to::setPublishedInYear);
+    if (from.getNomStatus() != null) {
+      to.setNomStatus(from.getNomStatus());
+    }
+    if (from.getUnparsed() != null) {
+      to.setUnparsed(from.getUnparsed());
+    }
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public int size() {
+    return map.size();
+  }
+
+  @Override
+  public void close() {
+    LOG.info("Close name parser cache at {} with {} parsed names, {} hits and {} misses", file.getAbsolutePath(), map.size(), getHits(), getMisses());
+    db.close();
+  }
+
+  @Override
+  public String toString() {
+    return "NameParserCache " + file.getAbsolutePath();
+  }
+
+  /**
+   * A cached parsing result without the name properties unrelated to parsing.
+   */
+  static class Entry {
+    Name name;
+    boolean extinct;
+    boolean doubtful;
+    String taxonomicNote;
+    String publishedIn;
+    ArrayList<Issue> issues;
+  }
+
+  private static class KryoPool extends ApiKryoPool {
+    @Override
+    public Kryo create() {
+      Kryo kryo = super.create();
+      kryo.register(Entry.class);
+      return kryo;
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package life.catalogue.parser;
+
+import life.catalogue.api.model.IssueContainer;
+import life.catalogue.api.model.Name;
+import life.catalogue.api.model.ParsedNameUsage;
+
+import life.catalogue.api.vocab.NomStatus;
+
+import org.gbif.nameparser.api.NomCode;
+import org.gbif.nameparser.api.Rank;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NameParserCacheTest {
+  static final List<String> NAMES = List.of(
+    "Abies alba Mill.",
+    "Polygonum ×bohemicum (J.Chrtek & Chrtková) Zika & Trávn.",
+    "Salmo trutta fario Linnaeus, 1758",
+    "Bartonella group",
+    "Rhizobium sp. RMCC TR1811",
+    "Abies alba Mill. sensu Smith"
+  );
+  File dir;
+  NameParser parser;
+
+  @Before
+  public void init() throws Exception {
+    dir = Files.createTempDirectory("parse-cache").toFile();
+    parser = new NameParser();
+  }
+
+  @After
+  public void cleanup() throws Exception {
+    parser.close();
+    for (File f : dir.listFiles()) {
+      f.delete();
+    }
+    dir.delete();
+  }
+
+  @Test
+  public void cachedParsing() throws Exception {
+    File file = new File(dir, "names.db");
+    parser.setCache(new NameParserCache(file, 1000));
+    for (String name : NAMES) {
+      assertSameResult(parse(name), parse(name));
+    }
+    assertEquals(NAMES.size(), parser.getCache().getMisses());
+    assertEquals(NAMES.size(), parser.getCache().getHits());
+    assertEquals(NAMES.size(), parser.getCache().size());
+
+    // the cache survives a restart
+    parser.setCache(null);
+    parser.setCache(new NameParserCache(file, 1000));
+    assertEquals(NAMES.size(), parser.getCache().size());
+    var uncached = new NameParser();
+    for (String name : NAMES) {
+      var pnu = parse(name);
+      var n = new Name();
+      n.setScientificName(name);
+      n.setRank(Rank.UNRANKED);
+      n.setCode(NomCode.ZOOLOGICAL);
+      IssueContainer issues = new IssueContainer.Simple();
+      var expected = uncached.parse(n, issues).get();
+      assertEquals(expected, pnu.pnu);
+      assertEquals(issues.getIssues(), pnu.issues.getIssues());
+    }
+    assertEquals(0, parser.getCache().getMisses());
+    assertEquals(NAMES.size(), parser.getCache().getHits());
+  }
+
+  /**
+   * A cache file left truncated or corrupted, e.g. by an unclean shutdown, is replaced by an empty cache.
+   */
+  @Test
+  public void corruptFile() throws Exception {
+    File file = new File(dir, "corrupt.db");
+    parser.setCache(new NameParserCache(file, 1000));
+    for (String name : NAMES) {
+      parse(name);
+    }
+    parser.setCache(null);
+    assertTrue(file.length() > 100);
+
+    // truncated file
+    try (var raf = new RandomAccessFile(file, "rw")) {
+      raf.setLength(100);
+    }
+    assertEmptyCache(file);
+
+    // garbage file
+    Files.write(file.toPath(), "not a mapdb file at all, just some garbage".repeat(100).getBytes(StandardCharsets.UTF_8));
+    assertEmptyCache(file);
+  }
+
+  private void assertEmptyCache(File file) throws Exception {
+    parser.setCache(new NameParserCache(file, 1000));
+    assertEquals(0, parser.getCache().size());
+    var r1 = parse(NAMES.get(0));
+    assertSameResult(r1, parse(NAMES.get(0)));
+    assertEquals(1, parser.getCache().getMisses());
+    assertEquals(1, parser.getCache().getHits());
+    parser.setCache(null);
+  }
+
+  /**
+   * Properties given with a name are kept, but never leak into other names with the same cache key.
+   */
+  @Test
+  public void givenProperties() throws Exception {
+    parser.setCache(new NameParserCache(new File(dir, "given.db"), 1000));
+    var n = new Name();
+    n.setScientificName("Abies alba Mill.");
+    n.setPublishedInYear(1999);
+    n.setNomStatus(NomStatus.CONSERVED);
+    n.setNomenclaturalNote("nom. cons.");
+    parser.parse(n, new IssueContainer.Simple()).get();
+    assertEquals(1, parser.getCache().getMisses());
+    assertEquals("alba", n.getSpecificEpithet());
+    assertEquals((Integer) 1999, n.getPublishedInYear());
+    assertEquals(NomStatus.CONSERVED, n.getNomStatus());
+    assertEquals("nom. cons.", n.getNomenclaturalNote());
+
+    var n2 = new Name();
+    n2.setScientificName("Abies alba Mill.");
+    parser.parse(n2, new IssueContainer.Simple()).get();
+    assertEquals(1, parser.getCache().getHits());
+    assertEquals("alba", n2.getSpecificEpithet());
+    assertNull(n2.getPublishedInYear());
+    assertNull(n2.getNomStatus());
+    assertNull(n2.getNomenclaturalNote());
+  }
+
+  private Result parse(String name) {
+    var n = new Name();
+    n.setScientificName(name);
+    n.setRank(Rank.UNRANKED);
+    n.setCode(NomCode.ZOOLOGICAL);
+    IssueContainer issues = new IssueContainer.Simple();
+    var pnu = parser.parse(n, issues).get();
+    assertSame(n, pnu.getName());
+    return new Result(pnu, issues);
+  }
+
+  private static void assertSameResult(Result r1, Result r2) {
+    assertEquals(r1.pnu, r2.pnu);
+    assertEquals(r1.issues.getIssues(), r2.issues.getIssues());
+  }
+
+  record Result(ParsedNameUsage pnu, IssueContainer issues) {}
+}
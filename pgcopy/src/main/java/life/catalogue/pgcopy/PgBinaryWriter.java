@@ -205,6 +205,20 @@ public class PgBinaryWriter implements AutoCloseable {
     }
   }
 
+  /**
+   * Writes a jsonb value given as its json text. The binary jsonb format is the text prefixed with a version byte.
+   */
+  public void writeJsonb(String json) throws IOException {
+    if (json == null) {
+      writeNull();
+    } else {
+      byte[] bytes = json.getBytes(CHARSET);
+      buffer.writeInt(bytes.length + 1);
+      buffer.writeByte(1);
+      buffer.write(bytes, 0, bytes.length);
+    }
+  }
+
   public void writeStringArray(Collection<String> value) throws IOException {
     writeArray(ObjectIdentifier.Text, value, this::writeString);
   }
@@ -263,6 +277,15 @@ public class PgBinaryWriter implements AutoCloseable {
     writeArray(ObjectIdentifier.Text, value, (val,out) -> writePByteArray(val.name().getBytes(CHARSET), out));
   }
 
+  /**
+   * Writes an array of a postgres enum type.
+   * Postgres verifies the element type of binary arrays, so the oid of the enum type needs to be given,
+   * see PgCopyUtils.typeOid.
+   */
+  public <T extends Enum<?>> void writeEnumArray(int oid, Collection<T> value) throws IOException {
+    writeArray(oid, value, (val,out) -> writePByteArray(val.name().getBytes(CHARSET), out));
+  }
+
   private <T> void writeArray(int oid, Collection<T> value, ThrowingBiConsumer<T, DataOutputStream> typeWriter) throws IOException {
     if (value == null) {
       writeNull();
@@ -10,6 +10,7 @@ import org.apache.commons.io.input.ProxyInputStream;
 import org.apache.commons.lang3.ArrayUtils;
 import org.postgresql.PGConnection;
 import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.PGCopyOutputStream;
 import org.postgresql.jdbc.PgConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,6 +65,32 @@ public class PgCopyUtils {
     }
   }
 
+  /**
+   * Opens a binary COPY stream that writes straight into the given table columns without any intermediate file.
+   * Rows must be written with exactly the given columns in the same order.
+   * Closing the writer ends the copy, committing the connection is left to the caller.
+   */
+  public static PgBinaryWriter binaryWriter(PgConnection con, String table, List<String> columns) throws IOException, SQLException {
+    con.setAutoCommit(false);
+    LOG.debug("Binary copy to table {}", table);
+    // use quotes to avoid problems with reserved words, e.g. group
+    String header = columns.stream().map(h -> "\"" + h + "\"").collect(Collectors.joining(","));
+    return new PgBinaryWriter(new PGCopyOutputStream(con, "COPY " + table + "(" + header + ") FROM STDIN WITH " + BINARY));
+  }
+
+  /**
+   * @return the oid of a postgres type, e.g. a custom enum needed to write binary enum arrays
+   */
+  public static int typeOid(PgConnection con, String typeName) throws SQLException {
+    try (var st = con.prepareStatement("SELECT ?::regtype::oid")) {
+      st.setString(1, typeName);
+      try (var rs = st.executeQuery()) {
+        rs.next();
+        return rs.getInt(1);
+      }
+    }
+  }
+
   /**
    * @param in input stream of CSV/TSV file with header rows removed and being the column names in the postgres table
    */
@@ -16,6 +16,7 @@ import life.catalogue.dw.jersey.filter.CreatedResponseFilter;
 import life.catalogue.dw.jersey.provider.EnumParamConverterProvider;
 import life.catalogue.dw.jersey.writers.TsvBodyWriter;
 import life.catalogue.dw.managed.ManagedUtils;
+import life.catalogue.matching.MatchingMetrics;
 import life.catalogue.matching.UsageMatcher;
 import life.catalogue.matching.UsageMatcherFactory;
 import life.catalogue.matching.nidx.NameIndex;
@@ -111,6 +112,7 @@ public class WsMatchingServer extends Application<WsMatchingServerConfig> {
 
     NameIndex nidx = NameIndexFactory.build(cfg.namesIndex, null, AuthorshipNormalizer.INSTANCE);
     env.lifecycle().manage(ManagedUtils.from((Managed) nidx));
+    MatchingMetrics.register(env.metrics());
 
     Dataset dataset = readDataset(cfg.matching.datasetJson(cfg.matchingDatasetKey));
     // the store files are prebuilt by MatchingServerBuildCmd and only opened here - there is no database
@@ -6,6 +6,7 @@ import life.catalogue.api.util.ObjectUtils;
 import life.catalogue.assembly.SyncFactory;
 import life.catalogue.assembly.SyncManager;
 import life.catalogue.cache.CacheFlush;
+import life.catalogue.cache.SharedUsageCaches;
 import life.catalogue.coldp.ColdpTerm;
 import life.catalogue.command.*;
 import life.catalogue.common.io.DownloadUtil;
@@ -59,6 +60,8 @@ import life.catalogue.jobs.cron.CronExecutor;
 import life.catalogue.jobs.cron.ProjectCounterUpdate;
 import life.catalogue.jobs.cron.TempDatasetCleanup;
 import life.catalogue.matching.IdentifierScopeResolver;
+import life.catalogue.matching.IncrementalMatcher;
+import life.catalogue.matching.MatchingMetrics;
 import life.catalogue.matching.UsageMatcherFactory;
 import life.catalogue.matching.nidx.NameIndex;
 import life.catalogue.matching.nidx.NameIndexFactory;
@@ -66,6 +69,7 @@ import life.catalogue.metadata.DoiResolver;
 import life.catalogue.parser.AreaLabelLookup;
 import life.catalogue.parser.AreaParser;
 import life.catalogue.parser.NameParser;
+import life.catalogue.parser.NameParserCache;
 import life.catalogue.printer.DatasetDiffService;
 import life.catalogue.printer.SectorDiffService;
 import life.catalogue.release.ProjectCopyFactory;
@@ -284,6 +288,9 @@ public class WsServer extends Application<WsServerConfig> {
 
     // name parser
     NameParser.PARSER.register(env.metrics());
+    if (cfg.normalizer.parseCache != null) {
+      NameParser.PARSER.setCache(new NameParserCache(cfg.normalizer.parseCache, cfg.normalizer.parseCacheSize));
+    }
     env.lifecycle().manage(ManagedUtils.from(NameParser.PARSER));
 
     var areaLookup = new AreaLabelLookup(cfg.gazetteerDir);
@@ -369,6 +376,10 @@ public class WsServer extends Application<WsServerConfig> {
     // matcher factory
     final var matcherFactory = new UsageMatcherFactory(cfg.matching, ni, getSqlSessionFactory(), executor);
     managedService.manage(Component.UsageMatcher, matcherFactory);
+    matcherFactory.register(env.metrics());
+    // keep the matchers of the latest releases in memory, they are used the most
+    matcherFactory.setPinned(coljersey.getCache()::isLatestRelease);
+    MatchingMetrics.register(env.metrics());
 
     // identifier scope resolver: map dataset keys to scopes from the central registry
     cfg.identifierScopes.validate();
@@ -398,6 +409,12 @@ public class WsServer extends Application<WsServerConfig> {
 
     // syncs and releases
     final var syncFactory = new SyncFactory(getSqlSessionFactory(), matcherFactory, ni, secdao, siDao, edao, indexService, broker, identifierScopeResolver, coljersey.getCache());
+    SharedUsageCaches sourceCaches = null;
+    if (cfg.syncs.sourceCaches > 0) {
+      sourceCaches = new SharedUsageCaches(getSqlSessionFactory(), cfg.normalizer.scratchDir("sync-sources"), cfg.syncs.sourceCacheType, cfg.syncs.sourceCaches);
+      syncFactory.setSourceCaches(sourceCaches);
+      env.lifecycle().manage(ManagedUtils.from(sourceCaches));
+    }
     final var copyFactory = new ProjectCopyFactory(httpClient, ni, syncFactory, matcherFactory, diDao, ddao, siDao, rdao, ndao, secdao,
       indexService, imgService, getSqlSessionFactory(), validator,
       cfg.release, cfg.apiURI, cfg.clbURI
@@ -508,12 +525,19 @@ public class WsServer extends Application<WsServerConfig> {
     // listeners for the main webapp only (not present in read-only)
     if (cfg.apiURI != null) {
       broker.register(new CacheFlush(httpClient, cfg.apiURI));
+      // only scheduled when it receives the dataset events it matches
+      IncrementalMatcher incrementalMatcher = new IncrementalMatcher(getSqlSessionFactory(), ni, cfg.matching.incrementalDelay);
+      env.lifecycle().manage(ManagedUtils.from(incrementalMatcher));
+      broker.register(incrementalMatcher);
     }
     broker.register(new PublishReleaseListener(cfg.release, cfg, getSqlSessionFactory(), httpClient, executor, broker));
     broker.register(new PublisherChangeListener(getSqlSessionFactory()));
     broker.register(doiChangeListener);
     broker.register(exportManager);
     broker.register(syncManager);
+    if (sourceCaches != null) {
+      broker.register(sourceCaches);
+    }
     broker.register(importManager);
   }
 
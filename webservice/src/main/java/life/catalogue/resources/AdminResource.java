@@ -275,7 +275,7 @@ public class AdminResource {
   ) {
     if (datasetKeys != null && !datasetKeys.isEmpty()) {
       var keys = datasetKeys.stream().mapToInt(i -> i).toArray();
-      return runJob(RematchJob.some(user.getKey(), factory, namesIndex, bus, missingOnly, keys));
+      return runJob(RematchJob.some(user.getKey(), factory, namesIndex, bus, missingOnly, cfg.matching.rematchThreads, keys));
 
     } if (sectorKeys != null && !sectorKeys.isEmpty()) {
       var keys = sectorKeys.stream().map(DSID::ofInt).collect(Collectors.toList());
@@ -319,7 +319,7 @@ public class AdminResource {
    * Matches all datasets which have not been fully matched before.
    */
   public BackgroundJob rematchUnmatched(@Auth User user) {
-    return runJob(new GlobalMatcherJob(user.getKey(), factory, namesIndex, bus));
+    return runJob(new GlobalMatcherJob(user.getKey(), factory, namesIndex, bus, cfg.matching.rematchThreads));
   }
 
   @POST
@@ -17,6 +17,7 @@ import life.catalogue.matching.UsageMatcherFactory;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -137,26 +138,37 @@ public abstract class AbstractReconciliationResource {
     } catch (IOException e) {
       throw new IllegalArgumentException("Invalid queries payload: " + e.getMessage());
     }
-    Map<String, OpenRefineModel.Result> out = new LinkedHashMap<>();
+    // all queries of a request are matched as one batch
+    Map<String, SimpleNameClassified<SimpleNameCached>> valid = new LinkedHashMap<>();
+    List<SimpleNameClassified<SimpleNameCached>> names = new ArrayList<>();
+    List<List<SimpleNameCached>> classifications = new ArrayList<>();
+    List<IssueContainer> issues = new ArrayList<>();
+    for (var e : queries.entrySet()) {
+      var sn = OpenRefineQueries.toSimpleName(e.getValue());
+      if (sn != null && !StringUtils.isBlank(sn.getName())) {
+        valid.put(e.getKey(), sn);
+        names.add(sn);
+        classifications.add(sn.getClassification());
+        issues.add(new IssueContainer.Simple());
+      }
+    }
+    List<UsageMatch> matches;
     try (var matcher = singleMatchMatcher(datasetKey)) {
       MatchingUtils utils = new MatchingUtils(matcher.getNameIndex());
-      for (var e : queries.entrySet()) {
-        out.put(e.getKey(), reconcileSingle(e.getValue(), matcher, utils));
+      matches = AbstractMatchingJob.interpretAndMatchAll(names, classifications, issues, true, interpreter, utils, matcher);
+    }
+    Map<String, OpenRefineModel.Result> out = new LinkedHashMap<>();
+    var iter = matches.iterator();
+    for (var key : queries.keySet()) {
+      if (valid.containsKey(key)) {
+        out.put(key, OpenRefineMapper.toResult(iter.next()));
+      } else {
+        out.put(key, new OpenRefineModel.Result());
       }
     }
     return out;
   }
 
-  private OpenRefineModel.Result reconcileSingle(OpenRefineModel.Query q, UsageMatcher matcher, MatchingUtils utils) {
-    var sn = OpenRefineQueries.toSimpleName(q);
-    if (sn == null || StringUtils.isBlank(sn.getName())) {
-      return new OpenRefineModel.Result();
-    }
-    IssueContainer issues = new IssueContainer.Simple();
-    UsageMatch match = AbstractMatchingJob.interpretAndMatch(sn, sn.getClassification(), issues, true, interpreter, utils, matcher);
-    return OpenRefineMapper.toResult(match);
-  }
-
   // ---- Data extension ----
 
   @POST